@@ -0,0 +1,86 @@
+-- Plans of the extension filters before and after extension-indexes.sql
+-- and extension-key-table.sql, on synthetic data in a scratch schema. Run
+-- with psql against any database (it does not touch services_schema), for
+-- example:
+--
+--   psql -d service_db -f dev-resources/sql/extension-index-benchmark.sql
+--
+-- 500,000 rows with 8 extension keys each, drawn from 2,000 IRIs. The
+-- first three plans are the function forms the filters used to generate,
+-- which no index can serve (sequential scans over every row). The rest
+-- are the forms they generate now, after the indexes exist (bitmap index
+-- scans, or an index scan of the key table).
+
+\timing on
+DROP SCHEMA IF EXISTS elrr_bench CASCADE;
+CREATE SCHEMA elrr_bench;
+
+CREATE TABLE elrr_bench.person (
+    id uuid PRIMARY KEY,
+    extensions jsonb
+);
+
+INSERT INTO elrr_bench.person (id, extensions)
+SELECT gen_random_uuid(),
+       (SELECT jsonb_object_agg('https://example.com/ext/'
+                       || (floor(random() * 2000) + g * 0)::int,
+                       jsonb_build_object('level', floor(random() * 10)::int))
+          FROM generate_series(1, 8))
+  FROM generate_series(1, 500000) AS g;
+
+ANALYZE elrr_bench.person;
+
+-- Before: function calls, no index can be used
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM elrr_bench.person
+ WHERE jsonb_exists(extensions, 'https://example.com/ext/42');
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM elrr_bench.person
+ WHERE jsonb_path_exists(extensions,
+       '$."https://example.com/ext/42".level', '{}', true);
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM elrr_bench.person
+ WHERE jsonb_path_match(extensions,
+       '$."https://example.com/ext/42".level == 7', '{}', true);
+
+-- The index of extension-indexes.sql and the table of
+-- extension-key-table.sql
+CREATE INDEX person_extensions_gin ON elrr_bench.person
+    USING gin (extensions);
+
+CREATE TABLE elrr_bench.extension_key (
+    entity_id uuid NOT NULL,
+    iri text NOT NULL,
+    PRIMARY KEY (iri, entity_id)
+);
+
+INSERT INTO elrr_bench.extension_key (entity_id, iri)
+SELECT id, jsonb_object_keys(extensions) FROM elrr_bench.person;
+
+ANALYZE elrr_bench.person;
+ANALYZE elrr_bench.extension_key;
+
+-- After: hasExtension as an indexable operator
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM elrr_bench.person
+ WHERE extensions ? 'https://example.com/ext/42';
+
+-- After: hasExtension through the key table
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM elrr_bench.person p
+ WHERE EXISTS (SELECT 1 FROM elrr_bench.extension_key k
+                WHERE k.entity_id = p.id
+                  AND k.iri = 'https://example.com/ext/42');
+
+-- After: extensionPath and extensionPathMatch as indexable operators
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM elrr_bench.person
+ WHERE extensions @? '$."https://example.com/ext/42".level';
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM elrr_bench.person
+ WHERE extensions @@ '$."https://example.com/ext/42".level == 7';
+
+DROP SCHEMA elrr_bench CASCADE;
@@ -0,0 +1,21 @@
+-- GIN indexes behind the hasExtension (?), extensionPath (@?) and
+-- extensionPathMatch (@@) filters, one per extensible table. Apply after
+-- the Service Entities schema.sql; safe to re-run.
+--
+-- These use the default jsonb_ops operator class rather than the smaller
+-- jsonb_path_ops: jsonb_path_ops only indexes accessor chains that end in
+-- a value, so it cannot answer key existence (hasExtension) or a path
+-- tested only for existence (most extensionPath filters). jsonb_ops
+-- answers all three.
+
+DO $$
+DECLARE
+    t text;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['person', 'organization', 'competency',
+            'credential', 'employment_record', 'learning_record',
+            'learning_resource', 'location', 'facility', 'goal'] LOOP
+        EXECUTE format('CREATE INDEX IF NOT EXISTS %I ON services_schema.%I'
+                || ' USING gin (extensions)', t || '_extensions_gin', t);
+    END LOOP;
+END $$;
@@ -0,0 +1,55 @@
+-- Optional table of (entity, extension IRI) pairs answering hasExtension
+-- with a B-tree lookup instead of the GIN index of extension-indexes.sql.
+-- Worth it when entities carry many extension IRIs and hasExtension is
+-- the common filter. Apply after extension-indexes.sql; safe to re-run.
+-- The triggers keep the table in step with every insert, update and
+-- delete, whichever service or tool makes it. Set
+-- ELRR_EXTENSION_KEY_TABLE=true once this script has run.
+
+CREATE TABLE IF NOT EXISTS services_schema.extension_key (
+    entity_id uuid NOT NULL,
+    iri text NOT NULL,
+    PRIMARY KEY (iri, entity_id)
+);
+
+CREATE INDEX IF NOT EXISTS extension_key_entity_idx
+    ON services_schema.extension_key (entity_id);
+
+CREATE OR REPLACE FUNCTION services_schema.elrr_sync_extension_keys()
+RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        DELETE FROM services_schema.extension_key
+            WHERE entity_id = OLD.id;
+    END IF;
+    IF TG_OP <> 'DELETE' AND jsonb_typeof(NEW.extensions) = 'object' THEN
+        INSERT INTO services_schema.extension_key (entity_id, iri)
+            SELECT NEW.id, k FROM jsonb_object_keys(NEW.extensions) AS k;
+    END IF;
+    RETURN NULL;
+END $$;
+
+DO $$
+DECLARE
+    t text;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['person', 'organization', 'competency',
+            'credential', 'employment_record', 'learning_record',
+            'learning_resource', 'location', 'facility', 'goal'] LOOP
+        EXECUTE format('DROP TRIGGER IF EXISTS %I ON services_schema.%I',
+                t || '_extension_keys', t);
+        EXECUTE format('CREATE TRIGGER %I AFTER INSERT OR DELETE'
+                || ' OR UPDATE OF extensions ON services_schema.%I'
+                || ' FOR EACH ROW EXECUTE FUNCTION'
+                || ' services_schema.elrr_sync_extension_keys()',
+                t || '_extension_keys', t);
+        EXECUTE format('INSERT INTO services_schema.extension_key'
+                || ' (entity_id, iri)'
+                || ' SELECT id, jsonb_object_keys(extensions)'
+                || ' FROM services_schema.%I'
+                || ' WHERE jsonb_typeof(extensions) = ''object'''
+                || ' ON CONFLICT DO NOTHING', t);
+    END LOOP;
+END $$;
+
+ANALYZE services_schema.extension_key;
@@ -0,0 +1,133 @@
+-- Read model behind GET /api/person/{id}/transcript and
+-- /transcript/summary. learning_transcript holds one row per learning
+-- record with the learning resource title copied in, so a page is read
+-- from one index without joining; learning_transcript_status holds each
+-- person's record count per status. Triggers on learning_record and
+-- learning_resource apply every write to both tables as it happens.
+-- Apply after the Service Entities schema.sql; safe to re-run, and the
+-- last statements fill both tables from existing records.
+--
+-- sort_key is the event time in microseconds since the epoch, or the
+-- smallest bigint when there is none, so that transcripts are paged by
+-- (sort_key, learning_record_id) newest first.
+
+CREATE TABLE IF NOT EXISTS services_schema.learning_transcript (
+    learning_record_id uuid PRIMARY KEY,
+    person_id uuid NOT NULL,
+    sort_key bigint NOT NULL,
+    event_time timestamptz,
+    enrollment_date timestamptz,
+    record_status text,
+    academic_grade text,
+    learning_resource_id uuid,
+    learning_resource_title text
+);
+
+CREATE INDEX IF NOT EXISTS learning_transcript_person_idx
+    ON services_schema.learning_transcript
+    (person_id, sort_key DESC, learning_record_id DESC);
+
+CREATE INDEX IF NOT EXISTS learning_transcript_resource_idx
+    ON services_schema.learning_transcript (learning_resource_id);
+
+CREATE TABLE IF NOT EXISTS services_schema.learning_transcript_status (
+    person_id uuid NOT NULL,
+    record_status text NOT NULL,
+    record_count bigint NOT NULL,
+    PRIMARY KEY (person_id, record_status)
+);
+
+CREATE OR REPLACE FUNCTION services_schema.elrr_count_transcript_status(
+    pid uuid, status text, delta bigint)
+RETURNS void LANGUAGE plpgsql AS $$
+BEGIN
+    IF pid IS NULL THEN
+        RETURN;
+    END IF;
+    INSERT INTO services_schema.learning_transcript_status
+        (person_id, record_status, record_count)
+    VALUES (pid, coalesce(status, ''), delta)
+    ON CONFLICT (person_id, record_status) DO UPDATE
+        SET record_count = learning_transcript_status.record_count + delta;
+    DELETE FROM services_schema.learning_transcript_status
+     WHERE person_id = pid AND record_status = coalesce(status, '')
+       AND record_count <= 0;
+END $$;
+
+CREATE OR REPLACE FUNCTION services_schema.elrr_sync_learning_transcript()
+RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        DELETE FROM services_schema.learning_transcript
+         WHERE learning_record_id = OLD.id;
+        PERFORM services_schema.elrr_count_transcript_status(
+            OLD.person_id, OLD.record_status::text, -1);
+    END IF;
+    IF TG_OP <> 'DELETE' AND NEW.person_id IS NOT NULL THEN
+        INSERT INTO services_schema.learning_transcript
+            (learning_record_id, person_id, sort_key, event_time,
+             enrollment_date, record_status, academic_grade,
+             learning_resource_id, learning_resource_title)
+        SELECT NEW.id, NEW.person_id,
+               coalesce(floor(extract(epoch FROM NEW.event_time)
+                   * 1000000)::bigint, -9223372036854775808),
+               NEW.event_time, NEW.enrollment_date,
+               NEW.record_status::text, NEW.academic_grade,
+               NEW.learning_resource_id, r.title
+          FROM (SELECT 1) AS one
+          LEFT JOIN services_schema.learning_resource r
+            ON r.id = NEW.learning_resource_id;
+        PERFORM services_schema.elrr_count_transcript_status(
+            NEW.person_id, NEW.record_status::text, 1);
+    END IF;
+    RETURN NULL;
+END $$;
+
+CREATE OR REPLACE FUNCTION services_schema.elrr_sync_transcript_titles()
+RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE services_schema.learning_transcript
+       SET learning_resource_title = NEW.title
+     WHERE learning_resource_id = NEW.id;
+    RETURN NULL;
+END $$;
+
+DROP TRIGGER IF EXISTS learning_transcript_record
+    ON services_schema.learning_record;
+CREATE TRIGGER learning_transcript_record
+    AFTER INSERT OR UPDATE OR DELETE ON services_schema.learning_record
+    FOR EACH ROW
+    EXECUTE FUNCTION services_schema.elrr_sync_learning_transcript();
+
+DROP TRIGGER IF EXISTS learning_transcript_resource
+    ON services_schema.learning_resource;
+CREATE TRIGGER learning_transcript_resource
+    AFTER UPDATE OF title ON services_schema.learning_resource
+    FOR EACH ROW
+    EXECUTE FUNCTION services_schema.elrr_sync_transcript_titles();
+
+TRUNCATE services_schema.learning_transcript,
+    services_schema.learning_transcript_status;
+
+INSERT INTO services_schema.learning_transcript
+    (learning_record_id, person_id, sort_key, event_time, enrollment_date,
+     record_status, academic_grade, learning_resource_id,
+     learning_resource_title)
+SELECT l.id, l.person_id,
+       coalesce(floor(extract(epoch FROM l.event_time) * 1000000)::bigint,
+           -9223372036854775808),
+       l.event_time, l.enrollment_date, l.record_status::text,
+       l.academic_grade, l.learning_resource_id, r.title
+  FROM services_schema.learning_record l
+  LEFT JOIN services_schema.learning_resource r
+    ON r.id = l.learning_resource_id
+ WHERE l.person_id IS NOT NULL;
+
+INSERT INTO services_schema.learning_transcript_status
+    (person_id, record_status, record_count)
+SELECT person_id, coalesce(record_status, ''), count(*)
+  FROM services_schema.learning_transcript
+ GROUP BY person_id, coalesce(record_status, '');
+
+ANALYZE services_schema.learning_transcript;
+ANALYZE services_schema.learning_transcript_status;
@@ -0,0 +1,15 @@
+-- Indexes behind GET /api/organization/{id}/gaps, which reads an
+-- organization's members, their goals' and positions' requirements and
+-- their holdings with one query each. Apply after the Service Entities
+-- schema.sql. The person_id indexes of person-link-indexes.sql cover the
+-- personal competency and credential lookups.
+
+CREATE INDEX IF NOT EXISTS association_organization_person_idx
+    ON services_schema.association (organization_id, person_id);
+
+CREATE INDEX IF NOT EXISTS employment_record_employer_organization_idx
+    ON services_schema.employment_record
+        (employer_organization_id, employee_id);
+
+CREATE INDEX IF NOT EXISTS goal_person_idx
+    ON services_schema.goal (person_id);
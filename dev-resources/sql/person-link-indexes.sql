@@ -0,0 +1,52 @@
+-- Unique indexes behind the keyed person sub-resource lookups
+-- (GET/PUT/DELETE /person/{personId}/competency/{competencyId} and the
+-- credential and organization equivalents). Apply after the Service
+-- Entities schema.sql.
+--
+-- Earlier releases could store the same pair more than once, and the
+-- copies may differ in has_record or association_type. Nothing is deleted
+-- here: if any pair is duplicated the script stops and lists the pairs,
+-- which have to be merged by hand before it is run again.
+
+DO $$
+DECLARE
+    duplicates text;
+BEGIN
+    SELECT string_agg(format('%s person_id=%s %s=%s (%s rows)',
+            d.tbl, d.person_id, d.col, d.other_id, d.copies), E'\n'
+            ORDER BY d.tbl, d.person_id, d.other_id)
+        INTO duplicates
+        FROM (
+            SELECT 'personal_competency' AS tbl, person_id,
+                    'competency_id' AS col, competency_id AS other_id,
+                    count(*) AS copies
+                FROM services_schema.personal_competency
+                GROUP BY person_id, competency_id
+                HAVING count(*) > 1
+            UNION ALL
+            SELECT 'personal_credential', person_id, 'credential_id',
+                    credential_id, count(*)
+                FROM services_schema.personal_credential
+                GROUP BY person_id, credential_id
+                HAVING count(*) > 1
+            UNION ALL
+            SELECT 'association', person_id, 'organization_id',
+                    organization_id, count(*)
+                FROM services_schema.association
+                GROUP BY person_id, organization_id
+                HAVING count(*) > 1
+        ) d;
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'Duplicate person links; merge them before creating the unique indexes:%',
+            E'\n' || duplicates;
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS personal_competency_person_competency_uq
+    ON services_schema.personal_competency (person_id, competency_id);
+
+CREATE UNIQUE INDEX IF NOT EXISTS personal_credential_person_credential_uq
+    ON services_schema.personal_credential (person_id, credential_id);
+
+CREATE UNIQUE INDEX IF NOT EXISTS association_person_organization_uq
+    ON services_schema.association (person_id, organization_id);
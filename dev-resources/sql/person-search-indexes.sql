@@ -0,0 +1,22 @@
+-- Indexes behind the case-insensitive name and emailAddress filters of
+-- GET /api/person. Apply after the Service Entities schema.sql; safe to
+-- re-run. These need no extension:
+--
+-- * lower(...) serves exact values and trailing wildcards (smith%).
+-- * reverse(lower(...)) serves a single leading wildcard (%@example.com),
+--   which the filters match as a prefix of the reversed value.
+--
+-- Patterns with a wildcard in the middle or at both ends (%smith%) need
+-- the trigram indexes of person-trigram-indexes.sql.
+
+CREATE INDEX IF NOT EXISTS person_name_lower_idx
+    ON services_schema.person (lower(name) text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS person_name_reverse_idx
+    ON services_schema.person (reverse(lower(name)) text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS email_address_lower_idx
+    ON services_schema.email (lower(email_address) text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS email_address_reverse_idx
+    ON services_schema.email (reverse(lower(email_address)) text_pattern_ops);
@@ -0,0 +1,123 @@
+-- Search document behind GET /api/person/search: one tsvector per person
+-- built from the name (weight A), email addresses and identity IFIs (B)
+-- and the names of associated organizations (C). Triggers rebuild a
+-- person's document whenever one of those rows is written, so the index
+-- stays current without a batch job. Apply after the Service Entities
+-- schema.sql; safe to re-run, and the last statement fills the table for
+-- existing persons.
+--
+-- Email addresses are indexed whole and split at @ . _ - so that both
+-- jane.doe@ and example.com find them.
+
+CREATE TABLE IF NOT EXISTS services_schema.person_search (
+    person_id uuid PRIMARY KEY
+        REFERENCES services_schema.person (id) ON DELETE CASCADE,
+    document tsvector NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS person_search_document_idx
+    ON services_schema.person_search USING gin (document);
+
+CREATE OR REPLACE FUNCTION services_schema.elrr_refresh_person_search(
+    pid uuid)
+RETURNS void LANGUAGE plpgsql AS $$
+BEGIN
+    DELETE FROM services_schema.person_search WHERE person_id = pid;
+    INSERT INTO services_schema.person_search (person_id, document)
+    SELECT p.id,
+           setweight(to_tsvector('simple', coalesce(p.name, '')), 'A')
+           || setweight(to_tsvector('simple', coalesce(
+                  (SELECT string_agg(e.email_address || ' '
+                              || translate(e.email_address, '@._-', '    '),
+                              ' ')
+                     FROM services_schema.person_email pe
+                     JOIN services_schema.email e ON e.id = pe.email_id
+                    WHERE pe.person_id = p.id), '')), 'B')
+           || setweight(to_tsvector('simple', coalesce(
+                  (SELECT string_agg(i.ifi, ' ')
+                     FROM services_schema.identity i
+                    WHERE i.person_id = p.id), '')), 'B')
+           || setweight(to_tsvector('simple', coalesce(
+                  (SELECT string_agg(o.name, ' ')
+                     FROM services_schema.association a
+                     JOIN services_schema.organization o
+                       ON o.id = a.organization_id
+                    WHERE a.person_id = p.id), '')), 'C')
+      FROM services_schema.person p
+     WHERE p.id = pid;
+END $$;
+
+-- Rows that belong to one person: rebuild the old and new owner
+CREATE OR REPLACE FUNCTION services_schema.elrr_person_search_owner()
+RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        PERFORM services_schema.elrr_refresh_person_search(
+            (to_jsonb(OLD) ->> TG_ARGV[0])::uuid);
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        PERFORM services_schema.elrr_refresh_person_search(
+            (to_jsonb(NEW) ->> TG_ARGV[0])::uuid);
+    END IF;
+    RETURN NULL;
+END $$;
+
+-- Shared emails and organizations: rebuild every person linked to them
+CREATE OR REPLACE FUNCTION services_schema.elrr_person_search_linked()
+RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_TABLE_NAME = 'email' THEN
+        PERFORM services_schema.elrr_refresh_person_search(pe.person_id)
+           FROM services_schema.person_email pe
+          WHERE pe.email_id = NEW.id;
+    ELSE
+        PERFORM services_schema.elrr_refresh_person_search(a.person_id)
+           FROM services_schema.association a
+          WHERE a.organization_id = NEW.id;
+    END IF;
+    RETURN NULL;
+END $$;
+
+DROP TRIGGER IF EXISTS person_search_person ON services_schema.person;
+CREATE TRIGGER person_search_person
+    AFTER INSERT OR UPDATE OF name ON services_schema.person
+    FOR EACH ROW
+    EXECUTE FUNCTION services_schema.elrr_person_search_owner('id');
+
+DROP TRIGGER IF EXISTS person_search_person_email
+    ON services_schema.person_email;
+CREATE TRIGGER person_search_person_email
+    AFTER INSERT OR UPDATE OR DELETE ON services_schema.person_email
+    FOR EACH ROW
+    EXECUTE FUNCTION services_schema.elrr_person_search_owner('person_id');
+
+DROP TRIGGER IF EXISTS person_search_identity ON services_schema.identity;
+CREATE TRIGGER person_search_identity
+    AFTER INSERT OR UPDATE OR DELETE ON services_schema.identity
+    FOR EACH ROW
+    EXECUTE FUNCTION services_schema.elrr_person_search_owner('person_id');
+
+DROP TRIGGER IF EXISTS person_search_association
+    ON services_schema.association;
+CREATE TRIGGER person_search_association
+    AFTER INSERT OR UPDATE OR DELETE ON services_schema.association
+    FOR EACH ROW
+    EXECUTE FUNCTION services_schema.elrr_person_search_owner('person_id');
+
+DROP TRIGGER IF EXISTS person_search_email ON services_schema.email;
+CREATE TRIGGER person_search_email
+    AFTER UPDATE OF email_address ON services_schema.email
+    FOR EACH ROW
+    EXECUTE FUNCTION services_schema.elrr_person_search_linked();
+
+DROP TRIGGER IF EXISTS person_search_organization
+    ON services_schema.organization;
+CREATE TRIGGER person_search_organization
+    AFTER UPDATE OF name ON services_schema.organization
+    FOR EACH ROW
+    EXECUTE FUNCTION services_schema.elrr_person_search_linked();
+
+SELECT services_schema.elrr_refresh_person_search(id)
+  FROM services_schema.person;
+
+ANALYZE services_schema.person_search;
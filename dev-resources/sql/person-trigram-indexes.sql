@@ -0,0 +1,13 @@
+-- Trigram indexes for name and emailAddress filters with a wildcard in the
+-- middle or at both ends (%smith%), which person-search-indexes.sql cannot
+-- serve. Needs the pg_trgm extension, so creating it may need a superuser;
+-- deployments without it keep the sequential scan for these patterns only.
+-- Safe to re-run.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS person_name_trgm_idx
+    ON services_schema.person USING gin (lower(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS email_address_trgm_idx
+    ON services_schema.email USING gin (lower(email_address) gin_trgm_ops);
@@ -0,0 +1,18 @@
+-- Indexes behind the phoneNumber filter of GET /api/person, which compares
+-- only the digits of each number. The indexed expression is the one the
+-- filter renders, so the digits are computed once per write instead of
+-- once per row on every query. Apply after the Service Entities
+-- schema.sql; safe to re-run.
+--
+-- * The digits serve whole numbers (phoneNumber=555-123-4567).
+-- * The reversed digits serve suffixes (phoneNumber=%4567), which the
+--   filter matches as a prefix of the reversed digits.
+
+CREATE INDEX IF NOT EXISTS phone_digits_idx
+    ON services_schema.phone
+    (regexp_replace(telephone_number, '[^0-9]', '', 'g'));
+
+CREATE INDEX IF NOT EXISTS phone_digits_reverse_idx
+    ON services_schema.phone
+    (reverse(regexp_replace(telephone_number, '[^0-9]', '', 'g'))
+        text_pattern_ops);
@@ -1,5 +1,6 @@
 package com.deloitte.elrr;
 
+import org.mapstruct.factory.Mappers;
 import org.modelmapper.ModelMapper;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -9,6 +10,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.web.client.RestTemplate;
 
 import com.deloitte.elrr.services.RepoConfig;
+import com.deloitte.elrr.services.mapper.DtoMapper;
 import com.ulisesbocchio.jasyptspringboot.annotation.EnableEncryptableProperties;
 
 @SpringBootApplication
@@ -41,5 +43,13 @@ public class ElrrServicesApplication {
         modelMapper.getConfiguration().setSkipNullEnabled(true);
         return modelMapper;
     }
+    /**
+     *
+     * @return DtoMapper
+     */
+    @Bean
+    public DtoMapper dtoMapper() {
+        return Mappers.getMapper(DtoMapper.class);
+    }
 
 }
@@ -1,6 +1,11 @@
 package com.deloitte.elrr.services;
 
+import java.util.Iterator;
+
 import org.apache.commons.validator.GenericValidator;
+import org.json.JSONObject;
+
+import fr.spacefox.confusablehomoglyphs.Confusables;
 
 public class InputSanitizer {
 
@@ -11,6 +16,8 @@ public class InputSanitizer {
     @SuppressWarnings("checkstyle:linelength")
     private static final String CHAR_WHITE_LIST_REGEX = "^[\\x09\\x0A\\x0D\\x20-\\x7E | \\xC2-\\xDF | \\xE0\\xA0-\\xBF | [\\xE1-\\xEC\\xEE\\xEF]{2} | \\xED\\x80-\\x9F | [\\xF0\\\\x90-\\xBF]{2} | [\\xF1-\\xF3]{3} | [\\xF4\\x80-\\x8F]{2}]*$";
 
+    private static final Confusables CONFUSABLES = Confusables.fromInternal();
+
     /**
      * Filter execution method.
      *
@@ -20,4 +27,26 @@ public class InputSanitizer {
     public static boolean isValidInput(String input) {
         return GenericValidator.matchRegexp(input, CHAR_WHITE_LIST_REGEX);
     }
+
+    /**
+     * Check a JSON object for keys or values that mix scripts in a way that
+     * can be mistaken for other text.
+     *
+     * @param jo JSON object to check, including nested objects
+     * @return Boolean whether or not a dangerous key or value was found
+     */
+    public static boolean hasHomoGlyphs(JSONObject jo) {
+        Iterator<String> keys = jo.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            Object val = jo.get(key);
+            if (CONFUSABLES.isDangerous(key)
+                    || CONFUSABLES.isDangerous(String.valueOf(val))
+                    || (val instanceof JSONObject
+                        && hasHomoGlyphs((JSONObject) val))) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -21,6 +21,9 @@ public class JSONRequestSizeLimitFilter extends OncePerRequestFilter {
   @Value("${json.max.size.limit}")
   private long maxSizeLimit;
 
+  @Value("${elrr.bulk.max-size:104857600}")
+  private long maxBulkSizeLimit;
+
   @Value("${check.media.type.json}")
   private boolean checkMediaTypeJson;
 
@@ -29,7 +32,22 @@ public class JSONRequestSizeLimitFilter extends OncePerRequestFilter {
         HttpServletResponse response, FilterChain filterChain)
         throws ServletException, IOException {
     try {
-      if (isApplicationJson(request)
+      if (SanitizingFilter.isBulkUpload(request)) {
+        // a chunked body has no length to check up front; refuse it rather
+        // than read an unbounded body
+        long length = request.getContentLengthLong();
+        if (length < 0) {
+          log.error("Bulk request without a Content-Length.");
+          response.sendError(HttpServletResponse.SC_LENGTH_REQUIRED,
+              "Content-Length is required for bulk uploads.");
+        } else if (length < maxBulkSizeLimit) {
+          filterChain.doFilter(request, response);
+        } else {
+          log.error("Request size exceeds the limit.");
+          response.sendError(HttpServletResponse.SC_BAD_REQUEST,
+              "Request size exceeds the limit.");
+        }
+      } else if (isApplicationJson(request)
             && request.getContentLengthLong() < maxSizeLimit) {
         filterChain.doFilter(request, response);
       } else {
@@ -1,13 +1,15 @@
 package com.deloitte.elrr.services;
 
 import java.io.IOException;
-import java.util.Iterator;
+import java.util.Arrays;
 
 import org.json.JSONObject;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 
-import fr.spacefox.confusablehomoglyphs.Confusables;
+import com.deloitte.elrr.services.query.NdjsonStreamer;
+
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -21,12 +23,30 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class SanitizingFilter implements Filter {
 
+    /**
+     * Path of the only endpoint that reads newline-delimited JSON.
+     */
+    static final String BULK_PATH = "/api/person/bulk";
+
     @Override
     public void doFilter(ServletRequest request, ServletResponse response,
             FilterChain chain) throws IOException, ServletException {
         HttpServletResponse httpResponse = (HttpServletResponse) response;
         WrappedHttp httpRequest;
 
+        // bulk uploads are checked line by line as they are read, so only
+        // the parameters are checked here and the body is passed on
+        // unbuffered
+        if (isBulkUpload(request)) {
+            if (hasValidParameters(request)) {
+                chain.doFilter(request, response);
+            } else {
+                httpResponse.sendError(HttpStatus.BAD_REQUEST.value(),
+                        "Illegal Parameter Value");
+            }
+            return;
+        }
+
         StringBuilder body = new StringBuilder();
         for (String line : request.getReader().lines().toList()) {
             if (InputSanitizer.isValidInput(line)) {
@@ -68,7 +88,8 @@ public class SanitizingFilter implements Filter {
 
         try {
             if (httpRequest.getBody().length() > 0
-                    && hasHomoGlyphs(new JSONObject(httpRequest.getBody()))) {
+                    && InputSanitizer.hasHomoGlyphs(
+                            new JSONObject(httpRequest.getBody()))) {
                 httpResponse.sendError(HttpServletResponse.SC_BAD_REQUEST,
                         "Request body contains homoglyphs.");
                 log.warn("returning on homoglyph");
@@ -82,20 +103,34 @@ public class SanitizingFilter implements Filter {
         chain.doFilter(httpRequest, response);
     }
 
-    private static boolean hasHomoGlyphs(JSONObject jo) {
-        Confusables confusables = Confusables.fromInternal();
-
-        Iterator<String> keys = jo.keys();
-        while (keys.hasNext()) {
-            String key = keys.next();
-            Object val = jo.get(key);
-            if (confusables.isDangerous(key)
-                    || confusables.isDangerous(String.valueOf(val))
-                    || (val instanceof JSONObject
-                        && hasHomoGlyphs((JSONObject) val))) {
-                return true;
-            }
+    /**
+     * Whether a request is a newline-delimited JSON upload to the bulk
+     * endpoint. Newline-delimited JSON sent anywhere else is sanitized like
+     * any other body.
+     *
+     * @param request the request
+     * @return true for a bulk upload
+     */
+    static boolean isBulkUpload(ServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null
+                || !(request instanceof HttpServletRequest http)
+                || !http.getRequestURI().equals(
+                        http.getContextPath() + BULK_PATH)) {
+            return false;
         }
-        return false;
+        try {
+            return NdjsonStreamer.APPLICATION_NDJSON
+                    .isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean hasValidParameters(ServletRequest request) {
+        return request.getParameterMap().entrySet().stream().allMatch(
+                param -> InputSanitizer.isValidInput(param.getKey())
+                        && Arrays.stream(param.getValue())
+                        .allMatch(InputSanitizer::isValidInput));
     }
 }
@@ -0,0 +1,109 @@
+package com.deloitte.elrr.services.aspect;
+
+import java.util.UUID;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import com.deloitte.elrr.entity.Competency;
+import com.deloitte.elrr.entity.Credential;
+import com.deloitte.elrr.entity.PersonalCompetency;
+import com.deloitte.elrr.entity.PersonalCredential;
+import com.deloitte.elrr.services.cache.QualificationIndex;
+
+/**
+ * Keeps the {@link QualificationIndex} current with personal competency,
+ * personal credential, competency, credential and person writes made
+ * through a service, at the join points {@link ReferenceCacheAdvice}
+ * uses. Inside a transaction the change is applied after the commit.
+ */
+@Component
+@Aspect
+public class QualificationIndexAdvice {
+
+    @Autowired
+    private QualificationIndex qualificationIndex;
+
+    /**
+     * Index a saved entity.
+     *
+     * @param saved entity returned by save
+     */
+    @AfterReturning(pointcut = "execution(* com.deloitte.elrr.jpa.svc.*"
+            + ".save(..))", returning = "saved")
+    public void afterSave(Object saved) {
+        if (saved instanceof PersonalCompetency pc) {
+            UUID person = pc.getPerson().getId();
+            UUID competency = pc.getCompetency().getId();
+            afterCommit(() -> qualificationIndex.link(pc.getId(), person,
+                    competency));
+        } else if (saved instanceof PersonalCredential pc) {
+            UUID person = pc.getPerson().getId();
+            UUID credential = pc.getCredential().getId();
+            afterCommit(() -> qualificationIndex.link(pc.getId(), person,
+                    credential));
+        } else if (saved instanceof Competency competency) {
+            afterCommit(() -> qualificationIndex.validity(
+                    competency.getId(), competency.getValidEndDate()));
+        } else if (saved instanceof Credential credential) {
+            afterCommit(() -> qualificationIndex.validity(
+                    credential.getId(), credential.getValidEndDate()));
+        }
+    }
+
+    /**
+     * Index saved entities.
+     *
+     * @param saved entities returned by saveAll
+     */
+    @AfterReturning(pointcut = "execution(* com.deloitte.elrr.jpa.svc.*"
+            + ".saveAll(..))", returning = "saved")
+    public void afterSaveAll(Object saved) {
+        if (saved instanceof Iterable<?> entities) {
+            entities.forEach(this::afterSave);
+        }
+    }
+
+    /**
+     * Drop a deleted personal competency, personal credential or person.
+     * The type is taken from the service name.
+     *
+     * @param jp join point
+     */
+    @AfterReturning("execution(* com.deloitte.elrr.jpa.svc.*.delete(..))")
+    public void afterDelete(JoinPoint jp) {
+        Object[] args = jp.getArgs();
+        if (args == null || args.length == 0
+                || !(args[0] instanceof UUID id)) {
+            return;
+        }
+        switch (ClassUtils.getUserClass(jp.getTarget()).getSimpleName()) {
+            case "PersonalCompetencySvc", "PersonalCredentialSvc" ->
+                    afterCommit(() -> qualificationIndex.unlink(id));
+            case "PersonSvc" ->
+                    afterCommit(() -> qualificationIndex.removePerson(id));
+            default -> {
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        change.run();
+                    }
+                });
+    }
+}
@@ -0,0 +1,108 @@
+package com.deloitte.elrr.services.aspect;
+
+import java.util.UUID;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import com.deloitte.elrr.entity.Entity;
+import com.deloitte.elrr.services.cache.ListResultCache;
+import com.deloitte.elrr.services.cache.ReferenceCache;
+import com.deloitte.elrr.services.cache.ResponseCache;
+
+/**
+ * Evicts reference entities from the second-level cache and the
+ * serialized response cache when they are saved or deleted through a
+ * service, at the same join points {@link ServiceAdvice} audits, and
+ * drops the cached list results that read the written type. Inside a
+ * transaction this waits for the commit, so other requests cannot reload
+ * the old rows first.
+ */
+@Component
+@Aspect
+public class ReferenceCacheAdvice {
+
+    @Autowired
+    private ReferenceCache referenceCache;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private ListResultCache listResultCache;
+
+    /**
+     * Evict a saved entity.
+     *
+     * @param saved entity returned by save
+     */
+    @AfterReturning(pointcut = "execution(* com.deloitte.elrr.jpa.svc.*"
+            + ".save(..))", returning = "saved")
+    public void afterSave(Object saved) {
+        if (saved instanceof Entity entity) {
+            Class<?> type = ReferenceCache.cachedType(entity.getClass());
+            if (type == null) {
+                type = ClassUtils.getUserClass(entity);
+            }
+            evict(type.getSimpleName(), entity.getId());
+        }
+    }
+
+    /**
+     * Evict saved entities.
+     *
+     * @param saved entities returned by saveAll
+     */
+    @AfterReturning(pointcut = "execution(* com.deloitte.elrr.jpa.svc.*"
+            + ".saveAll(..))", returning = "saved")
+    public void afterSaveAll(Object saved) {
+        if (saved instanceof Iterable<?> entities) {
+            entities.forEach(this::afterSave);
+        }
+    }
+
+    /**
+     * Evict a deleted entity. The type is taken from the service name.
+     *
+     * @param jp join point
+     */
+    @AfterReturning("execution(* com.deloitte.elrr.jpa.svc.*.delete(..))")
+    public void afterDelete(JoinPoint jp) {
+        Object[] args = jp.getArgs();
+        if (args != null && args.length > 0 && args[0] instanceof UUID id) {
+            String service = ClassUtils.getUserClass(jp.getTarget())
+                    .getSimpleName();
+            evict(service.replaceFirst("Svc$", ""), id);
+        }
+    }
+
+    private void evict(String entityName, UUID id) {
+        Class<? extends Entity> type = ReferenceCache.cachedType(entityName);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(entityName, type, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        evict(entityName, type, id);
+                    }
+                });
+    }
+
+    private void evict(String entityName, Class<? extends Entity> type,
+            UUID id) {
+        listResultCache.invalidate(entityName);
+        if (type != null && id != null) {
+            referenceCache.evict(type, id);
+            responseCache.evict(type, id);
+        }
+    }
+}
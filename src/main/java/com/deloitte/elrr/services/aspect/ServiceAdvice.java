@@ -1,7 +1,9 @@
 package com.deloitte.elrr.services.aspect;
 
+import java.util.ArrayList;
 import java.util.UUID;
 import java.util.Collection;
+import java.util.List;
 
 import java.time.ZonedDateTime;
 
@@ -13,6 +15,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import com.deloitte.elrr.entity.Entity;
 import com.deloitte.elrr.services.security.JwtAuthenticationToken;
@@ -35,9 +38,14 @@ public class ServiceAdvice {
     @Autowired
     private AuditLogSvc auditLogSvc;
 
+    @Autowired
+    private UnitOfWorkContext unitOfWorkContext;
+
     /**
      * Intercept Service Save calls and log the change.
-     * Excludes AuditLogSvc to prevent infinite loops.
+     * Excludes AuditLogSvc to prevent infinite loops. Inside a
+     * {@link UnitOfWork}, saving an entity with no pending changes is
+     * skipped along with its audit entry.
      *
      * @param pjp
      * @return
@@ -48,6 +56,13 @@ public class ServiceAdvice {
     @Around(value = "execution(* com.deloitte.elrr.jpa.svc.*.save(..))"
             + " && !execution(* com.deloitte.elrr.jpa.svc.AuditLogSvc.*(..))")
     public Entity aroundSave(ProceedingJoinPoint pjp) throws Throwable {
+        // skip no-op re-saves of managed entities
+        Object[] args = pjp.getArgs();
+        if (args != null && args.length == 1 && args[0] instanceof Entity
+                && RequestContextHolder.getRequestAttributes() != null
+                && unitOfWorkContext.isUnchanged(args[0])) {
+            return (Entity) args[0];
+        }
         // perform operation
         Entity output = (Entity) pjp.proceed();
         // write audit log
@@ -62,7 +77,8 @@ public class ServiceAdvice {
 
     /**
      * Intercept Service SaveAll calls and log the changes.
-     * Excludes AuditLogSvc to prevent infinite loops.
+     * Excludes AuditLogSvc to prevent infinite loops. The audit entries
+     * for all saved entities are written with a single saveAll call.
      *
      * @param pjp
      * @return
@@ -78,13 +94,18 @@ public class ServiceAdvice {
         // perform operation
         Collection<Entity> outputs = (Collection<Entity>) pjp.proceed();
         // write audit log
-        outputs.forEach(output -> {
-            writeAuditLog(
+        List<AuditLog> auditLogs = new ArrayList<>(outputs.size());
+        try {
+            outputs.forEach(output -> auditLogs.add(buildAuditLog(
                 output.getId(),
                 output.getClass().getSimpleName(),
                 SvcMethod.SAVE
-            );
-        });
+            )));
+            auditLogSvc.saveAll(auditLogs);
+            log.debug("Audit log entries created: {}", auditLogs.size());
+        } catch (Throwable e) {
+            log.error("Error logging entity info", e);
+        }
 
         return outputs;
     }
@@ -156,6 +177,29 @@ public class ServiceAdvice {
      * @param svcMethod the service method being logged
      */
     private void writeAuditLog(
+        UUID entityId,
+        String entityType,
+        SvcMethod svcMethod
+        ) {
+        AuditLog auditLog = buildAuditLog(entityId, entityType, svcMethod);
+
+        try {
+            auditLogSvc.save(auditLog);
+            log.debug("Audit log entry created: {}", auditLog);
+        } catch (Throwable e) {
+            log.error("Error logging entity info", e);
+        }
+    }
+
+    /**
+     * Build an audit log entry for the current request.
+     *
+     * @param entityId the ID of the entity being logged
+     * @param entityType the type of the entity being logged
+     * @param svcMethod the service method being logged
+     * @return unsaved audit log entry
+     */
+    private AuditLog buildAuditLog(
         UUID entityId,
         String entityType,
         SvcMethod svcMethod
@@ -178,13 +222,7 @@ public class ServiceAdvice {
         auditLog.setIsApiUser(isApiUser);
         auditLog.setSvcMethod(svcMethod);
         auditLog.setJwtId(jwtId);
-
-        try {
-            auditLogSvc.save(auditLog);
-            log.debug("Audit log entry created: {}", auditLog);
-        } catch (Throwable e) {
-            log.error("Error logging entity info", e);
-        }
+        return auditLog;
     }
 
 }
@@ -0,0 +1,18 @@
+package com.deloitte.elrr.services.aspect;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller operation as a single unit of work. All service calls
+ * made by the operation share one transaction, their writes are sent as
+ * JDBC batches, and re-saves of unchanged entities are skipped.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UnitOfWork {
+}
@@ -0,0 +1,80 @@
+package com.deloitte.elrr.services.aspect;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Wraps {@link UnitOfWork} controller operations in one transaction.
+ */
+@Component
+@Aspect
+@Slf4j
+public class UnitOfWorkAdvice {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UnitOfWorkContext unitOfWorkContext;
+
+    @Value("${elrr.unit-of-work.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Run a {@link UnitOfWork} operation in a single transaction. The session
+     * keeps its automatic flush mode, so a query made after a save still
+     * sees it; the inserts and updates issued by the operation go out as
+     * ordered JDBC batches, normally in the one flush on commit.
+     *
+     * @param pjp
+     * @return Object being returned
+     * @throws Throwable
+     */
+    @Around("@annotation(com.deloitte.elrr.services.aspect.UnitOfWork)")
+    public Object aroundUnitOfWork(ProceedingJoinPoint pjp) throws Throwable {
+        if (!enabled || unitOfWorkContext.isActive()) {
+            return pjp.proceed();
+        }
+        TransactionTemplate template =
+                new TransactionTemplate(transactionManager);
+        unitOfWorkContext.setActive(true);
+        try {
+            return template.execute(status -> {
+                try {
+                    return pjp.proceed();
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new UnitOfWorkException(e);
+                }
+            });
+        } catch (UnitOfWorkException e) {
+            throw e.getCause();
+        } finally {
+            unitOfWorkContext.setActive(false);
+            log.debug("Unit of work {} skipped {} unchanged saves",
+                    pjp.getSignature().getName(),
+                    unitOfWorkContext.getSkippedSaves());
+        }
+    }
+
+    /**
+     * Carries checked exceptions out of the transaction callback so the
+     * transaction rolls back and the original exception is rethrown.
+     */
+    private static final class UnitOfWorkException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        UnitOfWorkException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
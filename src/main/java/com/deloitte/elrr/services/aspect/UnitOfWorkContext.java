@@ -0,0 +1,93 @@
+package com.deloitte.elrr.services.aspect;
+
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.WebApplicationContext;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Request-scoped state for a {@link UnitOfWork}. Tracks whether a unit of
+ * work is open for the current request and answers whether a given entity
+ * has pending changes in the shared persistence context.
+ */
+@Component
+@Scope(value = WebApplicationContext.SCOPE_REQUEST,
+        proxyMode = ScopedProxyMode.TARGET_CLASS)
+public class UnitOfWorkContext {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private boolean active;
+    private int skippedSaves;
+
+    /**
+     * Mark the unit of work as open or closed for this request.
+     *
+     * @param open true when the unit of work starts, false when it ends
+     */
+    public void setActive(boolean open) {
+        this.active = open;
+    }
+
+    /**
+     * Whether a unit of work is open for this request.
+     *
+     * @return true if a unit of work is open
+     */
+    public boolean isActive() {
+        return this.active;
+    }
+
+    /**
+     * Number of saves skipped because the entity had no changes.
+     *
+     * @return skipped save count
+     */
+    public int getSkippedSaves() {
+        return this.skippedSaves;
+    }
+
+    /**
+     * Determine whether a save of the given entity can be skipped: a unit of
+     * work is open, the entity is already managed, and neither its state nor
+     * any of its collections differ from what was loaded.
+     *
+     * @param entity the entity about to be saved
+     * @return true if saving the entity would be a no-op
+     */
+    public boolean isUnchanged(Object entity) {
+        if (!this.active || entity == null) {
+            return false;
+        }
+        SessionImplementor session =
+                entityManager.unwrap(SessionImplementor.class);
+        EntityEntry entry = session.getPersistenceContextInternal()
+                .getEntry(entity);
+        if (entry == null || entry.getLoadedState() == null) {
+            return false;
+        }
+        EntityPersister persister = entry.getPersister();
+        Object[] current = persister.getValues(entity);
+        int[] dirty = persister.findDirty(current, entry.getLoadedState(),
+                entity, session);
+        if (dirty != null && dirty.length > 0) {
+            return false;
+        }
+        for (Object value : current) {
+            if (value instanceof PersistentCollection<?> collection
+                    && collection.isDirty()) {
+                return false;
+            }
+        }
+        this.skippedSaves++;
+        return true;
+    }
+}
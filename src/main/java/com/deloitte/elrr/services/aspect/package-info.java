@@ -1,4 +1,4 @@
 /**
- * Aspect for service layer logging.
+ * Aspects for service layer logging and per-request units of work.
  */
 package com.deloitte.elrr.services.aspect;
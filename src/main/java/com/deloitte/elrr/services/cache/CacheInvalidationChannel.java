@@ -0,0 +1,211 @@
+package com.deloitte.elrr.services.cache;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.deloitte.elrr.entity.Entity;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends reference cache evictions to the other instances over PostgreSQL
+ * {@code LISTEN}/{@code NOTIFY}, and applies the evictions they send. Uses
+ * one dedicated connection outside the pool. Notifications sent while the
+ * connection is down are lost, so every reference region is emptied
+ * whenever the connection is re-established.
+ */
+@Component
+@ConditionalOnProperty(name = "elrr.cache.notify.enabled",
+        havingValue = "true")
+@Slf4j
+public class CacheInvalidationChannel implements SmartLifecycle {
+
+    private static final String CHANNEL = "elrr_cache";
+
+    private static final String ALL = "*";
+
+    private static final long RETRY_MILLIS = 5000;
+
+    /**
+     * Identifies this instance, so it ignores its own notifications.
+     */
+    private final String origin = UUID.randomUUID().toString();
+
+    private final Object lock = new Object();
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private ReferenceCache referenceCache;
+
+    @Value("${elrr.cache.notify.poll-ms:500}")
+    private long pollMillis;
+
+    private volatile boolean running;
+
+    private Thread listener;
+
+    private Connection connection;
+
+    private boolean reconnecting;
+
+    /**
+     * Tell the other instances to evict an entity.
+     *
+     * @param type cached type
+     * @param id entity id, or null for every entity of the type
+     */
+    public void publish(Class<? extends Entity> type, UUID id) {
+        String payload = String.join(":", origin, type.getSimpleName(),
+                id == null ? ALL : id.toString());
+        synchronized (lock) {
+            try (PreparedStatement statement = connection()
+                    .prepareStatement("select pg_notify(?, ?)")) {
+                statement.setString(1, CHANNEL);
+                statement.setString(2, payload);
+                statement.execute();
+            } catch (SQLException e) {
+                log.warn("Could not publish cache eviction {}", payload, e);
+                close();
+            }
+        }
+    }
+
+    /**
+     * Apply an eviction sent by another instance.
+     *
+     * @param payload {@code origin:type:id}, where id may be {@code *}
+     */
+    void receive(String payload) {
+        String[] parts = payload.split(":", 3);
+        if (parts.length != 3 || origin.equals(parts[0])) {
+            return;
+        }
+        Class<? extends Entity> type = ReferenceCache.cachedType(parts[1]);
+        if (type == null) {
+            return;
+        }
+        try {
+            referenceCache.evictLocal(type,
+                    ALL.equals(parts[2]) ? null : UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed cache eviction {}", payload);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "elrr-cache-invalidation");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+        synchronized (lock) {
+            close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try {
+                PGNotification[] notifications;
+                synchronized (lock) {
+                    Connection c = connection();
+                    // notifications are only read from the socket when a
+                    // statement runs
+                    try (Statement statement = c.createStatement()) {
+                        statement.execute("select 1");
+                    }
+                    notifications = c.unwrap(PGConnection.class)
+                            .getNotifications();
+                }
+                if (notifications != null) {
+                    for (PGNotification notification : notifications) {
+                        receive(notification.getParameter());
+                    }
+                }
+                Thread.sleep(pollMillis);
+            } catch (SQLException e) {
+                log.warn("Cache invalidation channel failed, reconnecting",
+                        e);
+                synchronized (lock) {
+                    close();
+                }
+                try {
+                    Thread.sleep(RETRY_MILLIS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * The listening connection, opened if needed. Callers hold the lock.
+     */
+    private Connection connection() throws SQLException {
+        if (connection == null || connection.isClosed()) {
+            connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword());
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+            }
+            if (reconnecting) {
+                log.info("Cache invalidation channel reconnected, emptying"
+                        + " reference regions");
+                ReferenceCache.REGIONS.keySet()
+                        .forEach(type -> referenceCache.evictLocal(type,
+                                null));
+            }
+            reconnecting = true;
+        }
+        return connection;
+    }
+
+    /**
+     * Close the connection. Callers hold the lock.
+     */
+    private void close() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.debug("Error closing cache invalidation connection", e);
+            }
+            connection = null;
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.deloitte.elrr.services.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.deloitte.elrr.entity.Entity;
+import com.deloitte.elrr.entity.Goal;
+import com.deloitte.elrr.entity.Person;
+import com.deloitte.elrr.entity.types.ActionType;
+import com.deloitte.elrr.services.dto.CacheRegionStatsDto;
+import com.deloitte.elrr.services.dto.PermissionDto;
+import com.deloitte.elrr.services.exception.BadRequestException;
+import com.deloitte.elrr.services.security.AdminJwtAuthenticationToken;
+import com.deloitte.elrr.services.security.JwtAuthenticationToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Short-lived results of filtered list reads, keyed by the list type, the
+ * caller's read permissions for it and the normalized filter, so that
+ * clients polling the same query share one database read. A write to any
+ * entity type a list reads drops that list's entries; writes made on
+ * other instances are picked up when the entries expire after
+ * {@code elrr.list-cache.ttl-seconds}. Disabled unless
+ * {@code elrr.list-cache.enabled} is set.
+ */
+@Component
+public class ListResultCache {
+
+    /**
+     * Region name reported in cache statistics.
+     */
+    public static final String REGION = "elrr.list";
+
+    /**
+     * Cached list types and the simple names of the entity types each one
+     * reads, through its filters or its DTO.
+     */
+    public static final Map<Class<? extends Entity>, Set<String>> READS;
+
+    static {
+        Map<Class<? extends Entity>, Set<String>> reads =
+                new LinkedHashMap<>();
+        reads.put(Person.class, Set.of("Person", "Location", "Email",
+                "Phone", "Identity", "Association", "EmploymentRecord",
+                "PersonalCompetency", "PersonalCredential",
+                "LearningRecord"));
+        reads.put(Goal.class, Set.of("Goal"));
+        READS = Collections.unmodifiableMap(reads);
+    }
+
+    private final boolean enabled;
+
+    private final Cache<Key, Entry<?>> cache;
+
+    private final Map<Class<?>, AtomicLong> generations =
+            new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Stats> stats = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Loads a list on a cache miss.
+     *
+     * @param <D> DTO type
+     */
+    @FunctionalInterface
+    public interface Loader<D> {
+
+        /**
+         * Run the query.
+         *
+         * @return entity tag and DTOs of the list, or null if nothing was
+         *         loaded because the client already has the current list
+         * @throws BadRequestException if the filter is invalid
+         */
+        Entry<D> load() throws BadRequestException;
+    }
+
+    /**
+     * A list result: its entity tag and DTOs.
+     *
+     * @param <D> DTO type
+     * @param etag entity tag of the list, or null
+     * @param items DTOs in response order
+     * @param loadedAt millis when the list was read from the database
+     */
+    public record Entry<D>(String etag, List<D> items, long loadedAt) {
+
+        /**
+         * A freshly loaded result.
+         *
+         * @param etag entity tag of the list, or null
+         * @param items DTOs in response order
+         */
+        public Entry(String etag, List<D> items) {
+            this(etag, List.copyOf(items), System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Create the cache.
+     *
+     * @param enabled whether results are cached at all
+     * @param ttlSeconds seconds an entry is served after it was loaded
+     * @param maxEntries largest number of cached results
+     */
+    public ListResultCache(
+            @Value("${elrr.list-cache.enabled:false}") final boolean enabled,
+            @Value("${elrr.list-cache.ttl-seconds:30}")
+            final long ttlSeconds,
+            @Value("${elrr.list-cache.max-entries:1000}")
+            final long maxEntries) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxEntries)
+                .build();
+        READS.keySet().forEach(type -> {
+            generations.put(type, new AtomicLong());
+            stats.put(type, new Stats());
+        });
+    }
+
+    /**
+     * Get a list result, loading it on a miss.
+     *
+     * @param <D> DTO type
+     * @param type list entity type, a key of {@link #READS}
+     * @param filter the request's filter object
+     * @param loader runs the query on a miss
+     * @return the cached or loaded result, or null if the loader returned
+     *         null
+     * @throws BadRequestException if the loader rejects the filter
+     */
+    @SuppressWarnings("unchecked")
+    public <D> Entry<D> get(Class<? extends Entity> type, Object filter,
+            Loader<D> loader) throws BadRequestException {
+        Stats typeStats = stats.get(type);
+        if (!enabled || typeStats == null) {
+            return loader.load();
+        }
+        Key key = new Key(type, scope(type), normalize(filter));
+        Entry<D> entry = (Entry<D>) cache.getIfPresent(key);
+        if (entry != null) {
+            typeStats.hit(System.currentTimeMillis() - entry.loadedAt());
+            return entry;
+        }
+        typeStats.misses.increment();
+        long generation = generations.get(type).get();
+        entry = loader.load();
+        if (entry == null) {
+            return null;
+        }
+        // a write during the load may not be reflected in the result
+        synchronized (generations.get(type)) {
+            if (generations.get(type).get() == generation) {
+                cache.put(key, entry);
+                typeStats.puts.increment();
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Drop the entries of every list that reads an entity type.
+     *
+     * @param entityName simple name of the written entity type
+     */
+    public void invalidate(String entityName) {
+        READS.forEach((type, reads) -> {
+            if (reads.contains(entityName)) {
+                invalidateType(type);
+            }
+        });
+    }
+
+    /**
+     * Drop every entry.
+     */
+    public void evictAll() {
+        READS.keySet().forEach(this::invalidateType);
+    }
+
+    /**
+     * Hits, misses, puts and entries of each list type since startup, and
+     * the age of the entries served on hits.
+     *
+     * @return one entry per list type, in {@link #READS} order
+     */
+    public List<CacheRegionStatsDto> statistics() {
+        Map<Class<?>, Long> sizes = new LinkedHashMap<>();
+        cache.asMap().keySet().forEach(key ->
+                sizes.merge(key.type(), 1L, Long::sum));
+        List<CacheRegionStatsDto> result = new ArrayList<>(READS.size());
+        READS.keySet().forEach(type -> {
+            Stats typeStats = stats.get(type);
+            long hits = typeStats.hits.sum();
+            CacheRegionStatsDto dto = new CacheRegionStatsDto(REGION,
+                    type.getSimpleName(), hits, typeStats.misses.sum(),
+                    typeStats.puts.sum(), sizes.getOrDefault(type, 0L));
+            dto.setInvalidations(typeStats.invalidations.sum());
+            if (hits > 0) {
+                dto.setMeanHitAgeMillis(typeStats.hitAge.sum() / hits);
+                dto.setMaxHitAgeMillis(typeStats.maxHitAge.get());
+            }
+            result.add(dto);
+        });
+        return result;
+    }
+
+    private void invalidateType(Class<?> type) {
+        AtomicLong generation = generations.get(type);
+        long removed = 0;
+        synchronized (generation) {
+            generation.incrementAndGet();
+            Iterator<Key> keys = cache.asMap().keySet().iterator();
+            while (keys.hasNext()) {
+                if (keys.next().type() == type) {
+                    keys.remove();
+                    removed++;
+                }
+            }
+        }
+        stats.get(type).invalidations.add(removed);
+    }
+
+    /**
+     * The caller's read permissions for a list type: "admin" for the admin
+     * token, otherwise the sorted resource ids of the matching permissions,
+     * with "*" for a permission on every resource.
+     */
+    static String scope(Class<? extends Entity> type) {
+        Authentication authentication = SecurityContextHolder.getContext()
+                .getAuthentication();
+        if (authentication instanceof AdminJwtAuthenticationToken) {
+            return "admin";
+        }
+        if (!(authentication instanceof JwtAuthenticationToken token)
+                || token.getPermissions() == null) {
+            return "";
+        }
+        String resource = type.getSimpleName().toLowerCase();
+        Set<String> scope = new TreeSet<>();
+        for (PermissionDto permission : token.getPermissions()) {
+            if ((resource.equals(permission.getResource())
+                    || "*".equals(permission.getResource()))
+                    && permission.getActions() != null
+                    && permission.getActions().contains(ActionType.READ)) {
+                scope.add(permission.getResourceId() == null ? "*"
+                        : permission.getResourceId().toString());
+            }
+        }
+        return String.join(",", scope);
+    }
+
+    /**
+     * The filter's non-empty properties in name order, with array values
+     * sorted and deduplicated, so that equivalent queries share a key.
+     */
+    Map<String, Object> normalize(Object filter) {
+        Map<String, Object> values = new TreeMap<>();
+        if (filter == null) {
+            return values;
+        }
+        JsonNode tree = objectMapper.valueToTree(filter);
+        tree.fields().forEachRemaining(field -> {
+            JsonNode value = field.getValue();
+            if (value.isArray()) {
+                Set<String> items = new TreeSet<>();
+                value.forEach(item -> items.add(text(item)));
+                if (!items.isEmpty()) {
+                    values.put(field.getKey(), List.copyOf(items));
+                }
+            } else if (!value.isNull() && !value.isMissingNode()) {
+                values.put(field.getKey(), text(value));
+            }
+        });
+        return values;
+    }
+
+    private static String text(JsonNode value) {
+        return value.isValueNode() ? value.asText() : value.toString();
+    }
+
+    private record Key(Class<?> type, String scope,
+            Map<String, Object> filter) {
+    }
+
+    private static final class Stats {
+
+        private final LongAdder hits = new LongAdder();
+
+        private final LongAdder misses = new LongAdder();
+
+        private final LongAdder puts = new LongAdder();
+
+        private final LongAdder invalidations = new LongAdder();
+
+        private final LongAdder hitAge = new LongAdder();
+
+        private final LongAccumulator maxHitAge =
+                new LongAccumulator(Math::max, 0);
+
+        private void hit(long age) {
+            hits.increment();
+            hitAge.add(age);
+            maxHitAge.accumulate(age);
+        }
+    }
+}
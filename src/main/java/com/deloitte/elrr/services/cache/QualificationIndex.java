@@ -0,0 +1,350 @@
+package com.deloitte.elrr.services.cache;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.deloitte.elrr.services.dto.PersonMatchDto;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * In-memory inverted index from competency and credential id to the
+ * persons holding it. Persons are numbered densely as they are first
+ * seen, so each qualification's holders are one bitset and a search is a
+ * few word-wide ands or ors followed by a pass over the candidates.
+ *
+ * <p>The index is loaded from the database on the first search and
+ * reloaded once it is older than {@code elrr.match-index.ttl-seconds},
+ * which bounds how long writes made on other instances, or not through
+ * the personal competency and credential services, go unseen. Writes
+ * through those services on this instance are applied as they commit;
+ * those that commit while a reload is reading are applied to the reloaded
+ * index too.
+ */
+@Component
+public class QualificationIndex {
+
+    /**
+     * Score weight of a held qualification whose validEndDate has passed,
+     * against 1 for a current one.
+     */
+    public static final double EXPIRED_WEIGHT = 0.5;
+
+    private static final BitSet NONE = new BitSet();
+
+    private static final Comparator<PersonMatchDto> RANK = Comparator
+            .comparingDouble(PersonMatchDto::getScore).reversed()
+            .thenComparing(Comparator.comparingInt(
+                    PersonMatchDto::getMatched).reversed())
+            .thenComparing(PersonMatchDto::getPersonId);
+
+    private static final List<String> LINKS = List.of(
+            "select h.id, h.person.id, h.competency.id"
+                    + " from PersonalCompetency h",
+            "select h.id, h.person.id, h.credential.id"
+                    + " from PersonalCredential h");
+
+    private static final List<String> VALIDITY = List.of(
+            "select q.id, q.validEndDate from Competency q"
+                    + " where q.validEndDate is not null",
+            "select q.id, q.validEndDate from Credential q"
+                    + " where q.validEndDate is not null");
+
+    private final long ttlMillis;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Object reloading = new Object();
+
+    /** Guarded by {@link #lock}. */
+    private Snapshot snapshot;
+
+    /** Changes made during a reload, or null; guarded by {@link #lock}. */
+    private List<Consumer<Snapshot>> pending;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Create the index.
+     *
+     * @param ttlSeconds seconds the index is used before it is reloaded
+     */
+    public QualificationIndex(
+            @Value("${elrr.match-index.ttl-seconds:300}")
+            final long ttlSeconds) {
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * Persons holding at least a number of the given qualifications,
+     * best first: by score, then by the number held, then by id. A held
+     * qualification adds 1, or {@link #EXPIRED_WEIGHT} once its
+     * validEndDate has passed, and the score is the sum divided by the
+     * number of qualifications asked for.
+     *
+     * @param qualificationIds competency and credential ids
+     * @param minCount how many of them a match must hold, at least 1
+     * @param limit largest number of matches returned
+     * @return matches in rank order
+     */
+    @Transactional(readOnly = true)
+    public List<PersonMatchDto> match(List<UUID> qualificationIds,
+            int minCount, int limit) {
+        Snapshot current = current();
+        ZonedDateTime now = ZonedDateTime.now();
+        int count = qualificationIds.size();
+        BitSet[] holders = new BitSet[count];
+        double[] weights = new double[count];
+        PriorityQueue<PersonMatchDto> top =
+                new PriorityQueue<>(RANK.reversed());
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                UUID id = qualificationIds.get(i);
+                holders[i] = current.holders.getOrDefault(id, NONE);
+                ZonedDateTime end = current.validEnd.get(id);
+                weights[i] = end != null && end.isBefore(now)
+                        ? EXPIRED_WEIGHT : 1;
+            }
+            BitSet candidates = (BitSet) holders[0].clone();
+            for (int i = 1; i < count; i++) {
+                if (minCount >= count) {
+                    candidates.and(holders[i]);
+                } else {
+                    candidates.or(holders[i]);
+                }
+            }
+            candidates.andNot(current.removed);
+            for (int person = candidates.nextSetBit(0); person >= 0;
+                    person = candidates.nextSetBit(person + 1)) {
+                int matched = 0;
+                double score = 0;
+                for (int i = 0; i < count; i++) {
+                    if (holders[i].get(person)) {
+                        matched++;
+                        score += weights[i];
+                    }
+                }
+                if (matched < minCount) {
+                    continue;
+                }
+                top.offer(new PersonMatchDto(current.persons.get(person),
+                        matched, score / count));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<PersonMatchDto> result = new ArrayList<>(top);
+        result.sort(RANK);
+        return result;
+    }
+
+    /**
+     * Record that a person holds a qualification through a personal
+     * competency or credential, replacing what the link held before.
+     *
+     * @param linkId personal competency or credential id
+     * @param personId person id
+     * @param qualificationId competency or credential id
+     */
+    public void link(UUID linkId, UUID personId, UUID qualificationId) {
+        apply(index -> index.link(linkId, personId, qualificationId));
+    }
+
+    /**
+     * Forget a deleted personal competency or credential.
+     *
+     * @param linkId personal competency or credential id
+     */
+    public void unlink(UUID linkId) {
+        apply(index -> index.unlink(linkId));
+    }
+
+    /**
+     * Leave a deleted person out of every match.
+     *
+     * @param personId person id
+     */
+    public void removePerson(UUID personId) {
+        apply(index -> index.removePerson(personId));
+    }
+
+    /**
+     * Record a competency's or credential's validEndDate.
+     *
+     * @param qualificationId competency or credential id
+     * @param validEndDate end of validity, or null for none
+     */
+    public void validity(UUID qualificationId, ZonedDateTime validEndDate) {
+        apply(index -> index.validity(qualificationId, validEndDate));
+    }
+
+    /**
+     * Drop the index so the next search reloads it.
+     */
+    public void evictAll() {
+        lock.writeLock().lock();
+        try {
+            snapshot = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<Snapshot> change) {
+        lock.writeLock().lock();
+        try {
+            if (snapshot != null) {
+                change.accept(snapshot);
+            }
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = fresh();
+        if (current != null) {
+            return current;
+        }
+        synchronized (reloading) {
+            current = fresh();
+            if (current != null) {
+                return current;
+            }
+            lock.writeLock().lock();
+            try {
+                pending = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            final Snapshot loaded;
+            try {
+                loaded = load();
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pending = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+            lock.writeLock().lock();
+            try {
+                pending.forEach(change -> change.accept(loaded));
+                pending = null;
+                snapshot = loaded;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return loaded;
+        }
+    }
+
+    private Snapshot fresh() {
+        lock.readLock().lock();
+        try {
+            return snapshot != null && System.currentTimeMillis()
+                    - snapshot.loadedAt < ttlMillis ? snapshot : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Snapshot load() {
+        Snapshot loaded = new Snapshot();
+        for (String jpql : LINKS) {
+            try (Stream<Object[]> rows = entityManager
+                    .createQuery(jpql, Object[].class).getResultStream()) {
+                rows.forEach(row -> loaded.link((UUID) row[0],
+                        (UUID) row[1], (UUID) row[2]));
+            }
+        }
+        for (String jpql : VALIDITY) {
+            entityManager.createQuery(jpql, Object[].class).getResultList()
+                    .forEach(row -> loaded.validity((UUID) row[0],
+                            (ZonedDateTime) row[1]));
+        }
+        return loaded;
+    }
+
+    private record Link(UUID qualificationId, int person) {
+    }
+
+    /**
+     * One loaded index with the changes applied since.
+     */
+    private static final class Snapshot {
+
+        private final long loadedAt = System.currentTimeMillis();
+
+        private final Map<UUID, Integer> index = new HashMap<>();
+
+        private final List<UUID> persons = new ArrayList<>();
+
+        private final BitSet removed = new BitSet();
+
+        private final Map<UUID, BitSet> holders = new HashMap<>();
+
+        private final Map<UUID, Link> links = new HashMap<>();
+
+        private final Map<UUID, ZonedDateTime> validEnd = new HashMap<>();
+
+        void link(UUID linkId, UUID personId, UUID qualificationId) {
+            unlink(linkId);
+            int person = index.computeIfAbsent(personId, id -> {
+                persons.add(id);
+                return persons.size() - 1;
+            });
+            holders.computeIfAbsent(qualificationId, id -> new BitSet())
+                    .set(person);
+            links.put(linkId, new Link(qualificationId, person));
+        }
+
+        void unlink(UUID linkId) {
+            Link link = links.remove(linkId);
+            if (link != null) {
+                holders.get(link.qualificationId()).clear(link.person());
+            }
+        }
+
+        void removePerson(UUID personId) {
+            Integer person = index.get(personId);
+            if (person != null) {
+                removed.set(person);
+            }
+        }
+
+        void validity(UUID qualificationId, ZonedDateTime validEndDate) {
+            if (validEndDate == null) {
+                validEnd.remove(qualificationId);
+            } else {
+                validEnd.put(qualificationId, validEndDate);
+            }
+        }
+    }
+}
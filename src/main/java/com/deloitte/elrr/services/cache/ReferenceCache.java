@@ -0,0 +1,178 @@
+package com.deloitte.elrr.services.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.deloitte.elrr.entity.Competency;
+import com.deloitte.elrr.entity.Credential;
+import com.deloitte.elrr.entity.Entity;
+import com.deloitte.elrr.entity.Facility;
+import com.deloitte.elrr.entity.LearningResource;
+import com.deloitte.elrr.entity.Location;
+import com.deloitte.elrr.entity.Organization;
+import com.deloitte.elrr.services.dto.CacheRegionStatsDto;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The reference entities kept in the Hibernate second-level cache, and
+ * eviction and statistics for their regions. These types are read on
+ * almost every request and change rarely, so after the first load they
+ * are served from memory. Hibernate keeps the local cache in step with
+ * writes made through this instance; evictions are also sent to the other
+ * instances when a {@link CacheInvalidationChannel} is configured.
+ */
+@Component
+@Slf4j
+public class ReferenceCache {
+
+    /**
+     * Cached entity types and the cache region of each.
+     */
+    public static final Map<Class<? extends Entity>, String> REGIONS;
+
+    static {
+        Map<Class<? extends Entity>, String> regions = new LinkedHashMap<>();
+        regions.put(Competency.class, "elrr.competency");
+        regions.put(Credential.class, "elrr.credential");
+        regions.put(LearningResource.class, "elrr.learning-resource");
+        regions.put(Organization.class, "elrr.organization");
+        regions.put(Location.class, "elrr.location");
+        regions.put(Facility.class, "elrr.facility");
+        REGIONS = Collections.unmodifiableMap(regions);
+    }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectProvider<CacheInvalidationChannel> channel;
+
+    /**
+     * Find the cached type an entity class belongs to.
+     *
+     * @param type entity class, or a subclass or proxy of one
+     * @return the cached type, or null if the class is not cached
+     */
+    public static Class<? extends Entity> cachedType(Class<?> type) {
+        for (Class<? extends Entity> cached : REGIONS.keySet()) {
+            if (cached.isAssignableFrom(type)) {
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find a cached type by its simple name.
+     *
+     * @param name simple class name, such as {@code Competency}
+     * @return the cached type, or null if there is none with the name
+     */
+    public static Class<? extends Entity> cachedType(String name) {
+        for (Class<? extends Entity> cached : REGIONS.keySet()) {
+            if (cached.getSimpleName().equals(name)) {
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Evict an entity here and, if configured, on the other instances.
+     *
+     * @param type cached type
+     * @param id entity id
+     */
+    public void evict(Class<? extends Entity> type, UUID id) {
+        evictLocal(type, id);
+        channel.ifAvailable(c -> c.publish(type, id));
+    }
+
+    /**
+     * Evict an entity from this instance only.
+     *
+     * @param type cached type
+     * @param id entity id, or null for every entity of the type
+     */
+    public void evictLocal(Class<? extends Entity> type, UUID id) {
+        if (id == null) {
+            cache().evictEntityData(type);
+        } else {
+            cache().evictEntityData(type, id);
+        }
+        log.debug("Evicted {} {} from the second-level cache",
+                type.getSimpleName(), id == null ? "*" : id);
+    }
+
+    /**
+     * Empty every reference region here and, if configured, on the other
+     * instances.
+     */
+    public void evictAll() {
+        for (Class<? extends Entity> type : REGIONS.keySet()) {
+            evictLocal(type, null);
+            channel.ifAvailable(c -> c.publish(type, null));
+        }
+    }
+
+    /**
+     * Statistics of every reference region.
+     *
+     * @return one entry per region, in {@link #REGIONS} order
+     */
+    public List<CacheRegionStatsDto> statistics() {
+        SessionFactory sessionFactory = sessionFactory();
+        List<CacheRegionStatsDto> stats = new ArrayList<>(REGIONS.size());
+        REGIONS.forEach((type, region) -> {
+            CacheRegionStatistics regionStats = regionStatistics(
+                    sessionFactory, region);
+            if (regionStats == null) {
+                stats.add(new CacheRegionStatsDto(region,
+                        type.getSimpleName(), 0, 0, 0, 0));
+            } else {
+                stats.add(new CacheRegionStatsDto(region,
+                        type.getSimpleName(), regionStats.getHitCount(),
+                        regionStats.getMissCount(),
+                        regionStats.getPutCount(),
+                        Math.max(0,
+                                regionStats.getElementCountInMemory())));
+            }
+        });
+        return stats;
+    }
+
+    /**
+     * Statistics of a region, or null if it does not exist, as when the
+     * cache is disabled.
+     */
+    private static CacheRegionStatistics regionStatistics(
+            SessionFactory sessionFactory, String region) {
+        try {
+            return sessionFactory.getStatistics()
+                    .getDomainDataRegionStatistics(region);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private Cache cache() {
+        return sessionFactory().getCache();
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -0,0 +1,81 @@
+package com.deloitte.elrr.services.cache;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Turns on the Hibernate second-level cache for the
+ * {@link ReferenceCache#REGIONS reference entities}. Each region is an
+ * in-process Caffeine cache bounded by {@code elrr.cache.max-size}
+ * entries, with entries expiring {@code elrr.cache.ttl-seconds} after they
+ * were loaded. The entity classes come from the entities library, so they
+ * are marked cacheable here rather than with annotations.
+ */
+@Configuration
+@ConditionalOnProperty(name = "elrr.cache.enabled", havingValue = "true",
+        matchIfMissing = true)
+public class ReferenceCacheConfig {
+
+    private static final String CLASS_CACHE = "hibernate.classcache.";
+
+    /**
+     * Cache manager holding one region per reference entity.
+     *
+     * @param maxSize largest number of entities held per region
+     * @param ttlSeconds seconds an entity is kept after it was loaded
+     * @return CacheManager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager referenceCacheManager(
+            @Value("${elrr.cache.max-size:10000}") final long maxSize,
+            @Value("${elrr.cache.ttl-seconds:600}") final long ttlSeconds) {
+        CacheManager cacheManager = Caching.getCachingProvider(
+                CaffeineCachingProvider.class.getName()).getCacheManager();
+        for (String region : ReferenceCache.REGIONS.values()) {
+            CaffeineConfiguration<Object, Object> config =
+                    new CaffeineConfiguration<>();
+            config.setMaximumSize(OptionalLong.of(maxSize));
+            config.setExpireAfterWrite(OptionalLong.of(
+                    TimeUnit.SECONDS.toNanos(ttlSeconds)));
+            config.setStatisticsEnabled(true);
+            if (cacheManager.getCache(region) == null) {
+                cacheManager.createCache(region, config);
+            }
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Point Hibernate at the cache manager and mark the reference entities
+     * read-write cacheable in their regions.
+     *
+     * @param referenceCacheManager cache manager
+     * @return HibernatePropertiesCustomizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer referenceCacheCustomizer(
+            final CacheManager referenceCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", "true");
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager",
+                    referenceCacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy",
+                    "create-warn");
+            ReferenceCache.REGIONS.forEach((type, region) -> properties.put(
+                    CLASS_CACHE + type.getName(), "read-write," + region));
+        };
+    }
+}
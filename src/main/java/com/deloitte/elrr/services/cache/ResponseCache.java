@@ -0,0 +1,299 @@
+package com.deloitte.elrr.services.cache;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.WebRequest;
+
+import com.deloitte.elrr.entity.Entity;
+import com.deloitte.elrr.services.dto.CacheRegionStatsDto;
+import com.deloitte.elrr.services.exception.BadRequestException;
+import com.deloitte.elrr.services.query.FilterQuerySvc;
+import com.deloitte.elrr.services.query.VersionQuerySvc;
+import com.deloitte.elrr.services.query.VersionQuerySvc.Version;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Serialized JSON of single entities, keyed by type and id and valid for
+ * one {@code lastModified} value. Single and list reads check the versions
+ * of the entities they return with one id-and-timestamp query, then use
+ * the cached bytes of every entity whose version still matches and load,
+ * map and serialize only the rest. The controllers return the bytes and
+ * tag in their response. Entries are dropped when the entity is saved or
+ * deleted, and an entry whose version no longer matches is never served,
+ * so changes made on other instances are picked up without an eviction
+ * message. The cache is bounded by {@code elrr.response-cache.max-bytes}
+ * of JSON.
+ */
+@Component
+public class ResponseCache {
+
+    /**
+     * Region name reported in cache statistics.
+     */
+    public static final String REGION = "elrr.response";
+
+    /**
+     * Approximate bytes held per entry besides the JSON itself.
+     */
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final Cache<Key, Body> cache;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder puts = new LongAdder();
+
+    @Autowired
+    private VersionQuerySvc versionQuerySvc;
+
+    @Autowired
+    private FilterQuerySvc filterQuerySvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Create the cache.
+     *
+     * @param maxBytes largest total size of the cached JSON
+     */
+    public ResponseCache(
+            @Value("${elrr.response-cache.max-bytes:67108864}")
+            final long maxBytes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Body body) ->
+                        body.json().length + ENTRY_OVERHEAD)
+                .build();
+    }
+
+    /**
+     * Read one entity as JSON with its current tag. The body is left out
+     * if the request already has the tag.
+     *
+     * @param <T> entity type
+     * @param request request carrying If-None-Match
+     * @param type entity class
+     * @param id entity id
+     * @param toDto maps the entity to the response DTO
+     * @return the JSON, or null if there is no such entity
+     */
+    @Transactional(readOnly = true)
+    public <T extends Entity> Json readOne(WebRequest request,
+            Class<T> type, UUID id, Function<? super T, ?> toDto) {
+        List<Version> versions = versionQuerySvc.versions(type,
+                (root, query, cb) -> cb.equal(root.get("id"), id));
+        if (versions.isEmpty()) {
+            return null;
+        }
+        String etag = VersionQuerySvc.etag(versions);
+        if (hasTag(request, etag)) {
+            return new Json(etag, null);
+        }
+        List<byte[]> json = json(type, versions, toDto);
+        if (json.isEmpty()) {
+            // deleted since the version query
+            return null;
+        }
+        return new Json(etag, json.get(0));
+    }
+
+    /**
+     * Read every entity matching a filter as a JSON array ordered by id,
+     * with the list's current tag. The body is left out if the request
+     * already has the tag. The list is bounded like
+     * {@link FilterQuerySvc#list}.
+     *
+     * @param <T> entity type
+     * @param request request carrying If-None-Match
+     * @param type entity class
+     * @param spec filter specification
+     * @param toDto maps an entity to its response DTO
+     * @return the JSON
+     * @throws BadRequestException if the bound is enforced and more
+     *         entities match
+     */
+    @Transactional(readOnly = true)
+    public <T extends Entity> Json readAll(WebRequest request,
+            Class<T> type, Specification<T> spec,
+            Function<? super T, ?> toDto) throws BadRequestException {
+        List<Version> versions = versionQuerySvc.versions(type, spec,
+                filterQuerySvc.listReadLimit());
+        filterQuerySvc.checkListSize(type, versions.size());
+        String etag = VersionQuerySvc.etag(versions);
+        if (hasTag(request, etag)) {
+            return new Json(etag, null);
+        }
+        return new Json(etag, array(json(type, versions, toDto)));
+    }
+
+    /**
+     * Drop the entry of an entity.
+     *
+     * @param type entity class
+     * @param id entity id
+     */
+    public void evict(Class<? extends Entity> type, UUID id) {
+        cache.invalidate(new Key(type, id));
+    }
+
+    /**
+     * Drop every entry.
+     */
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Hits, misses, puts and entry count since startup.
+     *
+     * @return CacheRegionStatsDto
+     */
+    public CacheRegionStatsDto statistics() {
+        return new CacheRegionStatsDto(REGION, "*", hits.sum(),
+                misses.sum(), puts.sum(), cache.estimatedSize());
+    }
+
+    /**
+     * JSON of each version, from the cache where the version matches and
+     * otherwise loaded, mapped and serialized. Entities deleted since the
+     * versions were read are left out.
+     */
+    private <T extends Entity> List<byte[]> json(Class<T> type,
+            List<Version> versions, Function<? super T, ?> toDto) {
+        byte[][] json = new byte[versions.size()][];
+        Map<UUID, Integer> missing = new LinkedHashMap<>();
+        for (int i = 0; i < versions.size(); i++) {
+            Version version = versions.get(i);
+            Body body = cache.getIfPresent(new Key(type, version.id()));
+            if (body != null && Objects.equals(body.lastModified(),
+                    version.lastModified())) {
+                json[i] = body.json();
+                hits.increment();
+            } else {
+                missing.put(version.id(), i);
+                misses.increment();
+            }
+        }
+        List<UUID> ids = new ArrayList<>(missing.keySet());
+        for (int i = 0; i < ids.size(); i += FilterQuerySvc.IN_CHUNK) {
+            List<UUID> chunk = ids.subList(i,
+                    Math.min(ids.size(), i + FilterQuerySvc.IN_CHUNK));
+            for (T entity : entityManager.createQuery("select e from "
+                    + type.getSimpleName() + " e where e.id in :ids", type)
+                    .setParameter("ids", chunk)
+                    .getResultList()) {
+                Integer index = missing.get(entity.getId());
+                if (index == null) {
+                    continue;
+                }
+                Version version = versions.get(index);
+                json[index] = serialize(toDto.apply(entity));
+                cache.put(new Key(type, version.id()),
+                        new Body(version.lastModified(), json[index]));
+                puts.increment();
+            }
+        }
+        return Arrays.stream(json).filter(Objects::nonNull).toList();
+    }
+
+    private byte[] serialize(Object dto) {
+        try {
+            return objectMapper.writeValueAsBytes(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize "
+                    + dto.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Whether If-None-Match names the tag, compared weakly as for GET.
+     */
+    private static boolean hasTag(WebRequest request, String etag) {
+        String[] headers = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (headers == null) {
+            return false;
+        }
+        ETag current = ETag.create(etag);
+        for (String header : headers) {
+            for (ETag tag : ETag.parse(header)) {
+                if (tag.isWildcard() || tag.compare(current, false)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Join the items into one JSON array.
+     */
+    private static byte[] array(List<byte[]> items) {
+        int length = 2 + Math.max(0, items.size() - 1);
+        for (byte[] item : items) {
+            length += item.length;
+        }
+        byte[] array = new byte[length];
+        int offset = 0;
+        array[offset++] = '[';
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                array[offset++] = ',';
+            }
+            byte[] item = items.get(i);
+            System.arraycopy(item, 0, array, offset, item.length);
+            offset += item.length;
+        }
+        array[offset] = ']';
+        return array;
+    }
+
+    /**
+     * Serialized JSON and the entity tag it was read at.
+     *
+     * @param etag entity tag
+     * @param body JSON, or null if the request already has the tag
+     */
+    public record Json(String etag, byte[] body) {
+
+        /**
+         * @return true if the request already has the tag
+         */
+        public boolean notModified() {
+            return body == null;
+        }
+    }
+
+    private record Key(Class<?> type, UUID id) {
+    }
+
+    private record Body(ZonedDateTime lastModified, byte[] json) {
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Caching of reference entities, serialized responses and filtered list
+ * results, and the in-memory qualification index.
+ */
+package com.deloitte.elrr.services.cache;
@@ -0,0 +1,185 @@
+package com.deloitte.elrr.services.config;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.deloitte.elrr.entity.types.ActionType;
+import com.deloitte.elrr.services.dto.CompetencyDto;
+import com.deloitte.elrr.services.dto.CredentialDto;
+import com.deloitte.elrr.services.dto.EmailDto;
+import com.deloitte.elrr.services.dto.EmploymentRecordDto;
+import com.deloitte.elrr.services.dto.FacilityDto;
+import com.deloitte.elrr.services.dto.GoalDto;
+import com.deloitte.elrr.services.dto.IdentityDto;
+import com.deloitte.elrr.services.dto.LearningRecordDto;
+import com.deloitte.elrr.services.dto.LearningResourceDto;
+import com.deloitte.elrr.services.dto.LocationDto;
+import com.deloitte.elrr.services.dto.OrganizationDto;
+import com.deloitte.elrr.services.dto.PermissionDto;
+import com.deloitte.elrr.services.dto.PersonDto;
+import com.deloitte.elrr.services.dto.PhoneDto;
+import com.deloitte.elrr.services.mapper.DtoMapper;
+import com.deloitte.elrr.services.security.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exercises the request paths that initialize lazily before the instance
+ * takes traffic: request mapping, Bean Validation metadata, the JWT
+ * signing algorithm and Jackson serializers, each run enough times for the
+ * JIT to compile them. Spring Boot reports the instance ready only after
+ * application runners have finished, so readiness waits for the warm-up.
+ */
+@Component
+@Slf4j
+public class StartupWarmup implements ApplicationRunner {
+
+    /**
+     * Request DTOs mapped onto entities by the controllers.
+     */
+    private static final List<Class<?>> DTO_TYPES = List.of(
+            PersonDto.class, EmailDto.class, PhoneDto.class,
+            IdentityDto.class, LocationDto.class, FacilityDto.class,
+            OrganizationDto.class, CompetencyDto.class, CredentialDto.class,
+            EmploymentRecordDto.class, LearningRecordDto.class,
+            LearningResourceDto.class, GoalDto.class);
+
+    @Value("${elrr.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${elrr.warmup.iterations:200}")
+    private int iterations;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Autowired
+    private DtoMapper dtoMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    /**
+     * Run the warm-up, holding readiness until it completes. A failing step
+     * is logged and skipped; it never stops the application from starting.
+     *
+     * @param args application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        AvailabilityChangeEvent.publish(publisher, this,
+                ReadinessState.REFUSING_TRAFFIC);
+        long start = System.currentTimeMillis();
+        for (Class<?> dtoType : DTO_TYPES) {
+            warmDto(dtoType);
+        }
+        warmJwt();
+        log.info("Warm-up finished in {} ms",
+                System.currentTimeMillis() - start);
+    }
+
+    private void warmDto(Class<?> dtoType) {
+        try {
+            validator.getConstraintsForClass(dtoType);
+            Object dto = sample(dtoType);
+            for (int i = 0; i < iterations; i++) {
+                toEntity(dto);
+                validator.validate(dto);
+                objectMapper.readValue(objectMapper.writeValueAsBytes(dto),
+                        dtoType);
+            }
+        } catch (Exception e) {
+            log.warn("Warm-up of {} failed", dtoType.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Map a request DTO onto a new entity, as its controller does.
+     *
+     * @param dto request DTO
+     * @return new entity
+     */
+    private Object toEntity(Object dto) {
+        if (dto instanceof PersonDto person) {
+            return dtoMapper.toEntity(person);
+        } else if (dto instanceof EmailDto email) {
+            return dtoMapper.toEntity(email);
+        } else if (dto instanceof PhoneDto phone) {
+            return dtoMapper.toEntity(phone);
+        } else if (dto instanceof IdentityDto identity) {
+            return dtoMapper.toEntity(identity);
+        } else if (dto instanceof LocationDto location) {
+            return dtoMapper.toEntity(location);
+        } else if (dto instanceof FacilityDto facility) {
+            return dtoMapper.toEntity(facility);
+        } else if (dto instanceof OrganizationDto organization) {
+            return dtoMapper.toEntity(organization);
+        } else if (dto instanceof CompetencyDto competency) {
+            return dtoMapper.toEntity(competency);
+        } else if (dto instanceof CredentialDto credential) {
+            return dtoMapper.toEntity(credential);
+        } else if (dto instanceof EmploymentRecordDto employmentRecord) {
+            return dtoMapper.toEntity(employmentRecord);
+        } else if (dto instanceof LearningRecordDto learningRecord) {
+            return dtoMapper.toEntity(learningRecord);
+        } else if (dto instanceof LearningResourceDto learningResource) {
+            return dtoMapper.toEntity(learningResource);
+        } else if (dto instanceof GoalDto goal) {
+            return dtoMapper.toEntity(goal);
+        }
+        throw new IllegalArgumentException(dto.getClass().getName());
+    }
+
+    private void warmJwt() {
+        try {
+            List<PermissionDto> permissions = List.of(new PermissionDto(
+                    "person", null, List.of(ActionType.READ)));
+            for (int i = 0; i < iterations; i++) {
+                jwtUtil.verify(jwtUtil.createToken(UUID.randomUUID(),
+                        permissions));
+            }
+        } catch (Exception e) {
+            log.warn("Warm-up of JWT signing failed", e);
+        }
+    }
+
+    /**
+     * Build a DTO to exercise. Persons carry nested addresses, email
+     * addresses and phone numbers so their nested mappings are built too.
+     *
+     * @param dtoType DTO class
+     * @return new instance
+     */
+    static Object sample(Class<?> dtoType) {
+        Object dto = BeanUtils.instantiateClass(dtoType);
+        if (dto instanceof PersonDto person) {
+            person.setName("Warm Up");
+            person.setMailingAddress(new LocationDto());
+            person.setEmailAddresses(Set.of(new EmailDto()));
+            person.setPhoneNumbers(Set.of(new PhoneDto()));
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,113 @@
+package com.deloitte.elrr.services.config;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Timeout and concurrency limit of the streamed exports. A handler marks
+ * its request with {@link #mark()} before returning the response body;
+ * only marked requests get the long {@code elrr.stream.timeout-ms}, and
+ * at most {@code elrr.stream.max-concurrent} of them run at once, since a
+ * list stream holds a pooled connection until it ends. A further export
+ * is refused with 503 instead of waiting for a connection. Other async
+ * requests keep the container's default timeout.
+ */
+@Component
+@Slf4j
+public class StreamLimiter implements CallableProcessingInterceptor,
+        WebMvcConfigurer {
+
+    private static final String MARKED = StreamLimiter.class.getName()
+            + ".marked";
+
+    private static final String PERMIT = StreamLimiter.class.getName()
+            + ".permit";
+
+    private final Semaphore permits;
+
+    private final long timeout;
+
+    /**
+     * Create the limiter.
+     *
+     * @param maxConcurrent largest number of exports streaming at once
+     * @param timeout longest time an export may stream, in milliseconds
+     */
+    public StreamLimiter(
+            @Value("${elrr.stream.max-concurrent:2}") final int maxConcurrent,
+            @Value("${elrr.stream.timeout-ms:3600000}") final long timeout) {
+        this.permits = new Semaphore(maxConcurrent);
+        this.timeout = timeout;
+    }
+
+    /**
+     * Mark the current request as a streamed export. Does nothing outside
+     * a request.
+     */
+    public static void mark() {
+        RequestAttributes attributes =
+                RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(MARKED, Boolean.TRUE,
+                    RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Number of exports that may still start.
+     *
+     * @return free permits
+     */
+    public int available() {
+        return permits.availablePermits();
+    }
+
+    @Override
+    public void configureAsyncSupport(
+            final AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(this);
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(final NativeWebRequest request,
+            final Callable<T> task) {
+        if (request.getAttribute(MARKED,
+                RequestAttributes.SCOPE_REQUEST) == null) {
+            return;
+        }
+        if (!permits.tryAcquire()) {
+            log.warn("Refusing export, every stream permit is in use");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many exports in progress, retry later");
+        }
+        request.setAttribute(PERMIT, Boolean.TRUE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (request instanceof AsyncWebRequest async) {
+            async.setTimeout(timeout);
+        }
+    }
+
+    @Override
+    public <T> void afterCompletion(final NativeWebRequest request,
+            final Callable<T> task) {
+        if (request.getAttribute(PERMIT,
+                RequestAttributes.SCOPE_REQUEST) != null) {
+            request.removeAttribute(PERMIT, RequestAttributes.SCOPE_REQUEST);
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.deloitte.elrr.services.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.deloitte.elrr.services.cache.ListResultCache;
+import com.deloitte.elrr.services.cache.QualificationIndex;
+import com.deloitte.elrr.services.cache.ReferenceCache;
+import com.deloitte.elrr.services.cache.ResponseCache;
+import com.deloitte.elrr.services.dto.CacheRegionStatsDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("admin")
+@Slf4j
+public class CacheController {
+
+    /**
+     * Reference entity cache.
+     */
+    @Autowired
+    private ReferenceCache referenceCache;
+
+    /**
+     * Serialized response cache.
+     */
+    @Autowired
+    private ResponseCache responseCache;
+
+    /**
+     * Filtered list result cache.
+     */
+    @Autowired
+    private ListResultCache listResultCache;
+
+    /**
+     * Qualification index behind person matching.
+     */
+    @Autowired
+    private QualificationIndex qualificationIndex;
+
+    /**
+     * Get hit, miss and size statistics of the reference cache regions,
+     * the response cache and the list result cache.
+     *
+     * @return ResponseEntity<List<CacheRegionStatsDto>>
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<List<CacheRegionStatsDto>> getCacheStatistics() {
+        List<CacheRegionStatsDto> stats = new ArrayList<>(
+                referenceCache.statistics());
+        stats.add(responseCache.statistics());
+        stats.addAll(listResultCache.statistics());
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * Empty the reference cache regions, on every instance when the
+     * invalidation channel is enabled, and the response and list result
+     * caches. The qualification index is dropped and reloaded by the next
+     * match.
+     *
+     * @return ResponseEntity<HttpStatus>
+     */
+    @DeleteMapping("/cache")
+    public ResponseEntity<HttpStatus> evictCache() {
+        log.info("Evicting reference cache");
+        referenceCache.evictAll();
+        responseCache.evictAll();
+        listResultCache.evictAll();
+        qualificationIndex.evictAll();
+        return new ResponseEntity<HttpStatus>(HttpStatus.NO_CONTENT);
+    }
+}
@@ -1,14 +1,13 @@
 package com.deloitte.elrr.services.controller;
 
-import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import jakarta.validation.Valid;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -21,11 +20,24 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.deloitte.elrr.entity.Competency;
 import com.deloitte.elrr.jpa.svc.CompetencySvc;
+import com.deloitte.elrr.services.cache.ResponseCache;
+import com.deloitte.elrr.services.dto.CountDto;
+import com.deloitte.elrr.services.dto.ExistsDto;
 import com.deloitte.elrr.services.dto.CompetencyDto;
+import com.deloitte.elrr.services.dto.PageDto;
 import com.deloitte.elrr.services.exception.ResourceNotFoundException;
+import com.deloitte.elrr.services.mapper.DtoMapper;
+import com.deloitte.elrr.services.exception.BadRequestException;
+import com.deloitte.elrr.services.query.FilterQuerySvc;
+import com.deloitte.elrr.services.query.FilterSpecifications;
+import com.deloitte.elrr.services.query.KeysetPage;
+import com.deloitte.elrr.services.query.NdjsonStreamer;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -41,50 +53,159 @@ public class CompetencyController {
      */
     @Autowired
     private CompetencySvc competencySvc;
+
+    @Autowired
+    private DtoMapper dtoMapper;
+
     /**
-     *
+     * Cached JSON and entity tags for single and list reads.
+     */
+    @Autowired
+    private ResponseCache responseCache;
+
+    /**
+     * Keyset paging for filtered lists.
+     */
+    @Autowired
+    private FilterQuerySvc filterQuerySvc;
+
+    /**
+     * Newline-delimited JSON output for filtered lists.
      */
     @Autowired
-    private ModelMapper mapper;
+    private NdjsonStreamer ndjsonStreamer;
 
     /**
      *
      * @param filters
-     * @return ResponseEntity<List<CompetencyDto>>
+     * @param request Request carrying If-None-Match
+     * @return ResponseEntity<byte[]> holding a JSON array of CompetencyDto
+     * @throws BadRequestException
      */
     @PreAuthorize("hasPermission('competency', 'READ')")
     @GetMapping("/competency")
-    public ResponseEntity<List<CompetencyDto>> getAllCompetencies(
-            @ModelAttribute final Competency.Filter filters) {
-        List<Competency> competencies = competencySvc
-                .findCompetenciesWithFilters(filters);
+    public ResponseEntity<byte[]> getAllCompetencies(
+            @ModelAttribute final Competency.Filter filters,
+            final WebRequest request)
+            throws BadRequestException {
+        ResponseCache.Json json = responseCache.readAll(request,
+                Competency.class, FilterSpecifications.competency(filters),
+                competency -> dtoMapper.toDto(competency));
+        if (json.notModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(json.etag()).build();
+        }
+        return ResponseEntity.ok().eTag(json.etag())
+                .contentType(MediaType.APPLICATION_JSON).body(json.body());
+    }
+
+    /**
+     * Count the competencies matching the filters without loading them.
+     *
+     * @param filters Optional filters, as for the list
+     * @return ResponseEntity<CountDto>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('competency', 'READ')")
+    @GetMapping("/competency/count")
+    public ResponseEntity<CountDto> countCompetencies(
+            @ModelAttribute final Competency.Filter filters)
+            throws BadRequestException {
+        long count = filterQuerySvc.count(Competency.class,
+                FilterSpecifications.competency(filters));
+        return ResponseEntity.ok(new CountDto(count));
+    }
+
+    /**
+     * Tell whether any competency matches the filters without loading the list.
+     * HEAD on the list itself behaves like GET.
+     *
+     * @param filters Optional filters, as for the list
+     * @return ResponseEntity<ExistsDto>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('competency', 'READ')")
+    @GetMapping("/competency/exists")
+    public ResponseEntity<ExistsDto> hasCompetencies(
+            @ModelAttribute final Competency.Filter filters)
+            throws BadRequestException {
+        boolean exists = filterQuerySvc.exists(Competency.class,
+                FilterSpecifications.competency(filters));
+        return ResponseEntity.ok(new ExistsDto(exists));
+    }
 
-        List<CompetencyDto> competencyDtos = competencies.stream()
-                .map(competency -> mapper.map(competency, CompetencyDto.class))
-                .collect(Collectors.toList());
+    /**
+     * Get one page of competencies matching the filters, ordered by id.
+     *
+     * @param filters Optional filters
+     * @param limit Maximum number of items to return
+     * @param cursor Cursor returned as next by the previous page
+     * @return ResponseEntity<PageDto<CompetencyDto>>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('competency', 'READ')")
+    @GetMapping(value = "/competency", params = "limit")
+    public ResponseEntity<PageDto<CompetencyDto>> getCompetencyPage(
+            @ModelAttribute final Competency.Filter filters,
+            @RequestParam(value = "limit") final int limit,
+            @RequestParam(value = "cursor", required = false)
+            final String cursor) throws BadRequestException {
+        KeysetPage<Competency> page = filterQuerySvc.page(Competency.class,
+                FilterSpecifications.competency(filters), limit, cursor);
+        return ResponseEntity.ok(new PageDto<>(page.getItems().stream()
+                .map(item -> dtoMapper.toDto(item))
+                .collect(Collectors.toList()),
+                page.getNext(), page.getLimit()));
+    }
 
-        return ResponseEntity.ok(competencyDtos);
+    /**
+     * Stream all competencies matching the filters as newline-delimited JSON,
+     * one object per line.
+     *
+     * @param filters Optional filters
+     * @return ResponseEntity<StreamingResponseBody>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('competency', 'READ')")
+    @GetMapping(value = "/competency",
+            produces = NdjsonStreamer.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCompetencies(
+            @ModelAttribute final Competency.Filter filters)
+            throws BadRequestException {
+        return ResponseEntity.ok()
+                .contentType(NdjsonStreamer.APPLICATION_NDJSON)
+                .body(ndjsonStreamer.stream(Competency.class,
+                        FilterSpecifications.competency(filters),
+                        item -> dtoMapper.toDto(item)));
     }
 
     /**
      *
      * @param competencyId
-     * @return ResponseEntity<CompetencyDto>
+     * @param request Request carrying If-None-Match
+     * @return ResponseEntity<byte[]> holding the JSON of CompetencyDto
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('competency', 'READ')")
     @GetMapping("/competency/{id}")
-    public ResponseEntity<CompetencyDto> getCompetencyById(
-            @PathVariable(value = "id") final UUID competencyId)
+    public ResponseEntity<byte[]> getCompetencyById(
+            @PathVariable(value = "id") final UUID competencyId,
+            final WebRequest request)
             throws ResourceNotFoundException {
         log.debug("Get Competency id:........." + competencyId);
-        Competency competency = competencySvc.get(competencyId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Competency not found for this id :: "
-                                + competencyId));
-        CompetencyDto competencyDto = mapper.map(competency,
-                CompetencyDto.class);
-        return ResponseEntity.ok().body(competencyDto);
+        ResponseCache.Json json = responseCache.readOne(request,
+                Competency.class, competencyId,
+                competency -> dtoMapper.toDto(competency));
+        if (json == null) {
+            throw new ResourceNotFoundException(
+                    "Competency not found for this id :: " + competencyId);
+        }
+        if (json.notModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(json.etag()).build();
+        }
+        return ResponseEntity.ok().eTag(json.etag())
+                .contentType(MediaType.APPLICATION_JSON).body(json.body());
     }
 
     /**
@@ -96,9 +217,8 @@ public class CompetencyController {
     @PostMapping("/competency")
     public ResponseEntity<CompetencyDto> createCompetency(
             @Valid @RequestBody final CompetencyDto competencyDto) {
-        Competency org = mapper.map(competencyDto, Competency.class);
-        CompetencyDto response = mapper.map(competencySvc.save(org),
-                CompetencyDto.class);
+        Competency org = dtoMapper.toEntity(competencyDto);
+        CompetencyDto response = dtoMapper.toDto(competencySvc.save(org));
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
@@ -123,12 +243,12 @@ public class CompetencyController {
                                 + competencyId));
         log.info("Update Competency:........." + competencyDto);
         // Assigning values from request
-        mapper.map(competencyDto, competency);
+        dtoMapper.update(competencyDto, competency);
         // Reset Id / Primary key from query parameter
         competency.setId(competencyId);
         log.info("Update Competency:........." + competency);
-        return ResponseEntity.ok(mapper.map(competencySvc.save(competency),
-                CompetencyDto.class));
+        return ResponseEntity.ok(dtoMapper.toDto(
+                competencySvc.save(competency)));
 
     }
 
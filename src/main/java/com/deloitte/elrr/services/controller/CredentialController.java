@@ -1,14 +1,13 @@
 package com.deloitte.elrr.services.controller;
 
-import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import jakarta.validation.Valid;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -21,11 +20,24 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.deloitte.elrr.entity.Credential;
 import com.deloitte.elrr.jpa.svc.CredentialSvc;
+import com.deloitte.elrr.services.cache.ResponseCache;
+import com.deloitte.elrr.services.dto.CountDto;
+import com.deloitte.elrr.services.dto.ExistsDto;
 import com.deloitte.elrr.services.dto.CredentialDto;
+import com.deloitte.elrr.services.dto.PageDto;
 import com.deloitte.elrr.services.exception.ResourceNotFoundException;
+import com.deloitte.elrr.services.mapper.DtoMapper;
+import com.deloitte.elrr.services.exception.BadRequestException;
+import com.deloitte.elrr.services.query.FilterQuerySvc;
+import com.deloitte.elrr.services.query.FilterSpecifications;
+import com.deloitte.elrr.services.query.KeysetPage;
+import com.deloitte.elrr.services.query.NdjsonStreamer;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -41,50 +53,159 @@ public class CredentialController {
      */
     @Autowired
     private CredentialSvc credentialSvc;
+
+    @Autowired
+    private DtoMapper dtoMapper;
+
     /**
-     *
+     * Cached JSON and entity tags for single and list reads.
+     */
+    @Autowired
+    private ResponseCache responseCache;
+
+    /**
+     * Keyset paging for filtered lists.
+     */
+    @Autowired
+    private FilterQuerySvc filterQuerySvc;
+
+    /**
+     * Newline-delimited JSON output for filtered lists.
      */
     @Autowired
-    private ModelMapper mapper;
+    private NdjsonStreamer ndjsonStreamer;
 
     /**
      *
      * @param filters
-     * @return ResponseEntity<List<CredentialDto>>
+     * @param request Request carrying If-None-Match
+     * @return ResponseEntity<byte[]> holding a JSON array of CredentialDto
+     * @throws BadRequestException
      */
     @PreAuthorize("hasPermission('credential', 'READ')")
     @GetMapping("/credential")
-    public ResponseEntity<List<CredentialDto>> getAllCredentials(
-            @ModelAttribute final Credential.Filter filters) {
-        List<Credential> credentials = credentialSvc
-                .findCredentialsWithFilters(filters);
+    public ResponseEntity<byte[]> getAllCredentials(
+            @ModelAttribute final Credential.Filter filters,
+            final WebRequest request)
+            throws BadRequestException {
+        ResponseCache.Json json = responseCache.readAll(request,
+                Credential.class, FilterSpecifications.credential(filters),
+                credential -> dtoMapper.toDto(credential));
+        if (json.notModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(json.etag()).build();
+        }
+        return ResponseEntity.ok().eTag(json.etag())
+                .contentType(MediaType.APPLICATION_JSON).body(json.body());
+    }
+
+    /**
+     * Count the credentials matching the filters without loading them.
+     *
+     * @param filters Optional filters, as for the list
+     * @return ResponseEntity<CountDto>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('credential', 'READ')")
+    @GetMapping("/credential/count")
+    public ResponseEntity<CountDto> countCredentials(
+            @ModelAttribute final Credential.Filter filters)
+            throws BadRequestException {
+        long count = filterQuerySvc.count(Credential.class,
+                FilterSpecifications.credential(filters));
+        return ResponseEntity.ok(new CountDto(count));
+    }
+
+    /**
+     * Tell whether any credential matches the filters without loading the list.
+     * HEAD on the list itself behaves like GET.
+     *
+     * @param filters Optional filters, as for the list
+     * @return ResponseEntity<ExistsDto>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('credential', 'READ')")
+    @GetMapping("/credential/exists")
+    public ResponseEntity<ExistsDto> hasCredentials(
+            @ModelAttribute final Credential.Filter filters)
+            throws BadRequestException {
+        boolean exists = filterQuerySvc.exists(Credential.class,
+                FilterSpecifications.credential(filters));
+        return ResponseEntity.ok(new ExistsDto(exists));
+    }
 
-        List<CredentialDto> credentialDtos = credentials.stream()
-                .map(credential -> mapper.map(credential, CredentialDto.class))
-                .collect(Collectors.toList());
+    /**
+     * Get one page of credentials matching the filters, ordered by id.
+     *
+     * @param filters Optional filters
+     * @param limit Maximum number of items to return
+     * @param cursor Cursor returned as next by the previous page
+     * @return ResponseEntity<PageDto<CredentialDto>>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('credential', 'READ')")
+    @GetMapping(value = "/credential", params = "limit")
+    public ResponseEntity<PageDto<CredentialDto>> getCredentialPage(
+            @ModelAttribute final Credential.Filter filters,
+            @RequestParam(value = "limit") final int limit,
+            @RequestParam(value = "cursor", required = false)
+            final String cursor) throws BadRequestException {
+        KeysetPage<Credential> page = filterQuerySvc.page(Credential.class,
+                FilterSpecifications.credential(filters), limit, cursor);
+        return ResponseEntity.ok(new PageDto<>(page.getItems().stream()
+                .map(item -> dtoMapper.toDto(item))
+                .collect(Collectors.toList()),
+                page.getNext(), page.getLimit()));
+    }
 
-        return ResponseEntity.ok(credentialDtos);
+    /**
+     * Stream all credentials matching the filters as newline-delimited JSON,
+     * one object per line.
+     *
+     * @param filters Optional filters
+     * @return ResponseEntity<StreamingResponseBody>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('credential', 'READ')")
+    @GetMapping(value = "/credential",
+            produces = NdjsonStreamer.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCredentials(
+            @ModelAttribute final Credential.Filter filters)
+            throws BadRequestException {
+        return ResponseEntity.ok()
+                .contentType(NdjsonStreamer.APPLICATION_NDJSON)
+                .body(ndjsonStreamer.stream(Credential.class,
+                        FilterSpecifications.credential(filters),
+                        item -> dtoMapper.toDto(item)));
     }
 
     /**
      *
      * @param credentialId
-     * @return ResponseEntity<CredentialDto>
+     * @param request Request carrying If-None-Match
+     * @return ResponseEntity<byte[]> holding the JSON of CredentialDto
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('credential', 'READ')")
     @GetMapping("/credential/{id}")
-    public ResponseEntity<CredentialDto> getCredentialById(
-            @PathVariable(value = "id") final UUID credentialId)
+    public ResponseEntity<byte[]> getCredentialById(
+            @PathVariable(value = "id") final UUID credentialId,
+            final WebRequest request)
             throws ResourceNotFoundException {
         log.debug("Get Credential id:........." + credentialId);
-        Credential credential = credentialSvc.get(credentialId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Credential not found for this id :: "
-                                + credentialId));
-        CredentialDto credentialDto = mapper.map(credential,
-                CredentialDto.class);
-        return ResponseEntity.ok().body(credentialDto);
+        ResponseCache.Json json = responseCache.readOne(request,
+                Credential.class, credentialId,
+                credential -> dtoMapper.toDto(credential));
+        if (json == null) {
+            throw new ResourceNotFoundException(
+                    "Credential not found for this id :: " + credentialId);
+        }
+        if (json.notModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(json.etag()).build();
+        }
+        return ResponseEntity.ok().eTag(json.etag())
+                .contentType(MediaType.APPLICATION_JSON).body(json.body());
     }
 
     /**
@@ -96,9 +217,9 @@ public class CredentialController {
     @PostMapping("/credential")
     public ResponseEntity<CredentialDto> createCredential(
             @Valid @RequestBody final CredentialDto credentialDto) {
-        Credential credential = mapper.map(credentialDto, Credential.class);
-        CredentialDto response = mapper.map(credentialSvc.save(credential),
-                CredentialDto.class);
+        Credential credential = dtoMapper.toEntity(credentialDto);
+        CredentialDto response = dtoMapper.toDto(
+                credentialSvc.save(credential));
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
@@ -123,12 +244,12 @@ public class CredentialController {
                                 + credentialId));
         log.info("Update Credential:........." + credentialDto);
         // Assigning values from request
-        mapper.map(credentialDto, credential);
+        dtoMapper.update(credentialDto, credential);
         // Reset Id / Primary key from query parameter
         credential.setId(credentialId);
         log.info("Update Credential:........." + credential);
-        return ResponseEntity.ok(mapper.map(credentialSvc.save(credential),
-                CredentialDto.class));
+        return ResponseEntity.ok(dtoMapper.toDto(
+                credentialSvc.save(credential)));
 
     }
 
@@ -6,7 +6,6 @@ import java.util.UUID;
 
 import jakarta.validation.Valid;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -21,11 +20,14 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.context.request.WebRequest;
 
 import com.deloitte.elrr.entity.Email;
 import com.deloitte.elrr.jpa.svc.EmailSvc;
 import com.deloitte.elrr.services.dto.EmailDto;
 import com.deloitte.elrr.services.exception.ResourceNotFoundException;
+import com.deloitte.elrr.services.mapper.DtoMapper;
+import com.deloitte.elrr.services.query.VersionQuerySvc;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -41,11 +43,15 @@ public class EmailController {
      */
     @Autowired
     private EmailSvc emailSvc;
+
+    @Autowired
+    private DtoMapper dtoMapper;
+
     /**
-     *
+     * Entity tags for conditional requests.
      */
     @Autowired
-    private ModelMapper mapper;
+    private VersionQuerySvc versionQuerySvc;
 
     /**
      *
@@ -62,10 +68,10 @@ public class EmailController {
         List<EmailDto> emailList = new ArrayList<>();
         if (emailId == null) {
             emailSvc.findAll().forEach(email -> emailList.add(
-                    mapper.map(email, EmailDto.class)));
+                    dtoMapper.toDto(email)));
         } else {
             emailSvc.get(emailId).ifPresent(email -> {
-                EmailDto emailDto = mapper.map(email, EmailDto.class);
+                EmailDto emailDto = dtoMapper.toDto(email);
                 emailList.add(emailDto);
             });
         }
@@ -76,22 +82,26 @@ public class EmailController {
     /**
      *
      * @param emailId
+     * @param request Request carrying If-None-Match
      * @return ResponseEntity<EmailDto>
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('email', 'READ')")
     @GetMapping("/email/{id}")
     public ResponseEntity<EmailDto> getEmailById(
-            @PathVariable(value = "id") final UUID emailId)
-            throws ResourceNotFoundException {
+            @PathVariable(value = "id") final UUID emailId,
+            final WebRequest request) throws ResourceNotFoundException {
+        String etag = versionQuerySvc.etag(Email.class, emailId);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         log.debug("Get Email id:........." + emailId);
         Email email = emailSvc.get(emailId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Email not found for this id :: "
                                 + emailId));
-        EmailDto emailDto = mapper.map(email,
-                EmailDto.class);
-        return ResponseEntity.ok().body(emailDto);
+        EmailDto emailDto = dtoMapper.toDto(email);
+        return ResponseEntity.ok().eTag(etag).body(emailDto);
     }
 
     /**
@@ -103,8 +113,8 @@ public class EmailController {
     @PostMapping("/email")
     public ResponseEntity<EmailDto> createEmail(
             @Valid @RequestBody final EmailDto emailDto) {
-        Email email = mapper.map(emailDto, Email.class);
-        EmailDto response = mapper.map(emailSvc.save(email), EmailDto.class);
+        Email email = dtoMapper.toEntity(emailDto);
+        EmailDto response = dtoMapper.toDto(emailSvc.save(email));
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
@@ -129,12 +139,11 @@ public class EmailController {
                                 + emailId));
         log.info("Update Email:........." + emailDto);
         // Assigning values from request
-        mapper.map(emailDto, email);
+        dtoMapper.update(emailDto, email);
         // Reset Id / Primary key from query parameter
         email.setId(emailId);
         log.info("Update Email:........." + email);
-        return ResponseEntity.ok(mapper.map(emailSvc.save(email),
-                EmailDto.class));
+        return ResponseEntity.ok(dtoMapper.toDto(emailSvc.save(email)));
 
     }
 
@@ -3,12 +3,13 @@ package com.deloitte.elrr.services.controller;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import jakarta.validation.Valid;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -20,22 +21,38 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.deloitte.elrr.entity.Competency;
+import com.deloitte.elrr.entity.Credential;
 import com.deloitte.elrr.entity.EmploymentRecord;
 import com.deloitte.elrr.entity.Organization;
 import com.deloitte.elrr.entity.Person;
-import com.deloitte.elrr.jpa.svc.CompetencySvc;
-import com.deloitte.elrr.jpa.svc.CredentialSvc;
 import com.deloitte.elrr.jpa.svc.EmploymentRecordSvc;
 import com.deloitte.elrr.jpa.svc.FacilitySvc;
 import com.deloitte.elrr.jpa.svc.LocationSvc;
+import com.deloitte.elrr.services.dto.CountDto;
+import com.deloitte.elrr.services.dto.ExistsDto;
 import com.deloitte.elrr.services.dto.CompetencyDto;
 import com.deloitte.elrr.services.dto.CredentialDto;
 import com.deloitte.elrr.services.dto.EmploymentRecordDto;
 import com.deloitte.elrr.services.dto.FacilityDto;
 import com.deloitte.elrr.services.dto.LocationDto;
+import com.deloitte.elrr.services.dto.PageDto;
 import com.deloitte.elrr.services.exception.ResourceNotFoundException;
+import com.deloitte.elrr.services.mapper.DtoMapper;
+import com.deloitte.elrr.services.exception.BadRequestException;
+import com.deloitte.elrr.services.query.FetchPlan;
+import com.deloitte.elrr.services.query.FilterQuerySvc;
+import com.deloitte.elrr.services.query.FilterSpecifications;
+import com.deloitte.elrr.services.query.KeysetPage;
+import com.deloitte.elrr.services.query.NdjsonStreamer;
+import com.deloitte.elrr.services.query.ProjectionQuerySvc;
+import com.deloitte.elrr.services.query.ReferenceResolver;
+import com.deloitte.elrr.services.query.VersionQuerySvc;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -59,57 +76,248 @@ public class EmploymentRecordController {
     private FacilitySvc facilitySvc;
 
     @Autowired
-    private CompetencySvc competencySvc;
+    private DtoMapper dtoMapper;
 
+    /**
+     * Entity tags for conditional requests.
+     */
     @Autowired
-    private CredentialSvc credentialSvc;
+    private VersionQuerySvc versionQuerySvc;
+
     /**
-     *
+     * Keyset paging for filtered lists.
+     */
+    @Autowired
+    private FilterQuerySvc filterQuerySvc;
+
+    /**
+     * Newline-delimited JSON output for filtered lists.
+     */
+    @Autowired
+    private NdjsonStreamer ndjsonStreamer;
+
+    /**
+     * Field projections for sparse fieldsets.
+     */
+    @Autowired
+    private ProjectionQuerySvc projectionQuerySvc;
+
+    /**
+     * Set-based lookup of referenced competencies and credentials.
      */
     @Autowired
-    private ModelMapper mapper;
+    private ReferenceResolver referenceResolver;
 
     /**
      *
      * @param filters
+     * @param request Request carrying If-None-Match
      * @return ResponseEntity<List<EmploymentRecordDto>>
+     * @throws BadRequestException
      */
     @PreAuthorize("hasPermission('employmentrecord', 'READ')")
     @GetMapping("/employmentrecord")
     public ResponseEntity<List<EmploymentRecordDto>> getAllEmploymentRecords(
-            @ModelAttribute final EmploymentRecord.Filter filters) {
-        List<EmploymentRecord> employmentRecords = employmentRecordSvc
-                .findEmploymentRecordsWithFilters(filters);
+            @ModelAttribute final EmploymentRecord.Filter filters,
+            final WebRequest request) throws BadRequestException {
+        Specification<EmploymentRecord> spec =
+                FilterSpecifications.employmentRecord(filters);
+        String etag = versionQuerySvc.listEtag(EmploymentRecord.class, spec,
+                FetchPlan.EMPLOYMENT_RECORD_DTO);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        List<EmploymentRecord> employmentRecords = filterQuerySvc.list(
+                EmploymentRecord.class, spec, FetchPlan.EMPLOYMENT_RECORD_DTO);
 
         List<EmploymentRecordDto> employmentRecordDtos = employmentRecords
                 .stream()
-                .map(employmentRecord -> mapper.map(employmentRecord,
-                        EmploymentRecordDto.class))
+                .map(employmentRecord -> dtoMapper.toDto(employmentRecord))
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(employmentRecordDtos);
+        return ResponseEntity.ok().eTag(etag).body(employmentRecordDtos);
+    }
+
+    /**
+     * Count the employment records matching the filters without loading them.
+     *
+     * @param filters Optional filters, as for the list
+     * @return ResponseEntity<CountDto>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('employmentrecord', 'READ')")
+    @GetMapping("/employmentrecord/count")
+    public ResponseEntity<CountDto> countEmploymentRecords(
+            @ModelAttribute final EmploymentRecord.Filter filters)
+            throws BadRequestException {
+        long count = filterQuerySvc.count(EmploymentRecord.class,
+                FilterSpecifications.employmentRecord(filters));
+        return ResponseEntity.ok(new CountDto(count));
+    }
+
+    /**
+     * Tell whether any employment record matches the filters without loading
+     * the list. HEAD on the list itself behaves like GET.
+     *
+     * @param filters Optional filters, as for the list
+     * @return ResponseEntity<ExistsDto>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('employmentrecord', 'READ')")
+    @GetMapping("/employmentrecord/exists")
+    public ResponseEntity<ExistsDto> hasEmploymentRecords(
+            @ModelAttribute final EmploymentRecord.Filter filters)
+            throws BadRequestException {
+        boolean exists = filterQuerySvc.exists(EmploymentRecord.class,
+                FilterSpecifications.employmentRecord(filters));
+        return ResponseEntity.ok(new ExistsDto(exists));
+    }
+
+    /**
+     * Get one page of employment records matching the filters, ordered by id.
+     *
+     * @param filters Optional filters
+     * @param limit Maximum number of items to return
+     * @param cursor Cursor returned as next by the previous page
+     * @return ResponseEntity<PageDto<EmploymentRecordDto>>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('employmentrecord', 'READ')")
+    @GetMapping(value = "/employmentrecord", params = "limit")
+    public ResponseEntity<PageDto<EmploymentRecordDto>> getEmploymentRecordPage(
+            @ModelAttribute final EmploymentRecord.Filter filters,
+            @RequestParam(value = "limit") final int limit,
+            @RequestParam(value = "cursor", required = false)
+            final String cursor) throws BadRequestException {
+        KeysetPage<EmploymentRecord> page = filterQuerySvc.page(
+                EmploymentRecord.class,
+                FilterSpecifications.employmentRecord(filters),
+                FetchPlan.EMPLOYMENT_RECORD_DTO, limit, cursor);
+        return ResponseEntity.ok(new PageDto<>(page.getItems().stream()
+                .map(item -> dtoMapper.toDto(item))
+                .collect(Collectors.toList()),
+                page.getNext(), page.getLimit()));
+    }
+
+    /**
+     * Stream all employment records matching the filters as newline-delimited
+     * JSON, one object per line.
+     *
+     * @param filters Optional filters
+     * @return ResponseEntity<StreamingResponseBody>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('employmentrecord', 'READ')")
+    @GetMapping(value = "/employmentrecord",
+            produces = NdjsonStreamer.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmploymentRecords(
+            @ModelAttribute final EmploymentRecord.Filter filters)
+            throws BadRequestException {
+        return ResponseEntity.ok()
+                .contentType(NdjsonStreamer.APPLICATION_NDJSON)
+                .body(ndjsonStreamer.stream(EmploymentRecord.class,
+                        FilterSpecifications.employmentRecord(filters),
+                        FetchPlan.EMPLOYMENT_RECORD_DTO,
+                        item -> dtoMapper.toDto(item)));
+    }
+
+    /**
+     * Get only the requested fields of all employment records matching the
+     * filters.
+     *
+     * @param filters Optional filters
+     * @param fields Comma separated fields, e.g. id,name
+     * @return ResponseEntity<List<Map<String, Object>>>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('employmentrecord', 'READ')")
+    @GetMapping(value = "/employmentrecord", params = {"fields", "!limit"})
+    public ResponseEntity<List<Map<String, Object>>> getEmploymentRecordFields(
+            @ModelAttribute final EmploymentRecord.Filter filters,
+            @RequestParam(value = "fields") final String fields)
+            throws BadRequestException {
+        return ResponseEntity.ok(projectionQuerySvc.list(EmploymentRecord.class,
+                FilterSpecifications.employmentRecord(filters), fields));
+    }
+
+    /**
+     * Get only the requested fields of one page of employment records
+     * matching the filters.
+     *
+     * @param filters Optional filters
+     * @param fields Comma separated fields, e.g. id,name
+     * @param limit Maximum number of items to return
+     * @param cursor Cursor returned as next by the previous page
+     * @return ResponseEntity<PageDto<Map<String, Object>>>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('employmentrecord', 'READ')")
+    @GetMapping(value = "/employmentrecord", params = {"fields", "limit"})
+    public ResponseEntity<PageDto<Map<String, Object>>>
+            getEmploymentRecordFieldsPage(
+                @ModelAttribute final EmploymentRecord.Filter filters,
+                @RequestParam(value = "fields") final String fields,
+                @RequestParam(value = "limit") final int limit,
+                @RequestParam(value = "cursor", required = false)
+                final String cursor) throws BadRequestException {
+        KeysetPage<Map<String, Object>> page = projectionQuerySvc.page(
+                EmploymentRecord.class,
+                FilterSpecifications.employmentRecord(filters),
+                fields, limit, cursor);
+        return ResponseEntity.ok(new PageDto<>(page.getItems(),
+                page.getNext(), page.getLimit()));
     }
 
     /**
      *
      * @param employmentRecordId
+     * @param request Request carrying If-None-Match
      * @return ResponseEntity<EmploymentRecordDto>
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('employmentrecord', 'READ')")
     @GetMapping("/employmentrecord/{id}")
     public ResponseEntity<EmploymentRecordDto> getEmploymentRecordById(
-            @PathVariable(value = "id") final UUID employmentRecordId)
-            throws ResourceNotFoundException {
+            @PathVariable(value = "id") final UUID employmentRecordId,
+            final WebRequest request) throws ResourceNotFoundException {
+        String etag = versionQuerySvc.etag(EmploymentRecord.class,
+                employmentRecordId, FetchPlan.EMPLOYMENT_RECORD_DTO);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         log.debug("Get EmploymentRecord id:........." + employmentRecordId);
         EmploymentRecord employmentRecord = employmentRecordSvc
                 .get(employmentRecordId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "EmploymentRecord not found for this id :: "
                                 + employmentRecordId));
-        EmploymentRecordDto employmentRecordDto = mapper.map(employmentRecord,
-                EmploymentRecordDto.class);
-        return ResponseEntity.ok().body(employmentRecordDto);
+        EmploymentRecordDto employmentRecordDto = dtoMapper.toDto(
+                employmentRecord);
+        return ResponseEntity.ok().eTag(etag).body(employmentRecordDto);
+    }
+
+    /**
+     * Get only the requested fields of an employment record.
+     *
+     * @param id employment record id
+     * @param fields Comma separated fields, e.g. id,name
+     * @return ResponseEntity<Map<String, Object>>
+     * @throws ResourceNotFoundException
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('employmentrecord', 'READ')")
+    @GetMapping(value = "/employmentrecord/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getEmploymentRecordFieldsById(
+            @PathVariable(value = "id") final UUID id,
+            @RequestParam(value = "fields") final String fields)
+            throws ResourceNotFoundException, BadRequestException {
+        Map<String, Object> projection = projectionQuerySvc.get(
+                EmploymentRecord.class, id, fields);
+        if (projection == null) {
+            throw new ResourceNotFoundException(
+                    "EmploymentRecord not found for this id :: " + id);
+        }
+        return ResponseEntity.ok(projection);
     }
 
     /**
@@ -118,13 +326,14 @@ public class EmploymentRecordController {
      * @param employmentRecordDto
      * @return ResponseEntity<EmploymentRecordDto>
      * @throws ResourceNotFoundException
+     * @throws BadRequestException if a competency or credential is missing
      */
     @PreAuthorize("hasPermission('employmentrecord', 'UPDATE')")
     @PutMapping("/employmentrecord/{id}")
     public ResponseEntity<EmploymentRecordDto> updateEmploymentRecord(
             @PathVariable(value = "id") final UUID employmentRecordId,
             @Valid @RequestBody final EmploymentRecordDto employmentRecordDto)
-            throws ResourceNotFoundException {
+            throws ResourceNotFoundException, BadRequestException {
         log.info("Updating  EmploymentRecord:.........");
         log.info("Updating EmploymentRecord id:........." + employmentRecordId);
         EmploymentRecord employmentRecord = employmentRecordSvc
@@ -150,7 +359,7 @@ public class EmploymentRecordController {
         employmentRecordDto.setCompetencies(null);
         employmentRecordDto.setCredentials(null);
 
-        mapper.map(employmentRecordDto, employmentRecord);
+        dtoMapper.update(employmentRecordDto, employmentRecord);
 
         employmentRecord.setId(employmentRecordId);
         employmentRecord.setEmployee(employee);
@@ -176,18 +385,20 @@ public class EmploymentRecordController {
 
         // Set Competencies and Credentials
         if (newCompetencies != null)
-            employmentRecord.setCompetencies(newCompetencies.stream()
-                    .map(c -> competencySvc.get(c.getId()).orElse(null))
-                    .collect(Collectors.toSet()));
+            employmentRecord.setCompetencies(referenceResolver.resolveAll(
+                    Competency.class, newCompetencies.stream()
+                            .map(CompetencyDto::getId)
+                            .collect(Collectors.toList())));
         if (newCredentials != null)
-            employmentRecord.setCredentials(newCredentials.stream()
-                    .map(c -> credentialSvc.get(c.getId()).orElse(null))
-                    .collect(Collectors.toSet()));
+            employmentRecord.setCredentials(referenceResolver.resolveAll(
+                    Credential.class, newCredentials.stream()
+                            .map(CredentialDto::getId)
+                            .collect(Collectors.toList())));
 
         log.info("Update EmploymentRecord:........." + employmentRecord);
         return ResponseEntity
-                .ok(mapper.map(employmentRecordSvc.save(employmentRecord),
-                        EmploymentRecordDto.class));
+                .ok(dtoMapper.toDto(
+                        employmentRecordSvc.save(employmentRecord)));
 
     }
 
@@ -6,8 +6,8 @@ import java.util.stream.Collectors;
 
 import jakarta.validation.Valid;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -20,13 +20,27 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.deloitte.elrr.services.dto.CountDto;
+import com.deloitte.elrr.services.dto.ExistsDto;
 import com.deloitte.elrr.services.dto.FacilityDto;
+import com.deloitte.elrr.services.dto.PageDto;
 
 import com.deloitte.elrr.entity.Facility;
 import com.deloitte.elrr.jpa.svc.FacilitySvc;
 import com.deloitte.elrr.services.exception.ResourceNotFoundException;
+import com.deloitte.elrr.services.mapper.DtoMapper;
+import com.deloitte.elrr.services.exception.BadRequestException;
+import com.deloitte.elrr.services.query.FetchPlan;
+import com.deloitte.elrr.services.query.FilterQuerySvc;
+import com.deloitte.elrr.services.query.FilterSpecifications;
+import com.deloitte.elrr.services.query.KeysetPage;
+import com.deloitte.elrr.services.query.NdjsonStreamer;
+import com.deloitte.elrr.services.query.VersionQuerySvc;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -42,46 +56,158 @@ public class FacilityController {
     private FacilitySvc facilitySvc;
 
     @Autowired
-    private ModelMapper mapper;
+    private DtoMapper dtoMapper;
+
+    /**
+     * Entity tags for conditional requests.
+     */
+    @Autowired
+    private VersionQuerySvc versionQuerySvc;
+
+    /**
+     * Keyset paging for filtered lists.
+     */
+    @Autowired
+    private FilterQuerySvc filterQuerySvc;
+
+    /**
+     * Newline-delimited JSON output for filtered lists.
+     */
+    @Autowired
+    private NdjsonStreamer ndjsonStreamer;
 
     /**
      * Get facilities with optional filtering by id and extensions.
      * @param filters filter criteria (ids, extension filters)
+     * @param request Request carrying If-None-Match
      * @return ResponseEntity containing list of FacilityDto
+     * @throws BadRequestException
      */
     @PreAuthorize("hasPermission('facility', 'READ')")
     @GetMapping("/facility")
     public ResponseEntity<List<FacilityDto>> getAllFacilitys(
-            @ModelAttribute final Facility.Filter filters) {
-        List<Facility> facilities = facilitySvc
-                .findFacilitiesWithFilters(filters);
+            @ModelAttribute final Facility.Filter filters,
+            final WebRequest request) throws BadRequestException {
+        Specification<Facility> spec = FilterSpecifications.facility(filters);
+        String etag = versionQuerySvc.listEtag(Facility.class, spec,
+                FetchPlan.FACILITY_DTO);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        List<Facility> facilities = filterQuerySvc.list(Facility.class, spec,
+                FetchPlan.FACILITY_DTO);
 
         List<FacilityDto> facilityDtos = facilities.stream()
-                .map(facility -> mapper.map(facility, FacilityDto.class))
+                .map(facility -> dtoMapper.toDto(facility))
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(facilityDtos);
+        return ResponseEntity.ok().eTag(etag).body(facilityDtos);
+    }
+
+    /**
+     * Count the facilities matching the filters without loading them.
+     *
+     * @param filters Optional filters, as for the list
+     * @return ResponseEntity<CountDto>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('facility', 'READ')")
+    @GetMapping("/facility/count")
+    public ResponseEntity<CountDto> countFacilities(
+            @ModelAttribute final Facility.Filter filters)
+            throws BadRequestException {
+        long count = filterQuerySvc.count(Facility.class,
+                FilterSpecifications.facility(filters));
+        return ResponseEntity.ok(new CountDto(count));
+    }
+
+    /**
+     * Tell whether any facility matches the filters without loading the list.
+     * HEAD on the list itself behaves like GET.
+     *
+     * @param filters Optional filters, as for the list
+     * @return ResponseEntity<ExistsDto>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('facility', 'READ')")
+    @GetMapping("/facility/exists")
+    public ResponseEntity<ExistsDto> hasFacilities(
+            @ModelAttribute final Facility.Filter filters)
+            throws BadRequestException {
+        boolean exists = filterQuerySvc.exists(Facility.class,
+                FilterSpecifications.facility(filters));
+        return ResponseEntity.ok(new ExistsDto(exists));
+    }
+
+    /**
+     * Get one page of facilities matching the filters, ordered by id.
+     *
+     * @param filters Optional filters
+     * @param limit Maximum number of items to return
+     * @param cursor Cursor returned as next by the previous page
+     * @return ResponseEntity<PageDto<FacilityDto>>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('facility', 'READ')")
+    @GetMapping(value = "/facility", params = "limit")
+    public ResponseEntity<PageDto<FacilityDto>> getFacilityPage(
+            @ModelAttribute final Facility.Filter filters,
+            @RequestParam(value = "limit") final int limit,
+            @RequestParam(value = "cursor", required = false)
+            final String cursor) throws BadRequestException {
+        KeysetPage<Facility> page = filterQuerySvc.page(Facility.class,
+                FilterSpecifications.facility(filters), limit, cursor);
+        return ResponseEntity.ok(new PageDto<>(page.getItems().stream()
+                .map(item -> dtoMapper.toDto(item))
+                .collect(Collectors.toList()),
+                page.getNext(), page.getLimit()));
+    }
+
+    /**
+     * Stream all facilities matching the filters as newline-delimited JSON,
+     * one object per line.
+     *
+     * @param filters Optional filters
+     * @return ResponseEntity<StreamingResponseBody>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('facility', 'READ')")
+    @GetMapping(value = "/facility",
+            produces = NdjsonStreamer.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamFacilities(
+            @ModelAttribute final Facility.Filter filters)
+            throws BadRequestException {
+        return ResponseEntity.ok()
+                .contentType(NdjsonStreamer.APPLICATION_NDJSON)
+                .body(ndjsonStreamer.stream(Facility.class,
+                        FilterSpecifications.facility(filters),
+                        item -> dtoMapper.toDto(item)));
     }
 
     /**
      *
      * @param facilityId
+     * @param request Request carrying If-None-Match
      * @return ResponseEntity<FacilityDto>
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('facility', 'READ')")
     @GetMapping("/facility/{id}")
     public ResponseEntity<FacilityDto> getFacilityById(
-            @PathVariable(value = "id") final UUID facilityId)
-            throws ResourceNotFoundException {
+            @PathVariable(value = "id") final UUID facilityId,
+            final WebRequest request) throws ResourceNotFoundException {
+        String etag = versionQuerySvc.etag(Facility.class, facilityId,
+                FetchPlan.FACILITY_DTO);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         log.debug("Get Facility id:........." + facilityId);
         Facility facility = facilitySvc.get(facilityId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Facility not found for this id :: "
                                 + facilityId));
-        FacilityDto facilityDto = mapper.map(facility,
-                FacilityDto.class);
-        return ResponseEntity.ok().body(facilityDto);
+        FacilityDto facilityDto = dtoMapper.toDto(facility);
+        return ResponseEntity.ok().eTag(etag).body(facilityDto);
     }
 
     /**
@@ -93,9 +219,8 @@ public class FacilityController {
     @PostMapping("/facility")
     public ResponseEntity<FacilityDto> createFacility(
             @Valid @RequestBody final FacilityDto facilityDto) {
-        Facility facility = mapper.map(facilityDto, Facility.class);
-        FacilityDto response = mapper.map(facilitySvc.save(facility),
-                FacilityDto.class);
+        Facility facility = dtoMapper.toEntity(facilityDto);
+        FacilityDto response = dtoMapper.toDto(facilitySvc.save(facility));
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
@@ -120,12 +245,11 @@ public class FacilityController {
                                 + facilityId));
         log.info("Update Facility:........." + facilityDto);
         // Assigning values from request
-        mapper.map(facilityDto, facility);
+        dtoMapper.update(facilityDto, facility);
         // Reset Id / Primary key from query parameter
         facility.setId(facilityId);
         log.info("Update Facility:........." + facility);
-        return ResponseEntity.ok(mapper.map(facilitySvc.save(facility),
-                FacilityDto.class));
+        return ResponseEntity.ok(dtoMapper.toDto(facilitySvc.save(facility)));
 
     }
 
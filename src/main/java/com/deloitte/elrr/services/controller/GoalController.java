@@ -6,8 +6,8 @@ import java.util.stream.Collectors;
 
 import jakarta.validation.Valid;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -21,15 +21,35 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.deloitte.elrr.entity.Competency;
+import com.deloitte.elrr.entity.Credential;
 import com.deloitte.elrr.entity.Goal;
-import com.deloitte.elrr.exception.RuntimeServiceException;
+import com.deloitte.elrr.entity.LearningResource;
 import com.deloitte.elrr.jpa.svc.CredentialSvc;
 import com.deloitte.elrr.jpa.svc.CompetencySvc;
 import com.deloitte.elrr.jpa.svc.LearningResourceSvc;
 import com.deloitte.elrr.jpa.svc.GoalSvc;
+import com.deloitte.elrr.services.cache.ListResultCache;
+import com.deloitte.elrr.services.dto.CountDto;
+import com.deloitte.elrr.services.dto.ExistsDto;
 import com.deloitte.elrr.services.dto.GoalDto;
+import com.deloitte.elrr.services.dto.GoalProgressDto;
+import com.deloitte.elrr.services.dto.PageDto;
 import com.deloitte.elrr.services.exception.ResourceNotFoundException;
+import com.deloitte.elrr.services.mapper.DtoMapper;
+import com.deloitte.elrr.services.exception.BadRequestException;
+import com.deloitte.elrr.services.query.FetchPlan;
+import com.deloitte.elrr.services.query.FilterQuerySvc;
+import com.deloitte.elrr.services.query.FilterSpecifications;
+import com.deloitte.elrr.services.query.GoalProgressSvc;
+import com.deloitte.elrr.services.query.KeysetPage;
+import com.deloitte.elrr.services.query.NdjsonStreamer;
+import com.deloitte.elrr.services.query.ReferenceResolver;
+import com.deloitte.elrr.services.query.VersionQuerySvc;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -54,42 +74,205 @@ public class GoalController {
     private LearningResourceSvc learningResourceSvc;
 
     @Autowired
-    private ModelMapper mapper;
+    private DtoMapper dtoMapper;
+
+    /**
+     * Entity tags for conditional requests.
+     */
+    @Autowired
+    private VersionQuerySvc versionQuerySvc;
+
+    /**
+     * Keyset paging for filtered lists.
+     */
+    @Autowired
+    private FilterQuerySvc filterQuerySvc;
+
+    /**
+     * Newline-delimited JSON output for filtered lists.
+     */
+    @Autowired
+    private NdjsonStreamer ndjsonStreamer;
+
+    /**
+     * Set-based lookup of referenced competencies, credentials and
+     * learning resources.
+     */
+    @Autowired
+    private ReferenceResolver referenceResolver;
+
+    /**
+     * Short-lived results of repeated filtered reads.
+     */
+    @Autowired
+    private ListResultCache listResultCache;
+
+    /**
+     * Set-based goal progress scoring.
+     */
+    @Autowired
+    private GoalProgressSvc goalProgressSvc;
 
     /**
      * Get goals with optional filtering by id and extensions.
      * @param filters filter criteria (ids, extension filters)
+     * @param request Request carrying If-None-Match
      * @return list of GoalDto
+     * @throws BadRequestException
      */
     @PreAuthorize("hasPermission('goal', 'READ')")
     @GetMapping("/goal")
     public ResponseEntity<List<GoalDto>> getAllGoals(
-                    @ModelAttribute final Goal.Filter filters) {
-        List<Goal> goals = goalSvc.findGoalsWithFilters(filters);
-        List<GoalDto> goalDtos = goals.stream()
-                        .map(goal -> mapper.map(goal, GoalDto.class))
-                        .collect(Collectors.toList());
-        return ResponseEntity.ok(goalDtos);
+                    @ModelAttribute final Goal.Filter filters,
+                    final WebRequest request) throws BadRequestException {
+        ListResultCache.Entry<GoalDto> goals = listResultCache.get(
+                Goal.class, filters, () -> {
+                    Specification<Goal> spec =
+                            FilterSpecifications.goal(filters);
+                    String etag = versionQuerySvc.listEtag(Goal.class, spec,
+                            FetchPlan.GOAL_DTO);
+                    if (etag != null && request.checkNotModified(etag)) {
+                        return null;
+                    }
+                    return new ListResultCache.Entry<>(etag,
+                            filterQuerySvc.list(Goal.class, spec,
+                                    FetchPlan.GOAL_DTO)
+                                    .stream()
+                                    .map(goal -> dtoMapper.toDto(goal))
+                                    .collect(Collectors.toList()));
+                });
+        if (goals == null || (goals.etag() != null
+                && request.checkNotModified(goals.etag()))) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(goals.etag()).body(goals.items());
+    }
+
+    /**
+     * Count the goals matching the filters without loading them.
+     *
+     * @param filters Optional filters, as for the list
+     * @return ResponseEntity<CountDto>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('goal', 'READ')")
+    @GetMapping("/goal/count")
+    public ResponseEntity<CountDto> countGoals(
+            @ModelAttribute final Goal.Filter filters)
+            throws BadRequestException {
+        long count = filterQuerySvc.count(Goal.class,
+                FilterSpecifications.goal(filters));
+        return ResponseEntity.ok(new CountDto(count));
+    }
+
+    /**
+     * Tell whether any goal matches the filters without loading the list. HEAD
+     * on the list itself behaves like GET.
+     *
+     * @param filters Optional filters, as for the list
+     * @return ResponseEntity<ExistsDto>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('goal', 'READ')")
+    @GetMapping("/goal/exists")
+    public ResponseEntity<ExistsDto> hasGoals(
+            @ModelAttribute final Goal.Filter filters)
+            throws BadRequestException {
+        boolean exists = filterQuerySvc.exists(Goal.class,
+                FilterSpecifications.goal(filters));
+        return ResponseEntity.ok(new ExistsDto(exists));
+    }
+
+    /**
+     * Get one page of goals matching the filters, ordered by id.
+     *
+     * @param filters Optional filters
+     * @param limit Maximum number of items to return
+     * @param cursor Cursor returned as next by the previous page
+     * @return ResponseEntity<PageDto<GoalDto>>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('goal', 'READ')")
+    @GetMapping(value = "/goal", params = "limit")
+    public ResponseEntity<PageDto<GoalDto>> getGoalPage(
+            @ModelAttribute final Goal.Filter filters,
+            @RequestParam(value = "limit") final int limit,
+            @RequestParam(value = "cursor", required = false)
+            final String cursor) throws BadRequestException {
+        KeysetPage<Goal> page = filterQuerySvc.page(Goal.class,
+                FilterSpecifications.goal(filters), FetchPlan.GOAL_DTO, limit,
+                cursor);
+        return ResponseEntity.ok(new PageDto<>(page.getItems().stream()
+                .map(item -> dtoMapper.toDto(item))
+                .collect(Collectors.toList()),
+                page.getNext(), page.getLimit()));
+    }
+
+    /**
+     * Stream all goals matching the filters as newline-delimited JSON,
+     * one object per line.
+     *
+     * @param filters Optional filters
+     * @return ResponseEntity<StreamingResponseBody>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('goal', 'READ')")
+    @GetMapping(value = "/goal",
+            produces = NdjsonStreamer.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamGoals(
+            @ModelAttribute final Goal.Filter filters)
+            throws BadRequestException {
+        return ResponseEntity.ok()
+                .contentType(NdjsonStreamer.APPLICATION_NDJSON)
+                .body(ndjsonStreamer.stream(Goal.class,
+                        FilterSpecifications.goal(filters), FetchPlan.GOAL_DTO,
+                        item -> dtoMapper.toDto(item)));
     }
 
     /**
      * Get a Goal by ID.
      *
      * @param goalId the Goal ID
+     * @param request Request carrying If-None-Match
      * @return ResponseEntity<GoalDto>
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('goal', 'READ')")
     @GetMapping("/goal/{id}")
     public ResponseEntity<GoalDto> getGoalById(
-            @PathVariable(value = "id") final UUID goalId)
-            throws ResourceNotFoundException {
+            @PathVariable(value = "id") final UUID goalId,
+            final WebRequest request) throws ResourceNotFoundException {
+        String etag = versionQuerySvc.etag(Goal.class, goalId,
+                FetchPlan.GOAL_DTO);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         log.debug("Get Goal id: {}", goalId);
         Goal goal = goalSvc.get(goalId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Goal not found for this id :: " + goalId));
-        GoalDto goalDto = mapper.map(goal, GoalDto.class);
-        return ResponseEntity.ok().body(goalDto);
+        GoalDto goalDto = dtoMapper.toDto(goal);
+        return ResponseEntity.ok().eTag(etag).body(goalDto);
+    }
+
+    /**
+     * Get the progress of a goal's person toward the goal.
+     *
+     * @param goalId the Goal ID
+     * @return ResponseEntity<GoalProgressDto>
+     * @throws ResourceNotFoundException
+     */
+    @PreAuthorize("hasPermission('goal', 'READ')")
+    @GetMapping("/goal/{id}/progress")
+    public ResponseEntity<GoalProgressDto> getGoalProgress(
+            @PathVariable(value = "id") final UUID goalId)
+            throws ResourceNotFoundException {
+        GoalProgressDto progress = goalProgressSvc.goal(goalId);
+        if (progress == null) {
+            throw new ResourceNotFoundException(
+                    "Goal not found for this id :: " + goalId);
+        }
+        return ResponseEntity.ok(progress);
     }
 
     /**
@@ -97,29 +280,17 @@ public class GoalController {
      *
      * @param goalDto the Goal data
      * @return ResponseEntity<GoalDto>
+     * @throws BadRequestException if a referenced entity is missing
      */
     @PreAuthorize("hasPermission('goal', 'CREATE')")
     @PostMapping("/goal")
     public ResponseEntity<GoalDto> createGoal(
             @Valid @RequestBody final GoalDto goalDto)
-            throws ResourceNotFoundException {
+            throws BadRequestException {
         log.debug("Creating goal: {}", goalDto);
-        Goal goal = mapper.map(goalDto, Goal.class);
-        try {
-            // Find and associate any competencies if provided
-            goal = goalSvc.setCompetenciesFromIds(goal,
-                    goalDto.getCompetencyIds());
-            // Find and associate any credentials if provided
-            goal = goalSvc.setCredentialsFromIds(goal,
-                    goalDto.getCredentialIds());
-            // Find and associate any learning resources if provided
-            goal = goalSvc.setLearningResourcesFromIds(goal,
-                    goalDto.getLearningResourceIds());
-        } catch (RuntimeServiceException e) {
-            log.error("Error setting related entities for goal", e);
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-        }
-        GoalDto response = mapper.map(goalSvc.save(goal), GoalDto.class);
+        Goal goal = dtoMapper.toEntity(goalDto);
+        setReferences(goal, goalDto);
+        GoalDto response = dtoMapper.toDto(goalSvc.save(goal));
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
@@ -130,13 +301,14 @@ public class GoalController {
      * @param goalDto the updated Goal data
      * @return ResponseEntity<GoalDto>
      * @throws ResourceNotFoundException
+     * @throws BadRequestException if a referenced entity is missing
      */
     @PreAuthorize("hasPermission('goal', 'UPDATE')")
     @PutMapping("/goal/{id}")
     public ResponseEntity<GoalDto> updateGoal(
             @PathVariable(value = "id") final UUID goalId,
             @Valid @RequestBody final GoalDto goalDto)
-            throws ResourceNotFoundException {
+            throws ResourceNotFoundException, BadRequestException {
         log.info("Updating Goal id: {}", goalId);
         Goal goal = goalSvc.get(goalId)
                 .orElseThrow(() -> new ResourceNotFoundException(
@@ -144,26 +316,13 @@ public class GoalController {
         log.debug("Update Goal: {}", goalDto);
 
         // Assigning values from request
-        mapper.map(goalDto, goal);
-
-        try {
-            // Find and associate any competencies if provided
-            goal = goalSvc.setCompetenciesFromIds(goal,
-                    goalDto.getCompetencyIds());
-            // Find and associate any credentials if provided
-            goal = goalSvc.setCredentialsFromIds(goal,
-                    goalDto.getCredentialIds());
-            // Find and associate any learning resources if provided
-            goal = goalSvc.setLearningResourcesFromIds(goal,
-                    goalDto.getLearningResourceIds());
-        } catch (RuntimeServiceException e) {
-            log.error("Error setting related entities for goal", e);
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-        }
+        dtoMapper.update(goalDto, goal);
+
+        setReferences(goal, goalDto);
         // Reset Id / Primary key from query parameter
         goal.setId(goalId);
         log.debug("Updated Goal entity: {}", goal);
-        return ResponseEntity.ok(mapper.map(goalSvc.save(goal), GoalDto.class));
+        return ResponseEntity.ok(dtoMapper.toDto(goalSvc.save(goal)));
     }
 
     /**
@@ -185,4 +344,30 @@ public class GoalController {
         goalSvc.delete(goalId);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+
+    /**
+     * Associate the competencies, credentials and learning resources the
+     * request names by id. Each type is read with one query; id sets that
+     * are not provided leave the goal's associations unchanged.
+     *
+     * @param goal goal to update
+     * @param goalDto request naming the associations
+     * @throws BadRequestException listing the ids that do not exist
+     */
+    private void setReferences(Goal goal, GoalDto goalDto)
+            throws BadRequestException {
+        if (goalDto.getCompetencyIds() != null) {
+            goal.setCompetencies(referenceResolver.resolveAll(
+                    Competency.class, goalDto.getCompetencyIds()));
+        }
+        if (goalDto.getCredentialIds() != null) {
+            goal.setCredentials(referenceResolver.resolveAll(
+                    Credential.class, goalDto.getCredentialIds()));
+        }
+        if (goalDto.getLearningResourceIds() != null) {
+            goal.setLearningResources(referenceResolver.resolveAll(
+                    LearningResource.class,
+                    goalDto.getLearningResourceIds()));
+        }
+    }
 }
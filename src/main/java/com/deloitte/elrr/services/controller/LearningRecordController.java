@@ -3,30 +3,49 @@ package com.deloitte.elrr.services.controller;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import jakarta.validation.Valid;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.deloitte.elrr.entity.LearningRecord;
 import com.deloitte.elrr.entity.LearningResource;
 import com.deloitte.elrr.entity.Person;
 import com.deloitte.elrr.jpa.svc.LearningRecordSvc;
+import com.deloitte.elrr.services.dto.CountDto;
+import com.deloitte.elrr.services.dto.ExistsDto;
+import com.deloitte.elrr.services.dto.BatchItemResultDto;
+import com.deloitte.elrr.services.dto.LearningRecordBatchDto;
 import com.deloitte.elrr.services.dto.LearningRecordDto;
+import com.deloitte.elrr.services.dto.PageDto;
 import com.deloitte.elrr.services.exception.ResourceNotFoundException;
+import com.deloitte.elrr.services.ingest.LearningRecordBatchSvc;
+import com.deloitte.elrr.services.mapper.DtoMapper;
+import com.deloitte.elrr.services.exception.BadRequestException;
+import com.deloitte.elrr.services.query.FetchPlan;
+import com.deloitte.elrr.services.query.FilterQuerySvc;
+import com.deloitte.elrr.services.query.FilterSpecifications;
+import com.deloitte.elrr.services.query.KeysetPage;
+import com.deloitte.elrr.services.query.NdjsonStreamer;
+import com.deloitte.elrr.services.query.VersionQuerySvc;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -42,49 +61,187 @@ public class LearningRecordController {
      */
     @Autowired
     private LearningRecordSvc learningRecordSvc;
+
+    @Autowired
+    private DtoMapper dtoMapper;
+
     /**
-     *
+     * Entity tags for conditional requests.
+     */
+    @Autowired
+    private VersionQuerySvc versionQuerySvc;
+
+    /**
+     * Keyset paging for filtered lists.
+     */
+    @Autowired
+    private FilterQuerySvc filterQuerySvc;
+
+    /**
+     * Newline-delimited JSON output for filtered lists.
      */
     @Autowired
-    private ModelMapper mapper;
+    private NdjsonStreamer ndjsonStreamer;
+
+    /**
+     * Set-based creation of learning records.
+     */
+    @Autowired
+    private LearningRecordBatchSvc learningRecordBatchSvc;
 
    /**
     * Retrieve learning records optionally filtered by id or
     * extension criteria.
     *
     * @param filters filter object populated from query parameters
+    * @param request Request carrying If-None-Match
     * @return ResponseEntity containing list of LearningRecordDto
+    * @throws BadRequestException
     */
     @PreAuthorize("hasPermission('learningrecord', 'READ')")
     @GetMapping("/learningrecord")
         public ResponseEntity<List<LearningRecordDto>> getAllLearningRecords(
-                        @ModelAttribute final LearningRecord.Filter filters) {
+                        @ModelAttribute final LearningRecord.Filter filters,
+                        final WebRequest request) throws BadRequestException {
+        Specification<LearningRecord> spec =
+                FilterSpecifications.learningRecord(filters);
+        String etag = versionQuerySvc.listEtag(LearningRecord.class, spec,
+                FetchPlan.LEARNING_RECORD_DTO);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         List<LearningRecordDto> learningRecordList = new ArrayList<>();
-        learningRecordSvc.findLearningRecordsWithFilters(filters)
+        filterQuerySvc.list(LearningRecord.class, spec,
+                FetchPlan.LEARNING_RECORD_DTO)
                 .forEach(lr -> learningRecordList.add(
-                        mapper.map(lr, LearningRecordDto.class)));
-        return ResponseEntity.ok(learningRecordList);
+                        dtoMapper.toDto(lr)));
+        return ResponseEntity.ok().eTag(etag).body(learningRecordList);
+    }
+
+    /**
+     * Count the learning records matching the filters without loading them.
+     *
+     * @param filters Optional filters, as for the list
+     * @return ResponseEntity<CountDto>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('learningrecord', 'READ')")
+    @GetMapping("/learningrecord/count")
+    public ResponseEntity<CountDto> countLearningRecords(
+            @ModelAttribute final LearningRecord.Filter filters)
+            throws BadRequestException {
+        long count = filterQuerySvc.count(LearningRecord.class,
+                FilterSpecifications.learningRecord(filters));
+        return ResponseEntity.ok(new CountDto(count));
+    }
+
+    /**
+     * Tell whether any learning record matches the filters without loading the
+     * list. HEAD on the list itself behaves like GET.
+     *
+     * @param filters Optional filters, as for the list
+     * @return ResponseEntity<ExistsDto>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('learningrecord', 'READ')")
+    @GetMapping("/learningrecord/exists")
+    public ResponseEntity<ExistsDto> hasLearningRecords(
+            @ModelAttribute final LearningRecord.Filter filters)
+            throws BadRequestException {
+        boolean exists = filterQuerySvc.exists(LearningRecord.class,
+                FilterSpecifications.learningRecord(filters));
+        return ResponseEntity.ok(new ExistsDto(exists));
+    }
+
+    /**
+     * Get one page of learning records matching the filters, ordered by id.
+     *
+     * @param filters Optional filters
+     * @param limit Maximum number of items to return
+     * @param cursor Cursor returned as next by the previous page
+     * @return ResponseEntity<PageDto<LearningRecordDto>>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('learningrecord', 'READ')")
+    @GetMapping(value = "/learningrecord", params = "limit")
+    public ResponseEntity<PageDto<LearningRecordDto>> getLearningRecordPage(
+            @ModelAttribute final LearningRecord.Filter filters,
+            @RequestParam(value = "limit") final int limit,
+            @RequestParam(value = "cursor", required = false)
+            final String cursor) throws BadRequestException {
+        KeysetPage<LearningRecord> page = filterQuerySvc.page(
+                LearningRecord.class,
+                FilterSpecifications.learningRecord(filters),
+                limit, cursor);
+        return ResponseEntity.ok(new PageDto<>(page.getItems().stream()
+                .map(item -> dtoMapper.toDto(item))
+                .collect(Collectors.toList()),
+                page.getNext(), page.getLimit()));
+    }
+
+    /**
+     * Stream all learning records matching the filters as newline-delimited
+     * JSON, one object per line.
+     *
+     * @param filters Optional filters
+     * @return ResponseEntity<StreamingResponseBody>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('learningrecord', 'READ')")
+    @GetMapping(value = "/learningrecord",
+            produces = NdjsonStreamer.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamLearningRecords(
+            @ModelAttribute final LearningRecord.Filter filters)
+            throws BadRequestException {
+        return ResponseEntity.ok()
+                .contentType(NdjsonStreamer.APPLICATION_NDJSON)
+                .body(ndjsonStreamer.stream(LearningRecord.class,
+                        FilterSpecifications.learningRecord(filters),
+                        item -> dtoMapper.toDto(item)));
     }
 
     /**
      *
      * @param learningRecordId
+     * @param request Request carrying If-None-Match
      * @return ResponseEntity<LearningRecordDto>
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('learningrecord', 'READ')")
     @GetMapping("/learningrecord/{id}")
     public ResponseEntity<LearningRecordDto> getLearningRecordById(
-            @PathVariable(value = "id") final UUID learningRecordId)
-            throws ResourceNotFoundException {
+            @PathVariable(value = "id") final UUID learningRecordId,
+            final WebRequest request) throws ResourceNotFoundException {
+        String etag = versionQuerySvc.etag(LearningRecord.class,
+                learningRecordId, FetchPlan.LEARNING_RECORD_DTO);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         log.debug("Get LearningRecord id:........." + learningRecordId);
         LearningRecord learningRecord = learningRecordSvc.get(learningRecordId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "LearningRecord not found for this id :: "
                                 + learningRecordId));
-        LearningRecordDto learningRecordDto = mapper.map(learningRecord,
-                LearningRecordDto.class);
-        return ResponseEntity.ok().body(learningRecordDto);
+        LearningRecordDto learningRecordDto = dtoMapper.toDto(learningRecord);
+        return ResponseEntity.ok().eTag(etag).body(learningRecordDto);
+    }
+
+    /**
+     * Create learning records in one batch. Each item names its person and
+     * learning resource by id; the response has one result per item, in
+     * request order, with the new record id or the reason it was not
+     * created.
+     *
+     * @param batch Learning records to create
+     * @return ResponseEntity<List<BatchItemResultDto>>
+     */
+    @PreAuthorize("hasPermission('learningrecord', 'CREATE')")
+    @PostMapping("/learningrecord/batch")
+    public ResponseEntity<List<BatchItemResultDto>> createLearningRecords(
+            @Valid @RequestBody final LearningRecordBatchDto batch) {
+        log.info("Creating {} LearningRecords", batch.getItems().size());
+        return ResponseEntity.ok(learningRecordBatchSvc.create(
+                batch.getItems()));
     }
 
     /**
@@ -111,15 +268,14 @@ public class LearningRecordController {
                 .getLearningResource();
         log.info("Update LearningRecord:........." + learningRecordDto);
         // Assigning values from request
-        mapper.map(learningRecordDto, learningRecord);
+        dtoMapper.update(learningRecordDto, learningRecord);
         // Reset Id / Primary key from query parameter
         learningRecord.setId(learningRecordId);
         learningRecord.setPerson(person);
         learningRecord.setLearningResource(learningResource);
         log.info("Update LearningRecord:........." + learningRecord);
         return ResponseEntity
-                .ok(mapper.map(learningRecordSvc.save(learningRecord),
-                        LearningRecordDto.class));
+                .ok(dtoMapper.toDto(learningRecordSvc.save(learningRecord)));
 
     }
 
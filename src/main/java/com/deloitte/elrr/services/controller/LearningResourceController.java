@@ -1,14 +1,13 @@
 package com.deloitte.elrr.services.controller;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import jakarta.validation.Valid;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -20,12 +19,25 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.deloitte.elrr.entity.LearningResource;
 import com.deloitte.elrr.jpa.svc.LearningResourceSvc;
+import com.deloitte.elrr.services.cache.ResponseCache;
+import com.deloitte.elrr.services.dto.CountDto;
+import com.deloitte.elrr.services.dto.ExistsDto;
 import com.deloitte.elrr.services.dto.LearningResourceDto;
+import com.deloitte.elrr.services.dto.PageDto;
 import com.deloitte.elrr.services.exception.ResourceNotFoundException;
+import com.deloitte.elrr.services.mapper.DtoMapper;
+import com.deloitte.elrr.services.exception.BadRequestException;
+import com.deloitte.elrr.services.query.FilterQuerySvc;
+import com.deloitte.elrr.services.query.FilterSpecifications;
+import com.deloitte.elrr.services.query.KeysetPage;
+import com.deloitte.elrr.services.query.NdjsonStreamer;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -41,50 +53,166 @@ public class LearningResourceController {
      */
     @Autowired
     private LearningResourceSvc learningResourceSvc;
+
+    @Autowired
+    private DtoMapper dtoMapper;
+
     /**
-     *
+     * Cached JSON and entity tags for single and list reads.
      */
     @Autowired
-    private ModelMapper mapper;
+    private ResponseCache responseCache;
+
+    /**
+     * Keyset paging for filtered lists.
+     */
+    @Autowired
+    private FilterQuerySvc filterQuerySvc;
+
+    /**
+     * Newline-delimited JSON output for filtered lists.
+     */
+    @Autowired
+    private NdjsonStreamer ndjsonStreamer;
 
     /**
      * Retrieve learning resources optionally filtered by id or
      * extension criteria.
      *
      * @param filters filter object populated from query parameters
-     * @return ResponseEntity containing list of LearningResourceDto
+     * @param request Request carrying If-None-Match
+     * @return ResponseEntity<byte[]> holding a JSON array of
+     *         LearningResourceDto
+     * @throws BadRequestException
      */
     @PreAuthorize("hasPermission('learningresource', 'READ')")
     @GetMapping("/learningresource")
-    public ResponseEntity<List<LearningResourceDto>> getAllLearningResources(
-            @ModelAttribute final LearningResource.Filter filters) {
-        List<LearningResourceDto> learningResourceList = new ArrayList<>();
-        learningResourceSvc.findLearningResourcesWithFilters(filters)
-            .forEach(lr -> learningResourceList.add(
-                    mapper.map(lr, LearningResourceDto.class)));
-        return ResponseEntity.ok(learningResourceList);
+    public ResponseEntity<byte[]> getAllLearningResources(
+            @ModelAttribute final LearningResource.Filter filters,
+            final WebRequest request)
+            throws BadRequestException {
+        ResponseCache.Json json = responseCache.readAll(request,
+                LearningResource.class,
+                FilterSpecifications.learningResource(filters),
+                lr -> dtoMapper.toDto(lr));
+        if (json.notModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(json.etag()).build();
+        }
+        return ResponseEntity.ok().eTag(json.etag())
+                .contentType(MediaType.APPLICATION_JSON).body(json.body());
+    }
+
+    /**
+     * Count the learning resources matching the filters without loading them.
+     *
+     * @param filters Optional filters, as for the list
+     * @return ResponseEntity<CountDto>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('learningresource', 'READ')")
+    @GetMapping("/learningresource/count")
+    public ResponseEntity<CountDto> countLearningResources(
+            @ModelAttribute final LearningResource.Filter filters)
+            throws BadRequestException {
+        long count = filterQuerySvc.count(LearningResource.class,
+                FilterSpecifications.learningResource(filters));
+        return ResponseEntity.ok(new CountDto(count));
+    }
+
+    /**
+     * Tell whether any learning resource matches the filters without loading
+     * the list. HEAD on the list itself behaves like GET.
+     *
+     * @param filters Optional filters, as for the list
+     * @return ResponseEntity<ExistsDto>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('learningresource', 'READ')")
+    @GetMapping("/learningresource/exists")
+    public ResponseEntity<ExistsDto> hasLearningResources(
+            @ModelAttribute final LearningResource.Filter filters)
+            throws BadRequestException {
+        boolean exists = filterQuerySvc.exists(LearningResource.class,
+                FilterSpecifications.learningResource(filters));
+        return ResponseEntity.ok(new ExistsDto(exists));
+    }
+
+    /**
+     * Get one page of learning resources matching the filters, ordered by id.
+     *
+     * @param filters Optional filters
+     * @param limit Maximum number of items to return
+     * @param cursor Cursor returned as next by the previous page
+     * @return ResponseEntity<PageDto<LearningResourceDto>>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('learningresource', 'READ')")
+    @GetMapping(value = "/learningresource", params = "limit")
+    public ResponseEntity<PageDto<LearningResourceDto>> getLearningResourcePage(
+            @ModelAttribute final LearningResource.Filter filters,
+            @RequestParam(value = "limit") final int limit,
+            @RequestParam(value = "cursor", required = false)
+            final String cursor) throws BadRequestException {
+        KeysetPage<LearningResource> page = filterQuerySvc.page(
+                LearningResource.class,
+                FilterSpecifications.learningResource(filters),
+                limit, cursor);
+        return ResponseEntity.ok(new PageDto<>(page.getItems().stream()
+                .map(item -> dtoMapper.toDto(item))
+                .collect(Collectors.toList()),
+                page.getNext(), page.getLimit()));
+    }
+
+    /**
+     * Stream all learning resources matching the filters as newline-delimited
+     * JSON, one object per line.
+     *
+     * @param filters Optional filters
+     * @return ResponseEntity<StreamingResponseBody>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('learningresource', 'READ')")
+    @GetMapping(value = "/learningresource",
+            produces = NdjsonStreamer.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamLearningResources(
+            @ModelAttribute final LearningResource.Filter filters)
+            throws BadRequestException {
+        return ResponseEntity.ok()
+                .contentType(NdjsonStreamer.APPLICATION_NDJSON)
+                .body(ndjsonStreamer.stream(LearningResource.class,
+                        FilterSpecifications.learningResource(filters),
+                        item -> dtoMapper.toDto(item)));
     }
 
     /**
      *
      * @param learningResourceId
-     * @return ResponseEntity<LearningResourceDto>
+     * @param request Request carrying If-None-Match
+     * @return ResponseEntity<byte[]> holding the JSON of LearningResourceDto
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('learningresource', 'READ')")
     @GetMapping("/learningresource/{id}")
-    public ResponseEntity<LearningResourceDto> getLearningResourceById(
-            @PathVariable(value = "id") final UUID learningResourceId)
+    public ResponseEntity<byte[]> getLearningResourceById(
+            @PathVariable(value = "id") final UUID learningResourceId,
+            final WebRequest request)
             throws ResourceNotFoundException {
         log.debug("Get LearningResource id:........." + learningResourceId);
-        LearningResource learningResource = learningResourceSvc.get(
-                learningResourceId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "LearningResource not found for this id :: "
-                                + learningResourceId));
-        LearningResourceDto learningResourceDto = mapper.map(learningResource,
-                LearningResourceDto.class);
-        return ResponseEntity.ok().body(learningResourceDto);
+        ResponseCache.Json json = responseCache.readOne(request,
+                LearningResource.class, learningResourceId,
+                lr -> dtoMapper.toDto(lr));
+        if (json == null) {
+            throw new ResourceNotFoundException(
+                    "LearningResource not found for this id :: "
+                            + learningResourceId);
+        }
+        if (json.notModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(json.etag()).build();
+        }
+        return ResponseEntity.ok().eTag(json.etag())
+                .contentType(MediaType.APPLICATION_JSON).body(json.body());
     }
 
     /**
@@ -96,10 +224,10 @@ public class LearningResourceController {
     @PostMapping("/learningresource")
     public ResponseEntity<LearningResourceDto> createLearningResource(
             @Valid @RequestBody final LearningResourceDto learningResourceDto) {
-        LearningResource learningResource = mapper.map(learningResourceDto,
-            LearningResource.class);
-        LearningResourceDto response = mapper.map(learningResourceSvc.save(
-                learningResource), LearningResourceDto.class);
+        LearningResource learningResource = dtoMapper.toEntity(
+                learningResourceDto);
+        LearningResourceDto response = dtoMapper.toDto(
+                learningResourceSvc.save(learningResource));
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
@@ -125,13 +253,12 @@ public class LearningResourceController {
                                 + learningResourceId));
         log.info("Update LearningResource:........." + learningResourceDto);
         // Assigning values from request
-        mapper.map(learningResourceDto, learningResource);
+        dtoMapper.update(learningResourceDto, learningResource);
         // Reset Id / Primary key from query parameter
         learningResource.setId(learningResourceId);
         log.info("Update LearningResource:........." + learningResource);
-        return ResponseEntity.ok(mapper.map(
-            learningResourceSvc.save(learningResource),
-                LearningResourceDto.class));
+        return ResponseEntity.ok(dtoMapper.toDto(
+                learningResourceSvc.save(learningResource)));
 
     }
 
@@ -6,8 +6,8 @@ import java.util.stream.Collectors;
 
 import jakarta.validation.Valid;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -20,12 +20,25 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.deloitte.elrr.entity.Location;
 import com.deloitte.elrr.jpa.svc.LocationSvc;
+import com.deloitte.elrr.services.dto.CountDto;
+import com.deloitte.elrr.services.dto.ExistsDto;
 import com.deloitte.elrr.services.dto.LocationDto;
+import com.deloitte.elrr.services.dto.PageDto;
 import com.deloitte.elrr.services.exception.ResourceNotFoundException;
+import com.deloitte.elrr.services.mapper.DtoMapper;
+import com.deloitte.elrr.services.exception.BadRequestException;
+import com.deloitte.elrr.services.query.FilterQuerySvc;
+import com.deloitte.elrr.services.query.FilterSpecifications;
+import com.deloitte.elrr.services.query.KeysetPage;
+import com.deloitte.elrr.services.query.NdjsonStreamer;
+import com.deloitte.elrr.services.query.VersionQuerySvc;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -41,50 +54,158 @@ public class LocationController {
      */
     @Autowired
     private LocationSvc locationSvc;
+
+    @Autowired
+    private DtoMapper dtoMapper;
+
     /**
-     *
+     * Entity tags for conditional requests.
+     */
+    @Autowired
+    private VersionQuerySvc versionQuerySvc;
+
+    /**
+     * Keyset paging for filtered lists.
+     */
+    @Autowired
+    private FilterQuerySvc filterQuerySvc;
+
+    /**
+     * Newline-delimited JSON output for filtered lists.
      */
     @Autowired
-    private ModelMapper mapper;
+    private NdjsonStreamer ndjsonStreamer;
 
     /**
      * Get locations with optional filtering by id and extensions.
      * @param filters filter criteria (ids, extension filters)
+     * @param request Request carrying If-None-Match
      * @return ResponseEntity containing list of LocationDto
+     * @throws BadRequestException
      */
     @PreAuthorize("hasPermission('location', 'READ')")
     @GetMapping("/location")
     public ResponseEntity<List<LocationDto>> getAllLocations(
-            @ModelAttribute final Location.Filter filters) {
-        List<Location> locations = locationSvc
-                .findLocationsWithFilters(filters);
+            @ModelAttribute final Location.Filter filters,
+            final WebRequest request) throws BadRequestException {
+        Specification<Location> spec = FilterSpecifications.location(filters);
+        String etag = versionQuerySvc.listEtag(Location.class, spec, null);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        List<Location> locations = filterQuerySvc.list(Location.class, spec,
+                null);
 
         List<LocationDto> locationDtos = locations.stream()
-                .map(location -> mapper.map(location, LocationDto.class))
+                .map(location -> dtoMapper.toDto(location))
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(locationDtos);
+        return ResponseEntity.ok().eTag(etag).body(locationDtos);
+    }
+
+    /**
+     * Count the locations matching the filters without loading them.
+     *
+     * @param filters Optional filters, as for the list
+     * @return ResponseEntity<CountDto>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('location', 'READ')")
+    @GetMapping("/location/count")
+    public ResponseEntity<CountDto> countLocations(
+            @ModelAttribute final Location.Filter filters)
+            throws BadRequestException {
+        long count = filterQuerySvc.count(Location.class,
+                FilterSpecifications.location(filters));
+        return ResponseEntity.ok(new CountDto(count));
+    }
+
+    /**
+     * Tell whether any location matches the filters without loading the list.
+     * HEAD on the list itself behaves like GET.
+     *
+     * @param filters Optional filters, as for the list
+     * @return ResponseEntity<ExistsDto>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('location', 'READ')")
+    @GetMapping("/location/exists")
+    public ResponseEntity<ExistsDto> hasLocations(
+            @ModelAttribute final Location.Filter filters)
+            throws BadRequestException {
+        boolean exists = filterQuerySvc.exists(Location.class,
+                FilterSpecifications.location(filters));
+        return ResponseEntity.ok(new ExistsDto(exists));
+    }
+
+    /**
+     * Get one page of locations matching the filters, ordered by id.
+     *
+     * @param filters Optional filters
+     * @param limit Maximum number of items to return
+     * @param cursor Cursor returned as next by the previous page
+     * @return ResponseEntity<PageDto<LocationDto>>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('location', 'READ')")
+    @GetMapping(value = "/location", params = "limit")
+    public ResponseEntity<PageDto<LocationDto>> getLocationPage(
+            @ModelAttribute final Location.Filter filters,
+            @RequestParam(value = "limit") final int limit,
+            @RequestParam(value = "cursor", required = false)
+            final String cursor) throws BadRequestException {
+        KeysetPage<Location> page = filterQuerySvc.page(Location.class,
+                FilterSpecifications.location(filters), limit, cursor);
+        return ResponseEntity.ok(new PageDto<>(page.getItems().stream()
+                .map(item -> dtoMapper.toDto(item))
+                .collect(Collectors.toList()),
+                page.getNext(), page.getLimit()));
+    }
+
+    /**
+     * Stream all locations matching the filters as newline-delimited JSON,
+     * one object per line.
+     *
+     * @param filters Optional filters
+     * @return ResponseEntity<StreamingResponseBody>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('location', 'READ')")
+    @GetMapping(value = "/location",
+            produces = NdjsonStreamer.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamLocations(
+            @ModelAttribute final Location.Filter filters)
+            throws BadRequestException {
+        return ResponseEntity.ok()
+                .contentType(NdjsonStreamer.APPLICATION_NDJSON)
+                .body(ndjsonStreamer.stream(Location.class,
+                        FilterSpecifications.location(filters),
+                        item -> dtoMapper.toDto(item)));
     }
 
     /**
      *
      * @param locationId
+     * @param request Request carrying If-None-Match
      * @return ResponseEntity<LocationDto>
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('location', 'READ')")
     @GetMapping("/location/{id}")
     public ResponseEntity<LocationDto> getLocationById(
-            @PathVariable(value = "id") final UUID locationId)
-            throws ResourceNotFoundException {
+            @PathVariable(value = "id") final UUID locationId,
+            final WebRequest request) throws ResourceNotFoundException {
+        String etag = versionQuerySvc.etag(Location.class, locationId);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         log.debug("Get Location id:........." + locationId);
         Location location = locationSvc.get(locationId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Location not found for this id :: "
                                 + locationId));
-        LocationDto locationDto = mapper.map(location,
-                LocationDto.class);
-        return ResponseEntity.ok().body(locationDto);
+        LocationDto locationDto = dtoMapper.toDto(location);
+        return ResponseEntity.ok().eTag(etag).body(locationDto);
     }
 
     /**
@@ -96,9 +217,8 @@ public class LocationController {
     @PostMapping("/location")
     public ResponseEntity<LocationDto> createLocation(
             @Valid @RequestBody final LocationDto locationDto) {
-        Location location = mapper.map(locationDto, Location.class);
-        LocationDto response = mapper.map(locationSvc.save(location),
-                LocationDto.class);
+        Location location = dtoMapper.toEntity(locationDto);
+        LocationDto response = dtoMapper.toDto(locationSvc.save(location));
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
@@ -123,12 +243,11 @@ public class LocationController {
                                 + locationId));
         log.info("Update Location:........." + locationDto);
         // Assigning values from request
-        mapper.map(locationDto, location);
+        dtoMapper.update(locationDto, location);
         // Reset Id / Primary key from query parameter
         location.setId(locationId);
         log.info("Update Location:........." + location);
-        return ResponseEntity.ok(mapper.map(locationSvc.save(location),
-                LocationDto.class));
+        return ResponseEntity.ok(dtoMapper.toDto(locationSvc.save(location)));
 
     }
 
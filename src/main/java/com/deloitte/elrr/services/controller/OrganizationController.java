@@ -6,8 +6,8 @@ import java.util.stream.Collectors;
 
 import jakarta.validation.Valid;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -20,12 +20,26 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.deloitte.elrr.entity.Organization;
 import com.deloitte.elrr.jpa.svc.OrganizationSvc;
+import com.deloitte.elrr.services.dto.CountDto;
+import com.deloitte.elrr.services.dto.ExistsDto;
 import com.deloitte.elrr.services.dto.OrganizationDto;
+import com.deloitte.elrr.services.dto.PageDto;
 import com.deloitte.elrr.services.exception.ResourceNotFoundException;
+import com.deloitte.elrr.services.mapper.DtoMapper;
+import com.deloitte.elrr.services.exception.BadRequestException;
+import com.deloitte.elrr.services.query.FilterQuerySvc;
+import com.deloitte.elrr.services.query.FilterSpecifications;
+import com.deloitte.elrr.services.query.KeysetPage;
+import com.deloitte.elrr.services.query.NdjsonStreamer;
+import com.deloitte.elrr.services.query.OrganizationGapSvc;
+import com.deloitte.elrr.services.query.VersionQuerySvc;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -45,52 +59,194 @@ public class OrganizationController {
      */
     @Autowired
     private OrganizationSvc organizationSvc;
+
+    @Autowired
+    private DtoMapper dtoMapper;
+
     /**
-     *
+     * Entity tags for conditional requests.
+     */
+    @Autowired
+    private VersionQuerySvc versionQuerySvc;
+
+    /**
+     * Keyset paging for filtered lists.
+     */
+    @Autowired
+    private FilterQuerySvc filterQuerySvc;
+
+    /**
+     * Newline-delimited JSON output for filtered lists.
+     */
+    @Autowired
+    private NdjsonStreamer ndjsonStreamer;
+
+    /**
+     * Organization-wide competency and credential gaps.
      */
     @Autowired
-    private ModelMapper mapper;
+    private OrganizationGapSvc organizationGapSvc;
 
     /**
      * Get organizations with optional filtering by id and extensions.
      * @param filters filter criteria (ids, extension filters)
+     * @param request Request carrying If-None-Match
      * @return ResponseEntity containing list of OrganizationDto
+     * @throws BadRequestException
      */
     @PreAuthorize("hasPermission('organization', 'READ')")
     @GetMapping("/organization")
     public ResponseEntity<List<OrganizationDto>> getAllOrganizations(
-            @ModelAttribute final Organization.Filter filters) {
-        List<Organization> organizations = organizationSvc
-                .findOrganizationsWithFilters(filters);
+            @ModelAttribute final Organization.Filter filters,
+            final WebRequest request) throws BadRequestException {
+        Specification<Organization> spec =
+                FilterSpecifications.organization(filters);
+        String etag = versionQuerySvc.listEtag(Organization.class, spec,
+                null);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        List<Organization> organizations = filterQuerySvc.list(
+                Organization.class, spec, null);
 
         List<OrganizationDto> organizationDtos = organizations.stream()
-                .map(organization -> mapper.map(organization,
-                        OrganizationDto.class))
+                .map(organization -> dtoMapper.toDto(organization))
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(organizationDtos);
+        return ResponseEntity.ok().eTag(etag).body(organizationDtos);
+    }
+
+    /**
+     * Count the organizations matching the filters without loading them.
+     *
+     * @param filters Optional filters, as for the list
+     * @return ResponseEntity<CountDto>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('organization', 'READ')")
+    @GetMapping("/organization/count")
+    public ResponseEntity<CountDto> countOrganizations(
+            @ModelAttribute final Organization.Filter filters)
+            throws BadRequestException {
+        long count = filterQuerySvc.count(Organization.class,
+                FilterSpecifications.organization(filters));
+        return ResponseEntity.ok(new CountDto(count));
+    }
+
+    /**
+     * Tell whether any organization matches the filters without loading the
+     * list. HEAD on the list itself behaves like GET.
+     *
+     * @param filters Optional filters, as for the list
+     * @return ResponseEntity<ExistsDto>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('organization', 'READ')")
+    @GetMapping("/organization/exists")
+    public ResponseEntity<ExistsDto> hasOrganizations(
+            @ModelAttribute final Organization.Filter filters)
+            throws BadRequestException {
+        boolean exists = filterQuerySvc.exists(Organization.class,
+                FilterSpecifications.organization(filters));
+        return ResponseEntity.ok(new ExistsDto(exists));
+    }
+
+    /**
+     * Get one page of organizations matching the filters, ordered by id.
+     *
+     * @param filters Optional filters
+     * @param limit Maximum number of items to return
+     * @param cursor Cursor returned as next by the previous page
+     * @return ResponseEntity<PageDto<OrganizationDto>>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('organization', 'READ')")
+    @GetMapping(value = "/organization", params = "limit")
+    public ResponseEntity<PageDto<OrganizationDto>> getOrganizationPage(
+            @ModelAttribute final Organization.Filter filters,
+            @RequestParam(value = "limit") final int limit,
+            @RequestParam(value = "cursor", required = false)
+            final String cursor) throws BadRequestException {
+        KeysetPage<Organization> page = filterQuerySvc.page(Organization.class,
+                FilterSpecifications.organization(filters), limit, cursor);
+        return ResponseEntity.ok(new PageDto<>(page.getItems().stream()
+                .map(item -> dtoMapper.toDto(item))
+                .collect(Collectors.toList()),
+                page.getNext(), page.getLimit()));
+    }
+
+    /**
+     * Stream all organizations matching the filters as newline-delimited JSON,
+     * one object per line.
+     *
+     * @param filters Optional filters
+     * @return ResponseEntity<StreamingResponseBody>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('organization', 'READ')")
+    @GetMapping(value = "/organization",
+            produces = NdjsonStreamer.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamOrganizations(
+            @ModelAttribute final Organization.Filter filters)
+            throws BadRequestException {
+        return ResponseEntity.ok()
+                .contentType(NdjsonStreamer.APPLICATION_NDJSON)
+                .body(ndjsonStreamer.stream(Organization.class,
+                        FilterSpecifications.organization(filters),
+                        item -> dtoMapper.toDto(item)));
     }
 
     /**
      *
      * @param organizationid
+     * @param request Request carrying If-None-Match
      * @return ResponseEntity<OrganizationDto>
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('organization', 'READ')")
     @GetMapping("/organization/{id}")
     public ResponseEntity<OrganizationDto> getOrganizationById(
-            @PathVariable(value = "id") final UUID organizationid)
-            throws ResourceNotFoundException {
+            @PathVariable(value = "id") final UUID organizationid,
+            final WebRequest request) throws ResourceNotFoundException {
+        String etag = versionQuerySvc.etag(Organization.class, organizationid);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         log.info("GetMapping  Organization:.........");
         log.info("GetMapping Organization id:........." + organizationid);
         Organization organization = organizationSvc.get(organizationid)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Organization not found for this id :: "
                                 + organizationid));
-        OrganizationDto organizationDto = mapper.map(organization,
-                OrganizationDto.class);
-        return ResponseEntity.ok().body(organizationDto);
+        OrganizationDto organizationDto = dtoMapper.toDto(organization);
+        return ResponseEntity.ok().eTag(etag).body(organizationDto);
+    }
+
+    /**
+     * Stream the members of an organization who lack competencies or
+     * credentials required by their goals or current positions, one
+     * OrganizationGapDto per line.
+     *
+     * @param organizationId
+     * @return ResponseEntity<StreamingResponseBody>
+     * @throws ResourceNotFoundException
+     */
+    @PreAuthorize("hasPermission('organization', 'READ')"
+            + " and hasPermission('person', 'READ')")
+    @GetMapping("/organization/{id}/gaps")
+    public ResponseEntity<StreamingResponseBody> getOrganizationGaps(
+            @PathVariable(value = "id") final UUID organizationId)
+            throws ResourceNotFoundException {
+        StreamingResponseBody report = organizationGapSvc.report(
+                organizationId);
+        if (report == null) {
+            throw new ResourceNotFoundException(
+                    "Organization not found for this id :: "
+                            + organizationId);
+        }
+        return ResponseEntity.ok()
+                .contentType(NdjsonStreamer.APPLICATION_NDJSON)
+                .body(report);
     }
 
     /**
@@ -102,9 +258,8 @@ public class OrganizationController {
     @PostMapping("/organization")
     public ResponseEntity<OrganizationDto> createOrganization(
             @Valid @RequestBody final OrganizationDto organizationDto) {
-        Organization org = mapper.map(organizationDto, Organization.class);
-        OrganizationDto response = mapper.map(organizationSvc.save(org),
-                OrganizationDto.class);
+        Organization org = dtoMapper.toEntity(organizationDto);
+        OrganizationDto response = dtoMapper.toDto(organizationSvc.save(org));
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
@@ -129,12 +284,12 @@ public class OrganizationController {
                                 + organizationid));
         log.info("Update Organization:........." + organizationDto);
         // Assigning values from request
-        mapper.map(organizationDto, organization);
+        dtoMapper.update(organizationDto, organization);
         // Reset Id / Primary key from query parameter
         organization.setId(organizationid);
         log.info("Update Organization:........." + organization);
-        return ResponseEntity.ok(mapper.map(organizationSvc.save(organization),
-                OrganizationDto.class));
+        return ResponseEntity.ok(dtoMapper.toDto(
+                organizationSvc.save(organization)));
 
     }
 
@@ -1,11 +1,14 @@
 package com.deloitte.elrr.services.controller;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.Map;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,6 +22,9 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.deloitte.elrr.entity.Association;
 import com.deloitte.elrr.entity.Competency;
@@ -48,20 +54,52 @@ import com.deloitte.elrr.jpa.svc.PersonSvc;
 import com.deloitte.elrr.jpa.svc.PersonalCompetencySvc;
 import com.deloitte.elrr.jpa.svc.PersonalCredentialSvc;
 import com.deloitte.elrr.jpa.svc.PhoneSvc;
+import com.deloitte.elrr.services.aspect.UnitOfWork;
+import com.deloitte.elrr.services.cache.ListResultCache;
+import com.deloitte.elrr.services.dto.CountDto;
+import com.deloitte.elrr.services.dto.ExistsDto;
 import com.deloitte.elrr.services.dto.AssociationDto;
 import com.deloitte.elrr.services.dto.CompetencyDto;
 import com.deloitte.elrr.services.dto.CredentialDto;
 import com.deloitte.elrr.services.dto.EmailDto;
 import com.deloitte.elrr.services.dto.EmploymentRecordDto;
 import com.deloitte.elrr.services.dto.FacilityDto;
+import com.deloitte.elrr.services.dto.GoalProgressDto;
 import com.deloitte.elrr.services.dto.IdentityDto;
 import com.deloitte.elrr.services.dto.LearningRecordDto;
 import com.deloitte.elrr.services.dto.LocationDto;
 import com.deloitte.elrr.services.dto.PersonDto;
+import com.deloitte.elrr.services.dto.PersonMatchDto;
+import com.deloitte.elrr.services.dto.PersonMatchRequestDto;
+import com.deloitte.elrr.services.dto.PersonProfileDto;
+import com.deloitte.elrr.services.dto.PersonSearchResultDto;
 import com.deloitte.elrr.services.dto.PersonalQualificationDto;
 import com.deloitte.elrr.services.dto.PhoneDto;
+import com.deloitte.elrr.services.dto.TranscriptEntryDto;
+import com.deloitte.elrr.services.dto.TranscriptSummaryDto;
+import com.deloitte.elrr.services.dto.PageDto;
+import com.deloitte.elrr.services.dto.BulkResultDto;
 import com.deloitte.elrr.services.exception.ResourceNotFoundException;
-
+import com.deloitte.elrr.services.mapper.DtoMapper;
+import com.deloitte.elrr.services.exception.BadRequestException;
+import com.deloitte.elrr.services.query.FetchPlan;
+import com.deloitte.elrr.services.query.FilterQuerySvc;
+import com.deloitte.elrr.services.query.FilterSpecifications;
+import com.deloitte.elrr.services.query.GoalProgressSvc;
+import com.deloitte.elrr.services.query.KeysetPage;
+import com.deloitte.elrr.services.query.NdjsonStreamer;
+import com.deloitte.elrr.services.query.PersonExpansion;
+import com.deloitte.elrr.services.query.PersonLinkQuerySvc;
+import com.deloitte.elrr.services.query.PersonMatchSvc;
+import com.deloitte.elrr.services.query.PersonProfileQuerySvc;
+import com.deloitte.elrr.services.query.PersonSearchSvc;
+import com.deloitte.elrr.services.query.ProjectionQuerySvc;
+import com.deloitte.elrr.services.query.ReferenceResolver;
+import com.deloitte.elrr.services.query.TranscriptQuerySvc;
+import com.deloitte.elrr.services.query.VersionQuerySvc;
+import com.deloitte.elrr.services.ingest.BulkIngester;
+
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 
@@ -81,7 +119,86 @@ public class PersonController {
     private PersonSvc personSvc;
 
     @Autowired
-    private ModelMapper mapper;
+    private DtoMapper dtoMapper;
+
+    /**
+     * Entity tags for conditional requests.
+     */
+    @Autowired
+    private VersionQuerySvc versionQuerySvc;
+
+    /**
+     * Keyset paging for filtered lists.
+     */
+    @Autowired
+    private FilterQuerySvc filterQuerySvc;
+
+    /**
+     * Newline-delimited JSON output for filtered lists.
+     */
+    @Autowired
+    private NdjsonStreamer ndjsonStreamer;
+
+    /**
+     * Field projections for sparse fieldsets.
+     */
+    @Autowired
+    private ProjectionQuerySvc projectionQuerySvc;
+
+    /**
+     * Chunked saves for newline-delimited JSON uploads.
+     */
+    @Autowired
+    private BulkIngester bulkIngester;
+
+    /**
+     * Set-based lookup of referenced competencies and credentials.
+     */
+    @Autowired
+    private ReferenceResolver referenceResolver;
+
+    /**
+     * Keyed lookup of a person's competency, credential and organization
+     * links.
+     */
+    @Autowired
+    private PersonLinkQuerySvc personLinkQuerySvc;
+
+    /**
+     * Ranked person search.
+     */
+    @Autowired
+    private PersonSearchSvc personSearchSvc;
+
+    /**
+     * Person reads with expanded relations.
+     */
+    @Autowired
+    private PersonProfileQuerySvc personProfileQuerySvc;
+
+    /**
+     * Transcript read model.
+     */
+    @Autowired
+    private TranscriptQuerySvc transcriptQuerySvc;
+
+    /**
+     * Set-based goal progress scoring.
+     */
+    @Autowired
+    private GoalProgressSvc goalProgressSvc;
+
+    /**
+     * Ranked search by held competencies and credentials.
+     */
+    @Autowired
+    private PersonMatchSvc personMatchSvc;
+
+    /**
+     * Short-lived results of repeated filtered reads.
+     */
+    @Autowired
+    private ListResultCache listResultCache;
 
     @Autowired
     private PhoneSvc phoneSvc;
@@ -139,13 +256,123 @@ public class PersonController {
      * Get all persons with optional filters.
      *
      * @param filters Optional filters for person search
+     * @param request Request carrying If-None-Match
      * @return ResponseEntity<List<PersonDto>>
      * @throws ResourceNotFoundException
+     * @throws BadRequestException
      */
     @PreAuthorize("hasPermission('person', 'READ')")
     @GetMapping("/person")
     public ResponseEntity<List<PersonDto>> getAllPersons(
-            @ModelAttribute final Person.Filter filters) {
+            @ModelAttribute final Person.Filter filters,
+            final WebRequest request) throws BadRequestException {
+        ListResultCache.Entry<PersonDto> persons = listResultCache.get(
+                Person.class, filters, () -> loadPersons(filters, request));
+        if (persons == null || (persons.etag() != null
+                && request.checkNotModified(persons.etag()))) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(persons.etag())
+                .body(persons.items());
+    }
+
+    /**
+     * Count the persons matching the filters without loading them.
+     *
+     * @param filters Optional filters, as for the list
+     * @return ResponseEntity<CountDto>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('person', 'READ')")
+    @GetMapping("/person/count")
+    public ResponseEntity<CountDto> countPersons(
+            @ModelAttribute final Person.Filter filters)
+            throws BadRequestException {
+        long count = filterQuerySvc.count(Person.class,
+                FilterSpecifications.person(filters));
+        return ResponseEntity.ok(new CountDto(count));
+    }
+
+    /**
+     * Search persons by name, email address, identity or organization name,
+     * best match first. Each word of the query matches the start of a word,
+     * for typeahead.
+     *
+     * @param q Words to search for
+     * @param limit Maximum number of items to return
+     * @param cursor Cursor returned as next by the previous page
+     * @return ResponseEntity<PageDto<PersonSearchResultDto>>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('person', 'READ')")
+    @GetMapping("/person/search")
+    public ResponseEntity<PageDto<PersonSearchResultDto>> searchPersons(
+            @RequestParam(value = "q") final String q,
+            @RequestParam(value = "limit", defaultValue = "20")
+            final int limit,
+            @RequestParam(value = "cursor", required = false)
+            final String cursor) throws BadRequestException {
+        KeysetPage<PersonSearchResultDto> page = personSearchSvc.search(q,
+                limit, cursor);
+        return ResponseEntity.ok(new PageDto<>(page.getItems(),
+                page.getNext(), page.getLimit()));
+    }
+
+    /**
+     * Find the persons holding all, any or a minimum count of a set of
+     * competencies and credentials, ranked by a score that weighs expired
+     * qualifications less.
+     *
+     * @param request Requested competencies, credentials and match mode
+     * @param limit Maximum number of matches to return
+     * @return ResponseEntity<List<PersonMatchDto>>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('person', 'READ')")
+    @PostMapping("/person/match")
+    public ResponseEntity<List<PersonMatchDto>> matchPersons(
+            @RequestBody final PersonMatchRequestDto request,
+            @RequestParam(value = "limit", defaultValue = "100")
+            final int limit) throws BadRequestException {
+        return ResponseEntity.ok(personMatchSvc.match(request, limit));
+    }
+
+    /**
+     * Tell whether any person matches the filters without loading the list.
+     * HEAD on the list itself behaves like GET.
+     *
+     * @param filters Optional filters, as for the list
+     * @return ResponseEntity<ExistsDto>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('person', 'READ')")
+    @GetMapping("/person/exists")
+    public ResponseEntity<ExistsDto> hasPersons(
+            @ModelAttribute final Person.Filter filters)
+            throws BadRequestException {
+        boolean exists = filterQuerySvc.exists(Person.class,
+                FilterSpecifications.person(filters));
+        return ResponseEntity.ok(new ExistsDto(exists));
+    }
+
+    /**
+     * Read the persons matching the filters and the list's entity tag.
+     *
+     * @param filters filters for person search
+     * @param request Request carrying If-None-Match
+     * @return ListResultCache.Entry<PersonDto>, or null if the client
+     *         already has the current list
+     * @throws BadRequestException
+     */
+    private ListResultCache.Entry<PersonDto> loadPersons(
+            final Person.Filter filters, final WebRequest request)
+            throws BadRequestException {
+        Specification<Person> spec = FilterSpecifications.person(filters);
+        String etag = versionQuerySvc.listEtag(Person.class, spec,
+                FetchPlan.PERSON_DTO);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         log.info("getting PersonDto with filters - id: {}, ifi: {}, "
                 + "associatedOrgId: {}, employerOrgId: {}, "
                 + "hasExtension: {}, extensionPath: {}, "
@@ -167,33 +394,176 @@ public class PersonController {
                 filters.getCredentialId(),
                 filters.getLearningResourceId());
 
-        List<Person> persons = personSvc.findPersonsWithFilters(filters);
+        List<Person> persons = filterQuerySvc.list(Person.class, spec,
+                FetchPlan.PERSON_DTO);
+
+        return new ListResultCache.Entry<>(etag, persons.stream()
+                .map(person -> dtoMapper.toDto(person))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Get one page of persons matching the filters, ordered by id.
+     *
+     * @param filters Optional filters
+     * @param limit Maximum number of items to return
+     * @param cursor Cursor returned as next by the previous page
+     * @return ResponseEntity<PageDto<PersonDto>>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('person', 'READ')")
+    @GetMapping(value = "/person", params = "limit")
+    public ResponseEntity<PageDto<PersonDto>> getPersonPage(
+            @ModelAttribute final Person.Filter filters,
+            @RequestParam(value = "limit") final int limit,
+            @RequestParam(value = "cursor", required = false)
+            final String cursor) throws BadRequestException {
+        KeysetPage<Person> page = filterQuerySvc.page(Person.class,
+                FilterSpecifications.person(filters), FetchPlan.PERSON_DTO,
+                limit, cursor);
+        return ResponseEntity.ok(new PageDto<>(page.getItems().stream()
+                .map(item -> dtoMapper.toDto(item))
+                .collect(Collectors.toList()),
+                page.getNext(), page.getLimit()));
+    }
 
-        List<PersonDto> personDtoList = persons.stream()
-                .map(person -> mapper.map(person, PersonDto.class))
-                .collect(Collectors.toList());
+    /**
+     * Stream all persons matching the filters as newline-delimited JSON,
+     * one object per line.
+     *
+     * @param filters Optional filters
+     * @return ResponseEntity<StreamingResponseBody>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('person', 'READ')")
+    @GetMapping(value = "/person",
+            produces = NdjsonStreamer.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPersons(
+            @ModelAttribute final Person.Filter filters)
+            throws BadRequestException {
+        return ResponseEntity.ok()
+                .contentType(NdjsonStreamer.APPLICATION_NDJSON)
+                .body(ndjsonStreamer.stream(Person.class,
+                        FilterSpecifications.person(filters),
+                        FetchPlan.PERSON_DTO,
+                        item -> dtoMapper.toDto(item)));
+    }
 
-        return ResponseEntity.ok(personDtoList);
+    /**
+     * Get only the requested fields of all persons matching the filters.
+     *
+     * @param filters Optional filters
+     * @param fields Comma separated fields, e.g. id,name
+     * @return ResponseEntity<List<Map<String, Object>>>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('person', 'READ')")
+    @GetMapping(value = "/person", params = {"fields", "!limit"})
+    public ResponseEntity<List<Map<String, Object>>> getPersonFields(
+            @ModelAttribute final Person.Filter filters,
+            @RequestParam(value = "fields") final String fields)
+            throws BadRequestException {
+        return ResponseEntity.ok(projectionQuerySvc.list(Person.class,
+                FilterSpecifications.person(filters), fields));
+    }
+
+    /**
+     * Get only the requested fields of one page of persons matching the
+     * filters.
+     *
+     * @param filters Optional filters
+     * @param fields Comma separated fields, e.g. id,name
+     * @param limit Maximum number of items to return
+     * @param cursor Cursor returned as next by the previous page
+     * @return ResponseEntity<PageDto<Map<String, Object>>>
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('person', 'READ')")
+    @GetMapping(value = "/person", params = {"fields", "limit"})
+    public ResponseEntity<PageDto<Map<String, Object>>> getPersonFieldsPage(
+            @ModelAttribute final Person.Filter filters,
+            @RequestParam(value = "fields") final String fields,
+            @RequestParam(value = "limit") final int limit,
+            @RequestParam(value = "cursor", required = false)
+            final String cursor) throws BadRequestException {
+        KeysetPage<Map<String, Object>> page = projectionQuerySvc.page(
+                Person.class, FilterSpecifications.person(filters),
+                fields, limit, cursor);
+        return ResponseEntity.ok(new PageDto<>(page.getItems(),
+                page.getNext(), page.getLimit()));
     }
 
     /**
      *
      * @param personId
+     * @param request Request carrying If-None-Match
      * @return ResponseEntity<PersonDto>
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('person', 'READ')")
     @GetMapping("/person/{id}")
     public ResponseEntity<PersonDto> getPersonById(
-            @PathVariable(value = "id") final UUID personId)
-            throws ResourceNotFoundException {
+            @PathVariable(value = "id") final UUID personId,
+            final WebRequest request) throws ResourceNotFoundException {
+        String etag = versionQuerySvc.etag(Person.class, personId,
+                FetchPlan.PERSON_DTO);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         log.info("getting  Person:.........");
         log.info("getting Person id:........." + personId);
         Person person = personSvc.get(personId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         PERSON_NOT_FOUND + personId));
-        PersonDto personDto = mapper.map(person, PersonDto.class);
-        return ResponseEntity.ok().body(personDto);
+        PersonDto personDto = dtoMapper.toDto(person);
+        return ResponseEntity.ok().eTag(etag).body(personDto);
+    }
+
+    /**
+     * Get a person with the requested relations in one response. Needs the
+     * same permission as the per-relation endpoints it replaces.
+     *
+     * @param id person id
+     * @param expand Comma separated relations, e.g. identities,competencies
+     * @return ResponseEntity<PersonProfileDto>
+     * @throws ResourceNotFoundException
+     * @throws BadRequestException if a relation is unknown
+     */
+    @PreAuthorize("hasPermission('person', 'READ')")
+    @GetMapping(value = "/person/{id}", params = {"expand", "!fields"})
+    public ResponseEntity<PersonProfileDto> getPersonProfile(
+            @PathVariable(value = "id") final UUID id,
+            @RequestParam(value = "expand") final String expand)
+            throws ResourceNotFoundException, BadRequestException {
+        PersonProfileDto profile = personProfileQuerySvc.get(id,
+                PersonExpansion.parse(expand));
+        if (profile == null) {
+            throw new ResourceNotFoundException(PERSON_NOT_FOUND + id);
+        }
+        return ResponseEntity.ok(profile);
+    }
+
+    /**
+     * Get only the requested fields of a person.
+     *
+     * @param id person id
+     * @param fields Comma separated fields, e.g. id,name
+     * @return ResponseEntity<Map<String, Object>>
+     * @throws ResourceNotFoundException
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('person', 'READ')")
+    @GetMapping(value = "/person/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getPersonFieldsById(
+            @PathVariable(value = "id") final UUID id,
+            @RequestParam(value = "fields") final String fields)
+            throws ResourceNotFoundException, BadRequestException {
+        Map<String, Object> projection = projectionQuerySvc.get(
+                Person.class, id, fields);
+        if (projection == null) {
+            throw new ResourceNotFoundException(PERSON_NOT_FOUND + id);
+        }
+        return ResponseEntity.ok(projection);
     }
 
     /**
@@ -205,12 +575,32 @@ public class PersonController {
     @PostMapping("/person")
     public ResponseEntity<PersonDto> createPerson(
             @Valid @RequestBody final PersonDto personDto) {
-        Person person = mapper.map(personDto, Person.class);
-        PersonDto response = mapper.map(personSvc.save(person),
-                PersonDto.class);
+        Person person = dtoMapper.toEntity(personDto);
+        PersonDto response = dtoMapper.toDto(personSvc.save(person));
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * Create persons from newline-delimited JSON, one PersonDto per line,
+     * with nested addresses, email addresses and phone numbers. Lines are
+     * validated as they are read and saved in chunks; a line that fails is
+     * reported by number and does not stop the others.
+     *
+     * @param request Request whose body holds the persons
+     * @return ResponseEntity<BulkResultDto>
+     * @throws IOException if the body cannot be read
+     */
+    @PreAuthorize("hasPermission('person', 'CREATE')")
+    @PostMapping(value = "/person/bulk",
+            consumes = NdjsonStreamer.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkResultDto> createPersons(
+            final HttpServletRequest request) throws IOException {
+        BulkResultDto result = bulkIngester.ingest(request.getReader(),
+                PersonDto.class, dto -> dtoMapper.toEntity(dto),
+                personSvc::saveAll);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      *
      * @param personId
@@ -231,12 +621,12 @@ public class PersonController {
                     PERSON_NOT_FOUND + personId));
         log.info("Update Person:........." + personDto);
         // Assigning values from request
-        mapper.map(personDto, person);
+        dtoMapper.update(personDto, person);
         // Reset Id / Primary key from query parameter
         person.setId(personId);
         log.info("Update Person:........." + person);
         return ResponseEntity
-                .ok(mapper.map(personSvc.save(person), PersonDto.class));
+                .ok(dtoMapper.toDto(personSvc.save(person)));
 
     }
 
@@ -282,7 +672,7 @@ public class PersonController {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         PERSON_NOT_FOUND + personId));
         return ResponseEntity.ok(person.getIdentities().stream()
-                .map(p -> mapper.map(p, IdentityDto.class))
+                .map(p -> dtoMapper.toDto(p))
                 .collect(Collectors.toList()));
     }
 
@@ -296,6 +686,7 @@ public class PersonController {
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('person', 'UPDATE')")
+    @UnitOfWork
     @PostMapping("/person/{personId}/identity")
     public ResponseEntity<List<IdentityDto>> addIdentityToPerson(
             @PathVariable(value = "personId") final UUID personId,
@@ -305,13 +696,13 @@ public class PersonController {
         Person person = personSvc.get(personId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         PERSON_NOT_FOUND + personId));
-        Identity identity = mapper.map(identityDto, Identity.class);
+        Identity identity = dtoMapper.toEntity(identityDto);
         identity.setPerson(person);
         identitySvc.save(identity);
         person.getIdentities().add(identity);
         personSvc.save(person);
         return ResponseEntity.ok(person.getIdentities().stream()
-                .map(p -> mapper.map(p, IdentityDto.class))
+                .map(p -> dtoMapper.toDto(p))
                 .collect(Collectors.toList()));
     }
 
@@ -325,6 +716,7 @@ public class PersonController {
      * @throws ResourceNotFoundException
      */
      @PreAuthorize("hasPermission('person', 'UPDATE')")
+    @UnitOfWork
     @DeleteMapping("/person/{personId}/identity/{identityId}")
     public ResponseEntity<HttpStatus> deleteIdentity(
             @PathVariable(value = "personId") final UUID personId,
@@ -365,7 +757,7 @@ public class PersonController {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         PERSON_NOT_FOUND + personId));
         return ResponseEntity.ok(person.getPhoneNumbers().stream()
-                .map(p -> mapper.map(p, PhoneDto.class))
+                .map(p -> dtoMapper.toDto(p))
                 .collect(Collectors.toList()));
     }
 
@@ -380,6 +772,7 @@ public class PersonController {
      */
     @PreAuthorize("hasPermission('person/phone', 'ASSOCIATE') and "
         + "hasPermission('phone', 'CREATE')")
+    @UnitOfWork
     @PostMapping("/person/{personId}/phone")
     public ResponseEntity<List<PhoneDto>> addPhoneToPerson(
             @PathVariable(value = "personId") final UUID personId,
@@ -389,11 +782,11 @@ public class PersonController {
         Person person = personSvc.get(personId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         PERSON_NOT_FOUND + personId));
-        Phone phone = phoneSvc.save(mapper.map(phoneDto, Phone.class));
+        Phone phone = phoneSvc.save(dtoMapper.toEntity(phoneDto));
         person.getPhoneNumbers().add(phone);
         personSvc.save(person);
         return ResponseEntity.ok(person.getPhoneNumbers().stream()
-                .map(p -> mapper.map(p, PhoneDto.class))
+                .map(p -> dtoMapper.toDto(p))
                 .collect(Collectors.toList()));
     }
 
@@ -406,6 +799,7 @@ public class PersonController {
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('person/phone', 'ASSOCIATE')")
+    @UnitOfWork
     @PostMapping("/person/{personId}/phone/{phoneId}")
     public ResponseEntity<List<PhoneDto>> associatePhoneWithPerson(
             @PathVariable(value = "personId") final UUID personId,
@@ -421,7 +815,7 @@ public class PersonController {
         person.getPhoneNumbers().add(phone);
         personSvc.save(person);
         return ResponseEntity.ok(person.getPhoneNumbers().stream()
-                .map(p -> mapper.map(p, PhoneDto.class))
+                .map(p -> dtoMapper.toDto(p))
                 .collect(Collectors.toList()));
     }
 
@@ -434,6 +828,7 @@ public class PersonController {
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('person/phone', 'DISASSOCIATE')")
+    @UnitOfWork
     @DeleteMapping("/person/{personId}/phone/{phoneId}")
     public ResponseEntity<HttpStatus> removePhoneFromPerson(
             @PathVariable(value = "personId") final UUID personId,
@@ -472,7 +867,7 @@ public class PersonController {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         PERSON_NOT_FOUND + personId));
         return ResponseEntity.ok(person.getEmailAddresses().stream()
-                .map(p -> mapper.map(p, EmailDto.class))
+                .map(p -> dtoMapper.toDto(p))
                 .collect(Collectors.toList()));
     }
 
@@ -486,6 +881,7 @@ public class PersonController {
      */
     @PreAuthorize("hasPermission('person/email', 'ASSOCIATE') and "
         + "hasPermission('email', 'CREATE')")
+    @UnitOfWork
     @PostMapping("/person/{personId}/email")
     public ResponseEntity<List<EmailDto>> addEmailToPerson(
             @PathVariable(value = "personId") final UUID personId,
@@ -495,11 +891,11 @@ public class PersonController {
         Person person = personSvc.get(personId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         PERSON_NOT_FOUND + personId));
-        Email email = emailSvc.save(mapper.map(emailDto, Email.class));
+        Email email = emailSvc.save(dtoMapper.toEntity(emailDto));
         person.getEmailAddresses().add(email);
         personSvc.save(person);
         return ResponseEntity.ok(person.getEmailAddresses().stream()
-                .map(p -> mapper.map(p, EmailDto.class))
+                .map(p -> dtoMapper.toDto(p))
                 .collect(Collectors.toList()));
     }
 
@@ -512,6 +908,7 @@ public class PersonController {
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('person/email', 'ASSOCIATE')")
+    @UnitOfWork
     @PostMapping("/person/{personId}/email/{emailId}")
     public ResponseEntity<List<EmailDto>> associateEmailWithPerson(
             @PathVariable(value = "personId") final UUID personId,
@@ -528,7 +925,7 @@ public class PersonController {
         person.getEmailAddresses().add(email);
         personSvc.save(person);
         return ResponseEntity.ok(person.getEmailAddresses().stream()
-                .map(p -> mapper.map(p, EmailDto.class))
+                .map(p -> dtoMapper.toDto(p))
                 .collect(Collectors.toList()));
     }
 
@@ -541,6 +938,7 @@ public class PersonController {
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('person/email', 'DISASSOCIATE')")
+    @UnitOfWork
     @DeleteMapping("/person/{personId}/email/{emailId}")
     public ResponseEntity<HttpStatus> removeEmailFromPerson(
             @PathVariable(value = "personId") final UUID personId,
@@ -584,7 +982,7 @@ public class PersonController {
 
         return ResponseEntity.ok(person.getCompetencies().stream()
                 .map(c -> new PersonalQualificationDto<CompetencyDto>(
-                        mapper.map(c.getCompetency(), CompetencyDto.class),
+                        dtoMapper.toDto(c.getCompetency()),
                         c.getHasRecord()))
                 .collect(Collectors.toList()));
     }
@@ -605,21 +1003,18 @@ public class PersonController {
                 @PathVariable(value = "competencyId") final UUID competencyId)
             throws ResourceNotFoundException {
         log.info(String.format(GETTING_FOR_PERSON, "competencies", personId));
-        Person person = personSvc.get(personId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        PERSON_NOT_FOUND + personId));
-        PersonalCompetency pc = person.getCompetencies().stream()
-                .filter(c -> c.getCompetency().getId().equals(competencyId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException(
+        PersonalCompetency pc = personLinkQuerySvc
+                .competency(personId, competencyId)
+                .orElseThrow(() -> linkNotFound(personId,
                         "Competency not found this id :: " + personId));
         return ResponseEntity.ok(new PersonalQualificationDto<CompetencyDto>(
-                mapper.map(pc.getCompetency(), CompetencyDto.class),
+                dtoMapper.toDto(pc.getCompetency()),
                 pc.getHasRecord()));
     }
 
     /**
-     * Associate Competency with person.
+     * Associate Competency with person. An existing association is
+     * updated rather than added again.
      *
      * @param personId
      * @param competencyId
@@ -628,6 +1023,7 @@ public class PersonController {
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('person/competency', 'ASSOCIATE')")
+    @UnitOfWork
     @PostMapping("/person/{personId}/competency/{competencyId}")
     public ResponseEntity<List<PersonalQualificationDto<CompetencyDto>>>
             associateCompetency(
@@ -643,13 +1039,21 @@ public class PersonController {
         Competency comp = competencySvc.get(competencyId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Competency not found for this id :: " + competencyId));
-        PersonalCompetency pc = (PersonalCompetency) personalCompetencySvc.save(
-                new PersonalCompetency(person, comp, compDto.getHasRecord()));
-        person.getCompetencies().add(pc);
+        Optional<PersonalCompetency> existing = personLinkQuerySvc
+                .competency(personId, competencyId);
+        if (existing.isPresent()) {
+            existing.get().setHasRecord(compDto.getHasRecord());
+            personalCompetencySvc.save(existing.get());
+        } else {
+            PersonalCompetency pc = (PersonalCompetency) personalCompetencySvc
+                    .save(new PersonalCompetency(person, comp,
+                            compDto.getHasRecord()));
+            person.getCompetencies().add(pc);
+        }
         personSvc.save(person);
         return ResponseEntity.ok(person.getCompetencies().stream()
                 .map(c -> new PersonalQualificationDto<CompetencyDto>(
-                        mapper.map(c.getCompetency(), CompetencyDto.class),
+                        dtoMapper.toDto(c.getCompetency()),
                         c.getHasRecord()))
                 .collect(Collectors.toList()));
     }
@@ -664,6 +1068,7 @@ public class PersonController {
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('person/competency', 'ASSOCIATE')")
+    @UnitOfWork
     @PutMapping("/person/{personId}/competency/{competencyId}")
     public ResponseEntity<List<PersonalQualificationDto<CompetencyDto>>>
             updateCompetencyAssociation(
@@ -673,19 +1078,15 @@ public class PersonController {
                 final PersonalQualificationDto<CompetencyDto> compDto)
                 throws ResourceNotFoundException {
         log.info(String.format(ADDING_TO_PERSON, LOG_COMP, personId));
-        Person person = personSvc.get(personId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        PERSON_NOT_FOUND + personId));
-        PersonalCompetency pc = person.getCompetencies().stream()
-                .filter(c -> c.getCompetency().getId().equals(competencyId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException(
+        PersonalCompetency pc = personLinkQuerySvc
+                .competency(personId, competencyId)
+                .orElseThrow(() -> linkNotFound(personId,
                         "Competency not found this id :: " + personId));
         pc.setHasRecord(compDto.getHasRecord());
         personalCompetencySvc.save(pc);
-        return ResponseEntity.ok(person.getCompetencies().stream()
+        return ResponseEntity.ok(pc.getPerson().getCompetencies().stream()
                 .map(c -> new PersonalQualificationDto<CompetencyDto>(
-                        mapper.map(c.getCompetency(), CompetencyDto.class),
+                        dtoMapper.toDto(c.getCompetency()),
                         c.getHasRecord()))
                 .collect(Collectors.toList()));
     }
@@ -699,6 +1100,7 @@ public class PersonController {
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('person/competency', 'DISASSOCIATE')")
+    @UnitOfWork
     @DeleteMapping("/person/{personId}/competency/{competencyId}")
     public ResponseEntity<HttpStatus> deleteCompetencyAssociation(
             @PathVariable(value = "personId") final UUID personId,
@@ -706,18 +1108,12 @@ public class PersonController {
             throws ResourceNotFoundException {
         log.info(String.format(REMOVING_FROM_PERSON, LOG_COMP, competencyId,
             personId));
-        Person person = personSvc.get(personId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        PERSON_NOT_FOUND + personId));
-        PersonalCompetency pc = person.getCompetencies().stream()
-                .filter(c -> c.getCompetency().getId().equals(competencyId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException(
+        PersonalCompetency pc = personLinkQuerySvc
+                .competency(personId, competencyId)
+                .orElseThrow(() -> linkNotFound(personId,
                     "Person->Competency not found for this competency id :: "
                     + personId));
-        person.getCompetencies().remove(pc);
         personalCompetencySvc.delete(pc.getId());
-        personSvc.save(person);
         return new ResponseEntity<HttpStatus>(HttpStatus.NO_CONTENT);
     }
 
@@ -745,7 +1141,7 @@ public class PersonController {
 
         return ResponseEntity.ok(person.getCredentials().stream()
                 .map(c -> new PersonalQualificationDto<CredentialDto>(
-                        mapper.map(c.getCredential(), CredentialDto.class),
+                        dtoMapper.toDto(c.getCredential()),
                         c.getHasRecord()))
                 .collect(Collectors.toList()));
     }
@@ -766,21 +1162,18 @@ public class PersonController {
                 @PathVariable(value = "credentialId") final UUID credentialId)
             throws ResourceNotFoundException {
         log.info(String.format(GETTING_FOR_PERSON, "credentials", personId));
-        Person person = personSvc.get(personId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        PERSON_NOT_FOUND + personId));
-        PersonalCredential pc = person.getCredentials().stream()
-                .filter(c -> c.getCredential().getId().equals(credentialId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException(
+        PersonalCredential pc = personLinkQuerySvc
+                .credential(personId, credentialId)
+                .orElseThrow(() -> linkNotFound(personId,
                         "Credential not found this id :: " + personId));
         return ResponseEntity.ok(new PersonalQualificationDto<CredentialDto>(
-                mapper.map(pc.getCredential(), CredentialDto.class),
+                dtoMapper.toDto(pc.getCredential()),
                 pc.getHasRecord()));
     }
 
     /**
-     * Associate Credential to person.
+     * Associate Credential to person. An existing association is updated
+     * rather than added again.
      *
      * @param personId
      * @param credentialId
@@ -789,6 +1182,7 @@ public class PersonController {
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('person/credential', 'ASSOCIATE')")
+    @UnitOfWork
     @PostMapping("/person/{personId}/credential/{credentialId}")
     public ResponseEntity<List<PersonalQualificationDto<CredentialDto>>>
             associateCredential(
@@ -804,13 +1198,21 @@ public class PersonController {
         Credential comp = credentialSvc.get(credentialId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Credential not found for this id :: " + credentialId));
-        PersonalCredential pc = (PersonalCredential) personalCredentialSvc.save(
-                new PersonalCredential(person, comp, credDto.getHasRecord()));
-        person.getCredentials().add(pc);
+        Optional<PersonalCredential> existing = personLinkQuerySvc
+                .credential(personId, credentialId);
+        if (existing.isPresent()) {
+            existing.get().setHasRecord(credDto.getHasRecord());
+            personalCredentialSvc.save(existing.get());
+        } else {
+            PersonalCredential pc = (PersonalCredential) personalCredentialSvc
+                    .save(new PersonalCredential(person, comp,
+                            credDto.getHasRecord()));
+            person.getCredentials().add(pc);
+        }
         personSvc.save(person);
         return ResponseEntity.ok(person.getCredentials().stream()
                 .map(c -> new PersonalQualificationDto<CredentialDto>(
-                        mapper.map(c.getCredential(), CredentialDto.class),
+                        dtoMapper.toDto(c.getCredential()),
                         c.getHasRecord()))
                 .collect(Collectors.toList()));
     }
@@ -825,6 +1227,7 @@ public class PersonController {
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('person/credential', 'ASSOCIATE')")
+    @UnitOfWork
     @PutMapping("/person/{personId}/credential/{credentialId}")
     public ResponseEntity<List<PersonalQualificationDto<CredentialDto>>>
             updateCredentialAssociation(
@@ -834,19 +1237,15 @@ public class PersonController {
                 final PersonalQualificationDto<CredentialDto> credDto)
             throws ResourceNotFoundException {
         log.info(String.format(ADDING_TO_PERSON, LOG_COMP, personId));
-        Person person = personSvc.get(personId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        PERSON_NOT_FOUND + personId));
-        PersonalCredential pc = person.getCredentials().stream()
-                .filter(c -> c.getCredential().getId().equals(credentialId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException(
+        PersonalCredential pc = personLinkQuerySvc
+                .credential(personId, credentialId)
+                .orElseThrow(() -> linkNotFound(personId,
                         "Credential not found this id :: " + personId));
         pc.setHasRecord(credDto.getHasRecord());
         personalCredentialSvc.save(pc);
-        return ResponseEntity.ok(person.getCredentials().stream()
+        return ResponseEntity.ok(pc.getPerson().getCredentials().stream()
                 .map(c -> new PersonalQualificationDto<CredentialDto>(
-                        mapper.map(c.getCredential(), CredentialDto.class),
+                        dtoMapper.toDto(c.getCredential()),
                         c.getHasRecord()))
                 .collect(Collectors.toList()));
     }
@@ -860,6 +1259,7 @@ public class PersonController {
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('person/credential', 'DISASSOCIATE')")
+    @UnitOfWork
     @DeleteMapping("/person/{personId}/credential/{credentialId}")
     public ResponseEntity<HttpStatus> deleteCredentialAssociation(
             @PathVariable(value = "personId") final UUID personId,
@@ -867,18 +1267,12 @@ public class PersonController {
             throws ResourceNotFoundException {
         log.info(String.format(REMOVING_FROM_PERSON, "Credential", credentialId,
             personId));
-        Person person = personSvc.get(personId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        PERSON_NOT_FOUND + personId));
-        PersonalCredential pc = person.getCredentials().stream()
-                .filter(c -> c.getCredential().getId().equals(credentialId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException(
+        PersonalCredential pc = personLinkQuerySvc
+                .credential(personId, credentialId)
+                .orElseThrow(() -> linkNotFound(personId,
                     "Person->Credential not found for this credential id :: "
                     + personId));
-        person.getCredentials().remove(pc);
         personalCredentialSvc.delete(pc.getId());
-        personSvc.save(person);
         return new ResponseEntity<HttpStatus>(HttpStatus.NO_CONTENT);
     }
 
@@ -905,10 +1299,83 @@ public class PersonController {
                         PERSON_NOT_FOUND + personId));
 
         return ResponseEntity.ok(person.getLearningRecords().stream()
-                .map(rec -> mapper.map(rec, LearningRecordDto.class))
+                .map(rec -> dtoMapper.toDto(rec))
                 .collect(Collectors.toList()));
     }
 
+    /**
+     * Get one page of a person's transcript, newest event first.
+     *
+     * @param personId
+     * @param limit Maximum number of items to return
+     * @param cursor Cursor returned as next by the previous page
+     * @return ResponseEntity<PageDto<TranscriptEntryDto>>
+     * @throws ResourceNotFoundException
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('person', 'READ')")
+    @GetMapping("/person/{personId}/transcript")
+    public ResponseEntity<PageDto<TranscriptEntryDto>> getTranscript(
+            @PathVariable(value = "personId") final UUID personId,
+            @RequestParam(value = "limit", defaultValue = "100")
+            final int limit,
+            @RequestParam(value = "cursor", required = false)
+            final String cursor)
+            throws ResourceNotFoundException, BadRequestException {
+        KeysetPage<TranscriptEntryDto> page = transcriptQuerySvc.page(
+                personId, limit, cursor);
+        if (page == null) {
+            throw new ResourceNotFoundException(PERSON_NOT_FOUND + personId);
+        }
+        return ResponseEntity.ok(new PageDto<>(page.getItems(),
+                page.getNext(), page.getLimit()));
+    }
+
+    /**
+     * Get the record counts by status and latest entries of a person's
+     * transcript.
+     *
+     * @param personId
+     * @param latest Number of most recent entries to include
+     * @return ResponseEntity<TranscriptSummaryDto>
+     * @throws ResourceNotFoundException
+     * @throws BadRequestException
+     */
+    @PreAuthorize("hasPermission('person', 'READ')")
+    @GetMapping("/person/{personId}/transcript/summary")
+    public ResponseEntity<TranscriptSummaryDto> getTranscriptSummary(
+            @PathVariable(value = "personId") final UUID personId,
+            @RequestParam(value = "latest", defaultValue = "5")
+            final int latest)
+            throws ResourceNotFoundException, BadRequestException {
+        TranscriptSummaryDto summary = transcriptQuerySvc.summary(personId,
+                latest);
+        if (summary == null) {
+            throw new ResourceNotFoundException(PERSON_NOT_FOUND + personId);
+        }
+        return ResponseEntity.ok(summary);
+    }
+
+    /**
+     * Get a person's progress toward each of their goals.
+     *
+     * @param personId
+     * @return ResponseEntity<List<GoalProgressDto>>
+     * @throws ResourceNotFoundException
+     */
+    @PreAuthorize("hasPermission('person', 'READ')"
+            + " and hasPermission('goal', 'READ')")
+    @GetMapping("/person/{personId}/goals/progress")
+    public ResponseEntity<List<GoalProgressDto>> getGoalProgress(
+            @PathVariable(value = "personId") final UUID personId)
+            throws ResourceNotFoundException {
+        List<GoalProgressDto> progress = goalProgressSvc.person(personId);
+        if (progress == null) {
+            throw new ResourceNotFoundException(PERSON_NOT_FOUND + personId);
+        }
+        return ResponseEntity.ok(progress);
+    }
+
     /**
      * Add Learning Record.
      *
@@ -918,6 +1385,7 @@ public class PersonController {
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('learningrecord', 'CREATE')")
+    @UnitOfWork
     @PostMapping("/person/{personId}/learningrecord")
     public ResponseEntity<List<LearningRecordDto>> addLearningRecord(
             @PathVariable(value = "personId") final UUID personId,
@@ -934,15 +1402,14 @@ public class PersonController {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Learning Resource not found for this id :: "
                                 + learningResourceId));
-        LearningRecord learningRecord = mapper.map(learningRecordDto,
-                LearningRecord.class);
+        LearningRecord learningRecord = dtoMapper.toEntity(learningRecordDto);
         learningRecord.setPerson(person);
         learningRecord.setLearningResource(resource);
         learningRecordSvc.save(learningRecord);
         person.getLearningRecords().add(learningRecord);
         personSvc.save(person);
         return ResponseEntity.ok(person.getLearningRecords().stream()
-                .map(rec -> mapper.map(rec, LearningRecordDto.class))
+                .map(rec -> dtoMapper.toDto(rec))
                 .collect(Collectors.toList()));
     }
 
@@ -969,7 +1436,7 @@ public class PersonController {
                         PERSON_NOT_FOUND + personId));
 
         return ResponseEntity.ok(person.getEmploymentRecords().stream()
-                .map(rec -> mapper.map(rec, EmploymentRecordDto.class))
+                .map(rec -> dtoMapper.toDto(rec))
                 .collect(Collectors.toList()));
     }
 
@@ -980,13 +1447,15 @@ public class PersonController {
      * @param employmentRecordDto Employment Record Details
      * @return ResponseEntity<List<EmploymentRecordDto>>
      * @throws ResourceNotFoundException
+     * @throws BadRequestException if a competency or credential is missing
      */
     @PreAuthorize("hasPermission('employmentrecord', 'CREATE')")
+    @UnitOfWork
     @PostMapping("/person/{personId}/employmentrecord")
     public ResponseEntity<List<EmploymentRecordDto>> addEmploymentRecord(
             @PathVariable(value = "personId") final UUID personId,
             @Valid @RequestBody final EmploymentRecordDto employmentRecordDto)
-            throws ResourceNotFoundException {
+            throws ResourceNotFoundException, BadRequestException {
         log.info(String.format(ADDING_TO_PERSON, "EmploymentRecord", personId));
         Person employee = personSvc.get(personId)
                 .orElseThrow(() -> new ResourceNotFoundException(
@@ -997,8 +1466,8 @@ public class PersonController {
                         "Org not found for::" + orgId));
 
         log.info("Update EmploymentRecord:........." + employmentRecordDto);
-        EmploymentRecord employmentRecord = mapper.map(employmentRecordDto,
-                EmploymentRecord.class);
+        EmploymentRecord employmentRecord = dtoMapper.toEntity(
+                employmentRecordDto);
 
         employmentRecord.setEmployee(employee);
         employmentRecord.setEmployerOrganization(organization);
@@ -1025,21 +1494,23 @@ public class PersonController {
 
         // Role Competencies and Credentials
         if (employmentRecordDto.getCompetencies() != null)
-            employmentRecord.setCompetencies(
+            employmentRecord.setCompetencies(referenceResolver.resolveAll(
+                    Competency.class,
                     employmentRecordDto.getCompetencies().stream()
-                            .map(c -> competencySvc.get(c.getId()).orElse(null))
-                            .collect(Collectors.toSet()));
+                            .map(CompetencyDto::getId)
+                            .collect(Collectors.toList())));
         if (employmentRecordDto.getCredentials() != null)
-            employmentRecord.setCredentials(
+            employmentRecord.setCredentials(referenceResolver.resolveAll(
+                    Credential.class,
                     employmentRecordDto.getCredentials().stream()
-                            .map(c -> credentialSvc.get(c.getId()).orElse(null))
-                            .collect(Collectors.toSet()));
+                            .map(CredentialDto::getId)
+                            .collect(Collectors.toList())));
 
         employmentRecordSvc.save(employmentRecord);
         employee.getEmploymentRecords().add(employmentRecord);
         personSvc.save(employee);
         return ResponseEntity.ok(employee.getEmploymentRecords().stream()
-                .map(rec -> mapper.map(rec, EmploymentRecordDto.class))
+                .map(rec -> dtoMapper.toDto(rec))
                 .collect(Collectors.toList()));
     }
 
@@ -1065,7 +1536,7 @@ public class PersonController {
                         PERSON_NOT_FOUND + personId));
 
         return ResponseEntity.ok(person.getAssociations().stream()
-                .map(assoc -> mapper.map(assoc, AssociationDto.class))
+                .map(assoc -> dtoMapper.toDto(assoc))
                 .collect(Collectors.toList()));
     }
 
@@ -1085,16 +1556,11 @@ public class PersonController {
             throws ResourceNotFoundException {
         log.info("Getting association for person with id: " + personId
             + " and org with id: " + organizationId);
-        Person person = personSvc.get(personId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        PERSON_NOT_FOUND + personId));
-        Association association = person.getAssociations().stream()
-                .filter(assoc -> assoc.getOrganization().getId()
-                        .equals(organizationId))
-                .findAny()
-                .orElseThrow(() -> new ResourceNotFoundException(
+        Association association = personLinkQuerySvc
+                .association(personId, organizationId)
+                .orElseThrow(() -> linkNotFound(personId,
                         "No Association Exists for orgId::" + organizationId));
-        return ResponseEntity.ok(mapper.map(association, AssociationDto.class));
+        return ResponseEntity.ok(dtoMapper.toDto(association));
     }
 
     /**
@@ -1107,6 +1573,7 @@ public class PersonController {
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('person/organization', 'ASSOCIATE')")
+    @UnitOfWork
     @PostMapping("/person/{personId}/organization/{organizationId}")
     public ResponseEntity<List<AssociationDto>> associateOrg(
             @PathVariable(value = "personId") final UUID personId,
@@ -1123,10 +1590,8 @@ public class PersonController {
                                 "Organization not found for this id :: "
                                         + organizationId));
 
-        Association association = person.getAssociations().stream()
-                .filter(assoc -> assoc.getOrganization().getId()
-                        .equals(organizationId))
-                .findAny()
+        Association association = personLinkQuerySvc
+                .association(personId, organizationId)
                 .orElse(new Association());
         association.setOrganization(organization);
         association.setPerson(person);
@@ -1137,7 +1602,7 @@ public class PersonController {
         associationSvc.save(association);
         personSvc.save(person);
         return ResponseEntity.ok(person.getAssociations().stream()
-                .map(assoc -> mapper.map(assoc, AssociationDto.class))
+                .map(assoc -> dtoMapper.toDto(assoc))
                 .collect(Collectors.toList()));
     }
 
@@ -1151,6 +1616,7 @@ public class PersonController {
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('person/organization', 'ASSOCIATE')")
+    @UnitOfWork
     @PutMapping("/person/{personId}/organization/{organizationId}")
     public ResponseEntity<List<AssociationDto>> updateOrgAssociation(
             @PathVariable(value = "personId") final UUID personId,
@@ -1160,26 +1626,16 @@ public class PersonController {
         log.info("Updating Organization association to Person with id:......"
                 + personId);
 
-        Person person = personSvc.get(personId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        PERSON_NOT_FOUND + personId));
-        organizationSvc.get(organizationId).orElseThrow(
-                () -> new ResourceNotFoundException(
-                        "Organization not found for this id :: "
-                                + organizationId));
-
-        Association association = person.getAssociations().stream()
-                .filter(assoc -> assoc.getOrganization().getId()
-                        .equals(organizationId))
-                .findAny()
-                .orElseThrow(() -> new ResourceNotFoundException(
+        Association association = personLinkQuerySvc
+                .association(personId, organizationId)
+                .orElseThrow(() -> linkNotFound(personId,
                         "No association found for org"));
         association.setAssociationType(associationDto.getAssociationType());
 
         associationSvc.save(association);
-        personSvc.save(person);
-        return ResponseEntity.ok(person.getAssociations().stream()
-                .map(assoc -> mapper.map(assoc, AssociationDto.class))
+        return ResponseEntity.ok(association.getPerson().getAssociations()
+                .stream()
+                .map(assoc -> dtoMapper.toDto(assoc))
                 .collect(Collectors.toList()));
     }
 
@@ -1192,6 +1648,7 @@ public class PersonController {
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('person/organization', 'DISASSOCIATE')")
+    @UnitOfWork
     @DeleteMapping("/person/{personId}/organization/{organizationId}")
     public ResponseEntity<HttpStatus> deleteOrgAssociation(
             @PathVariable(value = "personId") final UUID personId,
@@ -1200,19 +1657,27 @@ public class PersonController {
         log.info("Deleting Organization association to Person with id:......"
                 + personId);
 
-        Person person = personSvc.get(personId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        PERSON_NOT_FOUND + personId));
-
-        Association association = person.getAssociations().stream()
-                .filter(assoc -> assoc.getOrganization().getId()
-                        .equals(organizationId))
-                .findAny()
-                .orElseThrow(() -> new ResourceNotFoundException(
+        Association association = personLinkQuerySvc
+                .association(personId, organizationId)
+                .orElseThrow(() -> linkNotFound(personId,
                         "No association found for org"));
-        person.getAssociations().remove(association);
         associationSvc.delete(association.getId());
-        personSvc.save(person);
         return new ResponseEntity<HttpStatus>(HttpStatus.NO_CONTENT);
     }
+
+    /**
+     * Not-found error for a missing person link. Names the person when it is
+     * the person, rather than the link, that does not exist.
+     *
+     * @param personId
+     * @param message error for a missing link
+     * @return ResourceNotFoundException
+     */
+    private ResourceNotFoundException linkNotFound(final UUID personId,
+            final String message) {
+        if (!personLinkQuerySvc.exists(Person.class, personId)) {
+            return new ResourceNotFoundException(PERSON_NOT_FOUND + personId);
+        }
+        return new ResourceNotFoundException(message);
+    }
 }
@@ -6,7 +6,6 @@ import java.util.UUID;
 
 import jakarta.validation.Valid;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -21,11 +20,14 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.context.request.WebRequest;
 
 import com.deloitte.elrr.entity.Phone;
 import com.deloitte.elrr.jpa.svc.PhoneSvc;
 import com.deloitte.elrr.services.dto.PhoneDto;
 import com.deloitte.elrr.services.exception.ResourceNotFoundException;
+import com.deloitte.elrr.services.mapper.DtoMapper;
+import com.deloitte.elrr.services.query.VersionQuerySvc;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -41,11 +43,15 @@ public class PhoneController {
      */
     @Autowired
     private PhoneSvc phoneSvc;
+
+    @Autowired
+    private DtoMapper dtoMapper;
+
     /**
-     *
+     * Entity tags for conditional requests.
      */
     @Autowired
-    private ModelMapper mapper;
+    private VersionQuerySvc versionQuerySvc;
 
     /**
      *
@@ -61,10 +67,10 @@ public class PhoneController {
         List<PhoneDto> phoneList = new ArrayList<>();
         if (phoneId == null) {
             phoneSvc.findAll().forEach(phn -> phoneList.add(
-                    mapper.map(phn, PhoneDto.class)));
+                    dtoMapper.toDto(phn)));
         } else {
             phoneSvc.get(phoneId).ifPresent(phone -> {
-                PhoneDto phoneDto = mapper.map(phone, PhoneDto.class);
+                PhoneDto phoneDto = dtoMapper.toDto(phone);
                 phoneList.add(phoneDto);
             });
         }
@@ -75,22 +81,26 @@ public class PhoneController {
     /**
      *
      * @param phoneId
+     * @param request Request carrying If-None-Match
      * @return ResponseEntity<PhoneDto>
      * @throws ResourceNotFoundException
      */
     @PreAuthorize("hasPermission('phone', 'READ')")
     @GetMapping("/phone/{id}")
     public ResponseEntity<PhoneDto> getPhoneById(
-            @PathVariable(value = "id") final UUID phoneId)
-            throws ResourceNotFoundException {
+            @PathVariable(value = "id") final UUID phoneId,
+            final WebRequest request) throws ResourceNotFoundException {
+        String etag = versionQuerySvc.etag(Phone.class, phoneId);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         log.debug("Get Phone id:........." + phoneId);
         Phone phone = phoneSvc.get(phoneId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Phone not found for this id :: "
                                 + phoneId));
-        PhoneDto phoneDto = mapper.map(phone,
-                PhoneDto.class);
-        return ResponseEntity.ok().body(phoneDto);
+        PhoneDto phoneDto = dtoMapper.toDto(phone);
+        return ResponseEntity.ok().eTag(etag).body(phoneDto);
     }
 
     /**
@@ -102,8 +112,8 @@ public class PhoneController {
     @PostMapping("/phone")
     public ResponseEntity<PhoneDto> createPhone(
             @Valid @RequestBody final PhoneDto phoneDto) {
-        Phone phone = mapper.map(phoneDto, Phone.class);
-        PhoneDto response = mapper.map(phoneSvc.save(phone), PhoneDto.class);
+        Phone phone = dtoMapper.toEntity(phoneDto);
+        PhoneDto response = dtoMapper.toDto(phoneSvc.save(phone));
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
@@ -128,12 +138,11 @@ public class PhoneController {
                                 + phoneId));
         log.info("Update Phone:........." + phoneDto);
         // Assigning values from request
-        mapper.map(phoneDto, phone);
+        dtoMapper.update(phoneDto, phone);
         // Reset Id / Primary key from query parameter
         phone.setId(phoneId);
         log.info("Update Phone:........." + phone);
-        return ResponseEntity.ok(mapper.map(phoneSvc.save(phone),
-                PhoneDto.class));
+        return ResponseEntity.ok(dtoMapper.toDto(phoneSvc.save(phone)));
 
     }
 
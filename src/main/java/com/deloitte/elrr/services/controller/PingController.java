@@ -3,9 +3,12 @@ package com.deloitte.elrr.services.controller;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import lombok.extern.slf4j.Slf4j;
@@ -14,17 +17,26 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class PingController {
 
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
     /**
-     * Controller endpoint just to provide health check.
+     * Controller endpoint just to provide health check. Answers 503 until
+     * the application is ready, which includes the startup warm-up.
      *
      * @return Map<String, String>
      */
-    @ResponseStatus(code = HttpStatus.OK)
     @GetMapping("/ping")
-    public Map<String, String> ping() {
+    public ResponseEntity<Map<String, String>> ping() {
         Map<String, String> pong = new HashMap<>();
         log.info("Inside PING Controller.........");
+        if (applicationAvailability.getReadinessState()
+                != ReadinessState.ACCEPTING_TRAFFIC) {
+            pong.put("pong", "Warming up");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(pong);
+        }
         pong.put("pong", "Hello 1, ELRR!");
-        return pong;
+        return ResponseEntity.ok(pong);
     }
 }
@@ -0,0 +1,28 @@
+package com.deloitte.elrr.services.dto;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Outcome of one item of a batch request, by its position in the request.
+ * {@code id} is set when the item was created and {@code error} when it
+ * was not.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResultDto {
+
+    private int index;
+
+    private UUID id;
+
+    private String error;
+}
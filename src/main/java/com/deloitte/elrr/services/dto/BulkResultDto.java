@@ -0,0 +1,45 @@
+package com.deloitte.elrr.services.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Outcome of a bulk upload. Every non-blank line of the body is counted as
+ * received and is either created or failed; failures are listed by line
+ * number, up to a fixed number of entries.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class BulkResultDto {
+
+    private int received;
+
+    private int created;
+
+    private int failed;
+
+    private List<Failure> failures = new ArrayList<>();
+
+    /**
+     * A record that was not saved.
+     */
+    @Getter
+    @Setter
+    @ToString
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Failure {
+
+        private long line;
+
+        private String message;
+    }
+}
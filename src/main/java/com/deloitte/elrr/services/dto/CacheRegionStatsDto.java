@@ -0,0 +1,54 @@
+package com.deloitte.elrr.services.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Hit, miss and put counts of one cache region since startup or the last
+ * statistics reset, and the number of entries it holds. Invalidation
+ * counts and the age of the entries served on hits are only reported by
+ * the list result cache.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatsDto {
+
+    private String region;
+
+    private String entity;
+
+    private long hits;
+
+    private long misses;
+
+    private long puts;
+
+    private long size;
+
+    private Long invalidations;
+
+    private Long meanHitAgeMillis;
+
+    private Long maxHitAgeMillis;
+
+    /**
+     * Statistics without invalidation or age figures.
+     *
+     * @param region cache region
+     * @param entity entity type, or "*" for every type
+     * @param hits hit count
+     * @param misses miss count
+     * @param puts put count
+     * @param size entry count
+     */
+    public CacheRegionStatsDto(String region, String entity, long hits,
+            long misses, long puts, long size) {
+        this(region, entity, hits, misses, puts, size, null, null, null);
+    }
+}
@@ -0,0 +1,20 @@
+package com.deloitte.elrr.services.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Whether any entity matches a filter.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExistsDto {
+
+    private boolean exists;
+}
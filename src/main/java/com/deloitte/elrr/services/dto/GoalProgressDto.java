@@ -0,0 +1,41 @@
+package com.deloitte.elrr.services.dto;
+
+import java.util.Set;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * How far a goal's person is toward it: how many of the goal's
+ * competencies, credentials and learning resources the person holds, and
+ * which are still missing.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoalProgressDto {
+
+    private UUID goalId;
+
+    private UUID personId;
+
+    private String name;
+
+    private int required;
+
+    private int completed;
+
+    private double percentComplete;
+
+    private Set<UUID> missingCompetencyIds;
+
+    private Set<UUID> missingCredentialIds;
+
+    private Set<UUID> missingLearningResourceIds;
+}
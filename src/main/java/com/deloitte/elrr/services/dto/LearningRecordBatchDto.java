@@ -0,0 +1,22 @@
+package com.deloitte.elrr.services.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Learning records to create in one request. Items are validated one by
+ * one, so an invalid item is reported in its result rather than rejecting
+ * the whole batch.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class LearningRecordBatchDto {
+
+    @NotNull
+    private List<LearningRecordBatchItemDto> items;
+}
@@ -0,0 +1,37 @@
+package com.deloitte.elrr.services.dto;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import com.deloitte.elrr.entity.types.LearningStatus;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One learning record of a batch, naming its person and learning resource
+ * by id.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class LearningRecordBatchItemDto {
+
+    @NotNull
+    private UUID personId;
+
+    @NotNull
+    private UUID learningResourceId;
+
+    private LearningStatus recordStatus;
+
+    private ZonedDateTime enrollmentDate;
+
+    private ZonedDateTime eventTime;
+
+    @Size(max = 50)
+    private String academicGrade;
+}
@@ -0,0 +1,30 @@
+package com.deloitte.elrr.services.dto;
+
+import java.util.Set;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A member of an organization who lacks competencies or credentials
+ * required by their goals or current positions there.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrganizationGapDto {
+
+    private UUID personId;
+
+    private String name;
+
+    private Set<UUID> missingCompetencyIds;
+
+    private Set<UUID> missingCredentialIds;
+}
@@ -0,0 +1,29 @@
+package com.deloitte.elrr.services.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * One page of a filtered list. {@code next} is an opaque cursor to pass
+ * back as the {@code cursor} parameter, or null on the last page.
+ *
+ * @param <T> item type
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageDto<T> {
+
+    private List<T> items;
+
+    private String next;
+
+    private Integer limit;
+}
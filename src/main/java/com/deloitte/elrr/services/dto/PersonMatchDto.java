@@ -0,0 +1,28 @@
+package com.deloitte.elrr.services.dto;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A person matching a qualification search: how many of the requested
+ * qualifications they hold and their score, the currency-weighted share
+ * of the request they hold.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonMatchDto {
+
+    private UUID personId;
+
+    private int matched;
+
+    private double score;
+}
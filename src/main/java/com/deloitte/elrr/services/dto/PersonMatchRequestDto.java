@@ -0,0 +1,42 @@
+package com.deloitte.elrr.services.dto;
+
+import java.util.Set;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * The competencies and credentials a person search asks for, and how many
+ * of them a person must hold to match.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonMatchRequestDto {
+
+    /**
+     * How many of the requested qualifications a match must hold.
+     */
+    public enum Mode {
+        /** Every one. */
+        ALL,
+        /** At least one. */
+        ANY,
+        /** At least {@code minCount}. */
+        MIN_COUNT
+    }
+
+    private Set<UUID> competencyIds;
+
+    private Set<UUID> credentialIds;
+
+    private Mode mode;
+
+    private Integer minCount;
+}
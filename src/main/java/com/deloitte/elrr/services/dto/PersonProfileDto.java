@@ -0,0 +1,36 @@
+package com.deloitte.elrr.services.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A person with the relations named in the expand parameter. Relations
+ * that were not requested are null and left out of the JSON.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PersonProfileDto {
+
+    private PersonDto person;
+
+    private List<IdentityDto> identities;
+
+    private List<PersonalQualificationDto<CompetencyDto>> competencies;
+
+    private List<PersonalQualificationDto<CredentialDto>> credentials;
+
+    private List<LearningRecordDto> learningRecords;
+
+    private List<EmploymentRecordDto> employmentRecords;
+
+    private List<AssociationDto> associations;
+}
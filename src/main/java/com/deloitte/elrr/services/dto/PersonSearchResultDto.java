@@ -0,0 +1,28 @@
+package com.deloitte.elrr.services.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Summary of a person returned by the person search, enough to show and
+ * pick the person before reading the full record.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonSearchResultDto {
+
+    private UUID id;
+
+    private String name;
+
+    private List<String> emailAddresses;
+}
@@ -0,0 +1,38 @@
+package com.deloitte.elrr.services.dto;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import com.deloitte.elrr.entity.types.LearningStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * One learning record on a person's transcript, with the title of its
+ * learning resource.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class TranscriptEntryDto {
+
+    private UUID learningRecordId;
+
+    private UUID learningResourceId;
+
+    private String learningResourceTitle;
+
+    private LearningStatus recordStatus;
+
+    private ZonedDateTime enrollmentDate;
+
+    private ZonedDateTime eventTime;
+
+    private String academicGrade;
+}
@@ -0,0 +1,28 @@
+package com.deloitte.elrr.services.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Summary of a person's transcript: the number of learning records in
+ * total and per record status, and the most recent entries.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class TranscriptSummaryDto {
+
+    private long total;
+
+    private Map<String, Long> statusCounts;
+
+    private List<TranscriptEntryDto> latest;
+}
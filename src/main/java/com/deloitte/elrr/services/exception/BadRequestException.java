@@ -0,0 +1,19 @@
+package com.deloitte.elrr.services.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class BadRequestException extends Exception {
+    /**
+     *
+     */
+    private static final long serialVersionUID = 1L;
+    /**
+     *
+     * @param message
+     */
+    public BadRequestException(final String message) {
+        super(message);
+    }
+}
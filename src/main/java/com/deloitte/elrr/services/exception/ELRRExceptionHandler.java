@@ -36,6 +36,19 @@ public class ELRRExceptionHandler extends ResponseEntityExceptionHandler {
                 ex.getMessage(), request.getDescription(false), null);
         return new ResponseEntity<>(errorDetails, HttpStatus.NOT_FOUND);
     }
+    /**
+     *
+     * @param ex
+     * @param request
+     * @return ResponseEntity<Object>
+     */
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<Object> badRequestException(
+            final BadRequestException ex, final WebRequest request) {
+        ELRRErrorDetails errorDetails = new ELRRErrorDetails(new Date(),
+                ex.getMessage(), request.getDescription(false), null);
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
     /**
      * @param ex
      * @param headers
@@ -0,0 +1,266 @@
+package com.deloitte.elrr.services.ingest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deloitte.elrr.entity.Entity;
+import com.deloitte.elrr.services.InputSanitizer;
+import com.deloitte.elrr.services.dto.BulkResultDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads a newline-delimited JSON body one record at a time and saves the
+ * records in chunks. Each line is sanitized, parsed and validated as it is
+ * read, so a bad record is reported by its line number without holding the
+ * rest of the body. Valid records are saved {@code elrr.bulk.chunk-size} at
+ * a time in one transaction, flushed as JDBC batches and then detached. If a
+ * chunk fails, its records are saved one by one so only the failing records
+ * are reported and the rest are kept. A line longer than
+ * {@code elrr.bulk.max-line-length} characters is reported without being
+ * held in memory.
+ */
+@Component
+@Slf4j
+public class BulkIngester {
+
+    /**
+     * Most failures listed in a result; further failures are only counted.
+     */
+    static final int MAX_REPORTED_FAILURES = 1000;
+
+    @Value("${elrr.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${elrr.bulk.max-line-length:1048576}")
+    private int maxLineLength;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Save every record of a body.
+     *
+     * @param <D> record type
+     * @param <T> entity type
+     * @param body newline-delimited JSON, one record per line
+     * @param recordType class of each record
+     * @param toEntity maps a valid record to a new entity
+     * @param saveAll saves a chunk of entities
+     * @return counts and failures
+     * @throws IOException if the body cannot be read
+     */
+    public <D, T extends Entity> BulkResultDto ingest(Reader body,
+            Class<D> recordType, Function<? super D, T> toEntity,
+            Consumer<List<T>> saveAll) throws IOException {
+        BulkResultDto result = new BulkResultDto();
+        ObjectReader reader = objectMapper.readerFor(recordType);
+        List<Line<D>> chunk = new ArrayList<>(chunkSize);
+        BufferedReader lines = body instanceof BufferedReader buffered
+                ? buffered : new BufferedReader(body);
+        long number = 0;
+        StringBuilder buffer = new StringBuilder();
+        long length;
+        while ((length = readLine(lines, buffer)) >= 0) {
+            number++;
+            String line = buffer.toString();
+            if (length <= maxLineLength && line.isBlank()) {
+                continue;
+            }
+            result.setReceived(result.getReceived() + 1);
+            if (length > maxLineLength) {
+                fail(result, number, "Record longer than " + maxLineLength
+                        + " characters");
+                continue;
+            }
+            try {
+                chunk.add(new Line<>(number, parse(reader, line)));
+            } catch (InvalidRecordException e) {
+                fail(result, number, e.getMessage());
+                continue;
+            }
+            if (chunk.size() >= chunkSize) {
+                save(chunk, toEntity, saveAll, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            save(chunk, toEntity, saveAll, result);
+        }
+        log.info("Bulk {}: received {}, created {}, failed {}",
+                recordType.getSimpleName(), result.getReceived(),
+                result.getCreated(), result.getFailed());
+        return result;
+    }
+
+    /**
+     * Read the next line into a buffer, keeping at most
+     * {@code maxLineLength} characters of it; the rest of a longer line is
+     * read and dropped. Lines end as for {@link BufferedReader#readLine()}
+     * on a line feed, optionally preceded by a carriage return.
+     *
+     * @param body reader positioned at the start of a line
+     * @param buffer receives the line, without its terminator
+     * @return length of the whole line, or -1 at the end of the body
+     * @throws IOException if the body cannot be read
+     */
+    private long readLine(BufferedReader body, StringBuilder buffer)
+            throws IOException {
+        buffer.setLength(0);
+        long length = 0;
+        int c;
+        while ((c = body.read()) != -1 && c != '\n') {
+            length++;
+            if (buffer.length() <= maxLineLength) {
+                buffer.append((char) c);
+            }
+        }
+        if (c == -1 && length == 0) {
+            return -1;
+        }
+        if (length > 0 && length <= maxLineLength + 1
+                && buffer.charAt(buffer.length() - 1) == '\r') {
+            buffer.setLength(buffer.length() - 1);
+            length--;
+        }
+        return length;
+    }
+
+    private <D> D parse(ObjectReader reader, String line)
+            throws InvalidRecordException {
+        if (!InputSanitizer.isValidInput(line)) {
+            throw new InvalidRecordException("Illegal characters in record");
+        }
+        try {
+            if (InputSanitizer.hasHomoGlyphs(new JSONObject(line))) {
+                throw new InvalidRecordException(
+                        "Record contains homoglyphs.");
+            }
+        } catch (JSONException e) {
+            throw new InvalidRecordException("Malformed record");
+        }
+        D record;
+        try {
+            record = reader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new InvalidRecordException(
+                    "Malformed record: " + e.getOriginalMessage());
+        }
+        Set<ConstraintViolation<D>> violations = validator.validate(record);
+        if (!violations.isEmpty()) {
+            throw new InvalidRecordException(violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return record;
+    }
+
+    private <D, T extends Entity> void save(List<Line<D>> chunk,
+            Function<? super D, T> toEntity, Consumer<List<T>> saveAll,
+            BulkResultDto result) {
+        try {
+            inTransaction(chunk, toEntity, saveAll);
+            result.setCreated(result.getCreated() + chunk.size());
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Bulk chunk at line {} failed, saving records singly",
+                    chunk.get(0).number(), e);
+        }
+        for (Line<D> line : chunk) {
+            try {
+                inTransaction(List.of(line), toEntity, saveAll);
+                result.setCreated(result.getCreated() + 1);
+            } catch (RuntimeException e) {
+                Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+                fail(result, line.number(), cause.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Map and save records in one transaction. The session only flushes
+     * when asked, so the inserts go out together as ordered JDBC batches;
+     * the saved entities are then detached so memory use does not grow
+     * with the size of the body. Records are mapped afresh on every call,
+     * so a retry never sees entities left over from a rolled back chunk.
+     */
+    private <D, T extends Entity> void inTransaction(List<Line<D>> lines,
+            Function<? super D, T> toEntity, Consumer<List<T>> saveAll) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> {
+                    entityManager.unwrap(Session.class)
+                            .setHibernateFlushMode(FlushMode.COMMIT);
+                    List<T> entities = new ArrayList<>(lines.size());
+                    for (Line<D> line : lines) {
+                        entities.add(toEntity.apply(line.record()));
+                    }
+                    saveAll.accept(entities);
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+    }
+
+    private static void fail(BulkResultDto result, long line,
+            String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getFailures().size() < MAX_REPORTED_FAILURES) {
+            result.getFailures().add(new BulkResultDto.Failure(line, message));
+        }
+    }
+
+    /**
+     * A parsed record and the line it was read from.
+     *
+     * @param <D> record type
+     * @param number line number, starting at 1
+     * @param record parsed record
+     */
+    private record Line<D>(long number, D record) {
+    }
+
+    /**
+     * A line that cannot be saved as it stands.
+     */
+    private static final class InvalidRecordException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        InvalidRecordException(String message) {
+            super(message);
+        }
+    }
+}
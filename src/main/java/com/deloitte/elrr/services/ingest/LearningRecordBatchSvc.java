@@ -0,0 +1,209 @@
+package com.deloitte.elrr.services.ingest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deloitte.elrr.entity.Entity;
+import com.deloitte.elrr.entity.LearningRecord;
+import com.deloitte.elrr.entity.LearningResource;
+import com.deloitte.elrr.entity.Person;
+import com.deloitte.elrr.jpa.svc.LearningRecordSvc;
+import com.deloitte.elrr.services.dto.BatchItemResultDto;
+import com.deloitte.elrr.services.dto.LearningRecordBatchItemDto;
+import com.deloitte.elrr.services.query.FilterQuerySvc;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates learning records in batches. The persons and learning resources
+ * a batch refers to are checked with one {@code IN} query per type rather
+ * than loaded one at a time, and the records reference them by id without
+ * loading them. Records are saved {@code elrr.bulk.chunk-size} at a time in
+ * one transaction, so the inserts and their audit entries go out as JDBC
+ * batches. A chunk that fails is retried one record at a time so every item
+ * gets its own result.
+ */
+@Service
+@Slf4j
+public class LearningRecordBatchSvc {
+
+    private static final String PERSON_NOT_FOUND =
+            "Person not found for this id :: ";
+
+    private static final String RESOURCE_NOT_FOUND =
+            "Learning Resource not found for this id :: ";
+
+    @Value("${elrr.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Autowired
+    private LearningRecordSvc learningRecordSvc;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Create one learning record per item.
+     *
+     * @param items records to create
+     * @return one result per item, in request order
+     */
+    public List<BatchItemResultDto> create(
+            List<LearningRecordBatchItemDto> items) {
+        BatchItemResultDto[] results = new BatchItemResultDto[items.size()];
+        List<Integer> valid = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            String error = validate(items.get(i));
+            if (error == null) {
+                valid.add(i);
+            } else {
+                results[i] = new BatchItemResultDto(i, null, error);
+            }
+        }
+        Set<UUID> persons = existing(Person.class, valid.stream()
+                .map(i -> items.get(i).getPersonId())
+                .collect(Collectors.toSet()));
+        Set<UUID> resources = existing(LearningResource.class, valid.stream()
+                .map(i -> items.get(i).getLearningResourceId())
+                .collect(Collectors.toSet()));
+        List<Integer> resolved = new ArrayList<>(valid.size());
+        for (int i : valid) {
+            LearningRecordBatchItemDto item = items.get(i);
+            if (!persons.contains(item.getPersonId())) {
+                results[i] = new BatchItemResultDto(i, null,
+                        PERSON_NOT_FOUND + item.getPersonId());
+            } else if (!resources.contains(item.getLearningResourceId())) {
+                results[i] = new BatchItemResultDto(i, null,
+                        RESOURCE_NOT_FOUND + item.getLearningResourceId());
+            } else {
+                resolved.add(i);
+            }
+        }
+        for (int from = 0; from < resolved.size(); from += chunkSize) {
+            save(items, resolved.subList(from,
+                    Math.min(resolved.size(), from + chunkSize)), results);
+        }
+        log.info("Learning record batch: {} items, {} created",
+                items.size(), Arrays.stream(results)
+                        .filter(result -> result.getId() != null).count());
+        return List.of(results);
+    }
+
+    private String validate(LearningRecordBatchItemDto item) {
+        if (item == null) {
+            return "Item is empty";
+        }
+        Set<ConstraintViolation<LearningRecordBatchItemDto>> violations =
+                validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Find which of the given ids exist, reading only the ids.
+     */
+    private <T extends Entity> Set<UUID> existing(Class<T> type,
+            Set<UUID> ids) {
+        Set<UUID> found = new HashSet<>();
+        List<UUID> list = new ArrayList<>(ids);
+        for (int i = 0; i < list.size(); i += FilterQuerySvc.IN_CHUNK) {
+            int end = Math.min(list.size(), i + FilterQuerySvc.IN_CHUNK);
+            found.addAll(entityManager.createQuery("select e.id from "
+                    + type.getSimpleName() + " e where e.id in :ids",
+                    UUID.class)
+                    .setParameter("ids", list.subList(i, end))
+                    .getResultList());
+        }
+        return found;
+    }
+
+    private void save(List<LearningRecordBatchItemDto> items,
+            List<Integer> chunk, BatchItemResultDto[] results) {
+        try {
+            List<UUID> ids = inTransaction(items, chunk);
+            for (int i = 0; i < chunk.size(); i++) {
+                results[chunk.get(i)] = new BatchItemResultDto(chunk.get(i),
+                        ids.get(i), null);
+            }
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Learning record chunk at item {} failed, saving items"
+                    + " singly", chunk.get(0), e);
+        }
+        for (int index : chunk) {
+            try {
+                UUID id = inTransaction(items, List.of(index)).get(0);
+                results[index] = new BatchItemResultDto(index, id, null);
+            } catch (RuntimeException e) {
+                results[index] = new BatchItemResultDto(index, null,
+                        NestedExceptionUtils.getMostSpecificCause(e)
+                                .getMessage());
+            }
+        }
+    }
+
+    /**
+     * Build and save the records of a chunk in one transaction, returning
+     * their ids in chunk order. Persons and resources are attached as
+     * references, so no row is read for them.
+     */
+    private List<UUID> inTransaction(List<LearningRecordBatchItemDto> items,
+            List<Integer> chunk) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            entityManager.unwrap(Session.class)
+                    .setHibernateFlushMode(FlushMode.COMMIT);
+            List<LearningRecord> records = new ArrayList<>(chunk.size());
+            for (int index : chunk) {
+                records.add(toEntity(items.get(index)));
+            }
+            learningRecordSvc.saveAll(records);
+            entityManager.flush();
+            List<UUID> ids = records.stream().map(LearningRecord::getId)
+                    .collect(Collectors.toList());
+            entityManager.clear();
+            return ids;
+        });
+    }
+
+    private LearningRecord toEntity(LearningRecordBatchItemDto item) {
+        LearningRecord record = new LearningRecord();
+        record.setPerson(entityManager.getReference(Person.class,
+                item.getPersonId()));
+        record.setLearningResource(entityManager.getReference(
+                LearningResource.class, item.getLearningResourceId()));
+        record.setRecordStatus(item.getRecordStatus());
+        record.setEnrollmentDate(item.getEnrollmentDate());
+        record.setEventTime(item.getEventTime());
+        record.setAcademicGrade(item.getAcademicGrade());
+        return record;
+    }
+}
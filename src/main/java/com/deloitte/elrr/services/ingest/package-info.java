@@ -0,0 +1,4 @@
+/**
+ * Bulk uploads and batched writes.
+ */
+package com.deloitte.elrr.services.ingest;
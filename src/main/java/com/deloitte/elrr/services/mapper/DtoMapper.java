@@ -0,0 +1,526 @@
+package com.deloitte.elrr.services.mapper;
+
+import java.io.Serializable;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+
+import com.deloitte.elrr.entity.Association;
+import com.deloitte.elrr.entity.Competency;
+import com.deloitte.elrr.entity.Credential;
+import com.deloitte.elrr.entity.Email;
+import com.deloitte.elrr.entity.EmploymentRecord;
+import com.deloitte.elrr.entity.Entity;
+import com.deloitte.elrr.entity.Facility;
+import com.deloitte.elrr.entity.Goal;
+import com.deloitte.elrr.entity.Identity;
+import com.deloitte.elrr.entity.LearningRecord;
+import com.deloitte.elrr.entity.LearningResource;
+import com.deloitte.elrr.entity.Location;
+import com.deloitte.elrr.entity.Organization;
+import com.deloitte.elrr.entity.Person;
+import com.deloitte.elrr.entity.Phone;
+import com.deloitte.elrr.services.dto.AssociationDto;
+import com.deloitte.elrr.services.dto.CompetencyDto;
+import com.deloitte.elrr.services.dto.CredentialDto;
+import com.deloitte.elrr.services.dto.EmailDto;
+import com.deloitte.elrr.services.dto.EmploymentRecordDto;
+import com.deloitte.elrr.services.dto.FacilityDto;
+import com.deloitte.elrr.services.dto.GoalDto;
+import com.deloitte.elrr.services.dto.IdentityDto;
+import com.deloitte.elrr.services.dto.LearningRecordDto;
+import com.deloitte.elrr.services.dto.LearningResourceDto;
+import com.deloitte.elrr.services.dto.LocationDto;
+import com.deloitte.elrr.services.dto.OrganizationDto;
+import com.deloitte.elrr.services.dto.PersonDto;
+import com.deloitte.elrr.services.dto.PhoneDto;
+
+/**
+ * Mapping between entities and DTOs, in both directions. The
+ * implementation is generated at build time as plain getter and setter
+ * calls, so requests and responses are mapped without the reflection and
+ * type map lookups of {@code ModelMapper}. Properties are matched by name,
+ * as {@code ModelMapper} does. A DTO property with no source is reported
+ * when the mapper is generated, so a field cannot silently come back null;
+ * properties named differently on the entity are mapped explicitly.
+ *
+ * <p>Requests are mapped onto entities with the skip-null merge of the
+ * {@code ModelMapper} configuration they replace: the {@code update}
+ * methods copy only the non-null properties of a request, leaving the
+ * rest of the entity as it was, and {@code toEntity} applies the same
+ * merge to a new entity. Entity properties a request does not carry, such
+ * as the relations set by the controllers, are left alone.
+ */
+@Mapper(unmappedTargetPolicy = ReportingPolicy.WARN)
+public interface DtoMapper {
+
+    /**
+     * @param person entity
+     * @return dto
+     */
+    PersonDto toDto(Person person);
+
+    /**
+     * @param email entity
+     * @return dto
+     */
+    EmailDto toDto(Email email);
+
+    /**
+     * @param phone entity
+     * @return dto
+     */
+    PhoneDto toDto(Phone phone);
+
+    /**
+     * @param identity entity
+     * @return dto
+     */
+    IdentityDto toDto(Identity identity);
+
+    /**
+     * @param location entity
+     * @return dto
+     */
+    LocationDto toDto(Location location);
+
+    /**
+     * @param facility entity
+     * @return dto
+     */
+    FacilityDto toDto(Facility facility);
+
+    /**
+     * @param organization entity
+     * @return dto
+     */
+    OrganizationDto toDto(Organization organization);
+
+    /**
+     * @param association entity
+     * @return dto
+     */
+    AssociationDto toDto(Association association);
+
+    /**
+     * @param competency entity
+     * @return dto
+     */
+    CompetencyDto toDto(Competency competency);
+
+    /**
+     * @param credential entity
+     * @return dto
+     */
+    CredentialDto toDto(Credential credential);
+
+    /**
+     * @param employmentRecord entity
+     * @return dto
+     */
+    EmploymentRecordDto toDto(EmploymentRecord employmentRecord);
+
+    /**
+     * @param learningRecord entity
+     * @return dto
+     */
+    LearningRecordDto toDto(LearningRecord learningRecord);
+
+    /**
+     * @param learningResource entity
+     * @return dto
+     */
+    LearningResourceDto toDto(LearningResource learningResource);
+
+    /**
+     * @param goal entity
+     * @return dto
+     */
+    @Mapping(target = "personId", source = "person.id")
+    @Mapping(target = "competencyIds", source = "competencies",
+            qualifiedByName = "ids")
+    @Mapping(target = "credentialIds", source = "credentials",
+            qualifiedByName = "ids")
+    @Mapping(target = "learningResourceIds", source = "learningResources",
+            qualifiedByName = "ids")
+    GoalDto toDto(Goal goal);
+
+    /**
+     * @param dto request
+     * @return new entity holding the non-null properties of the request
+     */
+    default Person toEntity(PersonDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        Person person = new Person();
+        update(dto, person);
+        return person;
+    }
+
+    /**
+     * @param dto request
+     * @param entity entity receiving the non-null request properties
+     */
+    @BeanMapping(unmappedTargetPolicy = ReportingPolicy.IGNORE,
+            nullValuePropertyMappingStrategy =
+                    NullValuePropertyMappingStrategy.IGNORE)
+    void update(PersonDto dto, @MappingTarget Person entity);
+
+    /**
+     * @param dto request
+     * @return new entity holding the non-null properties of the request
+     */
+    default Email toEntity(EmailDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        Email email = new Email();
+        update(dto, email);
+        return email;
+    }
+
+    /**
+     * @param dto request
+     * @param entity entity receiving the non-null request properties
+     */
+    @BeanMapping(unmappedTargetPolicy = ReportingPolicy.IGNORE,
+            nullValuePropertyMappingStrategy =
+                    NullValuePropertyMappingStrategy.IGNORE)
+    void update(EmailDto dto, @MappingTarget Email entity);
+
+    /**
+     * @param dto request
+     * @return new entity holding the non-null properties of the request
+     */
+    default Phone toEntity(PhoneDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        Phone phone = new Phone();
+        update(dto, phone);
+        return phone;
+    }
+
+    /**
+     * @param dto request
+     * @param entity entity receiving the non-null request properties
+     */
+    @BeanMapping(unmappedTargetPolicy = ReportingPolicy.IGNORE,
+            nullValuePropertyMappingStrategy =
+                    NullValuePropertyMappingStrategy.IGNORE)
+    void update(PhoneDto dto, @MappingTarget Phone entity);
+
+    /**
+     * @param dto request
+     * @return new entity holding the non-null properties of the request
+     */
+    default Identity toEntity(IdentityDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        Identity identity = new Identity();
+        update(dto, identity);
+        return identity;
+    }
+
+    /**
+     * @param dto request
+     * @param entity entity receiving the non-null request properties
+     */
+    @BeanMapping(unmappedTargetPolicy = ReportingPolicy.IGNORE,
+            nullValuePropertyMappingStrategy =
+                    NullValuePropertyMappingStrategy.IGNORE)
+    void update(IdentityDto dto, @MappingTarget Identity entity);
+
+    /**
+     * @param dto request
+     * @return new entity holding the non-null properties of the request
+     */
+    default Location toEntity(LocationDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        Location location = new Location();
+        update(dto, location);
+        return location;
+    }
+
+    /**
+     * @param dto request
+     * @param entity entity receiving the non-null request properties
+     */
+    @BeanMapping(unmappedTargetPolicy = ReportingPolicy.IGNORE,
+            nullValuePropertyMappingStrategy =
+                    NullValuePropertyMappingStrategy.IGNORE)
+    void update(LocationDto dto, @MappingTarget Location entity);
+
+    /**
+     * @param dto request
+     * @return new entity holding the non-null properties of the request
+     */
+    default Facility toEntity(FacilityDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        Facility facility = new Facility();
+        update(dto, facility);
+        return facility;
+    }
+
+    /**
+     * @param dto request
+     * @param entity entity receiving the non-null request properties
+     */
+    @BeanMapping(unmappedTargetPolicy = ReportingPolicy.IGNORE,
+            nullValuePropertyMappingStrategy =
+                    NullValuePropertyMappingStrategy.IGNORE)
+    void update(FacilityDto dto, @MappingTarget Facility entity);
+
+    /**
+     * @param dto request
+     * @return new entity holding the non-null properties of the request
+     */
+    default Organization toEntity(OrganizationDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        Organization organization = new Organization();
+        update(dto, organization);
+        return organization;
+    }
+
+    /**
+     * @param dto request
+     * @param entity entity receiving the non-null request properties
+     */
+    @BeanMapping(unmappedTargetPolicy = ReportingPolicy.IGNORE,
+            nullValuePropertyMappingStrategy =
+                    NullValuePropertyMappingStrategy.IGNORE)
+    void update(OrganizationDto dto, @MappingTarget Organization entity);
+
+    /**
+     * @param dto request
+     * @return new entity holding the non-null properties of the request
+     */
+    default Competency toEntity(CompetencyDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        Competency competency = new Competency();
+        update(dto, competency);
+        return competency;
+    }
+
+    /**
+     * @param dto request
+     * @param entity entity receiving the non-null request properties
+     */
+    @BeanMapping(unmappedTargetPolicy = ReportingPolicy.IGNORE,
+            nullValuePropertyMappingStrategy =
+                    NullValuePropertyMappingStrategy.IGNORE)
+    void update(CompetencyDto dto, @MappingTarget Competency entity);
+
+    /**
+     * @param dto request
+     * @return new entity holding the non-null properties of the request
+     */
+    default Credential toEntity(CredentialDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        Credential credential = new Credential();
+        update(dto, credential);
+        return credential;
+    }
+
+    /**
+     * @param dto request
+     * @param entity entity receiving the non-null request properties
+     */
+    @BeanMapping(unmappedTargetPolicy = ReportingPolicy.IGNORE,
+            nullValuePropertyMappingStrategy =
+                    NullValuePropertyMappingStrategy.IGNORE)
+    void update(CredentialDto dto, @MappingTarget Credential entity);
+
+    /**
+     * @param dto request
+     * @return new entity holding the non-null properties of the request
+     */
+    default EmploymentRecord toEntity(EmploymentRecordDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        EmploymentRecord employmentRecord = new EmploymentRecord();
+        update(dto, employmentRecord);
+        return employmentRecord;
+    }
+
+    /**
+     * @param dto request
+     * @param entity entity receiving the non-null request properties
+     */
+    @BeanMapping(unmappedTargetPolicy = ReportingPolicy.IGNORE,
+            nullValuePropertyMappingStrategy =
+                    NullValuePropertyMappingStrategy.IGNORE)
+    void update(EmploymentRecordDto dto,
+            @MappingTarget EmploymentRecord entity);
+
+    /**
+     * @param dto request
+     * @return new entity holding the non-null properties of the request
+     */
+    default LearningRecord toEntity(LearningRecordDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        LearningRecord learningRecord = new LearningRecord();
+        update(dto, learningRecord);
+        return learningRecord;
+    }
+
+    /**
+     * @param dto request
+     * @param entity entity receiving the non-null request properties
+     */
+    @BeanMapping(unmappedTargetPolicy = ReportingPolicy.IGNORE,
+            nullValuePropertyMappingStrategy =
+                    NullValuePropertyMappingStrategy.IGNORE)
+    void update(LearningRecordDto dto, @MappingTarget LearningRecord entity);
+
+    /**
+     * @param dto request
+     * @return new entity holding the non-null properties of the request
+     */
+    default LearningResource toEntity(LearningResourceDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        LearningResource learningResource = new LearningResource();
+        update(dto, learningResource);
+        return learningResource;
+    }
+
+    /**
+     * @param dto request
+     * @param entity entity receiving the non-null request properties
+     */
+    @BeanMapping(unmappedTargetPolicy = ReportingPolicy.IGNORE,
+            nullValuePropertyMappingStrategy =
+                    NullValuePropertyMappingStrategy.IGNORE)
+    void update(LearningResourceDto dto,
+            @MappingTarget LearningResource entity);
+
+    /**
+     * @param dto request
+     * @return new entity holding the non-null properties of the request
+     */
+    default Goal toEntity(GoalDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        Goal goal = new Goal();
+        update(dto, goal);
+        return goal;
+    }
+
+    /**
+     * @param dto request
+     * @param entity entity receiving the non-null request properties
+     */
+    @BeanMapping(unmappedTargetPolicy = ReportingPolicy.IGNORE,
+            nullValuePropertyMappingStrategy =
+                    NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "person", source = "personId",
+            qualifiedByName = "personRef")
+    @Mapping(target = "competencies", ignore = true)
+    @Mapping(target = "credentials", ignore = true)
+    @Mapping(target = "learningResources", ignore = true)
+    void update(GoalDto dto, @MappingTarget Goal entity);
+
+    /**
+     * Ids of related entities, for DTOs that refer to them by id.
+     *
+     * @param entities related entities
+     * @return their ids
+     */
+    @Named("ids")
+    default Set<UUID> ids(Set<? extends Entity> entities) {
+        if (entities == null) {
+            return null;
+        }
+        Set<UUID> ids = new LinkedHashSet<>();
+        entities.forEach(entity -> ids.add(entity.getId()));
+        return ids;
+    }
+
+    /**
+     * Reference to a person by id, for requests that name the person by
+     * id. The controllers' services resolve it when the entity is saved.
+     *
+     * @param id person id
+     * @return person holding only the id
+     */
+    @Named("personRef")
+    default Person personRef(UUID id) {
+        if (id == null) {
+            return null;
+        }
+        Person person = new Person();
+        person.setId(id);
+        return person;
+    }
+
+    /**
+     * Copy extensions, keyed by IRI, in either direction.
+     *
+     * @param extensions source extensions
+     * @return copied extensions
+     */
+    default Map<URI, Serializable> extensions(Map<?, ?> extensions) {
+        if (extensions == null) {
+            return null;
+        }
+        Map<URI, Serializable> result = new LinkedHashMap<>();
+        extensions.forEach((key, value) -> result.put(
+                key instanceof URI uri ? uri : URI.create(key.toString()),
+                value == null || value instanceof Serializable
+                        ? (Serializable) value : value.toString()));
+        return result;
+    }
+
+    /**
+     * Drop the zone of an entity timestamp for DTOs that use local times.
+     *
+     * @param value entity timestamp
+     * @return local date and time in the timestamp's own zone
+     */
+    default LocalDateTime toLocalDateTime(ZonedDateTime value) {
+        return value == null ? null : value.toLocalDateTime();
+    }
+
+    /**
+     * Give a request's local time the zone of this server, the inverse of
+     * {@link #toLocalDateTime(ZonedDateTime)}.
+     *
+     * @param value request date and time
+     * @return timestamp in the system default zone
+     */
+    default ZonedDateTime toZonedDateTime(LocalDateTime value) {
+        return value == null ? null : value.atZone(ZoneId.systemDefault());
+    }
+}
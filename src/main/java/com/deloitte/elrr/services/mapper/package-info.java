@@ -0,0 +1,4 @@
+/**
+ * Compile-time generated entity to DTO mappers.
+ */
+package com.deloitte.elrr.services.mapper;
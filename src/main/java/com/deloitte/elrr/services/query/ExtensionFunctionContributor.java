@@ -0,0 +1,133 @@
+package com.deloitte.elrr.services.query;
+
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.metamodel.model.domain.ReturnableType;
+import org.hibernate.query.sqm.function.AbstractSqmSelfRenderingFunctionDescriptor;
+import org.hibernate.query.sqm.produce.function.StandardArgumentsValidators;
+import org.hibernate.query.sqm.produce.function.StandardFunctionArgumentTypeResolvers;
+import org.hibernate.query.sqm.produce.function.StandardFunctionReturnTypeResolvers;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the PostgreSQL jsonb tests used by the extension filters so
+ * they can be used from criteria queries. Registered through
+ * {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ *
+ * <p>The tests render as the jsonb operators {@code ?}, {@code @?} and
+ * {@code @@} rather than the equivalent functions, because only the
+ * operators can use the GIN indexes of
+ * {@code dev-resources/sql/extension-indexes.sql}. The operators are
+ * written as {@code ??}, the JDBC driver's escape for a literal question
+ * mark. With {@value #KEY_TABLE_SETTING} set, key existence is instead
+ * answered from the table of {@code extension-key-table.sql}.
+ */
+public class ExtensionFunctionContributor implements FunctionContributor {
+
+    /**
+     * True if the entity's jsonb document has the given top-level key.
+     * Takes the entity id, the document and the key.
+     */
+    public static final String HAS_EXTENSION = "elrr_has_extension";
+
+    /**
+     * True if the JSONPath expression returns at least one item.
+     */
+    public static final String EXTENSION_PATH_EXISTS =
+            "elrr_extension_path_exists";
+
+    /**
+     * True if the JSONPath predicate evaluates to true.
+     */
+    public static final String EXTENSION_PATH_MATCH =
+            "elrr_extension_path_match";
+
+    /**
+     * Hibernate setting that makes {@link #HAS_EXTENSION} look keys up in
+     * the {@code extension_key} table.
+     */
+    public static final String KEY_TABLE_SETTING =
+            "elrr.extension-index.key-table";
+
+    private static final String SCHEMA_SETTING = "hibernate.default_schema";
+
+    private static final String DEFAULT_SCHEMA = "services_schema";
+
+    /**
+     * Register the extension functions.
+     *
+     * @param functionContributions contributions to add to
+     */
+    @Override
+    public void contributeFunctions(
+            FunctionContributions functionContributions) {
+        BasicType<Boolean> bool = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN);
+        Map<String, Object> settings = functionContributions
+                .getServiceRegistry().requireService(ConfigurationService.class)
+                .getSettings();
+        if (Boolean.parseBoolean(String.valueOf(
+                settings.get(KEY_TABLE_SETTING)))) {
+            Object schema = settings.getOrDefault(SCHEMA_SETTING,
+                    DEFAULT_SCHEMA);
+            register(functionContributions, new OperatorFunction(
+                    HAS_EXTENSION, bool, 3, "exists (select 1 from " + schema
+                            + ".extension_key k where k.entity_id = ", 0,
+                    " and k.iri = ", 2, ")"));
+        } else {
+            register(functionContributions, new OperatorFunction(
+                    HAS_EXTENSION, bool, 3, "(", 1, " ?? ", 2, ")"));
+        }
+        register(functionContributions, new OperatorFunction(
+                EXTENSION_PATH_EXISTS, bool, 2,
+                "(", 0, " @?? cast(", 1, " as jsonpath))"));
+        register(functionContributions, new OperatorFunction(
+                EXTENSION_PATH_MATCH, bool, 2,
+                "(", 0, " @@ cast(", 1, " as jsonpath))"));
+    }
+
+    private static void register(FunctionContributions functionContributions,
+            OperatorFunction function) {
+        functionContributions.getFunctionRegistry().register(
+                function.getName(), function);
+    }
+
+    /**
+     * A boolean function rendered from SQL fragments and argument indexes,
+     * in order, so that the SQL can hold operators a pattern cannot.
+     */
+    private static final class OperatorFunction
+            extends AbstractSqmSelfRenderingFunctionDescriptor {
+
+        private final Object[] template;
+
+        OperatorFunction(String name, BasicType<Boolean> bool, int arguments,
+                Object... template) {
+            super(name, StandardArgumentsValidators.exactly(arguments),
+                    StandardFunctionReturnTypeResolvers.invariant(bool),
+                    StandardFunctionArgumentTypeResolvers.NULL);
+            this.template = template;
+        }
+
+        @Override
+        public void render(SqlAppender sqlAppender,
+                List<? extends SqlAstNode> sqlAstArguments,
+                ReturnableType<?> returnType, SqlAstTranslator<?> walker) {
+            for (Object part : template) {
+                if (part instanceof Integer index) {
+                    sqlAstArguments.get(index).accept(walker);
+                } else {
+                    sqlAppender.appendSql((String) part);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.deloitte.elrr.services.query;
+
+import java.util.List;
+
+import com.deloitte.elrr.entity.EmploymentRecord;
+import com.deloitte.elrr.entity.Entity;
+import com.deloitte.elrr.entity.Facility;
+import com.deloitte.elrr.entity.Goal;
+import com.deloitte.elrr.entity.LearningRecord;
+import com.deloitte.elrr.entity.Person;
+
+import lombok.Getter;
+
+/**
+ * The associations a DTO mapping walks, loaded for a whole result before
+ * the mapping starts. To-one associations are joined into the query that
+ * reads the rows; each to-many association is initialized for every row
+ * by one further query, so the number of statements does not depend on
+ * the number of rows.
+ *
+ * @param <T> entity type
+ */
+@Getter
+public final class FetchPlan<T extends Entity> {
+
+    /**
+     * Associations read by {@code PersonDto}.
+     */
+    public static final FetchPlan<Person> PERSON_DTO = new FetchPlan<>(
+            "person-dto", Person.class,
+            List.of("mailingAddress", "physicalAddress", "shippingAddress",
+                    "billingAddress", "onCampusAddress", "offCampusAddress",
+                    "temporaryAddress", "permanentStudentAddress",
+                    "employmentAddress", "timeOfAdmissionAddress",
+                    "fatherAddress", "motherAddress", "guardianAddress",
+                    "birthplaceAddress"),
+            List.of("emailAddresses", "phoneNumbers"));
+
+    /**
+     * Associations read by {@code EmploymentRecordDto}.
+     */
+    public static final FetchPlan<EmploymentRecord> EMPLOYMENT_RECORD_DTO =
+            new FetchPlan<>("employment-record-dto", EmploymentRecord.class,
+                    List.of("employerOrganization", "employmentLocation",
+                            "employmentFacility"),
+                    List.of("employmentFacility.location"),
+                    List.of("competencies", "credentials"));
+
+    /**
+     * Associations read by {@code FacilityDto}.
+     */
+    public static final FetchPlan<Facility> FACILITY_DTO = new FetchPlan<>(
+            "facility-dto", Facility.class, List.of("location"), List.of());
+
+    /**
+     * Associations read by {@code GoalDto}, which lists their ids.
+     */
+    public static final FetchPlan<Goal> GOAL_DTO = new FetchPlan<>(
+            "goal-dto", Goal.class, List.of(),
+            List.of("competencies", "credentials", "learningResources"));
+
+    /**
+     * Associations read by {@code LearningRecordDto}.
+     */
+    public static final FetchPlan<LearningRecord> LEARNING_RECORD_DTO =
+            new FetchPlan<>("learning-record-dto", LearningRecord.class,
+                    List.of("learningResource"), List.of());
+
+    /**
+     * Name used in logs.
+     */
+    private final String name;
+
+    /**
+     * Entity class the plan applies to.
+     */
+    private final Class<T> type;
+
+    /**
+     * To-one associations, joined into the row query.
+     */
+    private final List<String> singular;
+
+    /**
+     * To-one associations of a singular association, as
+     * {@code association.attribute}, joined into the row query as well.
+     */
+    private final List<String> nested;
+
+    /**
+     * To-many associations, each initialized by one query per result.
+     */
+    private final List<String> plural;
+
+    private FetchPlan(String name, Class<T> type, List<String> singular,
+            List<String> plural) {
+        this(name, type, singular, List.of(), plural);
+    }
+
+    private FetchPlan(String name, Class<T> type, List<String> singular,
+            List<String> nested, List<String> plural) {
+        this.name = name;
+        this.type = type;
+        this.singular = singular;
+        this.nested = nested;
+        this.plural = plural;
+    }
+}
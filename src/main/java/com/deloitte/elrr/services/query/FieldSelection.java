@@ -0,0 +1,155 @@
+package com.deloitte.elrr.services.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.deloitte.elrr.services.exception.BadRequestException;
+
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.Attribute.PersistentAttributeType;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import lombok.Getter;
+
+/**
+ * A parsed and validated {@code fields=} parameter. Fields are either basic
+ * attributes of the entity ({@code name}) or basic attributes of one of its
+ * associations ({@code mailingAddress.city},
+ * {@code emailAddresses.emailAddress}). The id is always selected.
+ */
+@Getter
+public final class FieldSelection {
+
+    /**
+     * Upper bound on the number of fields in one request.
+     */
+    public static final int MAX_FIELDS = 64;
+
+    private static final String ID = "id";
+
+    /**
+     * Basic attributes of the entity itself, in request order.
+     */
+    private final List<String> basic;
+
+    /**
+     * Basic attributes of to-one associations, by association.
+     */
+    private final Map<String, List<String>> singular;
+
+    /**
+     * Basic attributes of to-many associations, by association.
+     */
+    private final Map<String, List<String>> plural;
+
+    private FieldSelection(List<String> basic,
+            Map<String, List<String>> singular,
+            Map<String, List<String>> plural) {
+        this.basic = Collections.unmodifiableList(basic);
+        this.singular = Collections.unmodifiableMap(singular);
+        this.plural = Collections.unmodifiableMap(plural);
+    }
+
+    /**
+     * Parse a comma separated field list against an entity's metamodel.
+     *
+     * @param metamodel JPA metamodel
+     * @param type entity class
+     * @param fields comma separated field paths
+     * @return the selection
+     * @throws BadRequestException if a field is unknown or not selectable
+     */
+    public static FieldSelection parse(Metamodel metamodel, Class<?> type,
+            String fields) throws BadRequestException {
+        Set<String> paths = new LinkedHashSet<>();
+        if (fields != null) {
+            for (String field : fields.split(",")) {
+                if (!field.isBlank()) {
+                    paths.add(field.trim());
+                }
+            }
+        }
+        if (paths.isEmpty()) {
+            throw new BadRequestException("fields must not be empty");
+        }
+        if (paths.size() > MAX_FIELDS) {
+            throw new BadRequestException(
+                    "At most " + MAX_FIELDS + " fields may be requested");
+        }
+
+        EntityType<?> entity = metamodel.entity(type);
+        List<String> basic = new ArrayList<>();
+        Map<String, List<String>> singular = new LinkedHashMap<>();
+        Map<String, List<String>> plural = new LinkedHashMap<>();
+        for (String path : paths) {
+            String[] parts = path.split("\\.");
+            if (parts.length == 1) {
+                Attribute<?, ?> attribute = attribute(entity, parts[0], path);
+                if (!isBasic(attribute)) {
+                    throw new BadRequestException("Field " + path
+                            + " is an association; select its attributes,"
+                            + " for example " + path + ".id");
+                }
+                if (!ID.equals(parts[0])) {
+                    basic.add(parts[0]);
+                }
+            } else if (parts.length == 2) {
+                Attribute<?, ?> association =
+                        attribute(entity, parts[0], path);
+                ManagedType<?> target = target(metamodel, association, path);
+                if (!isBasic(attribute(target, parts[1], path))) {
+                    throw new BadRequestException(
+                            "Field " + path + " is not a simple value");
+                }
+                (association.isCollection() ? plural : singular)
+                        .computeIfAbsent(parts[0], k -> new ArrayList<>())
+                        .add(parts[1]);
+            } else {
+                throw new BadRequestException("Field " + path
+                        + " is nested too deeply");
+            }
+        }
+        return new FieldSelection(basic, singular, plural);
+    }
+
+    private static Attribute<?, ?> attribute(ManagedType<?> type,
+            String name, String path) throws BadRequestException {
+        try {
+            return type.getAttribute(name);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown field " + path);
+        }
+    }
+
+    private static boolean isBasic(Attribute<?, ?> attribute) {
+        return attribute.getPersistentAttributeType()
+                == PersistentAttributeType.BASIC;
+    }
+
+    private static ManagedType<?> target(Metamodel metamodel,
+            Attribute<?, ?> association, String path)
+            throws BadRequestException {
+        Class<?> javaType;
+        if (association instanceof PluralAttribute<?, ?, ?> collection) {
+            javaType = collection.getElementType().getJavaType();
+        } else if (association instanceof SingularAttribute<?, ?> single) {
+            javaType = single.getJavaType();
+        } else {
+            throw new BadRequestException("Unknown field " + path);
+        }
+        try {
+            return metamodel.entity(javaType);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(
+                    "Field " + path + " is not an association");
+        }
+    }
+}
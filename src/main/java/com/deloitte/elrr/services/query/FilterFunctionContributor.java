@@ -0,0 +1,36 @@
+package com.deloitte.elrr.services.query;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the SQL expressions of the filters that are backed by
+ * expression indexes. Their constant arguments are written into the SQL
+ * rather than bound, so the expression matches the indexed one. Registered
+ * through
+ * {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class FilterFunctionContributor implements FunctionContributor {
+
+    /**
+     * The digits of a string, as indexed for the phoneNumber filter.
+     */
+    public static final String DIGITS = "elrr_digits";
+
+    /**
+     * Register the filter functions.
+     *
+     * @param functionContributions contributions to add to
+     */
+    @Override
+    public void contributeFunctions(
+            FunctionContributions functionContributions) {
+        BasicType<String> string = functionContributions
+                .getTypeConfiguration().getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.STRING);
+        functionContributions.getFunctionRegistry().registerPattern(
+                DIGITS, "regexp_replace(?1, '[^0-9]', '', 'g')", string);
+    }
+}
@@ -0,0 +1,435 @@
+package com.deloitte.elrr.services.query;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.deloitte.elrr.entity.Entity;
+import com.deloitte.elrr.services.exception.BadRequestException;
+
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs filter specifications either one keyset page at a time, as a list,
+ * as a stream over the whole result, or as a count or existence check that
+ * loads no entities. Rows are ordered by id; each page reads at most
+ * {@code limit + 1} rows, the extra row only telling whether a further
+ * page exists. A {@link FetchPlan} loads the associations a DTO mapping
+ * will walk for the whole page or fetch in a fixed number of queries.
+ */
+@Service
+@Slf4j
+public class FilterQuerySvc {
+
+    /**
+     * Largest IN list sent when loading associations for a set of rows.
+     */
+    public static final int IN_CHUNK = 1000;
+
+    private static final String ID = "id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${elrr.pagination.max-limit:500}")
+    private int maxLimit;
+
+    @Value("${elrr.list.max-results:10000}")
+    private int maxResults;
+
+    @Value("${elrr.list.enforce-max-results:false}")
+    private boolean enforceMaxResults;
+
+    @Value("${elrr.stream.fetch-size:500}")
+    private int fetchSize;
+
+    /**
+     * Read one page of entities matching a specification.
+     *
+     * @param <T> entity type
+     * @param type entity class
+     * @param spec filter specification
+     * @param limit requested page size, capped at the configured maximum
+     * @param cursor cursor from the previous page, or null for the first
+     * @return the page and the cursor for the following page
+     * @throws BadRequestException if the limit or cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public <T extends Entity> KeysetPage<T> page(Class<T> type,
+            Specification<T> spec, int limit, String cursor)
+            throws BadRequestException {
+        return page(type, spec, null, limit, cursor);
+    }
+
+    /**
+     * Read one page of entities matching a specification, loading the
+     * associations of a fetch plan for the whole page.
+     *
+     * @param <T> entity type
+     * @param type entity class
+     * @param spec filter specification
+     * @param plan associations to load, or null for none
+     * @param limit requested page size, capped at the configured maximum
+     * @param cursor cursor from the previous page, or null for the first
+     * @return the page and the cursor for the following page
+     * @throws BadRequestException if the limit or cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public <T extends Entity> KeysetPage<T> page(Class<T> type,
+            Specification<T> spec, FetchPlan<T> plan, int limit,
+            String cursor) throws BadRequestException {
+        int size = pageSize(limit);
+        UUID after = KeysetCursor.decode(cursor);
+
+        CriteriaQuery<T> query = select(type, spec, after);
+        List<T> rows = withGraph(entityManager.createQuery(query), plan)
+                .setMaxResults(size + 1)
+                .getResultList();
+        String next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            next = KeysetCursor.encode(rows.get(size - 1).getId());
+        }
+        fetchCollections(plan, rows);
+        log.debug("Read {} {} rows, more: {}", rows.size(),
+                type.getSimpleName(), next != null);
+        return new KeysetPage<>(rows, next, size);
+    }
+
+    /**
+     * Read every entity matching a specification in id order, loading the
+     * associations of a fetch plan. This serves the list endpoints called
+     * without a limit. With {@code elrr.list.enforce-max-results} on, at
+     * most {@code elrr.list.max-results} rows are read and a larger result
+     * has to be paged or streamed; by default the whole result is read.
+     *
+     * @param <T> entity type
+     * @param type entity class
+     * @param spec filter specification
+     * @param plan associations to load, or null for none
+     * @return the matching rows
+     * @throws BadRequestException if the bound is enforced and more rows
+     *         match
+     */
+    @Transactional(readOnly = true)
+    public <T extends Entity> List<T> list(Class<T> type,
+            Specification<T> spec, FetchPlan<T> plan)
+            throws BadRequestException {
+        CriteriaQuery<T> query = select(type, spec, null);
+        List<T> rows = withGraph(entityManager.createQuery(query), plan)
+                .setMaxResults(listReadLimit())
+                .getResultList();
+        checkListSize(type, rows.size());
+        fetchCollections(plan, rows);
+        log.debug("Listed {} {} rows", rows.size(), type.getSimpleName());
+        return rows;
+    }
+
+    /**
+     * Number of rows a list read without a limit should read: one more
+     * than the bound when it is enforced, so that {@link #checkListSize}
+     * can tell the result is too large, and otherwise every row.
+     *
+     * @return largest number of rows to read
+     */
+    public int listReadLimit() {
+        return enforceMaxResults ? maxResults + 1 : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Reject a list read without a limit that found more rows than the
+     * bound, when the bound is enforced. Callers read
+     * {@link #listReadLimit()} rows and pass the count.
+     *
+     * @param type entity class
+     * @param rows rows read
+     * @throws BadRequestException if the bound is enforced and rows
+     *         exceeds it
+     */
+    public void checkListSize(Class<?> type, int rows)
+            throws BadRequestException {
+        if (enforceMaxResults && rows > maxResults) {
+            throw new BadRequestException(String.format("More than %d %s "
+                    + "records match; page the list with limit and cursor "
+                    + "or stream it as %s", maxResults,
+                    type.getSimpleName(),
+                    NdjsonStreamer.APPLICATION_NDJSON_VALUE));
+        }
+    }
+
+    /**
+     * Visit every entity matching a specification in id order, reading from
+     * a forward-only cursor. Rows are visited a fetch at a time and the
+     * persistence context is cleared after each fetch, so memory use does
+     * not grow with the size of the result.
+     *
+     * @param <T> entity type
+     * @param type entity class
+     * @param spec filter specification
+     * @param action called with each row while it is still managed
+     * @return number of rows visited
+     */
+    @Transactional(readOnly = true)
+    public <T extends Entity> long forEach(Class<T> type,
+            Specification<T> spec, Consumer<? super T> action) {
+        return forEach(type, spec, null, action);
+    }
+
+    /**
+     * Visit every entity matching a specification in id order, as above.
+     * Rows are visited one fetch at a time, after the associations of the
+     * fetch plan have been loaded for the whole fetch.
+     *
+     * @param <T> entity type
+     * @param type entity class
+     * @param spec filter specification
+     * @param plan associations to load, or null for none
+     * @param action called with each row while it is still managed
+     * @return number of rows visited
+     */
+    @Transactional(readOnly = true)
+    public <T extends Entity> long forEach(Class<T> type,
+            Specification<T> spec, FetchPlan<T> plan,
+            Consumer<? super T> action) {
+        CriteriaQuery<T> query = select(type, spec, null);
+        List<T> fetch = new ArrayList<>(fetchSize);
+        long count = 0;
+        try (Stream<T> rows = withGraph(entityManager.createQuery(query),
+                plan)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                fetch.add(iterator.next());
+                if (fetch.size() == fetchSize) {
+                    count += visit(plan, fetch, action);
+                }
+            }
+        }
+        count += visit(plan, fetch, action);
+        log.debug("Streamed {} {} rows", count, type.getSimpleName());
+        return count;
+    }
+
+    /**
+     * Count the entities matching a specification.
+     *
+     * @param <T> entity type
+     * @param type entity class
+     * @param spec filter specification
+     * @return number of matching rows
+     */
+    @Transactional(readOnly = true)
+    public <T extends Entity> long count(Class<T> type,
+            Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(type);
+        Predicate filter = spec.toPredicate(root, query, cb);
+        query.select(cb.count(root));
+        if (filter != null) {
+            query.where(filter);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Tell whether any entity matches a specification. Reads at most one
+     * id, so the database can stop at the first match.
+     *
+     * @param <T> entity type
+     * @param type entity class
+     * @param spec filter specification
+     * @return true if a row matches
+     */
+    @Transactional(readOnly = true)
+    public <T extends Entity> boolean exists(Class<T> type,
+            Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UUID> query = cb.createQuery(UUID.class);
+        Root<T> root = query.from(type);
+        Predicate filter = spec.toPredicate(root, query, cb);
+        query.select(root.get(ID));
+        if (filter != null) {
+            query.where(filter);
+        }
+        return !entityManager.createQuery(query).setMaxResults(1)
+                .getResultList().isEmpty();
+    }
+
+    /**
+     * Load the associations of a fetch plan for rows that were read without
+     * it, for example by an entity service. The rows must be managed by the
+     * current persistence context.
+     *
+     * @param <T> entity type
+     * @param plan associations to load
+     * @param rows managed entities
+     */
+    @Transactional(readOnly = true)
+    public <T extends Entity> void preload(FetchPlan<T> plan, List<T> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (!plan.getSingular().isEmpty()) {
+            List<UUID> ids = ids(rows);
+            for (int i = 0; i < ids.size(); i += IN_CHUNK) {
+                List<UUID> chunk = ids.subList(i,
+                        Math.min(ids.size(), i + IN_CHUNK));
+                CriteriaQuery<T> query = select(plan.getType(),
+                        (root, q, cb) -> root.get(ID).in(chunk), null);
+                withGraph(entityManager.createQuery(query), plan)
+                        .getResultList();
+            }
+        }
+        fetchCollections(plan, rows);
+        log.debug("Preloaded {} for {} rows", plan.getName(), rows.size());
+    }
+
+    /**
+     * Apply the server maximum to a requested page size.
+     *
+     * @param limit requested page size
+     * @return page size to use
+     * @throws BadRequestException if the limit is not positive
+     */
+    public int pageSize(int limit) throws BadRequestException {
+        if (limit < 1) {
+            throw new BadRequestException("limit must be at least 1");
+        }
+        return Math.min(limit, maxLimit);
+    }
+
+    /**
+     * Visit and release one fetch of rows.
+     *
+     * @param <T> entity type
+     * @param plan associations to load, or null for none
+     * @param fetch rows read since the last fetch; emptied on return
+     * @param action called with each row
+     * @return number of rows visited
+     */
+    private <T extends Entity> int visit(FetchPlan<T> plan, List<T> fetch,
+            Consumer<? super T> action) {
+        int visited = fetch.size();
+        if (visited > 0) {
+            fetchCollections(plan, fetch);
+            fetch.forEach(action);
+            fetch.clear();
+            entityManager.clear();
+        }
+        return visited;
+    }
+
+    /**
+     * Join the to-one associations of a fetch plan into a query.
+     *
+     * @param <T> entity type
+     * @param query typed query
+     * @param plan associations to load, or null for none
+     * @return the query
+     */
+    private <T extends Entity> TypedQuery<T> withGraph(TypedQuery<T> query,
+            FetchPlan<T> plan) {
+        if (plan != null && !plan.getSingular().isEmpty()) {
+            EntityGraph<T> graph =
+                    entityManager.createEntityGraph(plan.getType());
+            graph.addAttributeNodes(
+                    plan.getSingular().toArray(new String[0]));
+            for (String path : plan.getNested()) {
+                int dot = path.indexOf('.');
+                graph.addSubgraph(path.substring(0, dot))
+                        .addAttributeNodes(path.substring(dot + 1));
+            }
+            query.setHint(SpecHints.HINT_SPEC_LOAD_GRAPH, graph);
+        }
+        return query;
+    }
+
+    /**
+     * Initialize the to-many associations of a fetch plan for a set of
+     * managed rows, one query per association. Hibernate hands back the
+     * instances already in the persistence context and fills their
+     * collections from the fetch join.
+     *
+     * @param <T> entity type
+     * @param plan associations to load, or null for none
+     * @param rows managed entities
+     */
+    private <T extends Entity> void fetchCollections(FetchPlan<T> plan,
+            List<T> rows) {
+        if (plan == null || rows.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = ids(rows);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        for (String association : plan.getPlural()) {
+            for (int i = 0; i < ids.size(); i += IN_CHUNK) {
+                CriteriaQuery<T> query = cb.createQuery(plan.getType());
+                Root<T> root = query.from(plan.getType());
+                root.fetch(association, JoinType.LEFT);
+                query.select(root).where(root.get(ID).in(
+                        ids.subList(i, Math.min(ids.size(), i + IN_CHUNK))));
+                entityManager.createQuery(query).getResultList();
+            }
+        }
+    }
+
+    private static List<UUID> ids(List<? extends Entity> rows) {
+        List<UUID> ids = new ArrayList<>(rows.size());
+        for (Entity row : rows) {
+            ids.add(row.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Build the id-ordered query for a specification.
+     *
+     * @param <T> entity type
+     * @param type entity class
+     * @param spec filter specification
+     * @param after key to resume after, or null to start at the beginning
+     * @return criteria query
+     */
+    private <T extends Entity> CriteriaQuery<T> select(Class<T> type,
+            Specification<T> spec, UUID after) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+        Path<UUID> id = root.get(ID);
+
+        List<Predicate> where = new ArrayList<>();
+        Predicate filter = spec.toPredicate(root, query, cb);
+        if (filter != null) {
+            where.add(filter);
+        }
+        if (after != null) {
+            where.add(cb.greaterThan(id, after));
+        }
+        return query.select(root)
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(cb.asc(id));
+    }
+}
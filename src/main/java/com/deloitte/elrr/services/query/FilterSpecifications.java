@@ -0,0 +1,566 @@
+package com.deloitte.elrr.services.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.deloitte.elrr.entity.Association;
+import com.deloitte.elrr.entity.Competency;
+import com.deloitte.elrr.entity.Credential;
+import com.deloitte.elrr.entity.EmploymentRecord;
+import com.deloitte.elrr.entity.Facility;
+import com.deloitte.elrr.entity.Goal;
+import com.deloitte.elrr.entity.Identity;
+import com.deloitte.elrr.entity.LearningRecord;
+import com.deloitte.elrr.entity.LearningResource;
+import com.deloitte.elrr.entity.Location;
+import com.deloitte.elrr.entity.Organization;
+import com.deloitte.elrr.entity.Person;
+import com.deloitte.elrr.entity.PersonalCompetency;
+import com.deloitte.elrr.entity.PersonalCredential;
+import com.deloitte.elrr.entity.types.LearningStatus;
+import com.deloitte.elrr.services.exception.BadRequestException;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Criteria specifications for each entity {@code Filter}. They follow the
+ * filter semantics documented in docs/parameters.md and can be combined with
+ * a limit, so a filtered list is evaluated by the database instead of being
+ * loaded in full. Relation filters use EXISTS sub-queries so a row matching
+ * several related records is still returned once.
+ */
+public final class FilterSpecifications {
+
+    private static final String ID = "id";
+    private static final String EXTENSIONS = "extensions";
+    private static final String PERSON = "person";
+
+    /**
+     * Person address attributes searched by the locationId filter.
+     */
+    private static final String[] PERSON_LOCATIONS = {
+        "mailingAddress", "physicalAddress", "shippingAddress",
+        "billingAddress", "onCampusAddress", "offCampusAddress",
+        "temporaryAddress", "permanentStudentAddress", "employmentAddress",
+        "timeOfAdmissionAddress", "fatherAddress", "motherAddress",
+        "guardianAddress", "birthplaceAddress"
+    };
+
+    private FilterSpecifications() {
+    }
+
+    /**
+     * Specification for {@link Person.Filter}.
+     *
+     * @param filter person filter
+     * @return specification
+     * @throws BadRequestException if a filter value is malformed
+     */
+    public static Specification<Person> person(final Person.Filter filter)
+            throws BadRequestException {
+        final List<UUID> ids = uuids(filter.getId());
+        final List<String> ifis = strings(filter.getIfi());
+        final List<String> names = strings(filter.getName());
+        final List<String> emails = strings(filter.getEmailAddress());
+        final List<String> phones = digits(filter.getPhoneNumber());
+        final List<UUID> associatedOrgIds = uuids(filter.getAssociatedOrgId());
+        final List<UUID> employerOrgIds = uuids(filter.getEmployerOrgId());
+        final List<UUID> locationIds = uuids(filter.getLocationId());
+        final List<UUID> competencyIds = uuids(filter.getCompetencyId());
+        final List<UUID> credentialIds = uuids(filter.getCredentialId());
+        final List<UUID> resourceIds = uuids(filter.getLearningResourceId());
+        final Extensions ext = new Extensions(filter.getHasExtension(),
+                filter.getExtensionPath(), filter.getExtensionPathMatch());
+
+        return (root, query, cb) -> {
+            List<Predicate> where = new ArrayList<>();
+            in(where, root.get(ID), ids);
+            if (!ifis.isEmpty()) {
+                where.add(related(query, cb, root, Identity.class, PERSON,
+                        i -> i.get("ifi").in(ifis)));
+            }
+            if (!names.isEmpty()) {
+                where.add(likeAny(cb, root.<String>get("name"), names));
+            }
+            if (!emails.isEmpty()) {
+                where.add(joined(query, cb, root, "emailAddresses",
+                        e -> likeAny(cb, e.<String>get("emailAddress"),
+                                emails)));
+            }
+            if (!phones.isEmpty()) {
+                where.add(joined(query, cb, root, "phoneNumbers",
+                        p -> phoneAny(cb, p.<String>get("telephoneNumber"),
+                                phones)));
+            }
+            if (!associatedOrgIds.isEmpty()) {
+                where.add(related(query, cb, root, Association.class, PERSON,
+                        a -> a.get("organization").get(ID)
+                                .in(associatedOrgIds)));
+            }
+            if (!employerOrgIds.isEmpty()) {
+                where.add(related(query, cb, root, EmploymentRecord.class,
+                        "employee", e -> e.get("employerOrganization")
+                                .get(ID).in(employerOrgIds)));
+            }
+            if (!locationIds.isEmpty()) {
+                List<Predicate> any = new ArrayList<>();
+                for (String attribute : PERSON_LOCATIONS) {
+                    any.add(root.get(attribute).get(ID).in(locationIds));
+                }
+                where.add(cb.or(any.toArray(new Predicate[0])));
+            }
+            if (!competencyIds.isEmpty()) {
+                where.add(related(query, cb, root, PersonalCompetency.class,
+                        PERSON, c -> c.get("competency").get(ID)
+                                .in(competencyIds)));
+            }
+            if (!credentialIds.isEmpty()) {
+                where.add(related(query, cb, root, PersonalCredential.class,
+                        PERSON, c -> c.get("credential").get(ID)
+                                .in(credentialIds)));
+            }
+            if (!resourceIds.isEmpty()) {
+                where.add(related(query, cb, root, LearningRecord.class,
+                        PERSON, r -> r.get("learningResource").get(ID)
+                                .in(resourceIds)));
+            }
+            ext.apply(where, root, cb);
+            return cb.and(where.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Specification for {@link Organization.Filter}.
+     *
+     * @param filter organization filter
+     * @return specification
+     * @throws BadRequestException if a filter value is malformed
+     */
+    public static Specification<Organization> organization(
+            final Organization.Filter filter) throws BadRequestException {
+        final List<UUID> ids = uuids(filter.getId());
+        final List<String> names = strings(filter.getName());
+        final List<String> descriptions = strings(filter.getDescription());
+        final Extensions ext = new Extensions(filter.getHasExtension(),
+                filter.getExtensionPath(), filter.getExtensionPathMatch());
+
+        return (root, query, cb) -> {
+            List<Predicate> where = new ArrayList<>();
+            in(where, root.get(ID), ids);
+            if (!names.isEmpty()) {
+                where.add(likeAny(cb, root.<String>get("name"), names));
+            }
+            if (!descriptions.isEmpty()) {
+                where.add(likeAny(cb, root.<String>get("description"),
+                        descriptions));
+            }
+            ext.apply(where, root, cb);
+            return cb.and(where.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Specification for {@link Competency.Filter}.
+     *
+     * @param filter competency filter
+     * @return specification
+     * @throws BadRequestException if a filter value is malformed
+     */
+    public static Specification<Competency> competency(
+            final Competency.Filter filter) throws BadRequestException {
+        return qualification(filter.getId(), filter.getIdentifier(),
+                filter.getIdentifierUrl(), filter.getCode(),
+                new Extensions(filter.getHasExtension(),
+                        filter.getExtensionPath(),
+                        filter.getExtensionPathMatch()));
+    }
+
+    /**
+     * Specification for {@link Credential.Filter}.
+     *
+     * @param filter credential filter
+     * @return specification
+     * @throws BadRequestException if a filter value is malformed
+     */
+    public static Specification<Credential> credential(
+            final Credential.Filter filter) throws BadRequestException {
+        return qualification(filter.getId(), filter.getIdentifier(),
+                filter.getIdentifierUrl(), filter.getCode(),
+                new Extensions(filter.getHasExtension(),
+                        filter.getExtensionPath(),
+                        filter.getExtensionPathMatch()));
+    }
+
+    /**
+     * Specification for {@link EmploymentRecord.Filter}.
+     *
+     * @param filter employment record filter
+     * @return specification
+     * @throws BadRequestException if a filter value is malformed
+     */
+    public static Specification<EmploymentRecord> employmentRecord(
+            final EmploymentRecord.Filter filter) throws BadRequestException {
+        final List<UUID> ids = uuids(filter.getId());
+        final List<String> positions = strings(filter.getPosition());
+        final List<String> titles = strings(filter.getPositionTitle());
+        final List<String> descriptions =
+                strings(filter.getPositionDescription());
+        final List<UUID> employerOrgIds = uuids(filter.getEmployerOrgId());
+        final Extensions ext = new Extensions(filter.getHasExtension(),
+                filter.getExtensionPath(), filter.getExtensionPathMatch());
+
+        return (root, query, cb) -> {
+            List<Predicate> where = new ArrayList<>();
+            in(where, root.get(ID), ids);
+            if (!positions.isEmpty()) {
+                where.add(likeAny(cb, root.<String>get("position"),
+                        positions));
+            }
+            if (!titles.isEmpty()) {
+                where.add(likeAny(cb, root.<String>get("positionTitle"),
+                        titles));
+            }
+            if (!descriptions.isEmpty()) {
+                where.add(likeAny(cb, root.<String>get("positionDescription"),
+                        descriptions));
+            }
+            in(where, root.get("employerOrganization").get(ID),
+                    employerOrgIds);
+            ext.apply(where, root, cb);
+            return cb.and(where.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Specification for {@link LearningRecord.Filter}.
+     *
+     * @param filter learning record filter
+     * @return specification
+     * @throws BadRequestException if a filter value is malformed
+     */
+    public static Specification<LearningRecord> learningRecord(
+            final LearningRecord.Filter filter) throws BadRequestException {
+        final List<UUID> ids = uuids(filter.getId());
+        final List<LearningStatus> statuses =
+                statuses(filter.getRecordStatus());
+        final List<UUID> resourceIds = uuids(filter.getLearningResourceId());
+        final Extensions ext = new Extensions(filter.getHasExtension(),
+                filter.getExtensionPath(), filter.getExtensionPathMatch());
+
+        return (root, query, cb) -> {
+            List<Predicate> where = new ArrayList<>();
+            in(where, root.get(ID), ids);
+            in(where, root.get("recordStatus"), statuses);
+            in(where, root.get("learningResource").get(ID), resourceIds);
+            ext.apply(where, root, cb);
+            return cb.and(where.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Specification for {@link LearningResource.Filter}.
+     *
+     * @param filter learning resource filter
+     * @return specification
+     * @throws BadRequestException if a filter value is malformed
+     */
+    public static Specification<LearningResource> learningResource(
+            final LearningResource.Filter filter) throws BadRequestException {
+        final List<UUID> ids = uuids(filter.getId());
+        final List<String> iris = strings(filter.getIri());
+        final List<String> titles = strings(filter.getTitle());
+        final List<String> subjects = strings(filter.getSubjectMatter());
+        final Extensions ext = new Extensions(filter.getHasExtension(),
+                filter.getExtensionPath(), filter.getExtensionPathMatch());
+
+        return (root, query, cb) -> {
+            List<Predicate> where = new ArrayList<>();
+            in(where, root.get(ID), ids);
+            in(where, root.get("iri"), iris);
+            if (!titles.isEmpty()) {
+                where.add(likeAny(cb, root.<String>get("title"), titles));
+            }
+            if (!subjects.isEmpty()) {
+                where.add(likeAny(cb, root.<String>get("subjectMatter"),
+                        subjects));
+            }
+            ext.apply(where, root, cb);
+            return cb.and(where.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Specification for {@link Location.Filter}.
+     *
+     * @param filter location filter
+     * @return specification
+     * @throws BadRequestException if a filter value is malformed
+     */
+    public static Specification<Location> location(
+            final Location.Filter filter) throws BadRequestException {
+        return byId(filter.getId(), new Extensions(filter.getHasExtension(),
+                filter.getExtensionPath(), filter.getExtensionPathMatch()));
+    }
+
+    /**
+     * Specification for {@link Facility.Filter}.
+     *
+     * @param filter facility filter
+     * @return specification
+     * @throws BadRequestException if a filter value is malformed
+     */
+    public static Specification<Facility> facility(
+            final Facility.Filter filter) throws BadRequestException {
+        return byId(filter.getId(), new Extensions(filter.getHasExtension(),
+                filter.getExtensionPath(), filter.getExtensionPathMatch()));
+    }
+
+    /**
+     * Specification for {@link Goal.Filter}.
+     *
+     * @param filter goal filter
+     * @return specification
+     * @throws BadRequestException if a filter value is malformed
+     */
+    public static Specification<Goal> goal(final Goal.Filter filter)
+            throws BadRequestException {
+        return byId(filter.getId(), new Extensions(filter.getHasExtension(),
+                filter.getExtensionPath(), filter.getExtensionPathMatch()));
+    }
+
+    private static <T> Specification<T> qualification(Object[] idValues,
+            Object[] identifierValues, Object[] urlValues, Object[] codeValues,
+            Extensions ext) throws BadRequestException {
+        final List<UUID> ids = uuids(idValues);
+        final List<String> identifiers = strings(identifierValues);
+        final List<String> urls = strings(urlValues);
+        final List<String> codes = strings(codeValues);
+
+        return (root, query, cb) -> {
+            List<Predicate> where = new ArrayList<>();
+            in(where, root.get(ID), ids);
+            in(where, root.get("identifier"), identifiers);
+            in(where, root.get("identifierUrl"), urls);
+            in(where, root.get("code"), codes);
+            ext.apply(where, root, cb);
+            return cb.and(where.toArray(new Predicate[0]));
+        };
+    }
+
+    private static <T> Specification<T> byId(Object[] idValues,
+            Extensions ext) throws BadRequestException {
+        final List<UUID> ids = uuids(idValues);
+
+        return (root, query, cb) -> {
+            List<Predicate> where = new ArrayList<>();
+            in(where, root.get(ID), ids);
+            ext.apply(where, root, cb);
+            return cb.and(where.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * EXISTS over another entity that references the owner.
+     */
+    private static <E> Predicate related(CriteriaQuery<?> query,
+            CriteriaBuilder cb, Root<?> owner, Class<E> type,
+            String ownerAttribute, Function<Root<E>, Predicate> condition) {
+        Subquery<Integer> sub = query.subquery(Integer.class);
+        Root<E> related = sub.from(type);
+        sub.select(cb.literal(1)).where(
+                cb.equal(related.get(ownerAttribute), owner),
+                condition.apply(related));
+        return cb.exists(sub);
+    }
+
+    /**
+     * EXISTS over one of the owner's own collections.
+     */
+    private static <T> Predicate joined(CriteriaQuery<?> query,
+            CriteriaBuilder cb, Root<T> owner, String collection,
+            Function<Join<T, ?>, Predicate> condition) {
+        Subquery<Integer> sub = query.subquery(Integer.class);
+        Root<T> correlated = sub.correlate(owner);
+        Join<T, ?> join = correlated.join(collection);
+        sub.select(cb.literal(1)).where(condition.apply(join));
+        return cb.exists(sub);
+    }
+
+    private static void in(List<Predicate> where, Path<?> path,
+            List<?> values) {
+        if (!values.isEmpty()) {
+            where.add(path.in(values));
+        }
+    }
+
+    /**
+     * Case-insensitive LIKE of any pattern. A pattern that is a single
+     * leading wildcard before literal text, such as {@code %@example.com},
+     * is matched as a prefix of the reversed value instead, which the
+     * reverse indexes of {@code dev-resources/sql/person-search-indexes.sql}
+     * can serve; other patterns are left to the trigram indexes.
+     */
+    private static Predicate likeAny(CriteriaBuilder cb, Path<String> path,
+            List<String> patterns) {
+        Expression<String> lower = cb.lower(path);
+        List<Predicate> any = new ArrayList<>();
+        for (String pattern : patterns) {
+            String lowerPattern = pattern.toLowerCase(Locale.ROOT);
+            String suffix = lowerPattern.substring(1);
+            if (lowerPattern.startsWith("%") && isLiteral(suffix)) {
+                any.add(cb.like(cb.function("reverse", String.class, lower),
+                        new StringBuilder(suffix).reverse() + "%"));
+            } else {
+                any.add(cb.like(lower, lowerPattern));
+            }
+        }
+        return cb.or(any.toArray(Predicate[]::new));
+    }
+
+    /**
+     * True for non-empty text with no LIKE wildcard or escape character.
+     */
+    private static boolean isLiteral(String text) {
+        return !text.isEmpty() && text.indexOf('%') < 0
+                && text.indexOf('_') < 0 && text.indexOf('\\') < 0;
+    }
+
+    /**
+     * Digits of a phone number equal to any of the numbers, or ending in
+     * one given as {@code %digits}. Suffixes are matched as a prefix of the
+     * reversed digits so that the indexes of
+     * {@code dev-resources/sql/phone-digit-indexes.sql} can serve both.
+     */
+    private static Predicate phoneAny(CriteriaBuilder cb, Path<String> path,
+            List<String> numbers) {
+        Expression<String> digits = cb.function(
+                FilterFunctionContributor.DIGITS, String.class, path);
+        List<String> exact = new ArrayList<>();
+        List<Predicate> any = new ArrayList<>();
+        for (String number : numbers) {
+            if (number.startsWith("%")) {
+                any.add(cb.like(cb.function("reverse", String.class, digits),
+                        new StringBuilder(number.substring(1)).reverse()
+                                + "%"));
+            } else {
+                exact.add(number);
+            }
+        }
+        if (!exact.isEmpty()) {
+            any.add(digits.in(exact));
+        }
+        return cb.or(any.toArray(Predicate[]::new));
+    }
+
+    private static List<UUID> uuids(Object[] values)
+            throws BadRequestException {
+        List<UUID> result = new ArrayList<>();
+        if (values != null) {
+            for (Object value : values) {
+                if (value instanceof UUID uuid) {
+                    result.add(uuid);
+                } else if (value != null) {
+                    try {
+                        result.add(UUID.fromString(value.toString().trim()));
+                    } catch (IllegalArgumentException e) {
+                        throw new BadRequestException(
+                                "Invalid id filter value: " + value);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<String> strings(Object[] values) {
+        List<String> result = new ArrayList<>();
+        if (values != null) {
+            for (Object value : values) {
+                if (value != null && !value.toString().isEmpty()) {
+                    result.add(value.toString());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The digits of each phone number, keeping a leading {@code %} that
+     * asks for a suffix match.
+     */
+    private static List<String> digits(Object[] values) {
+        List<String> result = new ArrayList<>();
+        for (String value : strings(values)) {
+            String digits = value.replaceAll("[^0-9]", "");
+            if (!digits.isEmpty()) {
+                result.add(value.trim().startsWith("%") ? "%" + digits
+                        : digits);
+            }
+        }
+        return result;
+    }
+
+    private static List<LearningStatus> statuses(Object[] values)
+            throws BadRequestException {
+        List<LearningStatus> result = new ArrayList<>();
+        for (String value : strings(values)) {
+            try {
+                result.add(LearningStatus.valueOf(value));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException(
+                        "Invalid recordStatus filter value: " + value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The hasExtension, extensionPath and extensionPathMatch filters shared
+     * by every extensible entity. Every value given must match.
+     */
+    private static final class Extensions {
+
+        private final List<String> keys;
+        private final List<String> paths;
+        private final List<String> predicates;
+
+        Extensions(Object[] keyValues, Object[] pathValues,
+                Object[] predicateValues) {
+            this.keys = strings(keyValues);
+            this.paths = strings(pathValues);
+            this.predicates = strings(predicateValues);
+        }
+
+        void apply(List<Predicate> where, Root<?> root, CriteriaBuilder cb) {
+            Path<Object> extensions = root.get(EXTENSIONS);
+            for (String key : keys) {
+                where.add(cb.isTrue(cb.function(
+                        ExtensionFunctionContributor.HAS_EXTENSION,
+                        Boolean.class, root.get(ID), extensions,
+                        cb.literal(key))));
+            }
+            for (String path : paths) {
+                where.add(cb.isTrue(cb.function(
+                        ExtensionFunctionContributor.EXTENSION_PATH_EXISTS,
+                        Boolean.class, extensions, cb.literal(path))));
+            }
+            for (String predicate : predicates) {
+                where.add(cb.isTrue(cb.function(
+                        ExtensionFunctionContributor.EXTENSION_PATH_MATCH,
+                        Boolean.class, extensions, cb.literal(predicate))));
+            }
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.deloitte.elrr.services.query;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.deloitte.elrr.entity.types.LearningStatus;
+import com.deloitte.elrr.services.dto.GoalProgressDto;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Computes goal progress server side: the goals' requirements and their
+ * persons' holdings are each read with one query per kind for the whole
+ * request, then every required id is numbered once and each goal is
+ * scored by intersecting bitsets. A person holds a competency or
+ * credential they are linked to, and a learning resource they have a
+ * learning record for in one of {@code elrr.goal-progress.completed-statuses}.
+ */
+@Service
+@Slf4j
+public class GoalProgressSvc {
+
+    private static final String GOALS = "select g.id, g.name, p.id"
+            + " from Goal g left join g.person p";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Set<LearningStatus> completedStatuses;
+
+    /**
+     * Create the service.
+     *
+     * @param completedStatuses names of the learning record statuses that
+     *        complete a learning resource
+     */
+    public GoalProgressSvc(
+            @Value("${elrr.goal-progress.completed-statuses:COMPLETED,PASSED}")
+            final List<String> completedStatuses) {
+        this.completedStatuses = EnumSet.noneOf(LearningStatus.class);
+        for (LearningStatus status : LearningStatus.values()) {
+            if (completedStatuses.contains(status.name())) {
+                this.completedStatuses.add(status);
+            }
+        }
+        if (this.completedStatuses.isEmpty()) {
+            log.warn("No learning record status in {} is known; learning"
+                    + " resources never count toward goals",
+                    completedStatuses);
+        }
+    }
+
+    /**
+     * Progress of one goal's person toward it.
+     *
+     * @param goalId goal id
+     * @return the progress, or null if there is no such goal
+     */
+    @Transactional(readOnly = true)
+    public GoalProgressDto goal(UUID goalId) {
+        List<GoalProgressDto> result = progress(entityManager.createQuery(
+                GOALS + " where g.id = :id", Object[].class)
+                .setParameter("id", goalId).getResultList());
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    /**
+     * Progress of a person toward each of their goals.
+     *
+     * @param personId person id
+     * @return progress per goal, or null if there is no such person
+     */
+    @Transactional(readOnly = true)
+    public List<GoalProgressDto> person(UUID personId) {
+        if (entityManager.createQuery(
+                "select p.id from Person p where p.id = :id", UUID.class)
+                .setParameter("id", personId).getResultList().isEmpty()) {
+            return null;
+        }
+        return progress(entityManager.createQuery(GOALS
+                + " where p.id = :id order by g.id", Object[].class)
+                .setParameter("id", personId).getResultList());
+    }
+
+    private List<GoalProgressDto> progress(List<Object[]> goals) {
+        if (goals.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> goalIds = new ArrayList<>();
+        Set<UUID> personIds = new LinkedHashSet<>();
+        for (Object[] goal : goals) {
+            goalIds.add((UUID) goal[0]);
+            if (goal[2] != null) {
+                personIds.add((UUID) goal[2]);
+            }
+        }
+        Map<Kind, Scores> scores = new LinkedHashMap<>();
+        for (Kind kind : Kind.values()) {
+            scores.put(kind, new Scores(
+                    pairs(kind.required, goalIds, null),
+                    personIds.isEmpty() ? List.of()
+                            : pairs(kind.held, List.copyOf(personIds),
+                                    kind == Kind.LEARNING_RESOURCE
+                                            ? completedStatuses : null)));
+        }
+        List<GoalProgressDto> result = new ArrayList<>(goals.size());
+        for (Object[] goal : goals) {
+            GoalProgressDto dto = new GoalProgressDto();
+            dto.setGoalId((UUID) goal[0]);
+            dto.setName((String) goal[1]);
+            dto.setPersonId((UUID) goal[2]);
+            int required = 0;
+            int completed = 0;
+            for (Map.Entry<Kind, Scores> entry : scores.entrySet()) {
+                Scores kindScores = entry.getValue();
+                BitSet need = kindScores.required(dto.getGoalId());
+                BitSet missing = (BitSet) need.clone();
+                missing.andNot(kindScores.held(dto.getPersonId()));
+                required += need.cardinality();
+                completed += need.cardinality() - missing.cardinality();
+                entry.getKey().setMissing(dto, kindScores.ids(missing));
+            }
+            dto.setRequired(required);
+            dto.setCompleted(completed);
+            dto.setPercentComplete(required == 0 ? 100.0
+                    : 100.0 * completed / required);
+            result.add(dto);
+        }
+        return result;
+    }
+
+    private List<Object[]> pairs(String jpql, List<UUID> owners,
+            Set<LearningStatus> statuses) {
+        List<Object[]> result = new ArrayList<>();
+        if (statuses != null && statuses.isEmpty()) {
+            return result;
+        }
+        for (int i = 0; i < owners.size(); i += FilterQuerySvc.IN_CHUNK) {
+            var query = entityManager.createQuery(jpql, Object[].class)
+                    .setParameter("ids", owners.subList(i,
+                            Math.min(owners.size(),
+                                    i + FilterQuerySvc.IN_CHUNK)));
+            if (statuses != null) {
+                query.setParameter("statuses", statuses);
+            }
+            result.addAll(query.getResultList());
+        }
+        return result;
+    }
+
+    /**
+     * A kind of goal requirement: the query for the required ids of
+     * goals, the query for the held ids of persons, and where the missing
+     * ids go.
+     */
+    private enum Kind {
+
+        COMPETENCY("select g.id, r.id from Goal g join g.competencies r"
+                + " where g.id in :ids",
+                "select h.person.id, h.competency.id"
+                        + " from PersonalCompetency h"
+                        + " where h.person.id in :ids"),
+
+        CREDENTIAL("select g.id, r.id from Goal g join g.credentials r"
+                + " where g.id in :ids",
+                "select h.person.id, h.credential.id"
+                        + " from PersonalCredential h"
+                        + " where h.person.id in :ids"),
+
+        LEARNING_RESOURCE("select g.id, r.id from Goal g"
+                + " join g.learningResources r where g.id in :ids",
+                "select h.person.id, h.learningResource.id"
+                        + " from LearningRecord h where h.person.id in :ids"
+                        + " and h.recordStatus in :statuses");
+
+        private final String required;
+
+        private final String held;
+
+        Kind(String required, String held) {
+            this.required = required;
+            this.held = held;
+        }
+
+        void setMissing(GoalProgressDto dto, Set<UUID> missing) {
+            switch (this) {
+                case COMPETENCY -> dto.setMissingCompetencyIds(missing);
+                case CREDENTIAL -> dto.setMissingCredentialIds(missing);
+                default -> dto.setMissingLearningResourceIds(missing);
+            }
+        }
+    }
+
+    /**
+     * Required and held ids of one kind as bitsets over one numbering of
+     * every id the goals require.
+     */
+    private static final class Scores {
+
+        private final Map<UUID, Integer> index = new HashMap<>();
+
+        private final List<UUID> ids = new ArrayList<>();
+
+        private final Map<UUID, BitSet> required = new HashMap<>();
+
+        private final Map<UUID, BitSet> held = new HashMap<>();
+
+        Scores(List<Object[]> requiredPairs, List<Object[]> heldPairs) {
+            for (Object[] pair : requiredPairs) {
+                UUID id = (UUID) pair[1];
+                Integer bit = index.get(id);
+                if (bit == null) {
+                    bit = ids.size();
+                    index.put(id, bit);
+                    ids.add(id);
+                }
+                required.computeIfAbsent((UUID) pair[0], k -> new BitSet())
+                        .set(bit);
+            }
+            for (Object[] pair : heldPairs) {
+                // holdings no goal requires cannot change a score
+                Integer bit = index.get((UUID) pair[1]);
+                if (bit != null) {
+                    held.computeIfAbsent((UUID) pair[0], k -> new BitSet())
+                            .set(bit);
+                }
+            }
+        }
+
+        BitSet required(UUID goalId) {
+            return required.getOrDefault(goalId, new BitSet());
+        }
+
+        BitSet held(UUID personId) {
+            return personId == null ? new BitSet()
+                    : held.getOrDefault(personId, new BitSet());
+        }
+
+        Set<UUID> ids(BitSet bits) {
+            Set<UUID> result = new LinkedHashSet<>();
+            bits.stream().forEach(bit -> result.add(ids.get(bit)));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.deloitte.elrr.services.query;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.deloitte.elrr.services.exception.BadRequestException;
+
+/**
+ * Opaque keyset cursor. Encodes the id of the last row of a page as
+ * unpadded base64url so clients treat it as a token, not an id.
+ */
+public final class KeysetCursor {
+
+    private static final int UUID_BYTES = 16;
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Encode the key of the last row returned.
+     *
+     * @param lastId id of the last row on the page
+     * @return cursor token
+     */
+    public static String encode(UUID lastId) {
+        ByteBuffer buffer = ByteBuffer.allocate(UUID_BYTES);
+        buffer.putLong(lastId.getMostSignificantBits());
+        buffer.putLong(lastId.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(buffer.array());
+    }
+
+    /**
+     * Decode a cursor token back to the key to resume after.
+     *
+     * @param cursor cursor token, may be null or blank for the first page
+     * @return id to resume after, or null for the first page
+     * @throws BadRequestException if the cursor is malformed
+     */
+    public static UUID decode(String cursor) throws BadRequestException {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        if (bytes.length != UUID_BYTES) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,31 @@
+package com.deloitte.elrr.services.query;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A page of entities read by {@link FilterQuerySvc}.
+ *
+ * @param <T> entity type
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    /**
+     * Rows on this page, in key order.
+     */
+    private final List<T> items;
+
+    /**
+     * Cursor for the following page, or null if this is the last page.
+     */
+    private final String next;
+
+    /**
+     * Page size that was applied after enforcing the server maximum.
+     */
+    private final int limit;
+}
@@ -0,0 +1,93 @@
+package com.deloitte.elrr.services.query;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.deloitte.elrr.entity.Entity;
+import com.deloitte.elrr.services.config.StreamLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Writes filtered entities as newline-delimited JSON. Rows are read from a
+ * cursor by {@link FilterQuerySvc#forEach}, mapped and written one at a
+ * time, so neither the entities, the DTOs nor the response body are ever
+ * held in full. Streams are exports for {@link StreamLimiter}.
+ */
+@Component
+public class NdjsonStreamer {
+
+    /**
+     * Media type for newline-delimited JSON.
+     */
+    public static final String APPLICATION_NDJSON_VALUE =
+            "application/x-ndjson";
+
+    /**
+     * Media type for newline-delimited JSON.
+     */
+    public static final MediaType APPLICATION_NDJSON =
+            MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+
+    private static final int NEWLINE = '\n';
+
+    @Autowired
+    private FilterQuerySvc filterQuerySvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Build a response body that streams every match as one JSON line.
+     *
+     * @param <T> entity type
+     * @param type entity class
+     * @param spec filter specification
+     * @param toDto maps a managed entity to the object to serialize
+     * @return response body
+     */
+    public <T extends Entity> StreamingResponseBody stream(Class<T> type,
+            Specification<T> spec, Function<? super T, ?> toDto) {
+        return stream(type, spec, null, toDto);
+    }
+
+    /**
+     * Build a response body that streams every match as one JSON line,
+     * loading the associations of a fetch plan one fetch at a time.
+     *
+     * @param <T> entity type
+     * @param type entity class
+     * @param spec filter specification
+     * @param plan associations the mapping reads, or null for none
+     * @param toDto maps a managed entity to the object to serialize
+     * @return response body
+     */
+    public <T extends Entity> StreamingResponseBody stream(Class<T> type,
+            Specification<T> spec, FetchPlan<T> plan,
+            Function<? super T, ?> toDto) {
+        StreamLimiter.mark();
+        return out -> {
+            ObjectWriter writer = objectMapper.writer();
+            try {
+                filterQuerySvc.forEach(type, spec, plan, row -> {
+                    try {
+                        out.write(writer.writeValueAsBytes(toDto.apply(row)));
+                        out.write(NEWLINE);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+    }
+}
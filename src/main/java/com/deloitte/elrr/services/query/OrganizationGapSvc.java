@@ -0,0 +1,255 @@
+package com.deloitte.elrr.services.query;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.deloitte.elrr.services.config.StreamLimiter;
+import com.deloitte.elrr.services.dto.OrganizationGapDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Finds the members of an organization who lack competencies or
+ * credentials their goals or current positions require. Members are the
+ * persons associated with the organization or with an employment record
+ * there that has not ended; a position's requirements are the
+ * competencies and credentials of that employment record.
+ *
+ * <p>Everything is read up front with one query per relation for the
+ * whole organization. Each required id is numbered once and every member
+ * gets a required and a held bitset per kind, so checking a member is a
+ * few word-wide {@code andNot}s and the database is not touched while the
+ * report is written. Members are checked in batches on the fork/join
+ * common pool and written in id order as newline-delimited JSON.
+ */
+@Service
+public class OrganizationGapSvc {
+
+    /**
+     * Members checked in parallel before their results are written.
+     */
+    private static final int BATCH = 1024;
+
+    private static final int NEWLINE = '\n';
+
+    private static final String CURRENT = " and (e.employmentEndDate is null"
+            + " or e.employmentEndDate >= current_date)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Load an organization's members, requirements and holdings and build
+     * a response body that writes one JSON line per member with a gap.
+     *
+     * @param organizationId organization id
+     * @return response body, or null if there is no such organization
+     */
+    @Transactional(readOnly = true)
+    public StreamingResponseBody report(UUID organizationId) {
+        if (entityManager.createQuery(
+                "select o.id from Organization o where o.id = :id",
+                UUID.class).setParameter("id", organizationId)
+                .getResultList().isEmpty()) {
+            return null;
+        }
+        Report report = new Report(rows("select p.id, p.name from Person p"
+                + " where " + member("p.id") + " order by p.id",
+                organizationId));
+        for (Kind kind : Kind.values()) {
+            for (String required : List.of(kind.goals, kind.positions)) {
+                report.require(kind, rows(required, organizationId));
+            }
+            report.hold(kind, rows(kind.held, organizationId));
+        }
+        ObjectWriter writer = objectMapper.writer();
+        StreamLimiter.mark();
+        return out -> {
+            for (int from = 0; from < report.size(); from += BATCH) {
+                List<OrganizationGapDto> gaps = IntStream.range(from,
+                        Math.min(report.size(), from + BATCH)).parallel()
+                        .mapToObj(report::gaps)
+                        .filter(Objects::nonNull)
+                        .toList();
+                for (OrganizationGapDto gap : gaps) {
+                    out.write(writer.writeValueAsBytes(gap));
+                    out.write(NEWLINE);
+                }
+            }
+            out.flush();
+        };
+    }
+
+    private List<Object[]> rows(String jpql, UUID organizationId) {
+        return entityManager.createQuery(jpql, Object[].class)
+                .setParameter("id", organizationId)
+                .getResultList();
+    }
+
+    /**
+     * JPQL condition that a person id belongs to a member of the
+     * organization bound to {@code :id}.
+     */
+    private static String member(String personId) {
+        return "(" + personId + " in (select a.person.id from Association a"
+                + " where a.organization.id = :id) or " + personId
+                + " in (select e.employee.id from EmploymentRecord e"
+                + " where e.employerOrganization.id = :id" + CURRENT + "))";
+    }
+
+    /**
+     * A kind of qualification: the queries for the (person id, required
+     * id) pairs of members' goals and positions, and for the (person id,
+     * held id) pairs of their holdings.
+     */
+    private enum Kind {
+
+        COMPETENCY("competencies", "PersonalCompetency", "competency"),
+
+        CREDENTIAL("credentials", "PersonalCredential", "credential");
+
+        private final String goals;
+
+        private final String positions;
+
+        private final String held;
+
+        Kind(String collection, String holding, String attribute) {
+            this.goals = "select g.person.id, r.id from Goal g join g."
+                    + collection + " r where " + member("g.person.id");
+            this.positions = "select e.employee.id, r.id"
+                    + " from EmploymentRecord e join e." + collection
+                    + " r where e.employerOrganization.id = :id" + CURRENT;
+            this.held = "select h.person.id, h." + attribute + ".id from "
+                    + holding + " h where " + member("h.person.id");
+        }
+    }
+
+    /**
+     * Members with their required and held bitsets per kind, each kind's
+     * bits numbering the ids some member requires.
+     */
+    private static final class Report {
+
+        private final UUID[] personIds;
+
+        private final String[] names;
+
+        private final Map<UUID, Integer> members = new HashMap<>();
+
+        private final Map<Kind, Map<UUID, Integer>> index = new HashMap<>();
+
+        private final Map<Kind, List<UUID>> ids = new HashMap<>();
+
+        private final BitSet[][] required;
+
+        private final BitSet[][] held;
+
+        Report(List<Object[]> rows) {
+            personIds = new UUID[rows.size()];
+            names = new String[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                personIds[i] = (UUID) rows.get(i)[0];
+                names[i] = (String) rows.get(i)[1];
+                members.put(personIds[i], i);
+            }
+            required = new BitSet[Kind.values().length][rows.size()];
+            held = new BitSet[Kind.values().length][rows.size()];
+            for (Kind kind : Kind.values()) {
+                index.put(kind, new HashMap<>());
+                ids.put(kind, new ArrayList<>());
+            }
+        }
+
+        int size() {
+            return personIds.length;
+        }
+
+        void require(Kind kind, List<Object[]> pairs) {
+            Map<UUID, Integer> kindIndex = index.get(kind);
+            List<UUID> kindIds = ids.get(kind);
+            for (Object[] pair : pairs) {
+                Integer member = members.get((UUID) pair[0]);
+                if (member == null) {
+                    continue;
+                }
+                Integer bit = kindIndex.computeIfAbsent((UUID) pair[1],
+                        id -> {
+                            kindIds.add(id);
+                            return kindIds.size() - 1;
+                        });
+                set(required[kind.ordinal()], member, bit);
+            }
+        }
+
+        void hold(Kind kind, List<Object[]> pairs) {
+            Map<UUID, Integer> kindIndex = index.get(kind);
+            for (Object[] pair : pairs) {
+                Integer member = members.get((UUID) pair[0]);
+                // holdings no member requires cannot close a gap
+                Integer bit = kindIndex.get((UUID) pair[1]);
+                if (member != null && bit != null) {
+                    set(held[kind.ordinal()], member, bit);
+                }
+            }
+        }
+
+        OrganizationGapDto gaps(int member) {
+            OrganizationGapDto dto = null;
+            for (Kind kind : Kind.values()) {
+                BitSet need = required[kind.ordinal()][member];
+                if (need == null) {
+                    continue;
+                }
+                BitSet missing = (BitSet) need.clone();
+                BitSet has = held[kind.ordinal()][member];
+                if (has != null) {
+                    missing.andNot(has);
+                }
+                if (missing.isEmpty()) {
+                    continue;
+                }
+                if (dto == null) {
+                    dto = new OrganizationGapDto(personIds[member],
+                            names[member], Set.of(), Set.of());
+                }
+                Set<UUID> missingIds = new LinkedHashSet<>();
+                List<UUID> kindIds = ids.get(kind);
+                missing.stream().forEach(bit ->
+                        missingIds.add(kindIds.get(bit)));
+                if (kind == Kind.COMPETENCY) {
+                    dto.setMissingCompetencyIds(missingIds);
+                } else {
+                    dto.setMissingCredentialIds(missingIds);
+                }
+            }
+            return dto;
+        }
+
+        private static void set(BitSet[] bitsets, int member, int bit) {
+            if (bitsets[member] == null) {
+                bitsets[member] = new BitSet();
+            }
+            bitsets[member].set(bit);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.deloitte.elrr.services.query;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import com.deloitte.elrr.services.exception.BadRequestException;
+
+import lombok.Getter;
+
+/**
+ * Relations that {@code GET /api/person/{id}?expand=} can include.
+ */
+@Getter
+public enum PersonExpansion {
+
+    /**
+     * Identities of the person.
+     */
+    IDENTITIES("identities"),
+
+    /**
+     * Competencies held by the person.
+     */
+    COMPETENCIES("competencies"),
+
+    /**
+     * Credentials held by the person.
+     */
+    CREDENTIALS("credentials"),
+
+    /**
+     * Learning records of the person.
+     */
+    LEARNING_RECORDS("learningRecords"),
+
+    /**
+     * Employment records of the person.
+     */
+    EMPLOYMENT_RECORDS("employmentRecords"),
+
+    /**
+     * Organization associations of the person.
+     */
+    ASSOCIATIONS("associations");
+
+    /**
+     * Name used in the expand parameter and the response.
+     */
+    private final String parameter;
+
+    PersonExpansion(String parameter) {
+        this.parameter = parameter;
+    }
+
+    /**
+     * Parse an expand parameter.
+     *
+     * @param expand comma separated relation names
+     * @return the relations named
+     * @throws BadRequestException if a name is unknown
+     */
+    public static Set<PersonExpansion> parse(String expand)
+            throws BadRequestException {
+        Set<PersonExpansion> result = EnumSet.noneOf(PersonExpansion.class);
+        for (String name : names(expand)) {
+            PersonExpansion expansion = find(name);
+            if (expansion == null) {
+                throw new BadRequestException("Unknown expand value: " + name
+                        + "; expected one of identities, competencies,"
+                        + " credentials, learningRecords, employmentRecords,"
+                        + " associations");
+            }
+            result.add(expansion);
+        }
+        return result;
+    }
+
+    private static List<String> names(String expand) {
+        List<String> result = new ArrayList<>();
+        if (expand != null) {
+            for (String name : expand.split(",")) {
+                if (!name.isBlank()) {
+                    result.add(name.trim());
+                }
+            }
+        }
+        return result;
+    }
+
+    private static PersonExpansion find(String name) {
+        for (PersonExpansion expansion : values()) {
+            if (expansion.parameter.equals(name)) {
+                return expansion;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,99 @@
+package com.deloitte.elrr.services.query;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+
+import com.deloitte.elrr.entity.Association;
+import com.deloitte.elrr.entity.Entity;
+import com.deloitte.elrr.entity.PersonalCompetency;
+import com.deloitte.elrr.entity.PersonalCredential;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Looks up the link between a person and one competency, credential or
+ * organization by the pair of ids, reading the single link row and its
+ * target instead of the person's whole collection. The pairs are backed by
+ * the unique indexes in {@code dev-resources/sql/person-link-indexes.sql}.
+ */
+@Service
+public class PersonLinkQuerySvc {
+
+    private static final String PERSON_ID = "personId";
+
+    private static final String TARGET_ID = "targetId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Find a person's competency.
+     *
+     * @param personId person id
+     * @param competencyId competency id
+     * @return the personal competency, if the person has it
+     */
+    public Optional<PersonalCompetency> competency(UUID personId,
+            UUID competencyId) {
+        return find(PersonalCompetency.class, "competency", personId,
+                competencyId);
+    }
+
+    /**
+     * Find a person's credential.
+     *
+     * @param personId person id
+     * @param credentialId credential id
+     * @return the personal credential, if the person has it
+     */
+    public Optional<PersonalCredential> credential(UUID personId,
+            UUID credentialId) {
+        return find(PersonalCredential.class, "credential", personId,
+                credentialId);
+    }
+
+    /**
+     * Find a person's association with an organization.
+     *
+     * @param personId person id
+     * @param organizationId organization id
+     * @return the association, if there is one
+     */
+    public Optional<Association> association(UUID personId,
+            UUID organizationId) {
+        return find(Association.class, "organization", personId,
+                organizationId);
+    }
+
+    /**
+     * Check that an entity exists without loading it.
+     *
+     * @param type entity class
+     * @param id entity id
+     * @return true if there is an entity with the id
+     */
+    public boolean exists(Class<? extends Entity> type, UUID id) {
+        return !entityManager.createQuery("select e.id from "
+                + type.getSimpleName() + " e where e.id = :id", UUID.class)
+                .setParameter("id", id)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    private <T extends Entity> Optional<T> find(Class<T> type, String target,
+            UUID personId, UUID targetId) {
+        return entityManager.createQuery("select l from "
+                + type.getSimpleName() + " l join fetch l." + target + " t"
+                + " where l.person.id = :" + PERSON_ID
+                + " and t.id = :" + TARGET_ID, type)
+                .setParameter(PERSON_ID, personId)
+                .setParameter(TARGET_ID, targetId)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst();
+    }
+}
@@ -0,0 +1,73 @@
+package com.deloitte.elrr.services.query;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.deloitte.elrr.services.cache.QualificationIndex;
+import com.deloitte.elrr.services.dto.PersonMatchDto;
+import com.deloitte.elrr.services.dto.PersonMatchRequestDto;
+import com.deloitte.elrr.services.exception.BadRequestException;
+
+/**
+ * Ranked search for persons by the competencies and credentials they
+ * hold, answered from the {@link QualificationIndex}.
+ */
+@Service
+public class PersonMatchSvc {
+
+    @Autowired
+    private QualificationIndex qualificationIndex;
+
+    @Autowired
+    private FilterQuerySvc filterQuerySvc;
+
+    /**
+     * Find the persons holding all, any or a minimum count of the
+     * requested qualifications, best first.
+     *
+     * @param request requested competencies and credentials and the mode,
+     *        ALL when not given
+     * @param limit maximum number of matches
+     * @return matches in rank order
+     * @throws BadRequestException if nothing is requested, the minimum
+     *         count is missing or out of range, or the limit is not
+     *         positive
+     */
+    public List<PersonMatchDto> match(PersonMatchRequestDto request,
+            int limit) throws BadRequestException {
+        Set<UUID> ids = new LinkedHashSet<>();
+        if (request.getCompetencyIds() != null) {
+            ids.addAll(request.getCompetencyIds());
+        }
+        if (request.getCredentialIds() != null) {
+            ids.addAll(request.getCredentialIds());
+        }
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            throw new BadRequestException(
+                    "competencyIds or credentialIds must not be empty");
+        }
+        PersonMatchRequestDto.Mode mode = request.getMode() == null
+                ? PersonMatchRequestDto.Mode.ALL : request.getMode();
+        int minCount = switch (mode) {
+            case ALL -> ids.size();
+            case ANY -> 1;
+            case MIN_COUNT -> {
+                Integer count = request.getMinCount();
+                if (count == null || count < 1 || count > ids.size()) {
+                    throw new BadRequestException("minCount must be between"
+                            + " 1 and the number of qualifications");
+                }
+                yield count;
+            }
+        };
+        return qualificationIndex.match(new ArrayList<>(ids), minCount,
+                filterQuerySvc.pageSize(limit));
+    }
+}
@@ -0,0 +1,121 @@
+package com.deloitte.elrr.services.query;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.deloitte.elrr.entity.Association;
+import com.deloitte.elrr.entity.EmploymentRecord;
+import com.deloitte.elrr.entity.Identity;
+import com.deloitte.elrr.entity.LearningRecord;
+import com.deloitte.elrr.entity.Person;
+import com.deloitte.elrr.entity.PersonalCompetency;
+import com.deloitte.elrr.entity.PersonalCredential;
+import com.deloitte.elrr.services.dto.CompetencyDto;
+import com.deloitte.elrr.services.dto.CredentialDto;
+import com.deloitte.elrr.services.dto.PersonProfileDto;
+import com.deloitte.elrr.services.dto.PersonalQualificationDto;
+import com.deloitte.elrr.services.mapper.DtoMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Reads a person together with the relations named in an expand parameter
+ * in one read-only transaction. The person is read with
+ * {@link FetchPlan#PERSON_DTO} and each relation by one query on the
+ * owning side that joins the records it embeds, so the statement count
+ * depends only on the relations requested and never on how many records
+ * the person has.
+ */
+@Service
+public class PersonProfileQuerySvc {
+
+    private static final String BY_PERSON = " where r.person.id = :id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private FilterQuerySvc filterQuerySvc;
+
+    @Autowired
+    private DtoMapper dtoMapper;
+
+    /**
+     * Read a person and the requested relations.
+     *
+     * @param id person id
+     * @param expansions relations to include
+     * @return the profile, or null if there is no such person
+     */
+    @Transactional(readOnly = true)
+    public PersonProfileDto get(UUID id, Set<PersonExpansion> expansions) {
+        Person person = entityManager.find(Person.class, id);
+        if (person == null) {
+            return null;
+        }
+        filterQuerySvc.preload(FetchPlan.PERSON_DTO, List.of(person));
+        PersonProfileDto profile = new PersonProfileDto();
+        profile.setPerson(dtoMapper.toDto(person));
+        if (expansions.contains(PersonExpansion.IDENTITIES)) {
+            profile.setIdentities(entityManager.createQuery(
+                    "select r from Identity r" + BY_PERSON, Identity.class)
+                    .setParameter("id", id).getResultList().stream()
+                    .map(dtoMapper::toDto).toList());
+        }
+        if (expansions.contains(PersonExpansion.COMPETENCIES)) {
+            profile.setCompetencies(entityManager.createQuery(
+                    "select r from PersonalCompetency r"
+                            + " join fetch r.competency" + BY_PERSON,
+                    PersonalCompetency.class)
+                    .setParameter("id", id).getResultList().stream()
+                    .map(c -> new PersonalQualificationDto<CompetencyDto>(
+                            dtoMapper.toDto(c.getCompetency()),
+                            c.getHasRecord()))
+                    .toList());
+        }
+        if (expansions.contains(PersonExpansion.CREDENTIALS)) {
+            profile.setCredentials(entityManager.createQuery(
+                    "select r from PersonalCredential r"
+                            + " join fetch r.credential" + BY_PERSON,
+                    PersonalCredential.class)
+                    .setParameter("id", id).getResultList().stream()
+                    .map(c -> new PersonalQualificationDto<CredentialDto>(
+                            dtoMapper.toDto(c.getCredential()),
+                            c.getHasRecord()))
+                    .toList());
+        }
+        if (expansions.contains(PersonExpansion.LEARNING_RECORDS)) {
+            profile.setLearningRecords(entityManager.createQuery(
+                    "select r from LearningRecord r"
+                            + " left join fetch r.learningResource" + BY_PERSON,
+                    LearningRecord.class)
+                    .setParameter("id", id).getResultList().stream()
+                    .map(dtoMapper::toDto).toList());
+        }
+        if (expansions.contains(PersonExpansion.EMPLOYMENT_RECORDS)) {
+            List<EmploymentRecord> records = entityManager.createQuery(
+                    "select r from EmploymentRecord r"
+                            + " where r.employee.id = :id",
+                    EmploymentRecord.class)
+                    .setParameter("id", id).getResultList();
+            filterQuerySvc.preload(FetchPlan.EMPLOYMENT_RECORD_DTO, records);
+            profile.setEmploymentRecords(records.stream()
+                    .map(dtoMapper::toDto).toList());
+        }
+        if (expansions.contains(PersonExpansion.ASSOCIATIONS)) {
+            profile.setAssociations(entityManager.createQuery(
+                    "select r from Association r"
+                            + " join fetch r.organization" + BY_PERSON,
+                    Association.class)
+                    .setParameter("id", id).getResultList().stream()
+                    .map(dtoMapper::toDto).toList());
+        }
+        return profile;
+    }
+}
@@ -0,0 +1,141 @@
+package com.deloitte.elrr.services.query;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.deloitte.elrr.services.dto.PersonSearchResultDto;
+import com.deloitte.elrr.services.exception.BadRequestException;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Ranked search over the person search documents maintained by
+ * {@code dev-resources/sql/person-search.sql}. Every word of the query
+ * must start a word of the person's name, email addresses, identity IFIs
+ * or organization names, so a partly typed query already matches. Results
+ * are ordered by rank, with name matches weighted highest, and paged by
+ * offset behind an opaque cursor.
+ */
+@Service
+public class PersonSearchSvc {
+
+    private static final int OFFSET_BYTES = 4;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private FilterQuerySvc filterQuerySvc;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema:services_schema}")
+    private String schema;
+
+    /**
+     * Read one page of persons matching a search query.
+     *
+     * @param q words to search for
+     * @param limit requested page size, capped at the configured maximum
+     * @param cursor cursor from the previous page, or null for the first
+     * @return page of person summaries, best match first
+     * @throws BadRequestException if the query has no words or the limit
+     *         or cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public KeysetPage<PersonSearchResultDto> search(String q, int limit,
+            String cursor) throws BadRequestException {
+        String tsquery = tsquery(q);
+        int size = filterQuerySvc.pageSize(limit);
+        int offset = decode(cursor);
+        List<Object[]> rows = entityManager.createNativeQuery("select p.id,"
+                + " p.name from " + schema + ".person_search s"
+                + " join " + schema + ".person p on p.id = s.person_id,"
+                + " to_tsquery('simple', :query) q"
+                + " where s.document @@ q"
+                + " order by ts_rank(s.document, q) desc, p.id"
+                + " limit :limit offset :offset")
+                .setParameter("query", tsquery)
+                .setParameter("limit", size + 1)
+                .setParameter("offset", offset)
+                .getResultList();
+        String next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            next = encode(offset + size);
+        }
+        Map<UUID, PersonSearchResultDto> results = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            UUID id = (UUID) row[0];
+            results.put(id, new PersonSearchResultDto(id, (String) row[1],
+                    new ArrayList<>()));
+        }
+        if (!results.isEmpty()) {
+            entityManager.createQuery("select p.id, e.emailAddress"
+                    + " from Person p join p.emailAddresses e"
+                    + " where p.id in :ids order by e.emailAddress",
+                    Object[].class)
+                    .setParameter("ids", results.keySet())
+                    .getResultList()
+                    .forEach(row -> results.get((UUID) row[0])
+                            .getEmailAddresses().add((String) row[1]));
+        }
+        return new KeysetPage<>(new ArrayList<>(results.values()), next,
+                size);
+    }
+
+    /**
+     * The words of a query as a tsquery requiring a prefix match of each.
+     * Only letters and digits are kept, so the result is always valid
+     * tsquery syntax.
+     */
+    static String tsquery(String q) throws BadRequestException {
+        List<String> terms = new ArrayList<>();
+        if (q != null) {
+            for (String word : q.toLowerCase(Locale.ROOT)
+                    .split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    terms.add(word + ":*");
+                }
+            }
+        }
+        if (terms.isEmpty()) {
+            throw new BadRequestException("q must contain a letter or digit");
+        }
+        return String.join(" & ", terms);
+    }
+
+    private static String encode(int offset) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ByteBuffer.allocate(OFFSET_BYTES).putInt(offset).array());
+    }
+
+    private static int decode(String cursor) throws BadRequestException {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length == OFFSET_BYTES) {
+                int offset = ByteBuffer.wrap(bytes).getInt();
+                if (offset >= 0) {
+                    return offset;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // reported below
+        }
+        throw new BadRequestException("Invalid cursor");
+    }
+}
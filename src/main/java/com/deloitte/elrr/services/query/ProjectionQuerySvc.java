@@ -0,0 +1,238 @@
+package com.deloitte.elrr.services.query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.deloitte.elrr.entity.Entity;
+import com.deloitte.elrr.services.exception.BadRequestException;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Reads only the requested fields of filtered entities. The entity's own
+ * columns and its to-one associations are selected in a single tuple query;
+ * each requested to-many association costs one further query for the whole
+ * result. No entity is loaded, so unrequested associations are never
+ * fetched, mapped or serialized.
+ */
+@Service
+public class ProjectionQuerySvc {
+
+    private static final String ID = "id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private FilterQuerySvc filterQuerySvc;
+
+    /**
+     * Parse a fields parameter against an entity.
+     *
+     * @param type entity class
+     * @param fields comma separated field paths
+     * @return the selection
+     * @throws BadRequestException if a field is unknown or not selectable
+     */
+    public FieldSelection fields(Class<?> type, String fields)
+            throws BadRequestException {
+        return FieldSelection.parse(entityManager.getMetamodel(), type,
+                fields);
+    }
+
+    /**
+     * Project every entity matching a specification, bounded like
+     * {@link FilterQuerySvc#list}.
+     *
+     * @param <T> entity type
+     * @param type entity class
+     * @param spec filter specification
+     * @param fields comma separated field paths
+     * @return one map per entity, in id order
+     * @throws BadRequestException if a field is unknown or not selectable,
+     *         or the bound is enforced and more entities match
+     */
+    @Transactional(readOnly = true)
+    public <T extends Entity> List<Map<String, Object>> list(Class<T> type,
+            Specification<T> spec, String fields)
+            throws BadRequestException {
+        List<Map<String, Object>> rows = select(type, spec,
+                fields(type, fields), null, filterQuerySvc.listReadLimit());
+        filterQuerySvc.checkListSize(type, rows.size());
+        return rows;
+    }
+
+    /**
+     * Project one keyset page of entities matching a specification.
+     *
+     * @param <T> entity type
+     * @param type entity class
+     * @param spec filter specification
+     * @param fields comma separated field paths
+     * @param limit requested page size, capped at the configured maximum
+     * @param cursor cursor from the previous page, or null for the first
+     * @return the page and the cursor for the following page
+     * @throws BadRequestException if a field, the limit or the cursor is
+     *         invalid
+     */
+    @Transactional(readOnly = true)
+    public <T extends Entity> KeysetPage<Map<String, Object>> page(
+            Class<T> type, Specification<T> spec, String fields, int limit,
+            String cursor) throws BadRequestException {
+        FieldSelection selection = fields(type, fields);
+        int size = filterQuerySvc.pageSize(limit);
+        List<Map<String, Object>> rows = select(type, spec, selection,
+                KeysetCursor.decode(cursor), size + 1);
+        String next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            next = KeysetCursor.encode((UUID) rows.get(size - 1).get(ID));
+        }
+        return new KeysetPage<>(rows, next, size);
+    }
+
+    /**
+     * Project a single entity by id.
+     *
+     * @param <T> entity type
+     * @param type entity class
+     * @param id entity id
+     * @param fields comma separated field paths
+     * @return the projection, or null if there is no such entity
+     * @throws BadRequestException if a field is unknown or not selectable
+     */
+    @Transactional(readOnly = true)
+    public <T extends Entity> Map<String, Object> get(Class<T> type, UUID id,
+            String fields) throws BadRequestException {
+        List<Map<String, Object>> rows = select(type,
+                (root, query, cb) -> cb.equal(root.get(ID), id),
+                fields(type, fields), null, 1);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private <T extends Entity> List<Map<String, Object>> select(
+            Class<T> type, Specification<T> spec, FieldSelection selection,
+            UUID after, int maxRows) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+        Path<UUID> id = root.get(ID);
+
+        List<Selection<?>> columns = new ArrayList<>();
+        columns.add(id);
+        for (String field : selection.getBasic()) {
+            columns.add(root.get(field));
+        }
+        for (Map.Entry<String, List<String>> association
+                : selection.getSingular().entrySet()) {
+            Join<T, ?> join = root.join(association.getKey(), JoinType.LEFT);
+            for (String field : association.getValue()) {
+                columns.add(join.get(field));
+            }
+        }
+
+        List<Predicate> where = new ArrayList<>();
+        Predicate filter = spec.toPredicate(root, query, cb);
+        if (filter != null) {
+            where.add(filter);
+        }
+        if (after != null) {
+            where.add(cb.greaterThan(id, after));
+        }
+        query.multiselect(columns)
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(cb.asc(id));
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (maxRows > 0) {
+            typed.setMaxResults(maxRows);
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        Map<UUID, Map<String, Object>> byId = new HashMap<>();
+        for (Tuple tuple : typed.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            int column = 0;
+            UUID rowId = (UUID) tuple.get(column++);
+            row.put(ID, rowId);
+            for (String field : selection.getBasic()) {
+                row.put(field, tuple.get(column++));
+            }
+            for (Map.Entry<String, List<String>> association
+                    : selection.getSingular().entrySet()) {
+                Map<String, Object> nested = new LinkedHashMap<>();
+                boolean present = false;
+                for (String field : association.getValue()) {
+                    Object value = tuple.get(column++);
+                    present |= value != null;
+                    nested.put(field, value);
+                }
+                row.put(association.getKey(), present ? nested : null);
+            }
+            for (String association : selection.getPlural().keySet()) {
+                row.put(association, new ArrayList<Map<String, Object>>());
+            }
+            rows.add(row);
+            byId.put(rowId, row);
+        }
+
+        for (Map.Entry<String, List<String>> association
+                : selection.getPlural().entrySet()) {
+            List<UUID> ids = new ArrayList<>(byId.keySet());
+            int chunk = FilterQuerySvc.IN_CHUNK;
+            for (int i = 0; i < ids.size(); i += chunk) {
+                collect(type, association.getKey(), association.getValue(),
+                        ids.subList(i, Math.min(ids.size(), i + chunk)),
+                        byId);
+            }
+        }
+        return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Entity> void collect(Class<T> type, String association,
+            List<String> fields, List<UUID> ownerIds,
+            Map<UUID, Map<String, Object>> byId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> owner = query.from(type);
+        Join<T, ?> element = owner.join(association);
+
+        List<Selection<?>> columns = new ArrayList<>();
+        columns.add(owner.get(ID));
+        for (String field : fields) {
+            columns.add(element.get(field));
+        }
+        query.multiselect(columns)
+                .where(owner.get(ID).in(ownerIds))
+                .orderBy(cb.asc(owner.get(ID)), cb.asc(element.get(ID)));
+
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            Map<String, Object> nested = new LinkedHashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                nested.put(fields.get(i), tuple.get(i + 1));
+            }
+            ((List<Map<String, Object>>) byId.get(tuple.get(0))
+                    .get(association)).add(nested);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.deloitte.elrr.services.query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.deloitte.elrr.entity.Entity;
+import com.deloitte.elrr.services.exception.BadRequestException;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Request-scoped lookup of the entities a request refers to by id. All ids
+ * of a type are read with one {@code IN} query rather than one query per
+ * id, and entities already resolved during the request are not read again.
+ * Ids that do not exist are reported together in one error instead of
+ * being dropped.
+ */
+@Component
+@Scope(value = WebApplicationContext.SCOPE_REQUEST,
+        proxyMode = ScopedProxyMode.TARGET_CLASS)
+public class ReferenceResolver {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Map<Class<?>, Map<UUID, Entity>> resolved = new HashMap<>();
+
+    /**
+     * Resolve every id to its entity.
+     *
+     * @param <T> entity type
+     * @param type entity class
+     * @param ids ids to resolve
+     * @return entities, in the order of the ids
+     * @throws BadRequestException if any id is null or does not exist,
+     *         listing all of them
+     */
+    public <T extends Entity> Set<T> resolveAll(Class<T> type,
+            Collection<UUID> ids) throws BadRequestException {
+        Map<UUID, Entity> known = resolved.computeIfAbsent(type,
+                key -> new HashMap<>());
+        List<UUID> missing = ids.stream().filter(Objects::nonNull)
+                .filter(id -> !known.containsKey(id)).distinct()
+                .collect(Collectors.toList());
+        for (int i = 0; i < missing.size(); i += FilterQuerySvc.IN_CHUNK) {
+            List<UUID> chunk = missing.subList(i,
+                    Math.min(missing.size(), i + FilterQuerySvc.IN_CHUNK));
+            for (T entity : find(type, chunk)) {
+                known.put(entity.getId(), entity);
+            }
+        }
+        Set<T> entities = new LinkedHashSet<>();
+        List<UUID> notFound = new ArrayList<>();
+        for (UUID id : ids) {
+            Entity entity = id == null ? null : known.get(id);
+            if (entity == null) {
+                notFound.add(id);
+            } else {
+                entities.add(type.cast(entity));
+            }
+        }
+        if (!notFound.isEmpty()) {
+            throw new BadRequestException(type.getSimpleName()
+                    + " not found for ids :: " + notFound);
+        }
+        return entities;
+    }
+
+    private <T extends Entity> List<T> find(Class<T> type, List<UUID> ids) {
+        return entityManager.createQuery("select e from "
+                + type.getSimpleName() + " e where e.id in :ids", type)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+}
@@ -0,0 +1,208 @@
+package com.deloitte.elrr.services.query;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.deloitte.elrr.entity.types.LearningStatus;
+import com.deloitte.elrr.services.dto.TranscriptEntryDto;
+import com.deloitte.elrr.services.dto.TranscriptSummaryDto;
+import com.deloitte.elrr.services.exception.BadRequestException;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * Reads person transcripts from the read model of
+ * {@code dev-resources/sql/learning-transcript.sql}, which triggers keep
+ * in step with every learning record and learning resource write. A page
+ * is one index range newest first, and the summary reads the stored
+ * per-status counts, so neither joins or loads the learning records.
+ */
+@Service
+public class TranscriptQuerySvc {
+
+    /**
+     * Largest number of latest entries a summary returns.
+     */
+    public static final int MAX_LATEST = 50;
+
+    private static final int CURSOR_BYTES = 24;
+
+    private static final String COLUMNS = "select learning_record_id,"
+            + " learning_resource_id, learning_resource_title, record_status,"
+            + " enrollment_date, event_time, academic_grade, sort_key";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private FilterQuerySvc filterQuerySvc;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema:services_schema}")
+    private String schema;
+
+    /**
+     * Read one page of a person's transcript, newest event first.
+     *
+     * @param personId person id
+     * @param limit requested page size, capped at the configured maximum
+     * @param cursor cursor from the previous page, or null for the first
+     * @return the page, or null if there is no such person
+     * @throws BadRequestException if the limit or cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<TranscriptEntryDto> page(UUID personId, int limit,
+            String cursor) throws BadRequestException {
+        int size = filterQuerySvc.pageSize(limit);
+        ByteBuffer after = decode(cursor);
+        if (!personExists(personId)) {
+            return null;
+        }
+        Query query = entityManager.createNativeQuery(COLUMNS + " from "
+                + schema + ".learning_transcript where person_id = :person"
+                + (after == null ? ""
+                        : " and (sort_key, learning_record_id)"
+                                + " < (:sortKey, :recordId)")
+                + " order by sort_key desc, learning_record_id desc"
+                + " limit :limit")
+                .setParameter("person", personId)
+                .setParameter("limit", size + 1);
+        if (after != null) {
+            query.setParameter("sortKey", after.getLong())
+                    .setParameter("recordId",
+                            new UUID(after.getLong(), after.getLong()));
+        }
+        List<Object[]> rows = rows(query);
+        String next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Object[] last = rows.get(size - 1);
+            next = encode(((Number) last[7]).longValue(), (UUID) last[0]);
+        }
+        return new KeysetPage<>(entries(rows), next, size);
+    }
+
+    /**
+     * Summarize a person's transcript.
+     *
+     * @param personId person id
+     * @param latest number of most recent entries to include
+     * @return the summary, or null if there is no such person
+     * @throws BadRequestException if latest is negative
+     */
+    @Transactional(readOnly = true)
+    public TranscriptSummaryDto summary(UUID personId, int latest)
+            throws BadRequestException {
+        if (latest < 0) {
+            throw new BadRequestException("latest must not be negative");
+        }
+        if (!personExists(personId)) {
+            return null;
+        }
+        Map<String, Long> counts = new LinkedHashMap<>();
+        long total = 0;
+        for (Object[] row : rows(entityManager.createNativeQuery(
+                "select record_status, record_count from " + schema
+                        + ".learning_transcript_status"
+                        + " where person_id = :person order by record_status")
+                .setParameter("person", personId))) {
+            long count = ((Number) row[1]).longValue();
+            counts.put((String) row[0], count);
+            total += count;
+        }
+        List<TranscriptEntryDto> entries = List.of();
+        if (latest > 0) {
+            entries = entries(rows(entityManager.createNativeQuery(COLUMNS
+                    + " from " + schema + ".learning_transcript"
+                    + " where person_id = :person"
+                    + " order by sort_key desc, learning_record_id desc"
+                    + " limit :limit")
+                    .setParameter("person", personId)
+                    .setParameter("limit", Math.min(latest, MAX_LATEST))));
+        }
+        return new TranscriptSummaryDto(total, counts, entries);
+    }
+
+    private boolean personExists(UUID personId) {
+        return !entityManager.createQuery(
+                "select p.id from Person p where p.id = :id", UUID.class)
+                .setParameter("id", personId).getResultList().isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object[]> rows(Query query) {
+        return query.getResultList();
+    }
+
+    private static List<TranscriptEntryDto> entries(List<Object[]> rows) {
+        List<TranscriptEntryDto> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            String status = (String) row[3];
+            result.add(new TranscriptEntryDto((UUID) row[0], (UUID) row[1],
+                    (String) row[2],
+                    status == null || status.isEmpty() ? null
+                            : LearningStatus.valueOf(status),
+                    zoned(row[4]), zoned(row[5]), (String) row[6]));
+        }
+        return result;
+    }
+
+    /**
+     * A timestamptz column value, whichever type the driver returned.
+     */
+    private static ZonedDateTime zoned(Object value) {
+        if (value instanceof ZonedDateTime zoned) {
+            return zoned;
+        }
+        if (value instanceof OffsetDateTime offset) {
+            return offset.toZonedDateTime();
+        }
+        if (value instanceof Instant instant) {
+            return instant.atZone(ZoneOffset.UTC);
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant().atZone(ZoneOffset.UTC);
+        }
+        return null;
+    }
+
+    private static String encode(long sortKey, UUID recordId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ByteBuffer.allocate(CURSOR_BYTES).putLong(sortKey)
+                        .putLong(recordId.getMostSignificantBits())
+                        .putLong(recordId.getLeastSignificantBits())
+                        .array());
+    }
+
+    private static ByteBuffer decode(String cursor)
+            throws BadRequestException {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length == CURSOR_BYTES) {
+                return ByteBuffer.wrap(bytes);
+            }
+        } catch (IllegalArgumentException e) {
+            // reported below
+        }
+        throw new BadRequestException("Invalid cursor");
+    }
+}
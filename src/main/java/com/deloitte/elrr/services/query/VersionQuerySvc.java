@@ -0,0 +1,271 @@
+package com.deloitte.elrr.services.query;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.deloitte.elrr.entity.Entity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Computes strong entity tags from ids and {@code lastModified} timestamps
+ * without loading entities. A tag covers the entity itself and, when a
+ * {@link FetchPlan} is given, the associations its DTO embeds: the id and
+ * timestamp of each to-one association, including nested ones, and the id
+ * and timestamp of every element of each to-many association, in id
+ * order. Replacing, adding or removing any embedded record therefore
+ * alters the tag, whatever its timestamp.
+ */
+@Service
+public class VersionQuerySvc {
+
+    private static final String ID = "id";
+
+    private static final String LAST_MODIFIED = "lastModified";
+
+    private static final byte SEPARATOR = 0x1f;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${elrr.stream.fetch-size:500}")
+    private int fetchSize;
+
+    /**
+     * Tag a single entity.
+     *
+     * @param <T> entity type
+     * @param type entity class
+     * @param id entity id
+     * @return quoted entity tag, or null if there is no such entity
+     */
+    @Transactional(readOnly = true)
+    public <T extends Entity> String etag(Class<T> type, UUID id) {
+        return etag(type, id, null);
+    }
+
+    /**
+     * Tag a single entity and the associations of a fetch plan.
+     *
+     * @param <T> entity type
+     * @param type entity class
+     * @param id entity id
+     * @param plan associations embedded in the DTO, or null for none
+     * @return quoted entity tag, or null if there is no such entity
+     */
+    @Transactional(readOnly = true)
+    public <T extends Entity> String etag(Class<T> type, UUID id,
+            FetchPlan<T> plan) {
+        Tag tag = new Tag();
+        digest(type, (root, query, cb) -> cb.equal(root.get(ID), id), plan,
+                tag);
+        return tag.rows == 0 ? null : tag.value();
+    }
+
+    /**
+     * Tag the whole result of a filtered list.
+     *
+     * @param <T> entity type
+     * @param type entity class
+     * @param spec filter specification
+     * @param plan associations embedded in the DTO, or null for none
+     * @return quoted entity tag
+     */
+    @Transactional(readOnly = true)
+    public <T extends Entity> String listEtag(Class<T> type,
+            Specification<T> spec, FetchPlan<T> plan) {
+        Tag tag = new Tag();
+        digest(type, spec, plan, tag);
+        return tag.value();
+    }
+
+    /**
+     * Read the id and {@code lastModified} of every entity matching a
+     * filter, ordered by id.
+     *
+     * @param <T> entity type
+     * @param type entity class
+     * @param spec filter specification
+     * @return versions of the matching entities
+     */
+    @Transactional(readOnly = true)
+    public <T extends Entity> List<Version> versions(Class<T> type,
+            Specification<T> spec) {
+        return versions(type, spec, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Read the id and {@code lastModified} of at most {@code maxRows}
+     * entities matching a filter, ordered by id.
+     *
+     * @param <T> entity type
+     * @param type entity class
+     * @param spec filter specification
+     * @param maxRows largest number of versions to read
+     * @return versions of the first matching entities
+     */
+    @Transactional(readOnly = true)
+    public <T extends Entity> List<Version> versions(Class<T> type,
+            Specification<T> spec, int maxRows) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+        query.multiselect(root.get(ID), root.get(LAST_MODIFIED))
+                .where(where(spec, root, query, cb))
+                .orderBy(cb.asc(root.get(ID)));
+        List<Version> versions = new ArrayList<>();
+        try (Stream<Tuple> rows = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setMaxResults(maxRows)
+                .getResultStream()) {
+            rows.forEach(row -> versions.add(new Version(
+                    row.get(0, UUID.class),
+                    row.get(1, ZonedDateTime.class))));
+        }
+        return versions;
+    }
+
+    /**
+     * Tag a list of versions. The tag equals {@link #listEtag} without a
+     * fetch plan for the same rows, and {@link #etag(Class, UUID)} for a
+     * single row.
+     *
+     * @param versions versions, ordered by id
+     * @return quoted entity tag
+     */
+    public static String etag(List<Version> versions) {
+        Tag tag = new Tag();
+        for (Version version : versions) {
+            tag.add(String.valueOf(version.id()));
+            tag.add(String.valueOf(version.lastModified()));
+        }
+        return tag.value();
+    }
+
+    /**
+     * Id and last modification time of an entity.
+     *
+     * @param id entity id
+     * @param lastModified last modification time
+     */
+    public record Version(UUID id, ZonedDateTime lastModified) {
+    }
+
+    private <T extends Entity> void digest(Class<T> type,
+            Specification<T> spec, FetchPlan<T> plan, Tag tag) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+        List<Selection<?>> columns = new ArrayList<>();
+        columns.add(root.get(ID));
+        columns.add(root.get(LAST_MODIFIED));
+        if (plan != null) {
+            for (String association : plan.getSingular()) {
+                Join<T, ?> join = root.join(association, JoinType.LEFT);
+                columns.add(join.get(ID));
+                columns.add(join.get(LAST_MODIFIED));
+            }
+            for (String path : plan.getNested()) {
+                int dot = path.indexOf('.');
+                Join<?, ?> join = root.join(path.substring(0, dot),
+                        JoinType.LEFT).join(path.substring(dot + 1),
+                                JoinType.LEFT);
+                columns.add(join.get(ID));
+                columns.add(join.get(LAST_MODIFIED));
+            }
+        }
+        query.multiselect(columns)
+                .where(where(spec, root, query, cb))
+                .orderBy(cb.asc(root.get(ID)));
+        try (Stream<Tuple> rows = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream()) {
+            Iterator<Tuple> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                tag.add(iterator.next());
+                tag.rows++;
+            }
+        }
+        if (plan == null || tag.rows == 0) {
+            return;
+        }
+        for (String association : plan.getPlural()) {
+            CriteriaQuery<Tuple> elements = cb.createTupleQuery();
+            Root<T> owner = elements.from(type);
+            Join<T, ?> element = owner.join(association);
+            elements.multiselect(owner.get(ID), element.get(ID),
+                    element.get(LAST_MODIFIED))
+                    .where(where(spec, owner, elements, cb))
+                    .orderBy(cb.asc(owner.get(ID)), cb.asc(element.get(ID)));
+            tag.add(association);
+            try (Stream<Tuple> rows = entityManager.createQuery(elements)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                    .getResultStream()) {
+                rows.forEach(tag::add);
+            }
+        }
+    }
+
+    private static <T> Predicate[] where(Specification<T> spec, Root<T> root,
+            CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Predicate filter = spec.toPredicate(root, query, cb);
+        return filter == null ? new Predicate[0] : new Predicate[] {filter};
+    }
+
+    /**
+     * Running digest of the values that make up a tag.
+     */
+    private static final class Tag {
+
+        private final MessageDigest digest;
+
+        private long rows;
+
+        Tag() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void add(Tuple tuple) {
+            for (Object value : tuple.toArray()) {
+                add(String.valueOf(value));
+            }
+        }
+
+        void add(String value) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+            digest.update(SEPARATOR);
+        }
+
+        String value() {
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16)
+                    + "\"";
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Query building and paging for filtered list endpoints.
+ */
+package com.deloitte.elrr.services.query;
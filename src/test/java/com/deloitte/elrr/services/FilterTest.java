@@ -91,4 +91,43 @@ public class FilterTest {
         sf.doFilter(http, res, chain);
         assertFalse(res.isCommitted());
     }
+
+    @Test
+    void testNdjsonBodyPassedThrough() throws IOException, ServletException {
+        MockHttpServletRequest req = new MockHttpServletRequest("POST",
+                SanitizingFilter.BULK_PATH);
+        req.setContentType("application/x-ndjson");
+        req.setContent("{\"name\": \"a\"}\n{\"name\": \"b\"}\n".getBytes());
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        sf.doFilter(req, res, chain);
+        assertFalse(res.isCommitted());
+        assertEquals(req, chain.getRequest());
+    }
+
+    @Test
+    void testNdjsonIllegalParam() throws IOException, ServletException {
+        MockHttpServletRequest req = new MockHttpServletRequest("POST",
+                SanitizingFilter.BULK_PATH);
+        req.setContentType("application/x-ndjson");
+        req.addParameter(ANYTHING, "file./iofaje%00\0/0/00efwho");
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        sf.doFilter(req, res, chain);
+        assertEquals(res.getStatus(), 400);
+        assertTrue(res.isCommitted());
+    }
+
+    @Test
+    void testNdjsonElsewhereSanitized() throws IOException, ServletException {
+        MockHttpServletRequest req = new MockHttpServletRequest("POST",
+                "/api/person");
+        req.setContentType("application/x-ndjson");
+        req.setContent("{\"name\": \"a\0\"}\n".getBytes());
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        sf.doFilter(req, res, chain);
+        assertEquals(res.getStatus(), 400);
+        assertTrue(res.isCommitted());
+    }
 }
@@ -0,0 +1,79 @@
+package com.deloitte.elrr.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jakarta.servlet.ServletException;
+
+class JSONRequestSizeLimitFilterTest {
+
+    private final JSONRequestSizeLimitFilter filter =
+            new JSONRequestSizeLimitFilter();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filter, "maxSizeLimit", 10L);
+        ReflectionTestUtils.setField(filter, "maxBulkSizeLimit", 100L);
+        ReflectionTestUtils.setField(filter, "checkMediaTypeJson", false);
+    }
+
+    @Test
+    void acceptsBulkUploadUnderLimit() throws IOException, ServletException {
+        MockHttpServletRequest req = bulk();
+        req.setContent("{\"name\": \"a\"}\n".getBytes());
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(req, new MockHttpServletResponse(), chain);
+        assertEquals(req, chain.getRequest());
+    }
+
+    @Test
+    void refusesBulkUploadWithoutLength()
+            throws IOException, ServletException {
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(bulk(), res, chain);
+        assertEquals(411, res.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void refusesBulkUploadOverLimit() throws IOException, ServletException {
+        MockHttpServletRequest req = bulk();
+        req.setContent(new byte[100]);
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(req, res, chain);
+        assertEquals(400, res.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void appliesJsonLimitToNdjsonElsewhere()
+            throws IOException, ServletException {
+        MockHttpServletRequest req = new MockHttpServletRequest("POST",
+                "/api/person");
+        req.setContentType("application/x-ndjson");
+        req.setContent("{\"name\": \"a\"}\n".getBytes());
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(req, res, chain);
+        assertEquals(400, res.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    private static MockHttpServletRequest bulk() {
+        MockHttpServletRequest req = new MockHttpServletRequest("POST",
+                SanitizingFilter.BULK_PATH);
+        req.setContentType("application/x-ndjson");
+        return req;
+    }
+}
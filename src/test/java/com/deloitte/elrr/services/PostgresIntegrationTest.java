@@ -0,0 +1,36 @@
+package com.deloitte.elrr.services;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs a test against the whole application and a PostgreSQL container
+ * whose schema Hibernate creates from the entities. Needs Docker; the
+ * test is skipped where Docker is not available. Hibernate statistics are
+ * on so tests can count statements, flushes and transactions.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "elrr.warmup.enabled=false",
+    "cors.urls=http://localhost",
+    "lrr.dataservicesurl=http://localhost",
+    "client.jwt.secret=postgresintegrationtestsecretpostgresintegrationtest"
+})
+@AutoConfigureMockMvc
+@Import(PostgresTestConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+public @interface PostgresIntegrationTest {
+}
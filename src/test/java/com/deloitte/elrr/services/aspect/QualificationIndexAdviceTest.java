@@ -0,0 +1,107 @@
+package com.deloitte.elrr.services.aspect;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.aspectj.lang.JoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.deloitte.elrr.entity.Competency;
+import com.deloitte.elrr.entity.Organization;
+import com.deloitte.elrr.entity.Person;
+import com.deloitte.elrr.entity.PersonalCompetency;
+import com.deloitte.elrr.jpa.svc.PersonSvc;
+import com.deloitte.elrr.jpa.svc.PersonalCompetencySvc;
+import com.deloitte.elrr.services.cache.QualificationIndex;
+
+@ExtendWith(MockitoExtension.class)
+class QualificationIndexAdviceTest {
+
+    @InjectMocks
+    private QualificationIndexAdvice qualificationIndexAdvice;
+
+    @Mock
+    private QualificationIndex qualificationIndex;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void indexesSavedPersonalCompetencyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        PersonalCompetency pc = personalCompetency();
+
+        qualificationIndexAdvice.afterSaveAll(List.of(pc));
+
+        verify(qualificationIndex, never()).link(pc.getId(),
+                pc.getPerson().getId(), pc.getCompetency().getId());
+        for (TransactionSynchronization synchronization
+                : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        verify(qualificationIndex).link(pc.getId(), pc.getPerson().getId(),
+                pc.getCompetency().getId());
+    }
+
+    @Test
+    void unlinksDeletedPersonalCompetency() {
+        UUID id = UUID.randomUUID();
+        JoinPoint jp = mock(JoinPoint.class);
+        when(jp.getArgs()).thenReturn(new Object[] {id});
+        when(jp.getTarget()).thenReturn(mock(PersonalCompetencySvc.class));
+
+        qualificationIndexAdvice.afterDelete(jp);
+
+        verify(qualificationIndex).unlink(id);
+    }
+
+    @Test
+    void removesDeletedPerson() {
+        UUID id = UUID.randomUUID();
+        JoinPoint jp = mock(JoinPoint.class);
+        when(jp.getArgs()).thenReturn(new Object[] {id});
+        when(jp.getTarget()).thenReturn(mock(PersonSvc.class));
+
+        qualificationIndexAdvice.afterDelete(jp);
+
+        verify(qualificationIndex).removePerson(id);
+    }
+
+    @Test
+    void ignoresOtherEntities() {
+        Organization organization = new Organization();
+        organization.setId(UUID.randomUUID());
+
+        qualificationIndexAdvice.afterSave(organization);
+
+        verifyNoInteractions(qualificationIndex);
+    }
+
+    private static PersonalCompetency personalCompetency() {
+        Person person = new Person();
+        person.setId(UUID.randomUUID());
+        Competency competency = new Competency();
+        competency.setId(UUID.randomUUID());
+        PersonalCompetency pc = new PersonalCompetency(person, competency,
+                true);
+        pc.setId(UUID.randomUUID());
+        return pc;
+    }
+}
@@ -0,0 +1,116 @@
+package com.deloitte.elrr.services.aspect;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.aspectj.lang.JoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.deloitte.elrr.entity.Competency;
+import com.deloitte.elrr.entity.Organization;
+import com.deloitte.elrr.entity.Person;
+import com.deloitte.elrr.jpa.svc.CompetencySvc;
+import com.deloitte.elrr.jpa.svc.PersonSvc;
+import com.deloitte.elrr.services.cache.ListResultCache;
+import com.deloitte.elrr.services.cache.ReferenceCache;
+import com.deloitte.elrr.services.cache.ResponseCache;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceCacheAdviceTest {
+
+    @InjectMocks
+    private ReferenceCacheAdvice referenceCacheAdvice;
+
+    @Mock
+    private ReferenceCache referenceCache;
+
+    @Mock
+    private ResponseCache responseCache;
+
+    @Mock
+    private ListResultCache listResultCache;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evictsSavedReferenceEntity() {
+        Competency competency = new Competency();
+        competency.setId(UUID.randomUUID());
+
+        referenceCacheAdvice.afterSave(competency);
+
+        verify(referenceCache).evict(Competency.class, competency.getId());
+        verify(responseCache).evict(Competency.class, competency.getId());
+    }
+
+    @Test
+    void ignoresEntitiesThatAreNotCached() {
+        Person person = new Person();
+        person.setId(UUID.randomUUID());
+
+        referenceCacheAdvice.afterSaveAll(List.of(person));
+
+        verify(referenceCache, never()).evict(any(), any());
+        verify(listResultCache).invalidate("Person");
+    }
+
+    @Test
+    void evictsDeletedEntityByServiceType() {
+        UUID id = UUID.randomUUID();
+        JoinPoint jp = mock(JoinPoint.class);
+        when(jp.getArgs()).thenReturn(new Object[] {id});
+        when(jp.getTarget()).thenReturn(mock(CompetencySvc.class));
+
+        referenceCacheAdvice.afterDelete(jp);
+
+        verify(referenceCache).evict(Competency.class, id);
+    }
+
+    @Test
+    void ignoresDeletesOfEntitiesThatAreNotCached() {
+        JoinPoint jp = mock(JoinPoint.class);
+        when(jp.getArgs()).thenReturn(new Object[] {UUID.randomUUID()});
+        when(jp.getTarget()).thenReturn(mock(PersonSvc.class));
+
+        referenceCacheAdvice.afterDelete(jp);
+
+        verify(referenceCache, never()).evict(any(), any());
+        verify(listResultCache).invalidate("Person");
+    }
+
+    @Test
+    void waitsForCommitInsideTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        Organization organization = new Organization();
+        organization.setId(UUID.randomUUID());
+
+        referenceCacheAdvice.afterSave(organization);
+
+        verify(referenceCache, never()).evict(any(), any());
+        verify(listResultCache, never()).invalidate(any());
+        for (TransactionSynchronization synchronization
+                : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        verify(referenceCache).evict(Organization.class,
+                organization.getId());
+    }
+}
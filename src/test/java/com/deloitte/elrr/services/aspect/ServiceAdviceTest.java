@@ -3,6 +3,7 @@ package com.deloitte.elrr.services.aspect;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -23,9 +24,12 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.quality.Strictness;
 import org.mockito.junit.jupiter.MockitoSettings;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import com.deloitte.elrr.entity.AuditLog;
 import com.deloitte.elrr.entity.Auditable;
@@ -47,6 +51,9 @@ class ServiceAdviceTest {
     @Mock
     private AuditLogSvc auditLogSvc;
 
+    @Mock
+    private UnitOfWorkContext unitOfWorkContext;
+
     private MockedStatic<SecurityContextHolder> securityContextHolderMock;
     
     @Mock
@@ -112,6 +119,30 @@ class ServiceAdviceTest {
         verify(proceedingJoinPoint, times(1)).proceed();
     }
 
+    @Test
+    void aroundSave_ShouldSkipUnchangedEntityInUnitOfWork() throws Throwable {
+        // Arrange
+        TestAuditableEntity inputEntity = new TestAuditableEntity();
+        inputEntity.setId(UUID.randomUUID());
+
+        when(proceedingJoinPoint.getArgs()).thenReturn(new Object[]{inputEntity});
+        when(unitOfWorkContext.isUnchanged(inputEntity)).thenReturn(true);
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        try {
+            // Act
+            Entity result = serviceAdvice.aroundSave(proceedingJoinPoint);
+
+            // Assert
+            assertEquals(inputEntity, result);
+            verify(proceedingJoinPoint, never()).proceed();
+            verify(auditLogSvc, never()).save(Mockito.any(AuditLog.class));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
     @Test
     void aroundSaveAll_ShouldLogAllEntities() throws Throwable {
         // Setup authentication for logging
@@ -144,6 +175,25 @@ class ServiceAdviceTest {
         verify(proceedingJoinPoint, times(1)).proceed();
     }
 
+    @Test
+    void aroundSaveAll_ShouldWriteAuditLogsInOneCall() throws Throwable {
+        // Arrange
+        TestEntity outputEntity1 = new TestEntity();
+        outputEntity1.setId(UUID.randomUUID());
+        TestEntity outputEntity2 = new TestEntity();
+        outputEntity2.setId(UUID.randomUUID());
+        Collection<Entity> outputEntities = List.of(outputEntity1, outputEntity2);
+
+        when(proceedingJoinPoint.proceed()).thenReturn(outputEntities);
+
+        // Act
+        serviceAdvice.aroundSaveAll(proceedingJoinPoint);
+
+        // Assert
+        verify(auditLogSvc, times(1)).saveAll(Mockito.anyList());
+        verify(auditLogSvc, never()).save(Mockito.any(AuditLog.class));
+    }
+
     @Test
     void aroundSaveAll_ShouldHandleExceptionInLogging() throws Throwable {
         // Setup authentication for logging (even though it may fail)
@@ -0,0 +1,99 @@
+package com.deloitte.elrr.services.aspect;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deloitte.elrr.entity.Competency;
+import com.deloitte.elrr.entity.Person;
+import com.deloitte.elrr.entity.types.ActionType;
+import com.deloitte.elrr.jpa.svc.ClientTokenSvc;
+import com.deloitte.elrr.services.PostgresIntegrationTest;
+import com.deloitte.elrr.services.dto.PermissionDto;
+import com.deloitte.elrr.services.security.JwtUtil;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Checks that a {@link UnitOfWork} endpoint runs its service calls in one
+ * transaction and writes them in one flush.
+ */
+@PostgresIntegrationTest
+class UnitOfWorkIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private ClientTokenSvc clientTokenSvc;
+
+    @BeforeEach
+    void setUp() {
+        when(clientTokenSvc.existsByJwtId(any())).thenReturn(true);
+    }
+
+    @Test
+    void associateCompetencyIsOneTransactionAndOneFlush() throws Exception {
+        Person person = new Person();
+        person.setName("unit-of-work-" + UUID.randomUUID());
+        Competency competency = new Competency();
+        competency.setIdentifier("unit-of-work");
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> {
+                    entityManager.persist(person);
+                    entityManager.persist(competency);
+                });
+        Statistics statistics = entityManagerFactory
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(post("/api/person/" + person.getId()
+                + "/competency/" + competency.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"hasRecord\":true}")
+                .header("X-Forwarded-Proto", "https")
+                .header("Authorization", "Bearer " + jwtUtil.createToken(
+                        UUID.randomUUID(), List.of(new PermissionDto(
+                                "person/competency", null,
+                                List.of(ActionType.ASSOCIATE))))))
+                .andExpect(status().isOk());
+
+        assertEquals(1, statistics.getSuccessfulTransactionCount(),
+                "the endpoint must run in one transaction");
+        assertEquals(1, statistics.getFlushCount(),
+                "the endpoint's writes must go out in one flush");
+        assertEquals(1L, entityManager.createQuery("select count(pc)"
+                + " from PersonalCompetency pc where pc.person.id = :id",
+                Long.class).setParameter("id", person.getId())
+                .getSingleResult());
+    }
+}
@@ -0,0 +1,112 @@
+package com.deloitte.elrr.services.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.deloitte.elrr.entity.Goal;
+import com.deloitte.elrr.entity.Person;
+import com.deloitte.elrr.services.dto.CacheRegionStatsDto;
+import com.deloitte.elrr.services.exception.BadRequestException;
+import com.deloitte.elrr.services.security.AdminJwtAuthenticationToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ListResultCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void sharesResultForEquivalentFilters() throws Exception {
+        ListResultCache cache = cache(true);
+
+        ListResultCache.Entry<String> first = cache.get(Person.class,
+                new Filter(new String[] {"b", "a", "b"}, null), this::load);
+        ListResultCache.Entry<String> second = cache.get(Person.class,
+                new Filter(new String[] {"a", "b"}, null), this::load);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        CacheRegionStatsDto stats = cache.statistics().get(0);
+        assertEquals("Person", stats.getEntity());
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    void separatesFiltersAndScopes() throws Exception {
+        ListResultCache cache = cache(true);
+
+        cache.get(Person.class, new Filter(null, "x"), this::load);
+        cache.get(Person.class, new Filter(null, "y"), this::load);
+        SecurityContextHolder.getContext().setAuthentication(
+                new AdminJwtAuthenticationToken(List.of(), null, null));
+        cache.get(Person.class, new Filter(null, "x"), this::load);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void dropsListsThatReadWrittenType() throws Exception {
+        ListResultCache cache = cache(true);
+        cache.get(Person.class, new Filter(null, "x"), this::load);
+        cache.get(Goal.class, new Filter(null, "x"), this::load);
+
+        cache.invalidate("Email");
+        cache.get(Person.class, new Filter(null, "x"), this::load);
+        cache.get(Goal.class, new Filter(null, "x"), this::load);
+
+        assertEquals(3, loads.get());
+        assertEquals(1, cache.statistics().get(0).getInvalidations());
+    }
+
+    @Test
+    void keepsNoResultLoadedDuringWrite() throws Exception {
+        ListResultCache cache = cache(true);
+
+        cache.get(Goal.class, null, () -> {
+            cache.invalidate("Goal");
+            return load();
+        });
+        cache.get(Goal.class, null, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void loadsEveryTimeWhenDisabled() throws Exception {
+        ListResultCache cache = cache(false);
+
+        cache.get(Goal.class, null, this::load);
+        cache.get(Goal.class, null, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    private ListResultCache.Entry<String> load() throws BadRequestException {
+        loads.incrementAndGet();
+        return new ListResultCache.Entry<>("\"etag\"", List.of("item"));
+    }
+
+    private static ListResultCache cache(boolean enabled) {
+        ListResultCache cache = new ListResultCache(enabled, 60, 100);
+        ReflectionTestUtils.setField(cache, "objectMapper",
+                new ObjectMapper());
+        return cache;
+    }
+
+    record Filter(String[] id, String name) {
+    }
+}
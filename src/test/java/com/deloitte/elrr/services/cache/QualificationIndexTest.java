@@ -0,0 +1,108 @@
+package com.deloitte.elrr.services.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.deloitte.elrr.services.dto.PersonMatchDto;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+class QualificationIndexTest {
+
+    private static final UUID JAVA = UUID.randomUUID();
+
+    private static final UUID SQL = UUID.randomUUID();
+
+    private static final UUID PMP = UUID.randomUUID();
+
+    private static final UUID ALICE = UUID.randomUUID();
+
+    private static final UUID BOB = UUID.randomUUID();
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+
+    private QualificationIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        TypedQuery<Object[]> query = mock(TypedQuery.class);
+        when(query.getResultStream()).thenAnswer(i -> Stream.empty());
+        when(query.getResultList()).thenReturn(List.of());
+        when(entityManager.createQuery(anyString(), eq(Object[].class)))
+                .thenReturn(query);
+        index = new QualificationIndex(300);
+        ReflectionTestUtils.setField(index, "entityManager", entityManager);
+        // load the empty index, then record the holdings as writes
+        index.match(List.of(JAVA), 1, 10);
+        index.link(UUID.randomUUID(), ALICE, JAVA);
+        index.link(UUID.randomUUID(), ALICE, SQL);
+        index.link(UUID.randomUUID(), BOB, JAVA);
+        index.link(UUID.randomUUID(), BOB, PMP);
+    }
+
+    @Test
+    void matchesAllAnyAndMinCount() {
+        List<UUID> wanted = List.of(JAVA, SQL, PMP);
+
+        assertTrue(index.match(wanted, 3, 10).isEmpty());
+        assertEquals(2, index.match(wanted, 1, 10).size());
+        assertEquals(ALICE, index.match(List.of(JAVA, SQL), 2, 10)
+                .get(0).getPersonId());
+        verify(entityManager, times(4)).createQuery(anyString(),
+                eq(Object[].class));
+    }
+
+    @Test
+    void ranksExpiredQualificationsLower() {
+        index.validity(PMP, ZonedDateTime.now().minusDays(1));
+
+        List<PersonMatchDto> result = index.match(List.of(JAVA, SQL, PMP),
+                2, 10);
+
+        assertEquals(List.of(ALICE, BOB), result.stream()
+                .map(PersonMatchDto::getPersonId).toList());
+        assertEquals(2.0 / 3, result.get(0).getScore(), 1e-9);
+        assertEquals(1.5 / 3, result.get(1).getScore(), 1e-9);
+    }
+
+    @Test
+    void forgetsUnlinkedAndRemoved() {
+        UUID link = UUID.randomUUID();
+        UUID carol = UUID.randomUUID();
+        index.link(link, carol, SQL);
+        index.unlink(link);
+        index.removePerson(BOB);
+
+        List<PersonMatchDto> result = index.match(List.of(JAVA, SQL), 1,
+                10);
+
+        assertEquals(List.of(ALICE), result.stream()
+                .map(PersonMatchDto::getPersonId).toList());
+    }
+
+    @Test
+    void keepsBestUpToLimit() {
+        List<PersonMatchDto> result = index.match(List.of(JAVA, SQL), 1, 1);
+
+        assertEquals(1, result.size());
+        assertEquals(ALICE, result.get(0).getPersonId());
+        assertEquals(2, result.get(0).getMatched());
+    }
+}
@@ -0,0 +1,237 @@
+package com.deloitte.elrr.services.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.deloitte.elrr.entity.Competency;
+import com.deloitte.elrr.services.exception.BadRequestException;
+import com.deloitte.elrr.services.query.FilterQuerySvc;
+import com.deloitte.elrr.services.query.VersionQuerySvc;
+import com.deloitte.elrr.services.query.VersionQuerySvc.Version;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ResponseCacheTest {
+
+    private static final ZonedDateTime MODIFIED = ZonedDateTime.parse(
+            "2025-01-01T00:00:00Z");
+
+    @Mock
+    private VersionQuerySvc versionQuerySvc;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TypedQuery<Competency> query;
+
+    private ResponseCache responseCache;
+
+    private final Competency first = competency();
+
+    private final Competency second = competency();
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new ResponseCache(1 << 20);
+        ReflectionTestUtils.setField(responseCache, "versionQuerySvc",
+                versionQuerySvc);
+        ReflectionTestUtils.setField(responseCache, "objectMapper",
+                new ObjectMapper());
+        FilterQuerySvc filterQuerySvc = new FilterQuerySvc();
+        ReflectionTestUtils.setField(filterQuerySvc, "maxResults", 2);
+        ReflectionTestUtils.setField(filterQuerySvc, "enforceMaxResults",
+                true);
+        ReflectionTestUtils.setField(responseCache, "filterQuerySvc",
+                filterQuerySvc);
+        ReflectionTestUtils.setField(responseCache, "entityManager",
+                entityManager);
+        when(entityManager.createQuery(anyString(), eq(Competency.class)))
+                .thenReturn(query);
+        when(query.setParameter(eq("ids"), any())).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of(second, first));
+    }
+
+    @Test
+    void servesSecondReadFromCache() throws Exception {
+        versions(MODIFIED, first);
+
+        ResponseCache.Json json = responseCache.readOne(request(),
+                Competency.class, first.getId(), ResponseCacheTest::dto);
+        ResponseCache.Json again = responseCache.readOne(request(),
+                Competency.class, first.getId(), ResponseCacheTest::dto);
+
+        verify(query, times(1)).getResultList();
+        assertEquals(json(first), new String(again.body(), UTF_8));
+        assertEquals(json.etag(), again.etag());
+        assertEquals(1, responseCache.statistics().getHits());
+    }
+
+    @Test
+    void reloadsWhenVersionChanges() throws Exception {
+        versions(MODIFIED, first);
+        responseCache.readOne(request(), Competency.class, first.getId(),
+                ResponseCacheTest::dto);
+        versions(MODIFIED.plusSeconds(1), first);
+
+        responseCache.readOne(request(), Competency.class, first.getId(),
+                ResponseCacheTest::dto);
+
+        verify(query, times(2)).getResultList();
+        assertEquals(0, responseCache.statistics().getHits());
+    }
+
+    @Test
+    void readsListInVersionOrderAndCachesEachEntry() throws Exception {
+        versions(MODIFIED, first, second);
+
+        ResponseCache.Json json = responseCache.readAll(request(),
+                Competency.class, null, ResponseCacheTest::dto);
+        versions(MODIFIED, second);
+        responseCache.readOne(request(), Competency.class, second.getId(),
+                ResponseCacheTest::dto);
+
+        assertEquals("[" + json(first) + "," + json(second) + "]",
+                new String(json.body(), UTF_8));
+        verify(query, times(1)).getResultList();
+    }
+
+    @Test
+    void readsEmptyList() throws Exception {
+        versions(MODIFIED);
+
+        ResponseCache.Json json = responseCache.readAll(request(),
+                Competency.class, null, ResponseCacheTest::dto);
+
+        assertEquals("[]", new String(json.body(), UTF_8));
+    }
+
+    @Test
+    void rejectsListLargerThanBound() throws Exception {
+        versions(MODIFIED, first, second, competency());
+
+        assertThrows(BadRequestException.class, () -> responseCache.readAll(
+                request(), Competency.class, null, ResponseCacheTest::dto));
+        verify(query, never()).getResultList();
+    }
+
+    @Test
+    void readsWholeListWhenBoundIsNotEnforced() throws Exception {
+        Competency third = competency();
+        versions(MODIFIED, first, second, third);
+        when(query.getResultList()).thenReturn(List.of(third, second, first));
+        ReflectionTestUtils.setField(ReflectionTestUtils.getField(
+                responseCache, "filterQuerySvc"), "enforceMaxResults", false);
+
+        ResponseCache.Json json = responseCache.readAll(request(),
+                Competency.class, null, ResponseCacheTest::dto);
+
+        assertEquals("[" + json(first) + "," + json(second) + ","
+                + json(third) + "]", new String(json.body(), UTF_8));
+    }
+
+    @Test
+    void leavesBodyOutWhenNotModified() throws Exception {
+        versions(MODIFIED, first);
+        ResponseCache.Json json = responseCache.readOne(request(),
+                Competency.class, first.getId(), ResponseCacheTest::dto);
+
+        MockHttpServletRequest conditional = new MockHttpServletRequest("GET",
+                "/api/competency");
+        conditional.addHeader("If-None-Match", "W/" + json.etag());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResponseCache.Json notModified = responseCache.readOne(
+                new ServletWebRequest(conditional, response),
+                Competency.class, first.getId(), ResponseCacheTest::dto);
+
+        assertTrue(notModified.notModified());
+        assertEquals(json.etag(), notModified.etag());
+        assertEquals(200, response.getStatus());
+        verify(query, times(1)).getResultList();
+    }
+
+    @Test
+    void reportsMissingEntity() throws Exception {
+        when(versionQuerySvc.versions(eq(Competency.class), any()))
+                .thenReturn(List.of());
+
+        assertNull(responseCache.readOne(request(), Competency.class,
+                UUID.randomUUID(), ResponseCacheTest::dto));
+        verify(query, never()).getResultList();
+    }
+
+    @Test
+    void evictionDropsEntry() throws Exception {
+        versions(MODIFIED, first);
+        responseCache.readOne(request(), Competency.class, first.getId(),
+                ResponseCacheTest::dto);
+
+        responseCache.evict(Competency.class, first.getId());
+        responseCache.readOne(request(), Competency.class, first.getId(),
+                ResponseCacheTest::dto);
+
+        verify(query, times(2)).getResultList();
+    }
+
+    private void versions(ZonedDateTime modified, Competency... entities) {
+        List<Version> versions = Arrays.stream(entities)
+                .map(c -> new Version(c.getId(), modified))
+                .toList();
+        when(versionQuerySvc.versions(eq(Competency.class), any()))
+                .thenReturn(versions);
+        when(versionQuerySvc.versions(eq(Competency.class), any(), anyInt()))
+                .thenReturn(versions);
+    }
+
+    private static ServletWebRequest request() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET",
+                "/api/competency"), new MockHttpServletResponse());
+    }
+
+    private static Map<String, String> dto(Competency competency) {
+        return Map.of("id", competency.getId().toString());
+    }
+
+    private static String json(Competency competency) {
+        return "{\"id\":\"" + competency.getId() + "\"}";
+    }
+
+    private static Competency competency() {
+        Competency competency = new Competency();
+        competency.setId(UUID.randomUUID());
+        return competency;
+    }
+}
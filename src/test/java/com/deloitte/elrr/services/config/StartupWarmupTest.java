@@ -0,0 +1,85 @@
+package com.deloitte.elrr.services.config;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.deloitte.elrr.services.dto.GoalDto;
+import com.deloitte.elrr.services.dto.PersonDto;
+import com.deloitte.elrr.services.mapper.DtoMapper;
+import com.deloitte.elrr.services.security.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.Validator;
+
+@ExtendWith(MockitoExtension.class)
+class StartupWarmupTest {
+
+    private static final int ITERATIONS = 3;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    @Mock
+    private DtoMapper dtoMapper;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @InjectMocks
+    private StartupWarmup startupWarmup;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(startupWarmup, "enabled", true);
+        ReflectionTestUtils.setField(startupWarmup, "iterations", ITERATIONS);
+    }
+
+    @Test
+    void warmsEveryPathAndHoldsReadiness() throws Exception {
+        when(jwtUtil.createToken(any(), any())).thenReturn("token");
+
+        startupWarmup.run(null);
+
+        verify(publisher).publishEvent(argThat((ApplicationEvent event) ->
+                event instanceof AvailabilityChangeEvent<?> change
+                        && change.getState()
+                                == ReadinessState.REFUSING_TRAFFIC));
+        verify(dtoMapper, times(ITERATIONS)).toEntity(any(PersonDto.class));
+        verify(dtoMapper, times(ITERATIONS)).toEntity(any(GoalDto.class));
+        verify(validator).getConstraintsForClass(PersonDto.class);
+        verify(jwtUtil, times(ITERATIONS)).verify(anyString());
+    }
+
+    @Test
+    void disabledDoesNothing() {
+        ReflectionTestUtils.setField(startupWarmup, "enabled", false);
+
+        startupWarmup.run(null);
+
+        verifyNoInteractions(publisher, dtoMapper, validator, objectMapper,
+                jwtUtil);
+    }
+}
@@ -0,0 +1,94 @@
+package com.deloitte.elrr.services.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.Callable;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+class StreamLimiterTest {
+
+    private static final Callable<Object> TASK = () -> null;
+
+    private final StreamLimiter limiter = new StreamLimiter(1, 5000);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void leavesUnmarkedRequestsAlone() throws Exception {
+        TimedRequest request = request(false);
+
+        limiter.beforeConcurrentHandling(request, TASK);
+
+        assertEquals(1, limiter.available());
+        assertNull(request.timeout);
+    }
+
+    @Test
+    void setsTimeoutAndHoldsPermitUntilCompletion() throws Exception {
+        TimedRequest request = request(true);
+
+        limiter.beforeConcurrentHandling(request, TASK);
+
+        assertEquals(5000L, request.timeout);
+        assertEquals(0, limiter.available());
+        limiter.afterCompletion(request, TASK);
+        limiter.afterCompletion(request, TASK);
+        assertEquals(1, limiter.available());
+    }
+
+    @Test
+    void refusesExportOverLimit() throws Exception {
+        limiter.beforeConcurrentHandling(request(true), TASK);
+
+        ResponseStatusException refused = assertThrows(
+                ResponseStatusException.class,
+                () -> limiter.beforeConcurrentHandling(request(true), TASK));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, refused.getStatusCode());
+        assertEquals(0, limiter.available());
+    }
+
+    private static TimedRequest request(boolean export) {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+        servletRequest.setAsyncSupported(true);
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(servletRequest));
+        if (export) {
+            StreamLimiter.mark();
+        }
+        return new TimedRequest(servletRequest);
+    }
+
+    /**
+     * Async request that remembers the timeout it was given.
+     */
+    private static final class TimedRequest
+            extends StandardServletAsyncWebRequest {
+
+        private Long timeout;
+
+        TimedRequest(MockHttpServletRequest request) {
+            super(request, new MockHttpServletResponse());
+        }
+
+        @Override
+        public void setTimeout(Long value) {
+            super.setTimeout(value);
+            timeout = value;
+        }
+    }
+}
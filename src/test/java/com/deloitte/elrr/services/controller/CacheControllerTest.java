@@ -0,0 +1,101 @@
+package com.deloitte.elrr.services.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.deloitte.elrr.services.TestAppConfig;
+import com.deloitte.elrr.services.dto.CacheRegionStatsDto;
+import com.deloitte.elrr.services.security.JwtUtil;
+import com.deloitte.elrr.services.security.MethodSecurityConfig;
+import com.deloitte.elrr.services.security.SecurityConfig;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+@WebMvcTest(CacheController.class)
+@ContextConfiguration
+@AutoConfigureMockMvc(addFilters = true)
+@Import({TestAppConfig.class, SecurityConfig.class, MethodSecurityConfig.class})
+public class CacheControllerTest extends CommonControllerTest {
+
+    private static final String CACHE_API = "/admin/cache";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private HttpHeaders headers;
+
+    @BeforeEach
+    void addHeaders() {
+        headers = new HttpHeaders();
+        headers.set("X-Forwarded-Proto", "https");
+        headers.set("Authorization",
+                "Bearer " + jwtUtil.createAdminToken("external-secret"));
+    }
+
+    @Test
+    void getCacheStatisticsTest() throws Exception {
+        when(getReferenceCache().statistics()).thenReturn(List.of(
+                new CacheRegionStatsDto("elrr.competency", "Competency",
+                        9, 1, 1, 1)));
+        when(getResponseCache().statistics()).thenReturn(
+                new CacheRegionStatsDto("elrr.response", "*", 4, 2, 2, 2));
+        CacheRegionStatsDto listStats = new CacheRegionStatsDto("elrr.list",
+                "Person", 5, 1, 1, 1);
+        listStats.setMeanHitAgeMillis(1200L);
+        when(getListResultCache().statistics()).thenReturn(
+                List.of(listStats));
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders
+                .get(CACHE_API).headers(headers)).andReturn();
+
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        List<CacheRegionStatsDto> result = resultsAsObject(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<List<CacheRegionStatsDto>>() {
+                });
+        assertEquals("Competency", result.get(0).getEntity());
+        assertEquals(9, result.get(0).getHits());
+        assertEquals("elrr.response", result.get(1).getRegion());
+        assertEquals(1200L, result.get(2).getMeanHitAgeMillis());
+    }
+
+    @Test
+    void evictCacheTest() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders
+                .delete(CACHE_API).headers(headers)).andReturn();
+
+        assertEquals(204, mvcResult.getResponse().getStatus());
+        verify(getReferenceCache()).evictAll();
+        verify(getResponseCache()).evictAll();
+        verify(getListResultCache()).evictAll();
+        verify(getQualificationIndex()).evictAll();
+    }
+
+    @Test
+    void evictCacheRequiresAdminTest() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders
+                .delete(CACHE_API)
+                .header("X-Forwarded-Proto", "https")).andReturn();
+
+        assertEquals(403, mvcResult.getResponse().getStatus());
+        verify(getReferenceCache(), never()).evictAll();
+    }
+}
@@ -7,6 +7,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 import java.util.ArrayList;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.BeforeEach;
 
@@ -32,8 +33,28 @@ import com.deloitte.elrr.jpa.svc.PersonalCredentialSvc;
 import com.deloitte.elrr.jpa.svc.PhoneSvc;
 import com.deloitte.elrr.jpa.svc.ClientTokenSvc;
 import com.deloitte.elrr.repository.OrganizationRepository;
+import com.deloitte.elrr.services.cache.ListResultCache;
+import com.deloitte.elrr.services.cache.QualificationIndex;
+import com.deloitte.elrr.services.cache.ReferenceCache;
+import com.deloitte.elrr.services.cache.ResponseCache;
+import com.deloitte.elrr.services.query.FilterQuerySvc;
+import com.deloitte.elrr.services.query.GoalProgressSvc;
+import com.deloitte.elrr.services.query.NdjsonStreamer;
+import com.deloitte.elrr.services.query.OrganizationGapSvc;
+import com.deloitte.elrr.services.query.PersonLinkQuerySvc;
+import com.deloitte.elrr.services.query.PersonMatchSvc;
+import com.deloitte.elrr.services.query.PersonProfileQuerySvc;
+import com.deloitte.elrr.services.query.PersonSearchSvc;
+import com.deloitte.elrr.services.query.ProjectionQuerySvc;
+import com.deloitte.elrr.services.query.ReferenceResolver;
+import com.deloitte.elrr.services.query.TranscriptQuerySvc;
+import com.deloitte.elrr.services.query.VersionQuerySvc;
+import com.deloitte.elrr.services.ingest.BulkIngester;
+import com.deloitte.elrr.services.ingest.LearningRecordBatchSvc;
 import com.deloitte.elrr.services.security.JwtUtil;
 import com.deloitte.elrr.services.dto.PermissionDto;
+import com.deloitte.elrr.services.exception.BadRequestException;
+import com.deloitte.elrr.entity.Entity;
 import com.deloitte.elrr.entity.types.ActionType;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.exc.StreamReadException;
@@ -109,6 +130,60 @@ class CommonControllerTest {
     @MockitoBean
     private OrganizationRepository organizationRepository;
 
+    @MockitoBean
+    private FilterQuerySvc filterQuerySvc;
+
+    @MockitoBean
+    private NdjsonStreamer ndjsonStreamer;
+
+    @MockitoBean
+    private ProjectionQuerySvc projectionQuerySvc;
+
+    @MockitoBean
+    private VersionQuerySvc versionQuerySvc;
+
+    @MockitoBean
+    private ReferenceResolver referenceResolver;
+
+    @MockitoBean
+    private PersonLinkQuerySvc personLinkQuerySvc;
+
+    @MockitoBean
+    private PersonSearchSvc personSearchSvc;
+
+    @MockitoBean
+    private PersonProfileQuerySvc personProfileQuerySvc;
+
+    @MockitoBean
+    private TranscriptQuerySvc transcriptQuerySvc;
+
+    @MockitoBean
+    private GoalProgressSvc goalProgressSvc;
+
+    @MockitoBean
+    private OrganizationGapSvc organizationGapSvc;
+
+    @MockitoBean
+    private PersonMatchSvc personMatchSvc;
+
+    @MockitoBean
+    private QualificationIndex qualificationIndex;
+
+    @MockitoBean
+    private ReferenceCache referenceCache;
+
+    @MockitoBean
+    private ResponseCache responseCache;
+
+    @MockitoBean
+    private ListResultCache listResultCache;
+
+    @MockitoBean
+    private BulkIngester bulkIngester;
+
+    @MockitoBean
+    private LearningRecordBatchSvc learningRecordBatchSvc;
+
     @Autowired
     private JwtUtil jwtUtil;
 
@@ -118,6 +193,10 @@ class CommonControllerTest {
     void setUp() {
         // Mock clientTokenSvc.existsByJwtId to always return true
         when(clientTokenSvc.existsByJwtId(any())).thenReturn(true);
+        // Load every filtered list as if the list cache were disabled
+        when(listResultCache.get(any(), any(), any())).thenAnswer(
+                invocation -> ((ListResultCache.Loader<?>) invocation
+                        .getArgument(2)).load());
     }
 
     /**
@@ -168,6 +247,44 @@ class CommonControllerTest {
         return headers;
     }
 
+    /**
+     * Make the mocked response cache return the given entities, mapped by
+     * the controller's DTO function, as the real cache does on a miss.
+     *
+     * @param entities entities the cache finds
+     * @throws BadRequestException
+     */
+    @SuppressWarnings("unchecked")
+    public void respondFromCache(Iterable<? extends Entity> entities)
+            throws BadRequestException {
+        when(responseCache.readOne(any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    UUID id = invocation.getArgument(2);
+                    Function<Object, ?> toDto = invocation.getArgument(3);
+                    for (Entity entity : entities) {
+                        if (entity.getId().equals(id)) {
+                            return json(toDto.apply(entity));
+                        }
+                    }
+                    return null;
+                });
+        when(responseCache.readAll(any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    Function<Object, ?> toDto = invocation.getArgument(3);
+                    List<Object> dtos = new ArrayList<>();
+                    entities.forEach(entity -> dtos.add(toDto.apply(entity)));
+                    return json(dtos);
+                });
+    }
+
+    private static ResponseCache.Json json(Object body)
+            throws JsonProcessingException {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        return new ResponseCache.Json("\"test\"",
+                mapper.writeValueAsBytes(body));
+    }
+
     public static <T> T resultsAsObject(String results, TypeReference<T> type)
             throws StreamReadException, DatabindException, IOException {
         ObjectMapper mapper = new ObjectMapper();
@@ -3,6 +3,8 @@ package com.deloitte.elrr.services.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,9 +25,15 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.deloitte.elrr.entity.Competency;
+import com.deloitte.elrr.services.cache.ResponseCache;
 import com.deloitte.elrr.services.dto.CompetencyDto;
+import com.deloitte.elrr.services.dto.PageDto;
+import com.deloitte.elrr.services.exception.BadRequestException;
+import com.deloitte.elrr.services.query.KeysetPage;
+import com.deloitte.elrr.services.query.NdjsonStreamer;
 import com.deloitte.elrr.services.security.MethodSecurityConfig;
 import com.deloitte.elrr.services.security.SecurityConfig;
 import com.deloitte.elrr.services.TestAppConfig;
@@ -71,8 +79,7 @@ public class CompetencyControllerTest extends CommonControllerTest {
     @Test
     void getAllCompetenciesTest() throws Exception {
 
-        Mockito.doReturn(getCompetencyList()).when(getCompetencySvc())
-                .findCompetenciesWithFilters(any(Competency.Filter.class));
+        respondFromCache(getCompetencyList());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(COMP_API)
                 .accept(MediaType.APPLICATION_JSON)
@@ -82,6 +89,9 @@ public class CompetencyControllerTest extends CommonControllerTest {
 
         assertNotNull(mvcResult);
         assertEquals(200, mvcResult.getResponse().getStatus());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE,
+                mvcResult.getResponse().getContentType());
+        assertEquals("\"test\"", mvcResult.getResponse().getHeader("ETag"));
         List<CompetencyDto> result = resultsAsObject(
                 mvcResult.getResponse().getContentAsString(),
                 new TypeReference<List<CompetencyDto>>() {
@@ -97,7 +107,7 @@ public class CompetencyControllerTest extends CommonControllerTest {
     @Test
     void getAllCompetenciesEmptyListTest() throws Exception {
         // Mock empty list
-        Mockito.doReturn(new ArrayList<>()).when(getCompetencySvc()).findAll();
+        respondFromCache(new ArrayList<>());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(COMP_API)
                 .accept(MediaType.APPLICATION_JSON)
@@ -116,11 +126,89 @@ public class CompetencyControllerTest extends CommonControllerTest {
         assertEquals(0, results.size());
     }
 
+    @Test
+    void getCompetencyNotModifiedTest() throws Exception {
+        Mockito.doReturn(new ResponseCache.Json("\"v1\"", null))
+                .when(getResponseCache()).readOne(any(), any(), any(), any());
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(COMP_API + "/" + COMPETENCY_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(getHeaders("competency|READ"))
+                .header(HttpHeaders.IF_NONE_MATCH, "\"v1\"");
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(304, mvcResult.getResponse().getStatus());
+        assertEquals("\"v1\"", mvcResult.getResponse().getHeader("ETag"));
+        assertEquals(0, mvcResult.getResponse().getContentLength());
+    }
+
+    @Test
+    void getCompetencyPageTest() throws Exception {
+
+        List<Competency> items = new ArrayList<>();
+        getCompetencyList().forEach(items::add);
+        Mockito.doReturn(new KeysetPage<>(items, "next-cursor", 10))
+                .when(getFilterQuerySvc())
+                .page(eq(Competency.class), any(), eq(10), isNull());
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(COMP_API + "?limit=10")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("competency|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        PageDto<CompetencyDto> result = resultsAsObject(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<PageDto<CompetencyDto>>() {
+                });
+        assertEquals(COMPETENCY_ID, result.getItems().get(0).getId());
+        assertEquals("next-cursor", result.getNext());
+        assertEquals(10, result.getLimit());
+    }
+
+    @Test
+    void getCompetencyPageBadCursorTest() throws Exception {
+
+        Mockito.doThrow(new BadRequestException("Invalid cursor"))
+                .when(getFilterQuerySvc())
+                .page(eq(Competency.class), any(), eq(10), eq("bad"));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(COMP_API + "?limit=10&cursor=bad")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("competency|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(400, mvcResult.getResponse().getStatus());
+    }
+
+    @Test
+    void streamCompetenciesTest() throws Exception {
+
+        StreamingResponseBody body = out -> out.write(
+                ("{\"id\":\"" + COMPETENCY_ID + "\"}\n").getBytes());
+        Mockito.doReturn(body).when(getNdjsonStreamer())
+                .stream(eq(Competency.class), any(), any());
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(COMP_API)
+                .accept(NdjsonStreamer.APPLICATION_NDJSON)
+                .headers(this.getHeaders("competency|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        mvcResult = mockMvc.perform(MockMvcRequestBuilders
+                .asyncDispatch(mvcResult)).andReturn();
+
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        assertEquals(NdjsonStreamer.APPLICATION_NDJSON_VALUE,
+                mvcResult.getResponse().getContentType());
+        assertEquals("{\"id\":\"" + COMPETENCY_ID + "\"}\n",
+                mvcResult.getResponse().getContentAsString());
+    }
+
     @Test
     void getCompetencyByIdTest() throws Exception {
 
-        Mockito.doReturn(Optional.of(getCompetencyList().iterator().next()))
-                .when(getCompetencySvc()).get(COMPETENCY_ID);
+        respondFromCache(getCompetencyList());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(COMP_API + "/" + COMPETENCY_ID)
                 .accept(MediaType.APPLICATION_JSON)
@@ -137,6 +225,20 @@ public class CompetencyControllerTest extends CommonControllerTest {
         assertEquals(result.getId(), COMPETENCY_ID);
     }
 
+    @Test
+    void getCompetencyByIdNotFoundTest() throws Exception {
+
+        respondFromCache(new ArrayList<>());
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(COMP_API + "/" + UUID.randomUUID())
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("competency|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(404, mvcResult.getResponse().getStatus());
+    }
+
     @Test
     void getCompetencyByIdErrorTest() throws Exception {
 
@@ -154,8 +256,7 @@ public class CompetencyControllerTest extends CommonControllerTest {
     @Test
     void getCompetencyByIdParameterTest() throws Exception {
 
-        Mockito.doReturn(getCompetencyList()).when(getCompetencySvc())
-                .findCompetenciesWithFilters(any(Competency.Filter.class));
+        respondFromCache(getCompetencyList());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(COMP_API + "?id=" + COMPETENCY_ID)
                 .accept(MediaType.APPLICATION_JSON)
@@ -70,8 +70,7 @@ public class CredentialControllerTest extends CommonControllerTest {
     @Test
     void getAllCredentialsTest() throws Exception {
 
-        Mockito.doReturn(getCredentialList()).when(getCredentialSvc())
-                .findCredentialsWithFilters(any(Credential.Filter.class));
+        respondFromCache(getCredentialList());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(CRED_API)
                 .accept(MediaType.APPLICATION_JSON)
@@ -96,7 +95,7 @@ public class CredentialControllerTest extends CommonControllerTest {
     @Test
     void getAllCredentialsEmptyListTest() throws Exception {
         // Mock empty list
-        Mockito.doReturn(new ArrayList<>()).when(getCredentialSvc()).findCredentialsWithFilters(any(Credential.Filter.class));
+        respondFromCache(new ArrayList<>());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(CRED_API)
                 .accept(MediaType.APPLICATION_JSON)
@@ -118,8 +117,7 @@ public class CredentialControllerTest extends CommonControllerTest {
     @Test
     void getCredentialByIdTest() throws Exception {
 
-        Mockito.doReturn(Optional.of(getCredentialList().iterator().next()))
-                .when(getCredentialSvc()).get(CREDENTIAL_ID);
+        respondFromCache(getCredentialList());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(CRED_API + "/" + CREDENTIAL_ID)
                 .accept(MediaType.APPLICATION_JSON)
@@ -153,8 +151,7 @@ public class CredentialControllerTest extends CommonControllerTest {
     @Test
     void getCredentialByIdParameterTest() throws Exception {
 
-        Mockito.doReturn(getCredentialList()).when(getCredentialSvc())
-                .findCredentialsWithFilters(any(Credential.Filter.class));
+        respondFromCache(getCredentialList());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(CRED_API + "?id=" + CREDENTIAL_ID)
                 .accept(MediaType.APPLICATION_JSON)
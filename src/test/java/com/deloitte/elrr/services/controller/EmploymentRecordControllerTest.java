@@ -3,6 +3,7 @@ package com.deloitte.elrr.services.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -71,8 +72,8 @@ public class EmploymentRecordControllerTest extends CommonControllerTest {
     void getAllEmploymentRecordsTest() throws Exception {
 
         Mockito.doReturn(getEmploymentRecordList())
-                .when(getEmploymentRecordSvc())
-                .findEmploymentRecordsWithFilters(any(EmploymentRecord.Filter.class));
+                .when(getFilterQuerySvc())
+                .list(eq(EmploymentRecord.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(EMPLOYMENT_RECORD_API)
                 .accept(MediaType.APPLICATION_JSON)
@@ -97,8 +98,8 @@ public class EmploymentRecordControllerTest extends CommonControllerTest {
     @Test
     void getAllEmploymentRecordsEmptyListTest() throws Exception {
         // Mock empty list
-        Mockito.doReturn(new ArrayList<>()).when(getEmploymentRecordSvc())
-                .findEmploymentRecordsWithFilters(any(EmploymentRecord.Filter.class));
+        Mockito.doReturn(new ArrayList<>()).when(getFilterQuerySvc())
+                .list(eq(EmploymentRecord.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(EMPLOYMENT_RECORD_API)
                 .accept(MediaType.APPLICATION_JSON)
@@ -157,8 +158,8 @@ public class EmploymentRecordControllerTest extends CommonControllerTest {
     void getEmploymentRecordByIdParameterTest() throws Exception {
 
         Mockito.doReturn(getEmploymentRecordList())
-                .when(getEmploymentRecordSvc())
-                .findEmploymentRecordsWithFilters(any(EmploymentRecord.Filter.class));
+                .when(getFilterQuerySvc())
+                .list(eq(EmploymentRecord.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(EMPLOYMENT_RECORD_API + "?id=" + EMPLOYMENT_RECORD_ID)
                 .accept(MediaType.APPLICATION_JSON)
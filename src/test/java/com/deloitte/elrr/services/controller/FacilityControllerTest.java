@@ -3,6 +3,7 @@ package com.deloitte.elrr.services.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -72,7 +73,7 @@ public class FacilityControllerTest extends CommonControllerTest {
     void getAllFacilitysTest() throws Exception {
 
         Mockito.doReturn((List<Facility>) getFacilityList())
-                .when(getFacilitySvc()).findFacilitiesWithFilters(any(Filter.class));
+                .when(getFilterQuerySvc()).list(eq(Facility.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(FACILITY_API)
                 .accept(MediaType.APPLICATION_JSON)
@@ -98,7 +99,7 @@ public class FacilityControllerTest extends CommonControllerTest {
     void getAllFacilitiesEmptyListTest() throws Exception {
         // Mock empty list
         Mockito.doReturn(new ArrayList<>())
-                .when(getFacilitySvc()).findFacilitiesWithFilters(any(Filter.class));
+                .when(getFilterQuerySvc()).list(eq(Facility.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(FACILITY_API)
                 .accept(MediaType.APPLICATION_JSON)
@@ -154,7 +155,7 @@ public class FacilityControllerTest extends CommonControllerTest {
     @Test
     void getFacilityByIdParameterTest() throws Exception {
         Mockito.doReturn((List<Facility>) getFacilityList())
-                .when(getFacilitySvc()).findFacilitiesWithFilters(any(Filter.class));
+                .when(getFilterQuerySvc()).list(eq(Facility.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(FACILITY_API + "?id=" + FACILITY_ID)
                 .accept(MediaType.APPLICATION_JSON)
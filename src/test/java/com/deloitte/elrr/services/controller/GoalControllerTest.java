@@ -3,6 +3,7 @@ package com.deloitte.elrr.services.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 
 import java.time.LocalDateTime;
@@ -11,6 +12,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
@@ -26,10 +28,15 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import com.deloitte.elrr.entity.Competency;
+import com.deloitte.elrr.entity.Credential;
 import com.deloitte.elrr.entity.Goal;
+import com.deloitte.elrr.entity.LearningResource;
 import com.deloitte.elrr.entity.types.GoalType;
 import com.deloitte.elrr.services.TestAppConfig;
 import com.deloitte.elrr.services.dto.GoalDto;
+import com.deloitte.elrr.services.dto.GoalProgressDto;
+import com.deloitte.elrr.services.exception.BadRequestException;
 import com.deloitte.elrr.services.security.MethodSecurityConfig;
 import com.deloitte.elrr.services.security.SecurityConfig;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -76,8 +83,8 @@ public class GoalControllerTest extends CommonControllerTest {
      */
     @Test
     void getAllGoalsTest() throws Exception {
-        Mockito.doReturn(getGoalList()).when(getGoalSvc()).findGoalsWithFilters(
-                any(com.deloitte.elrr.entity.Goal.Filter.class));
+        Mockito.doReturn(getGoalList()).when(getFilterQuerySvc())
+                .list(eq(Goal.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(GOAL_API).accept(MediaType.APPLICATION_JSON)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -103,9 +110,8 @@ public class GoalControllerTest extends CommonControllerTest {
     @Test
     void getAllGoalsByIdTest() throws Exception {
         // Controller now uses filter method, return single list element
-        Mockito.doReturn(List.of(getGoal())).when(getGoalSvc())
-                .findGoalsWithFilters(
-                        any(com.deloitte.elrr.entity.Goal.Filter.class));
+        Mockito.doReturn(List.of(getGoal())).when(getFilterQuerySvc())
+                .list(eq(Goal.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(GOAL_API + "?id=" + GOAL_ID)
                 .accept(MediaType.APPLICATION_JSON)
@@ -132,9 +138,8 @@ public class GoalControllerTest extends CommonControllerTest {
      */
     @Test
     void getAllGoalsByIdNotFoundTest() throws Exception {
-        Mockito.doReturn(new ArrayList<>()).when(getGoalSvc())
-                .findGoalsWithFilters(
-                        any(com.deloitte.elrr.entity.Goal.Filter.class));
+        Mockito.doReturn(new ArrayList<>()).when(getFilterQuerySvc())
+                .list(eq(Goal.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(GOAL_API + "?id=" + GOAL_ID)
                 .accept(MediaType.APPLICATION_JSON)
@@ -184,13 +189,9 @@ public class GoalControllerTest extends CommonControllerTest {
         GoalDto goalDto = getGoalDto();
         Goal savedGoal = getGoal();
 
-        // Mock the setXXXFromIds methods to return the goal unchanged
-        Mockito.doReturn(savedGoal).when(getGoalSvc())
-                .setCompetenciesFromIds(any(Goal.class), any());
-        Mockito.doReturn(savedGoal).when(getGoalSvc())
-                .setCredentialsFromIds(any(Goal.class), any());
-        Mockito.doReturn(savedGoal).when(getGoalSvc())
-                .setLearningResourcesFromIds(any(Goal.class), any());
+        // Referenced entities resolve to empty sets
+        Mockito.doReturn(new HashSet<>()).when(getReferenceResolver())
+                .resolveAll(any(), any());
         Mockito.doReturn(savedGoal).when(getGoalSvc()).save(any(Goal.class));
 
         // Act
@@ -212,11 +213,13 @@ public class GoalControllerTest extends CommonControllerTest {
         assertEquals("Test Goal", result.getName());
         assertEquals(GoalType.SELF, result.getType());
 
-        // Verify that the setXXXFromIds methods were called
-        verify(getGoalSvc()).setCompetenciesFromIds(any(Goal.class), any());
-        verify(getGoalSvc()).setCredentialsFromIds(any(Goal.class), any());
-        verify(getGoalSvc()).setLearningResourcesFromIds(any(Goal.class),
+        // Verify that each referenced type was resolved in one call
+        verify(getReferenceResolver()).resolveAll(eq(Competency.class),
                 any());
+        verify(getReferenceResolver()).resolveAll(eq(Credential.class),
+                any());
+        verify(getReferenceResolver()).resolveAll(
+                eq(LearningResource.class), any());
         verify(getGoalSvc()).save(any(Goal.class));
         // Verify that related entity ids are present on the saved goal
         assertNotNull(result.getCompetencyIds());
@@ -224,6 +227,32 @@ public class GoalControllerTest extends CommonControllerTest {
         assertNotNull(result.getLearningResourceIds());
     }
 
+    /**
+     * Test creating a goal that names a competency that does not exist
+     *
+     * @throws Exception
+     */
+    @Test
+    void createGoalMissingReferenceTest() throws Exception {
+        GoalDto goalDto = getGoalDto();
+        Mockito.doReturn(new HashSet<>()).when(getReferenceResolver())
+                .resolveAll(any(), any());
+        Mockito.doThrow(new BadRequestException(
+                "Competency not found for ids :: [missing]"))
+                .when(getReferenceResolver())
+                .resolveAll(eq(Competency.class), any());
+
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .post(GOAL_API).content(asJsonString(goalDto))
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(getHeaders("goal|CREATE"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(400, mvcResult.getResponse().getStatus());
+        verify(getGoalSvc(), Mockito.never()).save(any(Goal.class));
+    }
+
     /**
      * Test updating a goal
      *
@@ -237,13 +266,9 @@ public class GoalControllerTest extends CommonControllerTest {
         Goal updatedGoal = getGoal();
         updatedGoal.setName("Updated Goal");
 
-        // Mock the setXXXFromIds methods to return the goal unchanged
-        Mockito.doReturn(updatedGoal).when(getGoalSvc())
-                .setCompetenciesFromIds(any(Goal.class), any());
-        Mockito.doReturn(updatedGoal).when(getGoalSvc())
-                .setCredentialsFromIds(any(Goal.class), any());
-        Mockito.doReturn(updatedGoal).when(getGoalSvc())
-                .setLearningResourcesFromIds(any(Goal.class), any());
+        // Referenced entities resolve to empty sets
+        Mockito.doReturn(new HashSet<>()).when(getReferenceResolver())
+                .resolveAll(any(), any());
         Mockito.doReturn(Optional.of(existingGoal)).when(getGoalSvc())
                 .get(GOAL_ID);
         Mockito.doReturn(updatedGoal).when(getGoalSvc()).save(any(Goal.class));
@@ -265,11 +290,13 @@ public class GoalControllerTest extends CommonControllerTest {
 
         assertEquals("Updated Goal", result.getName());
 
-        // Verify that the setXXXFromIds methods were called
-        verify(getGoalSvc()).setCompetenciesFromIds(any(Goal.class), any());
-        verify(getGoalSvc()).setCredentialsFromIds(any(Goal.class), any());
-        verify(getGoalSvc()).setLearningResourcesFromIds(any(Goal.class),
+        // Verify that each referenced type was resolved in one call
+        verify(getReferenceResolver()).resolveAll(eq(Competency.class),
+                any());
+        verify(getReferenceResolver()).resolveAll(eq(Credential.class),
                 any());
+        verify(getReferenceResolver()).resolveAll(
+                eq(LearningResource.class), any());
         verify(getGoalSvc()).get(GOAL_ID);
         verify(getGoalSvc()).save(any(Goal.class));
     }
@@ -314,6 +341,49 @@ public class GoalControllerTest extends CommonControllerTest {
         assertEquals(404, mvcResult.getResponse().getStatus());
     }
 
+    /**
+     * Test getting a goal's progress
+     *
+     * @throws Exception
+     */
+    @Test
+    void getGoalProgressTest() throws Exception {
+        UUID missing = UUID.randomUUID();
+        Mockito.doReturn(new GoalProgressDto(GOAL_ID, PERSON_ID, "Goal", 4,
+                3, 75.0, Set.of(missing), Set.of(), Set.of()))
+                .when(getGoalProgressSvc()).goal(GOAL_ID);
+
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(GOAL_API + "/" + GOAL_ID + "/progress")
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(getHeaders("goal|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        GoalProgressDto result = resultsAsObject(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<GoalProgressDto>() {
+                });
+        assertEquals(75.0, result.getPercentComplete());
+        assertEquals(Set.of(missing), result.getMissingCompetencyIds());
+    }
+
+    /**
+     * Test getting the progress of a goal that does not exist
+     *
+     * @throws Exception
+     */
+    @Test
+    void getGoalProgressNotFoundTest() throws Exception {
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(GOAL_API + "/" + GOAL_ID + "/progress")
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(getHeaders("goal|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(404, mvcResult.getResponse().getStatus());
+    }
+
     /**
      * Test getting all goals when no goals exist - should return 200 with empty
      * array
@@ -322,9 +392,8 @@ public class GoalControllerTest extends CommonControllerTest {
      */
     @Test
     void getAllGoalsEmptyListTest() throws Exception {
-        Mockito.doReturn(new ArrayList<>()).when(getGoalSvc())
-                .findGoalsWithFilters(
-                        any(com.deloitte.elrr.entity.Goal.Filter.class));
+        Mockito.doReturn(new ArrayList<>()).when(getFilterQuerySvc())
+                .list(eq(Goal.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(GOAL_API).accept(MediaType.APPLICATION_JSON)
                 .contentType(MediaType.APPLICATION_JSON)
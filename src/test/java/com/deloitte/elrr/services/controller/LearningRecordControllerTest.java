@@ -3,6 +3,7 @@ package com.deloitte.elrr.services.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -24,7 +25,11 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import com.deloitte.elrr.entity.LearningRecord;
+import com.deloitte.elrr.entity.types.LearningStatus;
 import com.deloitte.elrr.services.TestAppConfig;
+import com.deloitte.elrr.services.dto.BatchItemResultDto;
+import com.deloitte.elrr.services.dto.LearningRecordBatchDto;
+import com.deloitte.elrr.services.dto.LearningRecordBatchItemDto;
 import com.deloitte.elrr.services.dto.LearningRecordDto;
 import com.deloitte.elrr.services.security.MethodSecurityConfig;
 import com.deloitte.elrr.services.security.SecurityConfig;
@@ -69,8 +74,8 @@ public class LearningRecordControllerTest extends CommonControllerTest {
      */
     @Test
     void getAllLearningRecordsTest() throws Exception {
-        Mockito.doReturn(getLearningRecordList()).when(getLearningRecordSvc())
-                .findLearningRecordsWithFilters(any(LearningRecord.Filter.class));
+        Mockito.doReturn(getLearningRecordList()).when(getFilterQuerySvc())
+                .list(eq(LearningRecord.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(LEARNING_RECORD_API)
                 .accept(MediaType.APPLICATION_JSON)
@@ -95,8 +100,8 @@ public class LearningRecordControllerTest extends CommonControllerTest {
     @Test
     void getAllLearningRecordsEmptyListTest() throws Exception {
         // Mock empty list
-                Mockito.doReturn(new ArrayList<>()).when(getLearningRecordSvc())
-                        .findLearningRecordsWithFilters(any(LearningRecord.Filter.class));
+                Mockito.doReturn(new ArrayList<>()).when(getFilterQuerySvc())
+                        .list(eq(LearningRecord.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(LEARNING_RECORD_API)
                 .accept(MediaType.APPLICATION_JSON)
@@ -151,8 +156,8 @@ public class LearningRecordControllerTest extends CommonControllerTest {
 
     @Test
     void getLearningRecordByIdParameterTest() throws Exception {
-                Mockito.doReturn(getLearningRecordList()).when(getLearningRecordSvc())
-                        .findLearningRecordsWithFilters(any(LearningRecord.Filter.class));
+                Mockito.doReturn(getLearningRecordList()).when(getFilterQuerySvc())
+                        .list(eq(LearningRecord.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(LEARNING_RECORD_API + "?id=" + LEARNING_RECORD_ID)
                 .accept(MediaType.APPLICATION_JSON)
@@ -195,6 +200,39 @@ public class LearningRecordControllerTest extends CommonControllerTest {
         assertEquals(result.getId(), LEARNING_RECORD_ID);
     }
 
+    @Test
+    void createLearningRecordsBatchTest() throws Exception {
+        UUID personId = UUID.randomUUID();
+        UUID resourceId = UUID.randomUUID();
+        LearningRecordBatchDto batch = new LearningRecordBatchDto(List.of(
+                new LearningRecordBatchItemDto(personId, resourceId,
+                        LearningStatus.ATTEMPTED, null, null, "A"),
+                new LearningRecordBatchItemDto(personId, null, null, null,
+                        null, null)));
+        Mockito.doReturn(List.of(
+                new BatchItemResultDto(0, LEARNING_RECORD_ID, null),
+                new BatchItemResultDto(1, null, "learningResourceId: must"
+                        + " not be null")))
+                .when(getLearningRecordBatchSvc()).create(any());
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .post(LEARNING_RECORD_API + "/batch")
+                .accept(MediaType.APPLICATION_JSON)
+                .content(asJsonString(batch))
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(getHeaders("learningrecord|CREATE"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        List<BatchItemResultDto> result = resultsAsObject(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<List<BatchItemResultDto>>() {
+                });
+        assertEquals(2, result.size());
+        assertEquals(LEARNING_RECORD_ID, result.get(0).getId());
+        assertNotNull(result.get(1).getError());
+        Mockito.verify(getLearningRecordSvc(), Mockito.never()).save(any());
+    }
+
     @Test
     void deleteLearningRecordTest() throws Exception {
         Mockito.doReturn(Optional.of(getLearningRecordList().iterator().next()))
@@ -70,8 +70,7 @@ public class LearningResourceControllerTest extends CommonControllerTest {
     @Test
     void getAllLearningResourcesTest() throws Exception {
 
-        Mockito.doReturn(getLearningResourceList())
-                .when(getLearningResourceSvc()).findLearningResourcesWithFilters(any(LearningResource.Filter.class));
+        respondFromCache(getLearningResourceList());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(LEARNING_RESOURCE_API)
                 .accept(MediaType.APPLICATION_JSON)
@@ -96,9 +95,7 @@ public class LearningResourceControllerTest extends CommonControllerTest {
     @Test
     void getAllLearningResourcesEmptyListTest() throws Exception {
         // Mock empty list
-                Mockito.doReturn(new ArrayList<>())
-                        .when(getLearningResourceSvc())
-                        .findLearningResourcesWithFilters(any(LearningResource.Filter.class));
+        respondFromCache(new ArrayList<>());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(LEARNING_RESOURCE_API)
                 .accept(MediaType.APPLICATION_JSON)
@@ -120,9 +117,7 @@ public class LearningResourceControllerTest extends CommonControllerTest {
     @Test
     void getLearningResourceByIdTest() throws Exception {
 
-        Mockito.doReturn(
-                Optional.of(getLearningResourceList().iterator().next()))
-                .when(getLearningResourceSvc()).get(LEARNING_RESOURCE_ID);
+        respondFromCache(getLearningResourceList());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(LEARNING_RESOURCE_API + "/" + LEARNING_RESOURCE_ID)
                 .accept(MediaType.APPLICATION_JSON)
@@ -156,8 +151,7 @@ public class LearningResourceControllerTest extends CommonControllerTest {
     @Test
     void getLearningResourceByIdParameterTest() throws Exception {
 
-        Mockito.doReturn(getLearningResourceList())
-                .when(getLearningResourceSvc()).findLearningResourcesWithFilters(any(LearningResource.Filter.class));
+        respondFromCache(getLearningResourceList());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(LEARNING_RESOURCE_API + "?id=" + LEARNING_RESOURCE_ID)
                 .accept(MediaType.APPLICATION_JSON)
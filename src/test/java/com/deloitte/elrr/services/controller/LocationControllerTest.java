@@ -3,6 +3,7 @@ package com.deloitte.elrr.services.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -70,7 +71,8 @@ public class LocationControllerTest extends CommonControllerTest {
     @Test
     void getAllLocationsTest() throws Exception {
 
-        Mockito.doReturn(getLocationList()).when(getLocationSvc()).findLocationsWithFilters(any());
+        Mockito.doReturn(getLocationList()).when(getFilterQuerySvc())
+                .list(eq(Location.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(LOCATION_API)
                 .accept(MediaType.APPLICATION_JSON)
@@ -95,7 +97,8 @@ public class LocationControllerTest extends CommonControllerTest {
     @Test
     void getAllLocationsEmptyListTest() throws Exception {
         // Mock empty list
-        Mockito.doReturn(new ArrayList<>()).when(getLocationSvc()).findLocationsWithFilters(any());
+        Mockito.doReturn(new ArrayList<>()).when(getFilterQuerySvc())
+                .list(eq(Location.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(LOCATION_API)
                 .accept(MediaType.APPLICATION_JSON)
@@ -153,7 +156,7 @@ public class LocationControllerTest extends CommonControllerTest {
     void getLocationByIdParameterTest() throws Exception {
 
         Mockito.doReturn(getLocationList())
-                .when(getLocationSvc()).findLocationsWithFilters(any());
+                .when(getFilterQuerySvc()).list(eq(Location.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(LOCATION_API + "?id=" + LOCATION_ID)
                 .accept(MediaType.APPLICATION_JSON)
@@ -3,7 +3,9 @@ package com.deloitte.elrr.services.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -22,10 +24,12 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.deloitte.elrr.entity.Organization;
 import com.deloitte.elrr.services.TestAppConfig;
 import com.deloitte.elrr.services.dto.OrganizationDto;
+import com.deloitte.elrr.services.query.NdjsonStreamer;
 import com.deloitte.elrr.services.security.MethodSecurityConfig;
 import com.deloitte.elrr.services.security.SecurityConfig;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -70,8 +74,8 @@ public class OrganizationControllerTest extends CommonControllerTest {
     @Test
     void getAllOrganizationsTest() throws Exception {
 
-        Mockito.doReturn(getOrganizationList()).when(getOrganizationSvc())
-                .findOrganizationsWithFilters(any(Organization.Filter.class));
+        Mockito.doReturn(getOrganizationList()).when(getFilterQuerySvc())
+                .list(eq(Organization.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(ORGANIZATION_API)
                 .accept(MediaType.APPLICATION_JSON)
@@ -153,8 +157,8 @@ public class OrganizationControllerTest extends CommonControllerTest {
     @Test
     void getOrganizationByIdParameterTest() throws Exception {
 
-        Mockito.doReturn(getOrganizationList()).when(getOrganizationSvc())
-                .findOrganizationsWithFilters(any(Organization.Filter.class));
+        Mockito.doReturn(getOrganizationList()).when(getFilterQuerySvc())
+                .list(eq(Organization.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(ORGANIZATION_API + "?id=" + ORGANIZATION_ID)
                 .accept(MediaType.APPLICATION_JSON)
@@ -259,6 +263,38 @@ public class OrganizationControllerTest extends CommonControllerTest {
         assertEquals(204, mvcResult.getResponse().getStatus());
     }
 
+    @Test
+    void getOrganizationGapsTest() throws Exception {
+        StreamingResponseBody report = out -> out.write(
+                "{\"personId\":null}\n".getBytes(StandardCharsets.UTF_8));
+        Mockito.doReturn(report).when(getOrganizationGapSvc())
+                .report(ORGANIZATION_ID);
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(ORGANIZATION_API + "/" + ORGANIZATION_ID + "/gaps")
+                .headers(getHeaders("organization|READ,person|READ"));
+
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        mvcResult = mockMvc.perform(MockMvcRequestBuilders
+                .asyncDispatch(mvcResult)).andReturn();
+
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        assertEquals(NdjsonStreamer.APPLICATION_NDJSON_VALUE,
+                mvcResult.getResponse().getContentType());
+        assertEquals("{\"personId\":null}\n",
+                mvcResult.getResponse().getContentAsString());
+    }
+
+    @Test
+    void getOrganizationGapsNotFoundTest() throws Exception {
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(ORGANIZATION_API + "/" + ORGANIZATION_ID + "/gaps")
+                .headers(getHeaders("organization|READ,person|READ"));
+
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(404, mvcResult.getResponse().getStatus());
+    }
+
     /**
      *
      * @return Iterable<OrganizationDto>
@@ -3,13 +3,17 @@ package com.deloitte.elrr.services.controller;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -44,17 +48,31 @@ import com.deloitte.elrr.entity.Phone;
 import com.deloitte.elrr.entity.types.LearningStatus;
 import com.deloitte.elrr.services.TestAppConfig;
 import com.deloitte.elrr.services.dto.AssociationDto;
+import com.deloitte.elrr.services.dto.BulkResultDto;
 import com.deloitte.elrr.services.dto.CompetencyDto;
+import com.deloitte.elrr.services.dto.CountDto;
 import com.deloitte.elrr.services.dto.CredentialDto;
 import com.deloitte.elrr.services.dto.EmailDto;
 import com.deloitte.elrr.services.dto.EmploymentRecordDto;
+import com.deloitte.elrr.services.dto.ExistsDto;
+import com.deloitte.elrr.services.dto.GoalProgressDto;
 import com.deloitte.elrr.services.dto.IdentityDto;
 import com.deloitte.elrr.services.dto.LearningRecordDto;
 import com.deloitte.elrr.services.dto.LearningResourceDto;
 import com.deloitte.elrr.services.dto.OrganizationDto;
+import com.deloitte.elrr.services.dto.PageDto;
 import com.deloitte.elrr.services.dto.PersonDto;
+import com.deloitte.elrr.services.dto.PersonMatchDto;
+import com.deloitte.elrr.services.dto.PersonMatchRequestDto;
+import com.deloitte.elrr.services.dto.PersonProfileDto;
+import com.deloitte.elrr.services.dto.PersonSearchResultDto;
 import com.deloitte.elrr.services.dto.PersonalQualificationDto;
 import com.deloitte.elrr.services.dto.PhoneDto;
+import com.deloitte.elrr.services.dto.TranscriptSummaryDto;
+import com.deloitte.elrr.services.exception.BadRequestException;
+import com.deloitte.elrr.services.query.KeysetPage;
+import com.deloitte.elrr.services.query.NdjsonStreamer;
+import com.deloitte.elrr.services.query.PersonExpansion;
 import com.deloitte.elrr.services.security.MethodSecurityConfig;
 import com.deloitte.elrr.services.security.SecurityConfig;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -110,8 +128,8 @@ public class PersonControllerTest extends CommonControllerTest {
     @Test
     void getAllPersonsTest() throws Exception {
 
-        Mockito.doReturn(getPersonList()).when(getPersonSvc())
-                .findPersonsWithFilters(any(Person.Filter.class));
+        Mockito.doReturn(getPersonList()).when(getFilterQuerySvc())
+                .list(eq(Person.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(PERSON_API)
                 .accept(MediaType.APPLICATION_JSON)
@@ -136,8 +154,8 @@ public class PersonControllerTest extends CommonControllerTest {
     @Test
     void getAllPersonsEmptyListTest() throws Exception {
         // Mock empty list
-        Mockito.doReturn(new ArrayList<>()).when(getPersonSvc())
-                .findPersonsWithFilters(any(Person.Filter.class));
+        Mockito.doReturn(new ArrayList<>()).when(getFilterQuerySvc())
+                .list(eq(Person.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(PERSON_API)
                 .accept(MediaType.APPLICATION_JSON)
@@ -155,6 +173,60 @@ public class PersonControllerTest extends CommonControllerTest {
         assertEquals(0, results.size());
     }
 
+    @Test
+    void getPersonFieldsTest() throws Exception {
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", PERSON_ID);
+        row.put("name", "Jane Doe");
+        Mockito.doReturn(List.of(row)).when(getProjectionQuerySvc())
+                .list(eq(Person.class), any(), eq("id,name"));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(PERSON_API + "?fields=id,name")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("person|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        List<Map<String, Object>> result = resultsAsObject(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<List<Map<String, Object>>>() {
+                });
+        assertEquals(PERSON_ID.toString(), result.get(0).get("id"));
+        assertEquals("Jane Doe", result.get(0).get("name"));
+        assertFalse(result.get(0).containsKey("emailAddresses"));
+    }
+
+    @Test
+    void getPersonFieldsUnknownFieldTest() throws Exception {
+
+        Mockito.doThrow(new BadRequestException("Unknown field nope"))
+                .when(getProjectionQuerySvc())
+                .get(eq(Person.class), eq(PERSON_ID), eq("nope"));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(PERSON_API + "/" + PERSON_ID + "?fields=nope")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("person|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(400, mvcResult.getResponse().getStatus());
+    }
+
+    @Test
+    void getPersonFieldsByIdNotFoundTest() throws Exception {
+
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(PERSON_API + "/" + PERSON_ID + "?fields=id,name")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("person|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(404, mvcResult.getResponse().getStatus());
+    }
+
     @Test
     void getPersonByIdTest() throws Exception {
 
@@ -176,6 +248,321 @@ public class PersonControllerTest extends CommonControllerTest {
         assertEquals(result.getId(), PERSON_ID);
     }
 
+    @Test
+    void getPersonByIdEtagTest() throws Exception {
+
+        Mockito.doReturn("\"v1\"").when(getVersionQuerySvc())
+                .etag(eq(Person.class), eq(PERSON_ID), any());
+        Mockito.doReturn(Optional.of(getTestPerson()))
+                .when(getPersonSvc()).get(PERSON_ID);
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(PERSON_API + "/" + PERSON_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("person|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        assertEquals("\"v1\"", mvcResult.getResponse().getHeader("ETag"));
+    }
+
+    @Test
+    void getPersonByIdNotModifiedTest() throws Exception {
+
+        Mockito.doReturn("\"v1\"").when(getVersionQuerySvc())
+                .etag(eq(Person.class), eq(PERSON_ID), any());
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(PERSON_API + "/" + PERSON_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"v1\"")
+                .headers(this.getHeaders("person|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(304, mvcResult.getResponse().getStatus());
+        assertEquals("", mvcResult.getResponse().getContentAsString());
+        Mockito.verify(getPersonSvc(), Mockito.never()).get(any());
+    }
+
+    @Test
+    void countPersonsTest() throws Exception {
+
+        Mockito.doReturn(7L).when(getFilterQuerySvc())
+                .count(eq(Person.class), any());
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(PERSON_API + "/count?credentialId=" + UUID.randomUUID()
+                        + "&associatedOrgId=" + UUID.randomUUID())
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("person|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        CountDto result = resultsAsObject(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<CountDto>() {
+                });
+        assertEquals(7, result.getCount());
+        Mockito.verify(getFilterQuerySvc(), Mockito.never())
+                .list(eq(Person.class), any(), any());
+    }
+
+    @Test
+    void countPersonsBadFilterTest() throws Exception {
+
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(PERSON_API + "/count?credentialId=not-a-uuid")
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("person|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(400, mvcResult.getResponse().getStatus());
+    }
+
+    @Test
+    void searchPersonsTest() throws Exception {
+
+        PersonSearchResultDto match = new PersonSearchResultDto(
+                UUID.randomUUID(), "Jane Doe", List.of("jane@example.com"));
+        Mockito.doReturn(new KeysetPage<>(List.of(match), "next", 1))
+                .when(getPersonSearchSvc()).search("jane do", 1, null);
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(PERSON_API + "/search?q=jane do&limit=1")
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("person|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        PageDto<PersonSearchResultDto> result = resultsAsObject(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<PageDto<PersonSearchResultDto>>() {
+                });
+        assertEquals("Jane Doe", result.getItems().get(0).getName());
+        assertEquals("next", result.getNext());
+    }
+
+    @Test
+    void matchPersonsTest() throws Exception {
+
+        UUID competencyId = UUID.randomUUID();
+        PersonMatchRequestDto request = new PersonMatchRequestDto(
+                Set.of(competencyId), null, PersonMatchRequestDto.Mode.ANY,
+                null);
+        PersonMatchDto match = new PersonMatchDto(UUID.randomUUID(), 1, 0.5);
+        Mockito.doReturn(List.of(match)).when(getPersonMatchSvc())
+                .match(any(PersonMatchRequestDto.class), eq(10));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .post(PERSON_API + "/match?limit=10")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(request))
+                .headers(this.getHeaders("person|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        List<PersonMatchDto> result = resultsAsObject(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<List<PersonMatchDto>>() {
+                });
+        assertEquals(match.getPersonId(), result.get(0).getPersonId());
+        assertEquals(0.5, result.get(0).getScore());
+    }
+
+    @Test
+    void getPersonProfileTest() throws Exception {
+
+        UUID id = UUID.randomUUID();
+        PersonProfileDto profile = new PersonProfileDto();
+        profile.setPerson(new PersonDto());
+        profile.setCompetencies(List.of());
+        Mockito.doReturn(profile).when(getPersonProfileQuerySvc()).get(id,
+                Set.of(PersonExpansion.COMPETENCIES,
+                        PersonExpansion.IDENTITIES));
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(PERSON_API + "/" + id + "?expand=competencies,identities")
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("person|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        String json = mvcResult.getResponse().getContentAsString();
+        assertTrue(json.contains("\"competencies\":[]"));
+        assertFalse(json.contains("learningRecords"));
+        Mockito.verify(getPersonSvc(), Mockito.never()).get(any());
+    }
+
+    @Test
+    void getPersonProfileNeedsOnlyPersonReadTest() throws Exception {
+
+        UUID id = UUID.randomUUID();
+        PersonProfileDto profile = new PersonProfileDto();
+        profile.setPerson(new PersonDto());
+        Mockito.doReturn(profile).when(getPersonProfileQuerySvc()).get(
+                eq(id), any());
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(PERSON_API + "/" + id + "?expand=competencies,credentials,"
+                        + "learningRecords,employmentRecords,associations")
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("person|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(200, mvcResult.getResponse().getStatus());
+    }
+
+    @Test
+    void getPersonProfileNeedsPersonReadTest() throws Exception {
+
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(PERSON_API + "/" + UUID.randomUUID()
+                        + "?expand=learningRecords")
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("learningrecord|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertNotEquals(200, mvcResult.getResponse().getStatus());
+        Mockito.verify(getPersonProfileQuerySvc(), Mockito.never())
+                .get(any(), any());
+    }
+
+    @Test
+    void getPersonProfileUnknownRelationTest() throws Exception {
+
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(PERSON_API + "/" + UUID.randomUUID() + "?expand=friends")
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("person|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(400, mvcResult.getResponse().getStatus());
+    }
+
+    @Test
+    void getTranscriptSummaryTest() throws Exception {
+
+        UUID id = UUID.randomUUID();
+        Mockito.doReturn(new TranscriptSummaryDto(3,
+                Map.of("ATTEMPTED", 2L, "COMPLETED", 1L), List.of()))
+                .when(getTranscriptQuerySvc()).summary(id, 5);
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(PERSON_API + "/" + id + "/transcript/summary")
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("person|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        TranscriptSummaryDto result = resultsAsObject(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<TranscriptSummaryDto>() {
+                });
+        assertEquals(3, result.getTotal());
+        assertEquals(2L, result.getStatusCounts().get("ATTEMPTED"));
+        Mockito.verify(getPersonSvc(), Mockito.never()).get(any());
+    }
+
+    @Test
+    void getTranscriptNotFoundTest() throws Exception {
+
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(PERSON_API + "/" + UUID.randomUUID() + "/transcript")
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("person|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(404, mvcResult.getResponse().getStatus());
+    }
+
+    @Test
+    void getPersonGoalProgressTest() throws Exception {
+
+        UUID id = UUID.randomUUID();
+        Mockito.doReturn(List.of(new GoalProgressDto(UUID.randomUUID(), id,
+                "Goal", 0, 0, 100.0, Set.of(), Set.of(), Set.of())))
+                .when(getGoalProgressSvc()).person(id);
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(PERSON_API + "/" + id + "/goals/progress")
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("person|READ,goal|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        List<GoalProgressDto> result = resultsAsObject(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<List<GoalProgressDto>>() {
+                });
+        assertEquals(1, result.size());
+        assertEquals(100.0, result.get(0).getPercentComplete());
+    }
+
+    @Test
+    void getPersonGoalProgressRequiresGoalReadTest() throws Exception {
+
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(PERSON_API + "/" + UUID.randomUUID() + "/goals/progress")
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("person|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertNotEquals(200, mvcResult.getResponse().getStatus());
+        Mockito.verify(getGoalProgressSvc(), Mockito.never()).person(any());
+    }
+
+    @Test
+    void personsExistTest() throws Exception {
+
+        Mockito.doReturn(true).when(getFilterQuerySvc())
+                .exists(eq(Person.class), any());
+        MvcResult found = mockMvc.perform(MockMvcRequestBuilders
+                .get(PERSON_API + "/exists?associatedOrgId="
+                        + UUID.randomUUID())
+                .headers(this.getHeaders("person|READ"))).andReturn();
+        Mockito.doReturn(false).when(getFilterQuerySvc())
+                .exists(eq(Person.class), any());
+        MvcResult missing = mockMvc.perform(MockMvcRequestBuilders
+                .get(PERSON_API + "/exists?associatedOrgId="
+                        + UUID.randomUUID())
+                .headers(this.getHeaders("person|READ"))).andReturn();
+
+        assertEquals(200, found.getResponse().getStatus());
+        assertTrue(resultsAsObject(found.getResponse().getContentAsString(),
+                new TypeReference<ExistsDto>() {
+                }).isExists());
+        assertEquals(200, missing.getResponse().getStatus());
+        assertFalse(resultsAsObject(
+                missing.getResponse().getContentAsString(),
+                new TypeReference<ExistsDto>() {
+                }).isExists());
+        Mockito.verify(getFilterQuerySvc(), Mockito.never())
+                .list(eq(Person.class), any(), any());
+    }
+
+    @Test
+    void headPersonsMirrorsGetTest() throws Exception {
+
+        Mockito.doReturn(new ArrayList<>()).when(getFilterQuerySvc())
+                .list(eq(Person.class), any(), any());
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders
+                .head(PERSON_API + "?associatedOrgId=" + UUID.randomUUID())
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("person|READ"))).andReturn();
+
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        assertEquals("", mvcResult.getResponse().getContentAsString());
+    }
+
+    @Test
+    void getAllPersonsNotModifiedTest() throws Exception {
+
+        Mockito.doReturn("\"list\"").when(getVersionQuerySvc())
+                .listEtag(eq(Person.class), any(), any());
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(PERSON_API)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"list\"")
+                .headers(this.getHeaders("person|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(304, mvcResult.getResponse().getStatus());
+        Mockito.verify(getFilterQuerySvc(), Mockito.never())
+                .list(eq(Person.class), any(), any());
+    }
+
     @Test
     void getPersonByIdErrorTest() throws Exception {
 
@@ -192,8 +579,8 @@ public class PersonControllerTest extends CommonControllerTest {
 
     @Test
     void getPersonByIdParameterTest() throws Exception {
-        Mockito.doReturn(getPersonList()).when(getPersonSvc())
-                .findPersonsWithFilters(any(Person.Filter.class));
+        Mockito.doReturn(getPersonList()).when(getFilterQuerySvc())
+                .list(eq(Person.class), any(), any());
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(PERSON_API + "?id=" + PERSON_ID)
                 .accept(MediaType.APPLICATION_JSON)
@@ -233,6 +620,29 @@ public class PersonControllerTest extends CommonControllerTest {
         assertEquals(result.getId(), PERSON_ID);
     }
 
+    @Test
+    void createPersonsBulkTest() throws Exception {
+        BulkResultDto bulkResult = new BulkResultDto();
+        bulkResult.setReceived(2);
+        bulkResult.setCreated(2);
+        Mockito.doReturn(bulkResult).when(getBulkIngester())
+                .ingest(any(), eq(PersonDto.class), any(), any());
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .post(PERSON_API + "/bulk")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(NdjsonStreamer.APPLICATION_NDJSON)
+                .content("{\"name\":\"One\"}\n{\"name\":\"Two\"}\n")
+                .headers(this.getHeaders("person|CREATE"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        BulkResultDto result = resultsAsObject(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<BulkResultDto>() {
+                });
+        assertEquals(2, result.getCreated());
+    }
+
     @Test
     void updatePersonTest() throws Exception {
         PersonDto personDto = new PersonDto();
@@ -572,8 +982,9 @@ public class PersonControllerTest extends CommonControllerTest {
 
     @Test
     void getCompetencyTest() throws Exception {
-        Mockito.doReturn(Optional.of(getTestPerson()))
-                .when(getPersonSvc()).get(PERSON_ID);
+        Mockito.doReturn(Optional.of(getTestPerson().getCompetencies()
+                .iterator().next())).when(getPersonLinkQuerySvc())
+                .competency(PERSON_ID, COMPETENCY_ID);
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(PERSON_API + "/" + PERSON_ID + "/competency/"
                         + COMPETENCY_ID)
@@ -631,6 +1042,45 @@ public class PersonControllerTest extends CommonControllerTest {
         assertTrue(result.get(0).getHasRecord());
     }
 
+    @Test
+    void reassociateCompetencyUpdatesExistingTest() throws Exception {
+        CompetencyDto competencyDto = new CompetencyDto();
+        competencyDto.setId(COMPETENCY_ID);
+        PersonalQualificationDto<CompetencyDto> pqd
+            = new PersonalQualificationDto<CompetencyDto>(competencyDto, true);
+
+        Person mockPerson = getTestPerson();
+        PersonalCompetency pc = mockPerson.getCompetencies().iterator().next();
+
+        Mockito.doReturn(Optional.of(mockPerson)).when(getPersonSvc())
+                .get(PERSON_ID);
+        Mockito.when(getCompetencySvc().get(COMPETENCY_ID))
+                .thenReturn(Optional.of(pc.getCompetency()));
+        Mockito.when(getPersonLinkQuerySvc().competency(PERSON_ID,
+                COMPETENCY_ID)).thenReturn(Optional.of(pc));
+        Mockito.when(getPersonalCompetencySvc().save(any()))
+                .thenAnswer(i -> i.getArgument(0));
+
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .post(PERSON_API + "/" + PERSON_ID + "/competency/"
+                        + COMPETENCY_ID)
+                .content(asJsonString(pqd))
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders(
+                        "person/competency|ASSOCIATE"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        List<PersonalQualificationDto<CompetencyDto>> result = resultsAsObject(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<List<
+                    PersonalQualificationDto<CompetencyDto>>>() { });
+        assertEquals(1, result.size());
+        assertTrue(result.get(0).getHasRecord());
+        Mockito.verify(getPersonalCompetencySvc()).save(pc);
+    }
+
     @Test
     void updateCompetencyAssociationTest() throws Exception {
         CompetencyDto competencyDto = new CompetencyDto();
@@ -641,8 +1091,8 @@ public class PersonControllerTest extends CommonControllerTest {
         Person mockPerson = getTestPerson();
         PersonalCompetency pc = mockPerson.getCompetencies().iterator().next();
 
-        Mockito.when(getPersonSvc().get(PERSON_ID))
-                .thenReturn(Optional.of(mockPerson));
+        Mockito.when(getPersonLinkQuerySvc().competency(PERSON_ID,
+                COMPETENCY_ID)).thenReturn(Optional.of(pc));
         Mockito.when(getCompetencySvc().get(COMPETENCY_ID))
                 .thenReturn(Optional.of(pc.getCompetency()));
         Mockito.when(getPersonalCompetencySvc().save(any()))
@@ -670,9 +1120,10 @@ public class PersonControllerTest extends CommonControllerTest {
 
     @Test
     void deleteCompetencyAssociationTest() throws Exception {
-        Person mockPerson = getTestPerson();
-        Mockito.when(getPersonSvc().get(PERSON_ID))
-                .thenReturn(Optional.of(mockPerson));
+        PersonalCompetency pc = getTestPerson().getCompetencies().iterator()
+                .next();
+        Mockito.when(getPersonLinkQuerySvc().competency(PERSON_ID,
+                COMPETENCY_ID)).thenReturn(Optional.of(pc));
 
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .delete(PERSON_API + "/" + PERSON_ID + "/competency/"
@@ -713,8 +1164,9 @@ public class PersonControllerTest extends CommonControllerTest {
 
     @Test
     void getCredentialTest() throws Exception {
-        Mockito.doReturn(Optional.of(getTestPerson()))
-                .when(getPersonSvc()).get(PERSON_ID);
+        Mockito.doReturn(Optional.of(getTestPerson().getCredentials()
+                .iterator().next())).when(getPersonLinkQuerySvc())
+                .credential(PERSON_ID, CREDENTIAL_ID);
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(PERSON_API + "/" + PERSON_ID + "/credential/"
                         + CREDENTIAL_ID)
@@ -771,6 +1223,45 @@ public class PersonControllerTest extends CommonControllerTest {
         assertTrue(result.get(0).getHasRecord());
     }
 
+    @Test
+    void reassociateCredentialUpdatesExistingTest() throws Exception {
+        CredentialDto credentialDto = new CredentialDto();
+        credentialDto.setId(CREDENTIAL_ID);
+        PersonalQualificationDto<CredentialDto> pqd
+            = new PersonalQualificationDto<CredentialDto>(
+                credentialDto, true);
+
+        Person mockPerson = getTestPerson();
+        PersonalCredential pc = mockPerson.getCredentials().iterator().next();
+
+        Mockito.doReturn(Optional.of(mockPerson)).when(getPersonSvc())
+                .get(PERSON_ID);
+        Mockito.when(getCredentialSvc().get(CREDENTIAL_ID))
+                .thenReturn(Optional.of(pc.getCredential()));
+        Mockito.when(getPersonLinkQuerySvc().credential(PERSON_ID,
+                CREDENTIAL_ID)).thenReturn(Optional.of(pc));
+        Mockito.when(getPersonalCredentialSvc().save(any()))
+                .thenAnswer(i -> i.getArgument(0));
+
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .post(PERSON_API + "/" + PERSON_ID + "/credential/"
+                        + CREDENTIAL_ID)
+                .content(asJsonString(pqd))
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("person/credential|ASSOCIATE"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(200, mvcResult.getResponse().getStatus());
+        List<PersonalQualificationDto<CredentialDto>> result = resultsAsObject(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<List<
+                    PersonalQualificationDto<CredentialDto>>>() { });
+        assertEquals(1, result.size());
+        assertTrue(result.get(0).getHasRecord());
+        Mockito.verify(getPersonalCredentialSvc()).save(pc);
+    }
+
     @Test
     void updateCredentialAssociationTest() throws Exception {
         CredentialDto credentialDto = new CredentialDto();
@@ -782,8 +1273,8 @@ public class PersonControllerTest extends CommonControllerTest {
         Person mockPerson = getTestPerson();
         PersonalCredential pc = mockPerson.getCredentials().iterator().next();
 
-        Mockito.when(getPersonSvc().get(PERSON_ID))
-                .thenReturn(Optional.of(mockPerson));
+        Mockito.when(getPersonLinkQuerySvc().credential(PERSON_ID,
+                CREDENTIAL_ID)).thenReturn(Optional.of(pc));
         Mockito.when(getCredentialSvc().get(CREDENTIAL_ID))
                 .thenReturn(Optional.of(pc.getCredential()));
         Mockito.when(getPersonalCredentialSvc().save(any()))
@@ -810,9 +1301,10 @@ public class PersonControllerTest extends CommonControllerTest {
 
     @Test
     void deleteCredentialAssociationTest() throws Exception {
-        Person mockPerson = getTestPerson();
-        Mockito.when(getPersonSvc().get(PERSON_ID))
-                .thenReturn(Optional.of(mockPerson));
+        PersonalCredential pc = getTestPerson().getCredentials().iterator()
+                .next();
+        Mockito.when(getPersonLinkQuerySvc().credential(PERSON_ID,
+                CREDENTIAL_ID)).thenReturn(Optional.of(pc));
 
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .delete(PERSON_API + "/" + PERSON_ID + "/credential/"
@@ -987,8 +1479,9 @@ public class PersonControllerTest extends CommonControllerTest {
 
     @Test
     void getAssociationByPersonAndOrgTest() throws Exception {
-        Mockito.doReturn(Optional.of(getTestPerson()))
-                .when(getPersonSvc()).get(PERSON_ID);
+        Mockito.doReturn(Optional.of(getTestPerson().getAssociations()
+                .iterator().next())).when(getPersonLinkQuerySvc())
+                .association(PERSON_ID, ORGANIZATION_ID);
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .get(PERSON_API + "/" + PERSON_ID + "/organization/"
                         + ORGANIZATION_ID)
@@ -1056,14 +1549,11 @@ public class PersonControllerTest extends CommonControllerTest {
         String assocType = "NEWASSOC";
         associationDto.setAssociationType(assocType);
 
-        Person mockPerson = getTestPerson();
-        Organization mockOrganization = mockPerson.getAssociations().iterator()
-                .next().getOrganization();
+        Association association = getTestPerson().getAssociations()
+                .iterator().next();
 
-        Mockito.when(getPersonSvc().get(PERSON_ID))
-                .thenReturn(Optional.of(mockPerson));
-        Mockito.when(getOrganizationSvc().get(ORGANIZATION_ID))
-                .thenReturn(Optional.of(mockOrganization));
+        Mockito.when(getPersonLinkQuerySvc().association(PERSON_ID,
+                ORGANIZATION_ID)).thenReturn(Optional.of(association));
 
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .put(PERSON_API + "/" + PERSON_ID + "/organization/"
@@ -1087,9 +1577,10 @@ public class PersonControllerTest extends CommonControllerTest {
 
     @Test
     void deleteOrgAssociationTest() throws Exception {
-        Person mockPerson = getTestPerson();
-        Mockito.when(getPersonSvc().get(PERSON_ID))
-                .thenReturn(Optional.of(mockPerson));
+        Association association = getTestPerson().getAssociations()
+                .iterator().next();
+        Mockito.when(getPersonLinkQuerySvc().association(PERSON_ID,
+                ORGANIZATION_ID)).thenReturn(Optional.of(association));
 
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
                 .delete(PERSON_API + "/" + PERSON_ID + "/organization/"
@@ -1105,6 +1596,47 @@ public class PersonControllerTest extends CommonControllerTest {
         assertEquals(204, mvcResult.getResponse().getStatus());
     }
 
+    @Test
+    void getCompetencyNotHeldTest() throws Exception {
+        Mockito.when(getPersonLinkQuerySvc().competency(PERSON_ID,
+                COMPETENCY_ID)).thenReturn(Optional.empty());
+        Mockito.when(getPersonLinkQuerySvc().exists(Person.class, PERSON_ID))
+                .thenReturn(true);
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .get(PERSON_API + "/" + PERSON_ID + "/competency/"
+                        + COMPETENCY_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders("person|READ"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(404, mvcResult.getResponse().getStatus());
+        assertTrue(mvcResult.getResponse().getContentAsString()
+                .contains("Competency not found"));
+        Mockito.verify(getPersonSvc(), Mockito.never()).get(any());
+    }
+
+    @Test
+    void deleteOrgAssociationPersonNotFoundTest() throws Exception {
+        Mockito.when(getPersonLinkQuerySvc().association(PERSON_ID,
+                ORGANIZATION_ID)).thenReturn(Optional.empty());
+        Mockito.when(getPersonLinkQuerySvc().exists(Person.class, PERSON_ID))
+                .thenReturn(false);
+        MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders
+                .delete(PERSON_API + "/" + PERSON_ID + "/organization/"
+                        + ORGANIZATION_ID)
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(this.getHeaders(
+                        "person/organization|DISASSOCIATE"));
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+
+        assertEquals(404, mvcResult.getResponse().getStatus());
+        assertTrue(mvcResult.getResponse().getContentAsString()
+                .contains("Person not found"));
+        Mockito.verify(getAssociationSvc(), Mockito.never()).delete(any());
+    }
+
     /**
      *
      * @return Person
@@ -1166,6 +1698,7 @@ public class PersonControllerTest extends CommonControllerTest {
         Association association = new Association();
         association.setId(ASSOCIATION_ID);
         association.setOrganization(organization);
+        association.setPerson(person);
         association.setAssociationType("MEMBER");
         Set<Association> associations = new HashSet<Association>();
         associations.add(association);
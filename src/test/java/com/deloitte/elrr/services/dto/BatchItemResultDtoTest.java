@@ -0,0 +1,26 @@
+package com.deloitte.elrr.services.dto;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.deloitte.elrr.util.ValueObjectTestUtility;
+
+class BatchItemResultDtoTest {
+
+    /**
+     *
+     */
+    @Test
+    void test() {
+        ValueObjectTestUtility.validateAccessors(BatchItemResultDto.class);
+    }
+
+    /**
+     *
+     */
+    @Test
+    void testToString() {
+        assertNotNull(new BatchItemResultDto().toString());
+    }
+}
@@ -0,0 +1,27 @@
+package com.deloitte.elrr.services.dto;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.deloitte.elrr.util.ValueObjectTestUtility;
+
+public class BulkResultDtoTest {
+
+    /**
+     *
+     */
+    @Test
+    void test() {
+        ValueObjectTestUtility.validateAccessors(BulkResultDto.class);
+        ValueObjectTestUtility.validateAccessors(BulkResultDto.Failure.class);
+    }
+    /**
+     *
+     */
+    @Test
+    void testToString() {
+        assertNotNull(new BulkResultDto().toString());
+        assertNotNull(new BulkResultDto.Failure(1, "failed").toString());
+    }
+}
@@ -0,0 +1,26 @@
+package com.deloitte.elrr.services.dto;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.deloitte.elrr.util.ValueObjectTestUtility;
+
+class CacheRegionStatsDtoTest {
+
+    /**
+     *
+     */
+    @Test
+    void test() {
+        ValueObjectTestUtility.validateAccessors(CacheRegionStatsDto.class);
+    }
+
+    /**
+     *
+     */
+    @Test
+    void testToString() {
+        assertNotNull(new CacheRegionStatsDto().toString());
+    }
+}
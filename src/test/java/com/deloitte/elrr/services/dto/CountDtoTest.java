@@ -0,0 +1,26 @@
+package com.deloitte.elrr.services.dto;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.deloitte.elrr.util.ValueObjectTestUtility;
+
+class CountDtoTest {
+
+    /**
+     *
+     */
+    @Test
+    void test() {
+        ValueObjectTestUtility.validateAccessors(CountDto.class);
+    }
+
+    /**
+     *
+     */
+    @Test
+    void testToString() {
+        assertNotNull(new CountDto().toString());
+    }
+}
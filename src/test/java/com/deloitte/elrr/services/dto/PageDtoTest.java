@@ -0,0 +1,25 @@
+package com.deloitte.elrr.services.dto;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.deloitte.elrr.util.ValueObjectTestUtility;
+
+public class PageDtoTest {
+
+    /**
+     *
+     */
+    @Test
+    void test() {
+        ValueObjectTestUtility.validateAccessors(PageDto.class);
+    }
+    /**
+     *
+     */
+    @Test
+    void testToString() {
+        assertNotNull(new PageDto<>().toString());
+    }
+}
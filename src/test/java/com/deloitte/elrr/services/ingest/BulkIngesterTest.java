@@ -0,0 +1,142 @@
+package com.deloitte.elrr.services.ingest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.deloitte.elrr.entity.Person;
+import com.deloitte.elrr.services.dto.BulkResultDto;
+import com.deloitte.elrr.services.dto.PersonDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BulkIngesterTest {
+
+    @InjectMocks
+    private BulkIngester bulkIngester;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory()
+            .getValidator();
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Session session;
+
+    private final List<List<String>> saved = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bulkIngester, "chunkSize", 2);
+        ReflectionTestUtils.setField(bulkIngester, "maxLineLength", 40);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+    }
+
+    @Test
+    void savesValidRecordsInChunks() throws Exception {
+        BulkResultDto result = ingest(person("a") + person("b") + "\n"
+                + person("c") + person("d") + person("e"));
+
+        assertEquals(5, result.getReceived());
+        assertEquals(5, result.getCreated());
+        assertEquals(0, result.getFailed());
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d"),
+                List.of("e")), saved);
+    }
+
+    @Test
+    void reportsInvalidLinesAndKeepsTheRest() throws Exception {
+        BulkResultDto result = ingest(person("a") + "{not json\n"
+                + person("x".repeat(256)) + person("b"));
+
+        assertEquals(4, result.getReceived());
+        assertEquals(2, result.getCreated());
+        assertEquals(2, result.getFailed());
+        assertEquals(2, result.getFailures().get(0).getLine());
+        assertEquals(3, result.getFailures().get(1).getLine());
+        assertTrue(result.getFailures().get(1).getMessage()
+                .startsWith("name:"));
+        assertEquals(List.of(List.of("a", "b")), saved);
+    }
+
+    @Test
+    void isolatesRecordsThatFailToSave() throws Exception {
+        BulkResultDto result = ingest(person("a") + person("bad")
+                + person("c"));
+
+        assertEquals(3, result.getReceived());
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getFailures().get(0).getLine());
+        assertEquals("duplicate", result.getFailures().get(0).getMessage());
+        assertEquals(List.of(List.of("a"), List.of("c")), saved);
+    }
+
+    @Test
+    void reportsLinesOverTheLengthCap() throws Exception {
+        BulkResultDto result = ingest(person("a")
+                + person("x".repeat(100)).replace("\n", "\r\n")
+                + person("b").replace("\n", "\r\n") + "\r\n"
+                + person("c").trim());
+
+        assertEquals(4, result.getReceived());
+        assertEquals(3, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getFailures().get(0).getLine());
+        assertEquals("Record longer than 40 characters",
+                result.getFailures().get(0).getMessage());
+        assertEquals(List.of(List.of("a", "b"), List.of("c")), saved);
+    }
+
+    private BulkResultDto ingest(String body) throws Exception {
+        return bulkIngester.ingest(new StringReader(body), PersonDto.class,
+                dto -> {
+                    Person person = new Person();
+                    person.setName(dto.getName());
+                    return person;
+                },
+                persons -> {
+                    List<String> names = persons.stream()
+                            .map(Person::getName).toList();
+                    if (names.contains("bad")) {
+                        throw new IllegalStateException("duplicate");
+                    }
+                    saved.add(names);
+                });
+    }
+
+    private static String person(String name) {
+        return "{\"name\":\"" + name + "\"}\n";
+    }
+}
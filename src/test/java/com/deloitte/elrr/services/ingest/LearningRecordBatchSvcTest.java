@@ -0,0 +1,149 @@
+package com.deloitte.elrr.services.ingest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.deloitte.elrr.entity.LearningRecord;
+import com.deloitte.elrr.entity.LearningResource;
+import com.deloitte.elrr.entity.Person;
+import com.deloitte.elrr.entity.types.LearningStatus;
+import com.deloitte.elrr.jpa.svc.LearningRecordSvc;
+import com.deloitte.elrr.services.dto.BatchItemResultDto;
+import com.deloitte.elrr.services.dto.LearningRecordBatchItemDto;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LearningRecordBatchSvcTest {
+
+    private static final UUID PERSON_ID = UUID.randomUUID();
+
+    private static final UUID MISSING_PERSON_ID = UUID.randomUUID();
+
+    private static final UUID RESOURCE_ID = UUID.randomUUID();
+
+    @InjectMocks
+    private LearningRecordBatchSvc learningRecordBatchSvc;
+
+    @Mock
+    private LearningRecordSvc learningRecordSvc;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory()
+            .getValidator();
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private TypedQuery<UUID> idQuery;
+
+    private final List<Integer> savedChunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(learningRecordBatchSvc, "chunkSize", 10);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(entityManager.createQuery(anyString(), eq(UUID.class)))
+                .thenReturn(idQuery);
+        when(idQuery.setParameter(anyString(), any())).thenReturn(idQuery);
+        when(idQuery.getResultList()).thenReturn(List.of(PERSON_ID),
+                List.of(RESOURCE_ID));
+        when(entityManager.getReference(Person.class, PERSON_ID))
+                .thenReturn(new Person());
+        when(entityManager.getReference(LearningResource.class, RESOURCE_ID))
+                .thenReturn(new LearningResource());
+    }
+
+    @Test
+    void createsResolvedItemsInOneChunk() {
+        assignIds(false);
+
+        List<BatchItemResultDto> results = learningRecordBatchSvc.create(
+                List.of(item(PERSON_ID, RESOURCE_ID),
+                        item(MISSING_PERSON_ID, RESOURCE_ID),
+                        item(PERSON_ID, null),
+                        item(PERSON_ID, RESOURCE_ID)));
+
+        assertEquals(4, results.size());
+        assertNotNull(results.get(0).getId());
+        assertEquals("Person not found for this id :: " + MISSING_PERSON_ID,
+                results.get(1).getError());
+        assertNull(results.get(1).getId());
+        assertEquals("learningResourceId: must not be null",
+                results.get(2).getError());
+        assertNotNull(results.get(3).getId());
+        assertEquals(List.of(2), savedChunks);
+        verify(entityManager, times(2)).createQuery(anyString(),
+                eq(UUID.class));
+    }
+
+    @Test
+    void retriesFailedChunkOneItemAtATime() {
+        assignIds(true);
+
+        List<BatchItemResultDto> results = learningRecordBatchSvc.create(
+                List.of(item(PERSON_ID, RESOURCE_ID),
+                        item(PERSON_ID, RESOURCE_ID)));
+
+        assertNotNull(results.get(0).getId());
+        assertNotNull(results.get(1).getId());
+        assertEquals(List.of(1, 1), savedChunks);
+    }
+
+    private void assignIds(boolean failChunks) {
+        doAnswer(invocation -> {
+            Iterable<LearningRecord> records = invocation.getArgument(0);
+            List<LearningRecord> list = new ArrayList<>();
+            records.forEach(list::add);
+            if (failChunks && list.size() > 1) {
+                throw new IllegalStateException("batch failed");
+            }
+            list.forEach(record -> record.setId(UUID.randomUUID()));
+            savedChunks.add(list.size());
+            return list;
+        }).when(learningRecordSvc).saveAll(anyList());
+    }
+
+    private static LearningRecordBatchItemDto item(UUID personId,
+            UUID resourceId) {
+        return new LearningRecordBatchItemDto(personId, resourceId,
+                LearningStatus.ATTEMPTED, null, null, null);
+    }
+}
@@ -0,0 +1,182 @@
+package com.deloitte.elrr.services.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+
+import com.deloitte.elrr.entity.Competency;
+import com.deloitte.elrr.entity.Credential;
+import com.deloitte.elrr.entity.Email;
+import com.deloitte.elrr.entity.Goal;
+import com.deloitte.elrr.entity.Location;
+import com.deloitte.elrr.entity.Person;
+import com.deloitte.elrr.entity.Phone;
+import com.deloitte.elrr.entity.types.GoalType;
+import com.deloitte.elrr.services.dto.GoalDto;
+import com.deloitte.elrr.services.dto.PersonDto;
+
+class DtoMapperTest {
+
+    private final DtoMapper dtoMapper = Mappers.getMapper(DtoMapper.class);
+
+    @Test
+    void personMatchesModelMapper() {
+        Person person = samplePerson();
+
+        assertEquals(skipNullModelMapper().map(person, PersonDto.class),
+                dtoMapper.toDto(person));
+    }
+
+    @Test
+    void personNestedValues() {
+        Person person = samplePerson();
+
+        PersonDto dto = dtoMapper.toDto(person);
+
+        assertEquals(person.getId(), dto.getId());
+        assertEquals("Ada Lovelace", dto.getName());
+        assertEquals("London", dto.getMailingAddress().getCity());
+        assertNull(dto.getShippingAddress());
+        assertEquals("ada@example.com",
+                dto.getEmailAddresses().iterator().next().getEmailAddress());
+        assertEquals("555-0100",
+                dto.getPhoneNumbers().iterator().next().getTelephoneNumber());
+    }
+
+    @Test
+    void goalPersonIdAndLocalTimes() {
+        Person person = new Person();
+        person.setId(UUID.randomUUID());
+        ZonedDateTime start = ZonedDateTime.now();
+        Goal goal = new Goal();
+        goal.setId(UUID.randomUUID());
+        goal.setPerson(person);
+        goal.setName("Goal");
+        goal.setType(GoalType.SELF);
+        goal.setStartDate(start);
+
+        GoalDto dto = dtoMapper.toDto(goal);
+
+        assertEquals(person.getId(), dto.getPersonId());
+        assertEquals(GoalType.SELF, dto.getType());
+        assertEquals(start.toLocalDateTime(), dto.getStartDate());
+        assertNull(dto.getAchievedByDate());
+    }
+
+    @Test
+    void goalRelatedIds() {
+        Competency competency = new Competency();
+        competency.setId(UUID.randomUUID());
+        Credential credential = new Credential();
+        credential.setId(UUID.randomUUID());
+        Goal goal = new Goal();
+        goal.setId(UUID.randomUUID());
+        goal.setCompetencies(new HashSet<>(Set.of(competency)));
+        goal.setCredentials(new HashSet<>(Set.of(credential)));
+        goal.setLearningResources(new HashSet<>());
+
+        GoalDto dto = dtoMapper.toDto(goal);
+
+        assertEquals(Set.of(competency.getId()), dto.getCompetencyIds());
+        assertEquals(Set.of(credential.getId()), dto.getCredentialIds());
+        assertEquals(Set.of(), dto.getLearningResourceIds());
+    }
+
+    @Test
+    void personToEntityMatchesModelMapper() {
+        PersonDto dto = dtoMapper.toDto(samplePerson());
+
+        assertEquals(dtoMapper.toDto(skipNullModelMapper().map(dto,
+                Person.class)), dtoMapper.toDto(dtoMapper.toEntity(dto)));
+    }
+
+    @Test
+    void personUpdateMatchesModelMapper() {
+        PersonDto existing = dtoMapper.toDto(samplePerson());
+        ModelMapper modelMapper = skipNullModelMapper();
+        Person expected = modelMapper.map(existing, Person.class);
+        Person actual = modelMapper.map(existing, Person.class);
+        PersonDto request = new PersonDto();
+        request.setName("Augusta Ada King");
+
+        modelMapper.map(request, expected);
+        dtoMapper.update(request, actual);
+
+        assertEquals(dtoMapper.toDto(expected), dtoMapper.toDto(actual));
+    }
+
+    @Test
+    void updateKeepsPropertiesTheRequestLeavesNull() {
+        Person person = samplePerson();
+        Set<Email> emails = person.getEmailAddresses();
+        PersonDto request = new PersonDto();
+        request.setName("Augusta Ada King");
+
+        dtoMapper.update(request, person);
+
+        assertEquals("Augusta Ada King", person.getName());
+        assertEquals("London", person.getMailingAddress().getCity());
+        assertSame(emails, person.getEmailAddresses());
+        assertEquals(1, person.getPhoneNumbers().size());
+    }
+
+    @Test
+    void goalToEntityRefersToPerson() {
+        LocalDateTime start = LocalDateTime.now();
+        GoalDto dto = new GoalDto();
+        dto.setPersonId(UUID.randomUUID());
+        dto.setName("Goal");
+        dto.setType(GoalType.SELF);
+        dto.setStartDate(start);
+        dto.setCompetencyIds(Set.of(UUID.randomUUID()));
+
+        Goal goal = dtoMapper.toEntity(dto);
+
+        assertEquals(dto.getPersonId(), goal.getPerson().getId());
+        assertEquals(GoalType.SELF, goal.getType());
+        assertEquals(start, goal.getStartDate().toLocalDateTime());
+        assertEquals(new Goal().getCompetencies(), goal.getCompetencies());
+    }
+
+    @Test
+    void nullMapsToNull() {
+        assertNull(dtoMapper.toDto((Person) null));
+        assertNull(dtoMapper.toEntity((PersonDto) null));
+    }
+
+    private static ModelMapper skipNullModelMapper() {
+        ModelMapper modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setSkipNullEnabled(true);
+        return modelMapper;
+    }
+
+    static Person samplePerson() {
+        Location address = new Location();
+        address.setId(UUID.randomUUID());
+        address.setCity("London");
+        Email email = new Email();
+        email.setId(UUID.randomUUID());
+        email.setEmailAddress("ada@example.com");
+        Phone phone = new Phone();
+        phone.setId(UUID.randomUUID());
+        phone.setTelephoneNumber("555-0100");
+        Person person = new Person();
+        person.setId(UUID.randomUUID());
+        person.setName("Ada Lovelace");
+        person.setMailingAddress(address);
+        person.setPhysicalAddress(address);
+        person.setEmailAddresses(new HashSet<>(Set.of(email)));
+        person.setPhoneNumbers(new HashSet<>(Set.of(phone)));
+        return person;
+    }
+}
@@ -0,0 +1,108 @@
+package com.deloitte.elrr.services.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.deloitte.elrr.entity.Person;
+import com.deloitte.elrr.services.dto.PersonDto;
+
+/**
+ * Compares ModelMapper with the generated {@link DtoMapper} on a page of
+ * persons, mapped to response DTOs and back from request DTOs. Not part of the test run; start it with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.deloitte.elrr.services.mapper.MappingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"1", "100"})
+    private int rows;
+
+    private List<Person> persons;
+
+    private List<PersonDto> requests;
+
+    private ModelMapper modelMapper;
+
+    private DtoMapper dtoMapper;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setSkipNullEnabled(true);
+        dtoMapper = Mappers.getMapper(DtoMapper.class);
+        persons = new ArrayList<>(rows);
+        requests = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            persons.add(DtoMapperTest.samplePerson());
+            requests.add(dtoMapper.toDto(persons.get(i)));
+        }
+        modelMapper.map(persons.get(0), PersonDto.class);
+        modelMapper.map(requests.get(0), Person.class);
+    }
+
+    @Benchmark
+    public List<PersonDto> modelMapper() {
+        List<PersonDto> dtos = new ArrayList<>(rows);
+        for (Person person : persons) {
+            dtos.add(modelMapper.map(person, PersonDto.class));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<PersonDto> generated() {
+        List<PersonDto> dtos = new ArrayList<>(rows);
+        for (Person person : persons) {
+            dtos.add(dtoMapper.toDto(person));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<Person> modelMapperInbound() {
+        List<Person> entities = new ArrayList<>(rows);
+        for (PersonDto request : requests) {
+            entities.add(modelMapper.map(request, Person.class));
+        }
+        return entities;
+    }
+
+    @Benchmark
+    public List<Person> generatedInbound() {
+        List<Person> entities = new ArrayList<>(rows);
+        for (PersonDto request : requests) {
+            entities.add(dtoMapper.toEntity(request));
+        }
+        return entities;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MappingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
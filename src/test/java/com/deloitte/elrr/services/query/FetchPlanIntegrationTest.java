@@ -0,0 +1,159 @@
+package com.deloitte.elrr.services.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deloitte.elrr.entity.Email;
+import com.deloitte.elrr.entity.Location;
+import com.deloitte.elrr.entity.Person;
+import com.deloitte.elrr.entity.Phone;
+import com.deloitte.elrr.entity.types.ActionType;
+import com.deloitte.elrr.jpa.svc.ClientTokenSvc;
+import com.deloitte.elrr.services.PostgresIntegrationTest;
+import com.deloitte.elrr.services.dto.PermissionDto;
+import com.deloitte.elrr.services.security.JwtUtil;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Checks that a page of persons, and the unpaged list, are read in a fixed
+ * number of statements.
+ */
+@PostgresIntegrationTest
+class FetchPlanIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private ClientTokenSvc clientTokenSvc;
+
+    private final String prefix = "fetchplan-" + UUID.randomUUID();
+
+    private final List<Object> created = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(clientTokenSvc.existsByJwtId(any())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> {
+                    for (int i = created.size() - 1; i >= 0; i--) {
+                        Object entity = created.get(i);
+                        entityManager.remove(entityManager.contains(entity)
+                                ? entity : entityManager.merge(entity));
+                    }
+                });
+    }
+
+    @Test
+    void personPageUsesFixedStatementCount() throws Exception {
+        seed("small", 3);
+        seed("large", 40);
+
+        long small = statementsFor("small", 3);
+        long large = statementsFor("large", 40);
+
+        assertEquals(small, large,
+                "statements for a page must not grow with its size");
+    }
+
+    @Test
+    void unpagedPersonListUsesFixedStatementCount() throws Exception {
+        seed("few", 3);
+        seed("many", 40);
+
+        long few = statementsFor("few", null, "$.length()", 3);
+        long many = statementsFor("many", null, "$.length()", 40);
+
+        assertEquals(few, many,
+                "statements for the list must not grow with its size");
+    }
+
+    private long statementsFor(String group, int expected) throws Exception {
+        return statementsFor(group, "100", "$.items.length()", expected);
+    }
+
+    private long statementsFor(String group, String limit, String length,
+            int expected) throws Exception {
+        Statistics statistics = entityManagerFactory
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        MockHttpServletRequestBuilder request = get("/api/person")
+                .param("name", prefix + "-" + group + "-%")
+                .header("X-Forwarded-Proto", "https")
+                .header("Authorization", "Bearer " + jwtUtil.createToken(
+                        UUID.randomUUID(), List.of(new PermissionDto("person",
+                                null, List.of(ActionType.READ)))));
+        if (limit != null) {
+            request.param("limit", limit);
+        }
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(length).value(expected));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seed(String group, int count) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> {
+                    for (int i = 0; i < count; i++) {
+                        Location address = new Location();
+                        address.setCity(prefix);
+                        Email email = new Email();
+                        email.setEmailAddress(prefix + i + "@example.com");
+                        Phone phone = new Phone();
+                        phone.setTelephoneNumber("555-0100");
+                        Person person = new Person();
+                        person.setName(prefix + "-" + group + "-" + i);
+                        person.setMailingAddress(address);
+                        person.setPhysicalAddress(address);
+                        person.setEmailAddresses(new HashSet<>(Set.of(email)));
+                        person.setPhoneNumbers(new HashSet<>(Set.of(phone)));
+                        for (Object entity : List.of(address, email, phone,
+                                person)) {
+                            entityManager.persist(entity);
+                            created.add(entity);
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,106 @@
+package com.deloitte.elrr.services.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.deloitte.elrr.entity.Email;
+import com.deloitte.elrr.entity.Location;
+import com.deloitte.elrr.entity.Person;
+import com.deloitte.elrr.services.exception.BadRequestException;
+
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.Attribute.PersistentAttributeType;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import jakarta.persistence.metamodel.Type;
+
+class FieldSelectionTest {
+
+    private Metamodel metamodel;
+
+    @BeforeEach
+    void setUp() {
+        metamodel = mock(Metamodel.class);
+
+        EntityType<?> person = mock(EntityType.class);
+        doReturn(person).when(metamodel).entity(Person.class);
+        doReturn(basic()).when(person).getAttribute("id");
+        doReturn(basic()).when(person).getAttribute("name");
+        doThrow(new IllegalArgumentException()).when(person)
+                .getAttribute("nope");
+
+        SingularAttribute<?, ?> mailing = mock(SingularAttribute.class);
+        doReturn(PersistentAttributeType.MANY_TO_ONE).when(mailing)
+                .getPersistentAttributeType();
+        doReturn(Location.class).when(mailing).getJavaType();
+        doReturn(false).when(mailing).isCollection();
+        doReturn(mailing).when(person).getAttribute("mailingAddress");
+        EntityType<?> location = mock(EntityType.class);
+        doReturn(location).when(metamodel).entity(Location.class);
+        doReturn(basic()).when(location).getAttribute("city");
+
+        PluralAttribute<?, ?, ?> emails = mock(PluralAttribute.class);
+        Type<?> emailType = mock(Type.class);
+        doReturn(Email.class).when(emailType).getJavaType();
+        doReturn(emailType).when(emails).getElementType();
+        doReturn(PersistentAttributeType.MANY_TO_MANY).when(emails)
+                .getPersistentAttributeType();
+        doReturn(true).when(emails).isCollection();
+        doReturn(emails).when(person).getAttribute("emailAddresses");
+        EntityType<?> email = mock(EntityType.class);
+        doReturn(email).when(metamodel).entity(Email.class);
+        doReturn(basic()).when(email).getAttribute("emailAddress");
+    }
+
+    @Test
+    void parsesBasicAndAssociationFields() throws BadRequestException {
+        FieldSelection selection = FieldSelection.parse(metamodel,
+                Person.class,
+                "id, name,mailingAddress.city,emailAddresses.emailAddress");
+
+        assertEquals(List.of("name"), selection.getBasic());
+        assertEquals(List.of("city"),
+                selection.getSingular().get("mailingAddress"));
+        assertEquals(List.of("emailAddress"),
+                selection.getPlural().get("emailAddresses"));
+    }
+
+    @Test
+    void rejectsUnknownField() {
+        assertThrows(BadRequestException.class,
+                () -> FieldSelection.parse(metamodel, Person.class, "nope"));
+    }
+
+    @Test
+    void rejectsWholeAssociation() {
+        assertThrows(BadRequestException.class,
+                () -> FieldSelection.parse(metamodel, Person.class,
+                        "mailingAddress"));
+    }
+
+    @Test
+    void rejectsEmptyAndDeepFields() {
+        assertThrows(BadRequestException.class,
+                () -> FieldSelection.parse(metamodel, Person.class, " , "));
+        assertThrows(BadRequestException.class,
+                () -> FieldSelection.parse(metamodel, Person.class,
+                        "mailingAddress.city.name"));
+    }
+
+    private static Attribute<?, ?> basic() {
+        Attribute<?, ?> attribute = mock(Attribute.class);
+        doReturn(PersistentAttributeType.BASIC).when(attribute)
+                .getPersistentAttributeType();
+        return attribute;
+    }
+}
@@ -0,0 +1,330 @@
+package com.deloitte.elrr.services.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.DataBinder;
+
+import com.deloitte.elrr.entity.Association;
+import com.deloitte.elrr.entity.Competency;
+import com.deloitte.elrr.entity.Credential;
+import com.deloitte.elrr.entity.Email;
+import com.deloitte.elrr.entity.EmploymentRecord;
+import com.deloitte.elrr.entity.Entity;
+import com.deloitte.elrr.entity.Facility;
+import com.deloitte.elrr.entity.Goal;
+import com.deloitte.elrr.entity.LearningRecord;
+import com.deloitte.elrr.entity.LearningResource;
+import com.deloitte.elrr.entity.Location;
+import com.deloitte.elrr.entity.Organization;
+import com.deloitte.elrr.entity.Person;
+import com.deloitte.elrr.entity.PersonalCompetency;
+import com.deloitte.elrr.entity.PersonalCredential;
+import com.deloitte.elrr.entity.Phone;
+import com.deloitte.elrr.entity.types.GoalType;
+import com.deloitte.elrr.entity.types.LearningStatus;
+import com.deloitte.elrr.jpa.svc.CompetencySvc;
+import com.deloitte.elrr.jpa.svc.CredentialSvc;
+import com.deloitte.elrr.jpa.svc.EmploymentRecordSvc;
+import com.deloitte.elrr.jpa.svc.FacilitySvc;
+import com.deloitte.elrr.jpa.svc.GoalSvc;
+import com.deloitte.elrr.jpa.svc.LearningRecordSvc;
+import com.deloitte.elrr.jpa.svc.LearningResourceSvc;
+import com.deloitte.elrr.jpa.svc.LocationSvc;
+import com.deloitte.elrr.jpa.svc.OrganizationSvc;
+import com.deloitte.elrr.jpa.svc.PersonSvc;
+import com.deloitte.elrr.services.PostgresIntegrationTest;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Runs each filter through the library's {@code find*WithFilters} and
+ * through {@link FilterSpecifications}, and checks that both select the
+ * same rows. The list endpoints use the specifications, so this keeps them
+ * selecting what the library would. Every filter parameter a
+ * specification reads is covered with an exact value, one parameter at a
+ * time.
+ */
+@PostgresIntegrationTest
+class FilterParityIntegrationTest {
+
+    @Autowired
+    private FilterQuerySvc filterQuerySvc;
+
+    @Autowired
+    private PersonSvc personSvc;
+
+    @Autowired
+    private OrganizationSvc organizationSvc;
+
+    @Autowired
+    private CompetencySvc competencySvc;
+
+    @Autowired
+    private CredentialSvc credentialSvc;
+
+    @Autowired
+    private EmploymentRecordSvc employmentRecordSvc;
+
+    @Autowired
+    private LearningRecordSvc learningRecordSvc;
+
+    @Autowired
+    private LearningResourceSvc learningResourceSvc;
+
+    @Autowired
+    private LocationSvc locationSvc;
+
+    @Autowired
+    private FacilitySvc facilitySvc;
+
+    @Autowired
+    private GoalSvc goalSvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final String prefix = "parity-" + UUID.randomUUID();
+
+    private final Location location = new Location();
+
+    private final Facility facility = new Facility();
+
+    private final Organization organization = new Organization();
+
+    private final Competency competency = new Competency();
+
+    private final Credential credential = new Credential();
+
+    private final LearningResource resource = new LearningResource();
+
+    private final Person learner = new Person();
+
+    private final Person employee = new Person();
+
+    private final EmploymentRecord employmentRecord = new EmploymentRecord();
+
+    private final LearningRecord learningRecord = new LearningRecord();
+
+    private final Goal goal = new Goal();
+
+    @BeforeEach
+    void setUp() {
+        location.setCity(prefix);
+        facility.setName(prefix);
+        facility.setLocation(location);
+        organization.setName(prefix + "-org");
+        organization.setDescription(prefix + "-description");
+        competency.setIdentifier(prefix + "-competency");
+        competency.setIdentifierUrl("http://example.com/" + prefix + "/c");
+        competency.setCode(prefix + "-c");
+        credential.setIdentifier(prefix + "-credential");
+        credential.setIdentifierUrl("http://example.com/" + prefix + "/r");
+        credential.setCode(prefix + "-r");
+        resource.setIri("http://example.com/" + prefix + "/course");
+        resource.setTitle(prefix + " course");
+        resource.setSubjectMatter(prefix + " subject");
+        Email email = new Email();
+        email.setEmailAddress(prefix + "@example.com");
+        Phone phone = new Phone();
+        phone.setTelephoneNumber("555-010-4567");
+        learner.setName(prefix + "-learner");
+        learner.setMailingAddress(location);
+        learner.setEmailAddresses(new HashSet<>(Set.of(email)));
+        learner.setPhoneNumbers(new HashSet<>(Set.of(phone)));
+        employee.setName(prefix + "-employee");
+        employmentRecord.setPosition(prefix + "-position");
+        employmentRecord.setPositionTitle(prefix + "-title");
+        employmentRecord.setPositionDescription(prefix + "-duties");
+        employmentRecord.setEmployee(employee);
+        employmentRecord.setEmployerOrganization(organization);
+        learningRecord.setPerson(learner);
+        learningRecord.setLearningResource(resource);
+        learningRecord.setRecordStatus(LearningStatus.ATTEMPTED);
+        goal.setPerson(learner);
+        goal.setName(prefix + "-goal");
+        goal.setType(GoalType.SELF);
+        Association association = new Association();
+        association.setPerson(learner);
+        association.setOrganization(organization);
+        association.setAssociationType("MEMBER");
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> {
+                    for (Object entity : List.of(location, facility,
+                            organization, competency, credential, resource,
+                            email, phone, learner, employee,
+                            employmentRecord, learningRecord, goal,
+                            association)) {
+                        entityManager.persist(entity);
+                    }
+                    entityManager.persist(new PersonalCompetency(learner,
+                            competency, true));
+                    entityManager.persist(new PersonalCredential(employee,
+                            credential, true));
+                });
+    }
+
+    @Test
+    void person() throws Exception {
+        assertPerson("name", learner.getName());
+        assertPerson("id", learner.getId() + "," + employee.getId());
+        assertPerson("emailAddress", prefix + "@example.com");
+        assertPerson("phoneNumber", "555-010-4567");
+        assertPerson("associatedOrgId", organization.getId().toString());
+        assertPerson("employerOrgId", organization.getId().toString());
+        assertPerson("locationId", location.getId().toString());
+        assertPerson("competencyId", competency.getId().toString());
+        assertPerson("credentialId", credential.getId().toString());
+        assertPerson("learningResourceId", resource.getId().toString());
+    }
+
+    @Test
+    void organization() throws Exception {
+        for (String[] params : List.of(
+                new String[] {"id", organization.getId().toString()},
+                new String[] {"name", organization.getName()},
+                new String[] {"description", organization.getDescription()})) {
+            Organization.Filter filter = bind(new Organization.Filter(),
+                    params);
+            assertSameRows(organizationSvc.findOrganizationsWithFilters(
+                    filter), Organization.class,
+                    FilterSpecifications.organization(filter));
+        }
+    }
+
+    @Test
+    void qualifications() throws Exception {
+        for (String[] params : List.of(
+                new String[] {"id", competency.getId().toString()},
+                new String[] {"identifier", competency.getIdentifier()},
+                new String[] {"identifierUrl", competency.getIdentifierUrl()},
+                new String[] {"code", competency.getCode()})) {
+            Competency.Filter filter = bind(new Competency.Filter(), params);
+            assertSameRows(competencySvc.findCompetenciesWithFilters(filter),
+                    Competency.class,
+                    FilterSpecifications.competency(filter));
+        }
+        for (String[] params : List.of(
+                new String[] {"id", credential.getId().toString()},
+                new String[] {"identifier", credential.getIdentifier()},
+                new String[] {"identifierUrl", credential.getIdentifierUrl()},
+                new String[] {"code", credential.getCode()})) {
+            Credential.Filter filter = bind(new Credential.Filter(), params);
+            assertSameRows(credentialSvc.findCredentialsWithFilters(filter),
+                    Credential.class,
+                    FilterSpecifications.credential(filter));
+        }
+    }
+
+    @Test
+    void employmentRecord() throws Exception {
+        for (String[] params : List.of(
+                new String[] {"id", employmentRecord.getId().toString()},
+                new String[] {"position", employmentRecord.getPosition()},
+                new String[] {"positionTitle",
+                    employmentRecord.getPositionTitle()},
+                new String[] {"positionDescription",
+                    employmentRecord.getPositionDescription()},
+                new String[] {"employerOrgId",
+                    organization.getId().toString()})) {
+            EmploymentRecord.Filter filter = bind(
+                    new EmploymentRecord.Filter(), params);
+            assertSameRows(employmentRecordSvc
+                    .findEmploymentRecordsWithFilters(filter),
+                    EmploymentRecord.class,
+                    FilterSpecifications.employmentRecord(filter));
+        }
+    }
+
+    @Test
+    void learningRecordAndResource() throws Exception {
+        for (String[] params : List.of(
+                new String[] {"id", learningRecord.getId().toString()},
+                new String[] {"learningResourceId",
+                    resource.getId().toString()},
+                new String[] {"learningResourceId",
+                    resource.getId().toString(), "recordStatus",
+                    LearningStatus.ATTEMPTED.name()})) {
+            LearningRecord.Filter filter = bind(new LearningRecord.Filter(),
+                    params);
+            assertSameRows(learningRecordSvc
+                    .findLearningRecordsWithFilters(filter),
+                    LearningRecord.class,
+                    FilterSpecifications.learningRecord(filter));
+        }
+        for (String[] params : List.of(
+                new String[] {"id", resource.getId().toString()},
+                new String[] {"iri", resource.getIri()},
+                new String[] {"title", resource.getTitle()},
+                new String[] {"subjectMatter", resource.getSubjectMatter()})) {
+            LearningResource.Filter filter = bind(
+                    new LearningResource.Filter(), params);
+            assertSameRows(learningResourceSvc
+                    .findLearningResourcesWithFilters(filter),
+                    LearningResource.class,
+                    FilterSpecifications.learningResource(filter));
+        }
+    }
+
+    @Test
+    void byId() throws Exception {
+        Location.Filter locationFilter = bind(new Location.Filter(), "id",
+                location.getId().toString());
+        assertSameRows(locationSvc.findLocationsWithFilters(locationFilter),
+                Location.class, FilterSpecifications.location(locationFilter));
+        Facility.Filter facilityFilter = bind(new Facility.Filter(), "id",
+                facility.getId().toString());
+        assertSameRows(facilitySvc.findFacilitiesWithFilters(facilityFilter),
+                Facility.class, FilterSpecifications.facility(facilityFilter));
+        Goal.Filter goalFilter = bind(new Goal.Filter(), "id",
+                goal.getId().toString());
+        assertSameRows(goalSvc.findGoalsWithFilters(goalFilter), Goal.class,
+                FilterSpecifications.goal(goalFilter));
+    }
+
+    private void assertPerson(String... params) throws Exception {
+        Person.Filter filter = bind(new Person.Filter(), params);
+        assertSameRows(personSvc.findPersonsWithFilters(filter),
+                Person.class, FilterSpecifications.person(filter));
+    }
+
+    private <T extends Entity> void assertSameRows(
+            Iterable<? extends Entity> library, Class<T> type,
+            Specification<T> spec) throws Exception {
+        Set<UUID> expected = new HashSet<>();
+        library.forEach(entity -> expected.add(entity.getId()));
+        Set<UUID> actual = new HashSet<>();
+        filterQuerySvc.list(type, spec, null)
+                .forEach(entity -> actual.add(entity.getId()));
+        assertFalse(expected.isEmpty(), "library found no "
+                + type.getSimpleName() + " rows");
+        assertEquals(expected, actual, type.getSimpleName());
+    }
+
+    /**
+     * Fill a filter from query parameters, as the list endpoints do.
+     */
+    private static <F> F bind(F filter, String... params) {
+        MutablePropertyValues values = new MutablePropertyValues();
+        for (int i = 0; i < params.length; i += 2) {
+            values.add(params[i], params[i + 1]);
+        }
+        new DataBinder(filter).bind(values);
+        return filter;
+    }
+}
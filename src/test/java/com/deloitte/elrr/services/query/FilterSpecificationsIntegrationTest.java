@@ -0,0 +1,407 @@
+package com.deloitte.elrr.services.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deloitte.elrr.entity.Competency;
+import com.deloitte.elrr.entity.Credential;
+import com.deloitte.elrr.entity.Email;
+import com.deloitte.elrr.entity.LearningResource;
+import com.deloitte.elrr.entity.Person;
+import com.deloitte.elrr.entity.PersonalCompetency;
+import com.deloitte.elrr.entity.Phone;
+import com.deloitte.elrr.entity.types.ActionType;
+import com.deloitte.elrr.jpa.svc.ClientTokenSvc;
+import com.deloitte.elrr.services.PostgresIntegrationTest;
+import com.deloitte.elrr.services.dto.PermissionDto;
+import com.deloitte.elrr.services.security.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Runs the person filters against a database and checks that the unpaged
+ * list, the paged list, the stream and the count return the same rows, in
+ * id order, for the same query string, and that an unpaged list larger than
+ * {@code elrr.list.max-results} is refused when that bound is enforced. The competency, credential and
+ * learning resource lists are checked the same way without the stream.
+ * Extension filters are included, since every path renders them as the
+ * indexed jsonb operators.
+ */
+@PostgresIntegrationTest
+@TestPropertySource(properties = {
+    "elrr.list.max-results=20",
+    "elrr.list.enforce-max-results=true"
+})
+class FilterSpecificationsIntegrationTest {
+
+    private static final String PERSON_API = "/api/person";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private ClientTokenSvc clientTokenSvc;
+
+    private final String prefix = "filters-" + UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(clientTokenSvc.existsByJwtId(any())).thenReturn(true);
+    }
+
+    @Test
+    void everyPathReturnsTheSameRows() throws Exception {
+        Competency competency = new Competency();
+        competency.setIdentifier(prefix);
+        List<Person> persons = new ArrayList<>();
+        persons.add(person("a", "a@one.example.com", "(555) 010-4567"));
+        persons.add(person("b", "b@two.example.com", "555-010-9999"));
+        persons.add(person("c", "C@ONE.EXAMPLE.COM", "555 010 4567"));
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> {
+                    entityManager.persist(competency);
+                    persistAll(persons);
+                    entityManager.persist(new PersonalCompetency(
+                            persons.get(1), competency, true));
+                });
+
+        assertPaths(ids(persons, 0, 1, 2), "name", prefix + "-%");
+        assertPaths(ids(persons, 1), "name", prefix + "-b");
+        assertPaths(ids(persons, 0, 2), "name", prefix + "-%",
+                "emailAddress", "%@one.example.com");
+        assertPaths(ids(persons, 0, 2), "name", prefix + "-%",
+                "phoneNumber", "%4567");
+        assertPaths(ids(persons, 1), "competencyId",
+                competency.getId().toString());
+        assertPaths(ids(persons, 0, 2), "id", persons.get(0).getId()
+                + "," + persons.get(2).getId());
+    }
+
+    @Test
+    void suffixPatternsMatchOnEveryPath() throws Exception {
+        List<Person> persons = new ArrayList<>();
+        persons.add(person("smith", "ann@North.Example.org", "555-0101"));
+        persons.add(person("jones", "bob@south.example.org", "555-0102"));
+        persons.add(person("SMITH", "cy@north.example.ORG", "555-0103"));
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> persistAll(persons));
+
+        assertPaths(ids(persons, 0, 2), "name", "%" + prefix + "-smith");
+        assertPaths(ids(persons, 0, 2), "name", prefix + "-%",
+                "emailAddress", "%@NORTH.example.org");
+        assertPaths(ids(persons, 0, 1, 2), "name", prefix + "-%",
+                "emailAddress", "%@%.example.org");
+        assertPaths(ids(persons, 1), "name", prefix + "-%",
+                "emailAddress", "%@south.example.org", "emailAddress",
+                "nobody@example.org");
+    }
+
+    @Test
+    void phoneFiltersMatchOnEveryPath() throws Exception {
+        List<Person> persons = new ArrayList<>();
+        persons.add(person("a", "a@example.com", "+1 (555) 010-4567"));
+        persons.add(person("b", "b@example.com", "555.010.4567"));
+        persons.add(person("c", "c@example.com", "555-010-7654"));
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> persistAll(persons));
+
+        assertPaths(ids(persons, 0, 1), "name", prefix + "-%",
+                "phoneNumber", "%4567");
+        assertPaths(ids(persons, 0, 1), "name", prefix + "-%",
+                "phoneNumber", "% 45-67");
+        assertPaths(ids(persons, 1), "name", prefix + "-%",
+                "phoneNumber", "(555) 010-4567");
+        assertPaths(ids(persons, 0, 2), "name", prefix + "-%",
+                "phoneNumber", "15550104567", "phoneNumber", "%7654");
+    }
+
+    @Test
+    void extensionFiltersApplyToEveryPath() throws Exception {
+        String key = "https://example.com/" + prefix + "/achievementType";
+        List<Person> persons = new ArrayList<>();
+        for (String type : List.of("Certificate", "Badge")) {
+            Person person = new Person();
+            person.setName(prefix + "-" + type);
+            person.setExtensions(new HashMap<>(Map.of(URI.create(key),
+                    type)));
+            persons.add(person);
+        }
+        Person plain = new Person();
+        plain.setName(prefix + "-plain");
+        persons.add(plain);
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> persons.forEach(entityManager::persist));
+
+        assertPaths(ids(persons, 0, 1), "name", prefix + "-%",
+                "hasExtension", key);
+        assertPaths(ids(persons, 0, 1), "name", prefix + "-%",
+                "extensionPath", "$.\"" + key + "\"");
+        assertPaths(ids(persons, 0), "name", prefix + "-%",
+                "extensionPathMatch", "$.\"" + key + "\" == \"Certificate\"");
+    }
+
+    @Test
+    void qualificationListsMatchTheirPages() throws Exception {
+        List<Competency> competencies = new ArrayList<>();
+        List<Credential> credentials = new ArrayList<>();
+        List<LearningResource> resources = new ArrayList<>();
+        for (String suffix : List.of("a", "b", "c")) {
+            Competency competency = new Competency();
+            competency.setIdentifier(prefix + "-" + suffix);
+            competency.setCode(prefix);
+            competencies.add(competency);
+            Credential credential = new Credential();
+            credential.setIdentifier(prefix + "-" + suffix);
+            credential.setCode(prefix);
+            credentials.add(credential);
+            LearningResource resource = new LearningResource();
+            resource.setIri("http://example.com/" + prefix + "/" + suffix);
+            resource.setTitle(prefix + " course " + suffix);
+            resources.add(resource);
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> {
+                    competencies.forEach(entityManager::persist);
+                    credentials.forEach(entityManager::persist);
+                    resources.forEach(entityManager::persist);
+                });
+
+        assertLists("/api/competency", "competency",
+                sorted(competencies.stream().map(Competency::getId)),
+                "code", prefix);
+        assertLists("/api/competency", "competency",
+                List.of(competencies.get(1).getId()),
+                "identifier", prefix + "-b");
+        assertLists("/api/credential", "credential",
+                sorted(credentials.stream().map(Credential::getId)),
+                "code", prefix);
+        assertLists("/api/learningresource", "learningresource",
+                sorted(resources.stream().map(LearningResource::getId)),
+                "title", prefix + " course %");
+        assertLists("/api/learningresource", "learningresource",
+                List.of(resources.get(2).getId()),
+                "iri", resources.get(2).getIri());
+    }
+
+    @Test
+    void unpagedListIsBounded() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> {
+                    for (int i = 0; i < 21; i++) {
+                        Person person = new Person();
+                        person.setName(prefix + "-bound-" + i);
+                        entityManager.persist(person);
+                    }
+                });
+        String name = prefix + "-bound-%";
+
+        mockMvc.perform(request(PERSON_API).param("name", name))
+                .andExpect(status().isBadRequest());
+        assertEquals(21, paged(name).size());
+        assertEquals(21, count("name", name));
+    }
+
+    /**
+     * Check that every read path returns the expected ids for a filter.
+     */
+    private void assertPaths(List<UUID> expected, String... params)
+            throws Exception {
+        assertEquals(expected, list(params), "unpaged list");
+        assertEquals(expected, pages(params), "paged list");
+        assertEquals(expected, stream(params), "stream");
+        assertEquals(expected.size(), count(params), "count");
+    }
+
+    /**
+     * Check that the unpaged list, the pages and the count of an endpoint
+     * return the expected ids for a filter.
+     */
+    private void assertLists(String path, String resource, List<UUID> expected,
+            String... params) throws Exception {
+        MvcResult result = mockMvc.perform(with(request(path, resource),
+                params)).andExpect(status().isOk()).andReturn();
+        assertEquals(expected, ids(objectMapper.readTree(
+                result.getResponse().getContentAsString())), path);
+        JsonNode page = objectMapper.readTree(mockMvc.perform(
+                with(request(path, resource), params).param("limit", "500"))
+                .andExpect(status().isOk()).andReturn()
+                .getResponse().getContentAsString());
+        assertEquals(expected, ids(page.get("items")), path + " paged");
+        assertEquals(expected.size(), objectMapper.readTree(mockMvc.perform(
+                with(request(path + "/count", resource), params))
+                .andExpect(status().isOk()).andReturn()
+                .getResponse().getContentAsString()).get("count").asLong(),
+                path + " count");
+    }
+
+    private List<UUID> list(String... params) throws Exception {
+        MvcResult result = mockMvc.perform(with(request(PERSON_API), params))
+                .andExpect(status().isOk()).andReturn();
+        return ids(objectMapper.readTree(
+                result.getResponse().getContentAsString()));
+    }
+
+    private List<UUID> pages(String... params) throws Exception {
+        List<UUID> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder builder = with(request(PERSON_API),
+                    params).param("limit", "2");
+            if (cursor != null) {
+                builder.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(builder)
+                    .andExpect(status().isOk()).andReturn()
+                    .getResponse().getContentAsString());
+            ids.addAll(ids(page.get("items")));
+            cursor = page.path("next").isTextual()
+                    ? page.get("next").asText() : null;
+        } while (cursor != null);
+        return ids;
+    }
+
+    private List<UUID> paged(String name) throws Exception {
+        JsonNode page = objectMapper.readTree(mockMvc.perform(
+                request(PERSON_API).param("name", name).param("limit", "500"))
+                .andExpect(status().isOk()).andReturn()
+                .getResponse().getContentAsString());
+        return ids(page.get("items"));
+    }
+
+    private List<UUID> stream(String... params) throws Exception {
+        MvcResult started = mockMvc.perform(with(request(PERSON_API), params)
+                .accept(NdjsonStreamer.APPLICATION_NDJSON)).andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk()).andReturn()
+                .getResponse().getContentAsString();
+        List<UUID> ids = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isBlank()) {
+                ids.add(UUID.fromString(
+                        objectMapper.readTree(line).get("id").asText()));
+            }
+        }
+        return ids;
+    }
+
+    private long count(String... params) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(
+                with(request(PERSON_API + "/count"), params))
+                .andExpect(status().isOk()).andReturn()
+                .getResponse().getContentAsString()).get("count").asLong();
+    }
+
+    private MockHttpServletRequestBuilder request(String path) {
+        return request(path, "person");
+    }
+
+    private MockHttpServletRequestBuilder request(String path,
+            String resource) {
+        return get(path)
+                .accept(MediaType.APPLICATION_JSON)
+                .header("X-Forwarded-Proto", "https")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer "
+                        + jwtUtil.createToken(UUID.randomUUID(),
+                                List.of(new PermissionDto(resource, null,
+                                        List.of(ActionType.READ)))));
+    }
+
+    private static MockHttpServletRequestBuilder with(
+            MockHttpServletRequestBuilder builder, String... params) {
+        for (int i = 0; i < params.length; i += 2) {
+            builder.param(params[i], params[i + 1]);
+        }
+        return builder;
+    }
+
+    private static List<UUID> ids(JsonNode array) {
+        List<UUID> ids = new ArrayList<>();
+        array.forEach(item -> ids.add(UUID.fromString(
+                item.get("id").asText())));
+        return ids;
+    }
+
+    /**
+     * Ids of the chosen persons in the order the database sorts uuids,
+     * which is the order of their lower-case text.
+     */
+    private static List<UUID> ids(List<Person> persons, int... indexes) {
+        List<UUID> ids = new ArrayList<>();
+        for (int index : indexes) {
+            ids.add(persons.get(index).getId());
+        }
+        ids.sort(Comparator.comparing(UUID::toString));
+        return ids;
+    }
+
+    private static List<UUID> sorted(Stream<UUID> ids) {
+        return ids.sorted(Comparator.comparing(UUID::toString)).toList();
+    }
+
+    /**
+     * Persist persons with their email addresses and phone numbers, inside
+     * the caller's transaction.
+     */
+    private void persistAll(List<Person> persons) {
+        for (Person person : persons) {
+            person.getEmailAddresses().forEach(entityManager::persist);
+            person.getPhoneNumbers().forEach(entityManager::persist);
+            entityManager.persist(person);
+        }
+    }
+
+    private Person person(String suffix, String emailAddress,
+            String telephoneNumber) {
+        Email email = new Email();
+        email.setEmailAddress(emailAddress);
+        Phone phone = new Phone();
+        phone.setTelephoneNumber(telephoneNumber);
+        Person person = new Person();
+        person.setName(prefix + "-" + suffix);
+        person.setEmailAddresses(new HashSet<>(Set.of(email)));
+        person.setPhoneNumbers(new HashSet<>(Set.of(phone)));
+        return person;
+    }
+}
@@ -0,0 +1,34 @@
+package com.deloitte.elrr.services.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.deloitte.elrr.services.exception.BadRequestException;
+
+class KeysetCursorTest {
+
+    @Test
+    void roundTrip() throws BadRequestException {
+        UUID id = UUID.randomUUID();
+        assertEquals(id, KeysetCursor.decode(KeysetCursor.encode(id)));
+    }
+
+    @Test
+    void blankCursorIsFirstPage() throws BadRequestException {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(""));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(BadRequestException.class,
+                () -> KeysetCursor.decode("not a cursor"));
+        assertThrows(BadRequestException.class,
+                () -> KeysetCursor.decode("AAAA"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.deloitte.elrr.services.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.deloitte.elrr.entity.Competency;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class NdjsonStreamerTest {
+
+    @Mock
+    private FilterQuerySvc filterQuerySvc;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private NdjsonStreamer ndjsonStreamer;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writesOneLinePerRow() throws Exception {
+        Competency first = new Competency();
+        first.setId(UUID.randomUUID());
+        Competency second = new Competency();
+        second.setId(UUID.randomUUID());
+        doAnswer(invocation -> {
+            Consumer<Competency> action = invocation.getArgument(3);
+            action.accept(first);
+            action.accept(second);
+            return 2L;
+        }).when(filterQuerySvc).forEach(eq(Competency.class), any(), isNull(),
+                any());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ndjsonStreamer.stream(Competency.class, (root, query, cb) -> null,
+                c -> Map.of("id", c.getId())).writeTo(out);
+
+        assertEquals("{\"id\":\"" + first.getId() + "\"}\n"
+                + "{\"id\":\"" + second.getId() + "\"}\n", out.toString());
+    }
+}
@@ -0,0 +1,76 @@
+package com.deloitte.elrr.services.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deloitte.elrr.entity.LearningRecord;
+import com.deloitte.elrr.entity.LearningResource;
+import com.deloitte.elrr.entity.Person;
+import com.deloitte.elrr.services.PostgresIntegrationTest;
+import com.deloitte.elrr.services.dto.LearningRecordDto;
+import com.deloitte.elrr.services.dto.PersonProfileDto;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Checks that expanded relations keep records whose optional references
+ * are not set.
+ */
+@PostgresIntegrationTest
+class PersonProfileQuerySvcIntegrationTest {
+
+    @Autowired
+    private PersonProfileQuerySvc personProfileQuerySvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void learningRecordWithoutResourceIsKept() {
+        String prefix = "profile-" + UUID.randomUUID();
+        Person person = new Person();
+        person.setName(prefix);
+        LearningResource resource = new LearningResource();
+        resource.setIri("http://example.com/" + prefix);
+        resource.setTitle(prefix + " course");
+        LearningRecord withResource = new LearningRecord();
+        withResource.setPerson(person);
+        withResource.setLearningResource(resource);
+        LearningRecord withoutResource = new LearningRecord();
+        withoutResource.setPerson(person);
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> {
+                    for (Object entity : List.of(person, resource,
+                            withResource, withoutResource)) {
+                        entityManager.persist(entity);
+                    }
+                });
+
+        PersonProfileDto profile = personProfileQuerySvc.get(person.getId(),
+                Set.of(PersonExpansion.LEARNING_RECORDS));
+
+        Map<UUID, LearningRecordDto> records = profile.getLearningRecords()
+                .stream().collect(Collectors.toMap(LearningRecordDto::getId,
+                        r -> r));
+        assertEquals(Set.of(withResource.getId(), withoutResource.getId()),
+                records.keySet());
+        assertEquals(resource.getId(), records.get(withResource.getId())
+                .getLearningResource().getId());
+        assertNull(records.get(withoutResource.getId())
+                .getLearningResource());
+    }
+}
@@ -0,0 +1,104 @@
+package com.deloitte.elrr.services.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.deloitte.elrr.entity.Competency;
+import com.deloitte.elrr.services.exception.BadRequestException;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReferenceResolverTest {
+
+    @InjectMocks
+    private ReferenceResolver referenceResolver;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TypedQuery<Competency> query;
+
+    private final Competency first = competency();
+
+    private final Competency second = competency();
+
+    @BeforeEach
+    void setUp() {
+        when(entityManager.createQuery(anyString(), eq(Competency.class)))
+                .thenReturn(query);
+        when(query.setParameter(eq("ids"), any()))
+                .thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of(second, first));
+    }
+
+    @Test
+    void resolvesAllIdsWithOneQueryInRequestOrder() throws Exception {
+        Set<Competency> result = referenceResolver.resolveAll(
+                Competency.class, List.of(first.getId(), second.getId(),
+                        first.getId()));
+
+        assertEquals(List.of(first, second), List.copyOf(result));
+        verify(entityManager, times(1)).createQuery(anyString(),
+                eq(Competency.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reusesEntitiesResolvedEarlierInTheRequest() throws Exception {
+        referenceResolver.resolveAll(Competency.class,
+                List.of(first.getId()));
+        when(query.getResultList()).thenReturn(List.of(second));
+        ArgumentCaptor<List<UUID>> ids = ArgumentCaptor.forClass(List.class);
+
+        referenceResolver.resolveAll(Competency.class,
+                List.of(first.getId(), second.getId()));
+
+        verify(query, times(2)).setParameter(eq("ids"), ids.capture());
+        assertEquals(List.of(second.getId()), ids.getAllValues().get(1));
+    }
+
+    @Test
+    void reportsEveryMissingIdInOneError() {
+        UUID missing1 = UUID.randomUUID();
+        UUID missing2 = UUID.randomUUID();
+
+        BadRequestException e = assertThrows(BadRequestException.class,
+                () -> referenceResolver.resolveAll(Competency.class,
+                        List.of(missing1, first.getId(), missing2)));
+
+        assertTrue(e.getMessage().startsWith("Competency not found"));
+        assertTrue(e.getMessage().contains(missing1.toString()));
+        assertTrue(e.getMessage().contains(missing2.toString()));
+    }
+
+    private static Competency competency() {
+        Competency competency = new Competency();
+        competency.setId(UUID.randomUUID());
+        return competency;
+    }
+}
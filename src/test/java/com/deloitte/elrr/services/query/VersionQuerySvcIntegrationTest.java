@@ -0,0 +1,133 @@
+package com.deloitte.elrr.services.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deloitte.elrr.entity.Email;
+import com.deloitte.elrr.entity.EmploymentRecord;
+import com.deloitte.elrr.entity.Facility;
+import com.deloitte.elrr.entity.Location;
+import com.deloitte.elrr.entity.Person;
+import com.deloitte.elrr.services.PostgresIntegrationTest;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Checks that entity tags change when an embedded record is replaced by
+ * one with an older timestamp, and when a nested association changes,
+ * while the owning rows keep their own timestamps.
+ */
+@PostgresIntegrationTest
+class VersionQuerySvcIntegrationTest {
+
+    private static final ZonedDateTime OLD = ZonedDateTime.parse(
+            "2020-01-01T00:00:00Z");
+
+    @Autowired
+    private VersionQuerySvc versionQuerySvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void replacingAnOlderEmailChangesTheTag() {
+        Email kept = email("kept@example.com");
+        Email replaced = email("replaced@example.com");
+        Person person = new Person();
+        person.setName("version-email");
+        person.setEmailAddresses(new HashSet<>(Set.of(kept, replaced)));
+        transaction(() -> {
+            entityManager.persist(kept);
+            entityManager.persist(replaced);
+            entityManager.persist(person);
+        });
+        transaction(() -> stamp(Person.class, person.getId(), OLD));
+        String before = versionQuerySvc.etag(Person.class, person.getId(),
+                FetchPlan.PERSON_DTO);
+
+        Email older = email("older@example.com");
+        transaction(() -> {
+            entityManager.persist(older);
+            Person managed = entityManager.find(Person.class,
+                    person.getId());
+            managed.getEmailAddresses().removeIf(
+                    e -> e.getId().equals(replaced.getId()));
+            managed.getEmailAddresses().add(older);
+        });
+        transaction(() -> {
+            stamp(Email.class, older.getId(), OLD);
+            stamp(Person.class, person.getId(), OLD);
+        });
+
+        assertNotEquals(before, versionQuerySvc.etag(Person.class,
+                person.getId(), FetchPlan.PERSON_DTO));
+    }
+
+    @Test
+    void nestedLocationChangesTheTag() {
+        Location first = new Location();
+        first.setCity("first");
+        Location second = new Location();
+        second.setCity("second");
+        Facility facility = new Facility();
+        facility.setName("version-facility");
+        facility.setLocation(first);
+        EmploymentRecord record = new EmploymentRecord();
+        record.setPosition("version-record");
+        record.setEmploymentFacility(facility);
+        transaction(() -> {
+            for (Object entity : List.of(first, second, facility, record)) {
+                entityManager.persist(entity);
+            }
+        });
+        transaction(() -> stamp(Facility.class, facility.getId(), OLD));
+        String before = versionQuerySvc.etag(EmploymentRecord.class,
+                record.getId(), FetchPlan.EMPLOYMENT_RECORD_DTO);
+        assertEquals(before, versionQuerySvc.etag(EmploymentRecord.class,
+                record.getId(), FetchPlan.EMPLOYMENT_RECORD_DTO));
+
+        transaction(() -> entityManager.find(Facility.class,
+                facility.getId()).setLocation(
+                        entityManager.find(Location.class, second.getId())));
+        transaction(() -> stamp(Facility.class, facility.getId(), OLD));
+
+        assertNotEquals(before, versionQuerySvc.etag(EmploymentRecord.class,
+                record.getId(), FetchPlan.EMPLOYMENT_RECORD_DTO));
+    }
+
+    private static Email email(String address) {
+        Email email = new Email();
+        email.setEmailAddress(address);
+        return email;
+    }
+
+    private void transaction(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> work.run());
+    }
+
+    /**
+     * Set a row's timestamp directly, so an association change can be
+     * checked without the row itself looking modified.
+     */
+    private void stamp(Class<?> type, Object id, ZonedDateTime value) {
+        entityManager.createQuery("update " + type.getSimpleName()
+                + " e set e.lastModified = :value where e.id = :id")
+                .setParameter("value", value)
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+}